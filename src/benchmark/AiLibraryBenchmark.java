@@ -0,0 +1,117 @@
+package benchmark;
+
+import model.AiArguments;
+import model.AiLibrary;
+import model.AiProgram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static model.Constants.ADD_COMMAND_NAME;
+import static model.Constants.ADD_RELATIVE_COMMAND_NAME;
+import static model.Constants.COMPARE_COMMAND_NAME;
+import static model.Constants.JUMP_CHECK_CELL_COMMAND_NAME;
+import static model.Constants.JUMP_COMMAND_NAME;
+import static model.Constants.MOVE_INDIRECT_COMMAND_NAME;
+import static model.Constants.MOVE_RELATIVE_COMMAND_NAME;
+import static model.Constants.STOP_COMMAND_NAME;
+import static model.Constants.SWAP_COMMAND_NAME;
+
+/**
+ * Measures how the time to open an {@link AiLibrary} and resolve one of its AIs grows with the size of the library.
+ * <p>
+ * Libraries of random AIs are written into temporary files, each one is opened and its last AI is looked up. The
+ * optional argument is the amount of AIs of the largest library.
+ * </p>
+ *
+ * @author uenqh
+ */
+public final class AiLibraryBenchmark {
+
+    private static final int STANDARD_LARGEST_LIBRARY = 50_000;
+    private static final int SMALLEST_LIBRARY = 50;
+    private static final int LIBRARY_GROWTH_FACTOR = 10;
+    private static final int LARGEST_LIBRARY_INDEX = 0;
+    private static final int REPETITIONS = 200;
+    private static final int SEED = 42;
+    private static final int MAX_PROGRAM_LENGTH = 16;
+    private static final int MAX_ENTRY = 100;
+    private static final double NANOS_PER_MICRO = 1000.0;
+    private static final String NAME_FORMAT = "warrior%d";
+    private static final String FILE_PREFIX = "library";
+    private static final String FILE_SUFFIX = ".cfl";
+    private static final String TABLE_HEADER_FORMAT = "%10s %12s %12s %12s%n";
+    private static final String ROW_FORMAT = "%10d %12d %12.1f %12.1f%n";
+    private static final String[] TABLE_HEADER = {"AIs", "bytes", "open us", "lookup us"};
+    private static final List<String> COMMAND_NAMES = List.of(STOP_COMMAND_NAME, MOVE_RELATIVE_COMMAND_NAME,
+        MOVE_INDIRECT_COMMAND_NAME, ADD_COMMAND_NAME, ADD_RELATIVE_COMMAND_NAME, JUMP_COMMAND_NAME, JUMP_CHECK_CELL_COMMAND_NAME,
+        COMPARE_COMMAND_NAME, SWAP_COMMAND_NAME);
+
+    // results are accumulated so the JIT compiler cannot remove the measured calls
+    private static long sink;
+
+    private AiLibraryBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark and prints the average durations for every library size.
+     *
+     * @param args The optional amount of AIs of the largest library.
+     * @throws IOException If a temporary library file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        int largest = args.length > LARGEST_LIBRARY_INDEX ? Integer.parseInt(args[LARGEST_LIBRARY_INDEX]) : STANDARD_LARGEST_LIBRARY;
+        Random random = new Random(SEED);
+        System.out.printf(TABLE_HEADER_FORMAT, (Object[]) TABLE_HEADER);
+        int size = SMALLEST_LIBRARY;
+        while (size < largest) {
+            measure(size, random);
+            size *= LIBRARY_GROWTH_FACTOR;
+        }
+        measure(largest, random);
+        if (sink == Long.MIN_VALUE) {
+            System.out.println();
+        }
+    }
+
+    private static void measure(int size, Random random) throws IOException {
+        Path file = Files.createTempFile(FILE_PREFIX, FILE_SUFFIX);
+        try {
+            AiLibrary.write(file, createAis(size, random), COMMAND_NAMES);
+            String lastName = NAME_FORMAT.formatted(size - 1);
+            long openNanos = 0;
+            long lookupNanos = 0;
+            for (int i = 0; i < REPETITIONS; i++) {
+                long start = System.nanoTime();
+                AiLibrary library = AiLibrary.open(file, COMMAND_NAMES);
+                long opened = System.nanoTime();
+                sink += library.find(lastName).getInstructions().size();
+                long found = System.nanoTime();
+                openNanos += opened - start;
+                lookupNanos += found - opened;
+            }
+            System.out.printf(ROW_FORMAT, size, Files.size(file), openNanos / NANOS_PER_MICRO / REPETITIONS,
+                lookupNanos / NANOS_PER_MICRO / REPETITIONS);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static List<AiProgram> createAis(int amount, Random random) {
+        List<AiProgram> ais = new ArrayList<>();
+        for (int i = 0; i < amount; i++) {
+            List<AiArguments> instructions = new ArrayList<>();
+            int length = 1 + random.nextInt(MAX_PROGRAM_LENGTH);
+            for (int j = 0; j < length; j++) {
+                instructions.add(new AiArguments(COMMAND_NAMES.get(random.nextInt(COMMAND_NAMES.size())),
+                    random.nextInt(2 * MAX_ENTRY) - MAX_ENTRY, random.nextInt(2 * MAX_ENTRY) - MAX_ENTRY));
+            }
+            ais.add(new AiProgram(NAME_FORMAT.formatted(i), instructions));
+        }
+        return ais;
+    }
+}
@@ -0,0 +1,121 @@
+package benchmark;
+
+import utility.ColumnKernels;
+import utility.ScalarColumnKernels;
+
+import java.util.Random;
+
+/**
+ * Measures the speedup of the {@link ColumnKernels} available at runtime over the {@link ScalarColumnKernels}.
+ * <p>
+ * Build it with the Maven profile {@code vector} and run it with {@code --add-modules jdk.incubator.vector} to compare
+ * the vectorized kernels, otherwise both columns of the report measure the scalar kernels. The optional arguments are
+ * the length of the benchmarked columns and the amount of measured repetitions of every kernel.
+ * </p>
+ *
+ * @author uenqh
+ */
+public final class ColumnKernelBenchmark {
+
+    private static final int STANDARD_COLUMN_LENGTH = 1 << 22;
+    private static final int STANDARD_REPETITIONS = 200;
+    private static final int WARMUP_REPETITIONS = 100;
+    private static final int COLUMN_LENGTH_INDEX = 0;
+    private static final int REPETITIONS_INDEX = 1;
+    private static final int SEED = 42;
+    private static final int AMOUNT_OF_OWNERS = 8;
+    private static final int DIFFERING_CELL_RATIO = 1024;
+    private static final int FILL_VALUE = 7;
+    private static final int COUNTED_VALUE = 3;
+    private static final int BITS_PER_WORD = Long.SIZE;
+    private static final double NANOS_PER_MICRO = 1000.0;
+    private static final String HEADER_FORMAT = "%d ints per column, %d repetitions, %d processors, %s against %s%n";
+    private static final String TABLE_HEADER_FORMAT = "%-18s %12s %12s %8s%n";
+    private static final String ROW_FORMAT = "%-18s %12.1f %12.1f %7.2fx%n";
+    private static final String[] TABLE_HEADER = {"kernel", "scalar us", "runtime us", "speedup"};
+
+    private static int[] values;
+    private static int[] mask;
+    private static int[] other;
+    private static int[] filled;
+    private static int[] histogram;
+    private static long[] bitmap;
+    // results are accumulated so the JIT compiler cannot remove the measured calls
+    private static long sink;
+
+    private ColumnKernelBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark and prints the average duration of every kernel.
+     *
+     * @param args The optional column length and amount of repetitions.
+     */
+    public static void main(String[] args) {
+        int length = args.length > COLUMN_LENGTH_INDEX ? Integer.parseInt(args[COLUMN_LENGTH_INDEX]) : STANDARD_COLUMN_LENGTH;
+        int repetitions = args.length > REPETITIONS_INDEX ? Integer.parseInt(args[REPETITIONS_INDEX]) : STANDARD_REPETITIONS;
+        initColumns(length);
+
+        ColumnKernels scalar = new ScalarColumnKernels();
+        ColumnKernels runtime = ColumnKernels.getInstance();
+        System.out.printf(HEADER_FORMAT, length, repetitions, Runtime.getRuntime().availableProcessors(),
+            runtime.getClass().getSimpleName(), scalar.getClass().getSimpleName());
+        System.out.printf(TABLE_HEADER_FORMAT, (Object[]) TABLE_HEADER);
+        report("fill", kernels -> kernels.fill(filled, 0, filled.length, FILL_VALUE), scalar, runtime, repetitions);
+        report("countEqual", kernels -> sink += kernels.countEqual(values, 0, values.length, COUNTED_VALUE),
+            scalar, runtime, repetitions);
+        report("countEqualMasked", kernels -> sink += kernels.countEqualMasked(values, mask, 0, values.length, COUNTED_VALUE),
+            scalar, runtime, repetitions);
+        report("histogram", kernels -> {
+            kernels.histogram(values, 0, values.length, histogram);
+            sink += histogram[0];
+        }, scalar, runtime, repetitions);
+        report("diff", kernels -> {
+            kernels.diff(values, other, bitmap);
+            sink += bitmap[0];
+        }, scalar, runtime, repetitions);
+        if (sink == Long.MIN_VALUE) {
+            System.out.println();
+        }
+    }
+
+    private static void initColumns(int length) {
+        Random random = new Random(SEED);
+        values = new int[length];
+        mask = new int[length];
+        other = new int[length];
+        filled = new int[length];
+        histogram = new int[AMOUNT_OF_OWNERS];
+        bitmap = new long[(length + BITS_PER_WORD - 1) / BITS_PER_WORD];
+        for (int i = 0; i < length; i++) {
+            values[i] = random.nextInt(AMOUNT_OF_OWNERS + 1) - 1;
+            mask[i] = random.nextInt(2);
+            other[i] = random.nextInt(DIFFERING_CELL_RATIO) == 0 ? values[i] + 1 : values[i];
+        }
+    }
+
+    private static void report(String name, Kernel kernel, ColumnKernels scalar, ColumnKernels runtime, int repetitions) {
+        double scalarMicros = measure(kernel, scalar, repetitions);
+        double runtimeMicros = measure(kernel, runtime, repetitions);
+        System.out.printf(ROW_FORMAT, name, scalarMicros, runtimeMicros, scalarMicros / runtimeMicros);
+    }
+
+    private static double measure(Kernel kernel, ColumnKernels kernels, int repetitions) {
+        for (int i = 0; i < WARMUP_REPETITIONS; i++) {
+            kernel.run(kernels);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < repetitions; i++) {
+            kernel.run(kernels);
+        }
+        return (System.nanoTime() - start) / NANOS_PER_MICRO / repetitions;
+    }
+
+    /**
+     * Represents a single call of a kernel.
+     */
+    @FunctionalInterface
+    private interface Kernel {
+        void run(ColumnKernels kernels);
+    }
+}
@@ -0,0 +1,112 @@
+package benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures how long short-lived CodeFight processes take to start.
+ * <p>
+ * Every run starts a new JVM with the class path of this benchmark and pipes a short session into it. The time until
+ * the welcome message is printed and the time until the first 'next 1' has completed are measured from the start of the
+ * process. The first argument is the amount of runs, the remaining arguments are passed to the started JVMs, for
+ * example {@code -XX:SharedArchiveFile=target/codefight.jsa} to compare a run with the archive of the {@code cds}
+ * build profile.
+ * </p>
+ *
+ * @author uenqh
+ * @see StartupTraining
+ */
+public final class StartupBenchmark {
+
+    private static final int STANDARD_RUNS = 20;
+    private static final int RUNS_INDEX = 0;
+    private static final int JVM_OPTIONS_INDEX = 1;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final String MAIN_CLASS = "view.CodeFight";
+    private static final String CLASS_PATH_OPTION = "-cp";
+    private static final String JAVA_EXECUTABLE = "java";
+    private static final String BINARY_DIRECTORY = "bin";
+    private static final String[] STARTUP_ARGUMENTS = {"64", ".", ":", "+", "-", "A", "a", "B", "b"};
+    private static final String WELCOME_PREFIX = "Welcome to CodeFight 2024";
+    // the first AI stops right away, so the first 'next' prints its result
+    private static final String FIRST_NEXT_SUFFIX = "until stopping.";
+    private static final String SESSION = String.join(System.lineSeparator(), "add-ai first STOP,0,0",
+        "add-ai second MOV_R,0,1", "start-game first second", "next 1", "quit") + System.lineSeparator();
+    private static final String MISSING_OUTPUT_MESSAGE = "the session did not print the expected output";
+    private static final String TABLE_HEADER_FORMAT = "%10s %14s %14s%n";
+    private static final String ROW_FORMAT = "%10s %14.1f %14.1f%n";
+    private static final String[] TABLE_HEADER = {"", "welcome ms", "first next ms"};
+    private static final String AVERAGE_LABEL = "average";
+    private static final String MINIMUM_LABEL = "minimum";
+
+    private StartupBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark and prints the average and minimum startup times.
+     *
+     * @param args The optional amount of runs, followed by options for the started JVMs.
+     * @throws IOException          If a process cannot be started or does not print the expected output.
+     * @throws InterruptedException If the benchmark is interrupted while waiting for a process.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int runs = args.length > RUNS_INDEX ? Integer.parseInt(args[RUNS_INDEX]) : STANDARD_RUNS;
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), BINARY_DIRECTORY, JAVA_EXECUTABLE).toString());
+        if (args.length > JVM_OPTIONS_INDEX) {
+            command.addAll(Arrays.asList(args).subList(JVM_OPTIONS_INDEX, args.length));
+        }
+        command.add(CLASS_PATH_OPTION);
+        command.add(System.getProperty("java.class.path"));
+        command.add(MAIN_CLASS);
+        command.addAll(Arrays.asList(STARTUP_ARGUMENTS));
+
+        long welcomeTotal = 0;
+        long nextTotal = 0;
+        long welcomeMinimum = Long.MAX_VALUE;
+        long nextMinimum = Long.MAX_VALUE;
+        for (int run = 0; run < runs; run++) {
+            long[] times = measure(command);
+            welcomeTotal += times[0];
+            nextTotal += times[1];
+            welcomeMinimum = Math.min(welcomeMinimum, times[0]);
+            nextMinimum = Math.min(nextMinimum, times[1]);
+        }
+        System.out.printf(TABLE_HEADER_FORMAT, (Object[]) TABLE_HEADER);
+        System.out.printf(ROW_FORMAT, AVERAGE_LABEL, welcomeTotal / NANOS_PER_MILLI / runs, nextTotal / NANOS_PER_MILLI / runs);
+        System.out.printf(ROW_FORMAT, MINIMUM_LABEL, welcomeMinimum / NANOS_PER_MILLI, nextMinimum / NANOS_PER_MILLI);
+    }
+
+    private static long[] measure(List<String> command) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        // the whole session is piped in at once, like a pipeline feeding a match
+        try (Writer input = process.outputWriter(StandardCharsets.UTF_8)) {
+            input.write(SESSION);
+        }
+        long welcome = -1;
+        long firstNext = -1;
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (welcome < 0 && line.startsWith(WELCOME_PREFIX)) {
+                    welcome = System.nanoTime() - start;
+                } else if (firstNext < 0 && line.endsWith(FIRST_NEXT_SUFFIX)) {
+                    firstNext = System.nanoTime() - start;
+                }
+            }
+        }
+        process.waitFor();
+        if (welcome < 0 || firstNext < 0) {
+            throw new IOException(MISSING_OUTPUT_MESSAGE);
+        }
+        return new long[] {welcome, firstNext};
+    }
+}
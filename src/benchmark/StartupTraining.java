@@ -0,0 +1,50 @@
+package benchmark;
+
+import view.CodeFight;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Plays a short scripted session, used as the training run of the class-data sharing archive.
+ * <p>
+ * The {@code cds} build profile runs this session with {@code -XX:ArchiveClassesAtExit}, so the archive holds every
+ * class a typical short session loads. The commands are fed to {@link CodeFight} as if they were typed in.
+ * </p>
+ *
+ * @author uenqh
+ * @see StartupBenchmark
+ */
+public final class StartupTraining {
+
+    private static final String[] STARTUP_ARGUMENTS = {"64", ".", ":", "+", "-", "A", "a", "B", "b"};
+    private static final String[] COMMANDS = {
+        "help",
+        "add-ai first MOV_R,0,1",
+        "add-ai second JMP,2,0,ADD,-1,1,MOV_I,3,-3,JMZ,-2,0,CMP,1,0,SWAP,0,1,ADD_R,1,1,STOP,0,0",
+        "set-init-mode INIT_MODE_RANDOM 42",
+        "start-game first second",
+        "next 1",
+        "next 100",
+        "show-memory",
+        "show-memory 8",
+        "show-ai first",
+        "show-territory",
+        "end-game",
+        "quit"
+    };
+
+    private StartupTraining() {
+    }
+
+    /**
+     * Plays the scripted session.
+     *
+     * @param args Not used.
+     */
+    public static void main(String[] args) {
+        byte[] input = (String.join(System.lineSeparator(), COMMANDS) + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        System.setIn(new ByteArrayInputStream(input));
+        CodeFight.main(STARTUP_ARGUMENTS);
+    }
+}
@@ -1,93 +1,187 @@
 package model;
 
-import java.util.ArrayList;
+import java.util.List;
 
 /**
- * Represents an AI entity in the game.
+ * Represents an AI taking part in a game.
  * <p>
- * An AI has a name, a symbol, and a bomb symbol used for displaying its presence in the game environment.
- * It also tracks its current position in the game storage, its round counter, and whether its currently alive or not.
- * An ID can be assigned to account for duplicates when starting the game.
- * Ai additionally maintains a list of arguments for executing commands.
+ * An AI runs a shared, immutable {@link AiProgram} and has the state of a single game: a symbol and a bomb symbol
+ * used for displaying its presence in the game environment, its current position in the game storage, its round
+ * counter, and whether its currently alive or not. An ID can be assigned to account for duplicates when starting the game.
+ * The state is kept in a row of the {@link AiStateTable} of the game, an AI is only a view of that row.
+ * </p>
+ * <p>
+ * An AI may run several processes, split off with the command 'SPL'. The pointer index is the program counter of the
+ * process executing next, the others wait in a {@link ProcessQueue}. Every turn of the AI executes one command of its
+ * current process and then hands over to the next process, and the AI only stops once its last process stopped.
  * </p>
  * @author uenqh
  */
 public class Ai {
-    private static final int DEFAULT_ID = -1;
-    private final ArrayList<AiArguments> arguments;
-    private String name;
-    private String symbol;
-    private String bombSymbol;
-    private boolean alive;
-    private int pointerIndex;
-    private int id;
-    private int roundCounter;
+    private final AiProgram program;
+    private final AiStateTable states;
+    private final int inGameNumber;
 
     /**
-     * Constructs an AI with the specified name.
+     * Constructs an AI running the specified program, whose state is kept in the specified row of a state table.
      *
-     * @param name The name of the AI.
+     * @param program      The program of the AI.
+     * @param states       The state table of the game.
+     * @param inGameNumber The in-game number of the AI, which is its row in the state table.
      */
-    public Ai(String name) {
-        this.name = name;
-        this.roundCounter = 0;
-        this.id = DEFAULT_ID;
-        this.arguments = new ArrayList<>();
+    public Ai(AiProgram program, AiStateTable states, int inGameNumber) {
+        this.program = program;
+        this.states = states;
+        this.inGameNumber = inGameNumber;
     }
 
     /**
-     * Creates a deep copy of the AI instance.
+     * Updates the pointer index of the AI.
      *
-     * @return A deep copy of the AI.
+     * @param position The new pointer index value.
+     */
+    public void updatePointerIndex(int position) {
+        this.states.setPointer(this.inGameNumber, position);
+    }
+
+    /**
+     * Updates the round counter of the AI by incrementing it.
      */
-    public Ai copy() {
-        Ai clone = new Ai(this.name);
-        clone.arguments.addAll(this.arguments);
-        return clone;
+    public void updateRoundCounter() {
+        this.states.incrementRoundCounter(this.inGameNumber);
     }
 
     /**
-     * Adds an argument to the AI's list of arguments.
+     * Restores the round counter of the AI from a checkpoint.
      *
-     * @param command The command to be added.
-     * @param entryA  The first entry value.
-     * @param entryB  The second entry value.
+     * @param roundCounter The saved round counter.
      */
-    public void addArgument(String command, int entryA, int entryB) {
-        AiArguments argument = new AiArguments(command, entryA, entryB);
-        this.arguments.add(argument);
+    void restoreRoundCounter(int roundCounter) {
+        this.states.setRoundCounter(this.inGameNumber, roundCounter);
     }
 
     /**
-     * Updates the pointer index of the AI.
+     * Updates the pointer index of the AI by incrementing it.
+     */
+    public void updatePointerIndex() {
+        this.states.setPointer(this.inGameNumber, this.states.getPointer(this.inGameNumber) + 1);
+    }
+
+    /**
+     * Splits off a new process after the current process executed a command, then hands over to the next process.
+     * <p>
+     * The current process waits behind the processes already waiting and the new process behind it, so the new
+     * process starts once every other process had its turn. If the AI already runs as many processes as the game
+     * allows, no process is split off.
+     * </p>
      *
-     * @param position The new pointer index value.
+     * @param position The program counter of the new process.
      */
-    public void updatePointerIndex(int position) {
-        this.pointerIndex = position;
+    public void splitProcess(int position) {
+        int limit = this.states.getProcessLimit();
+        ProcessQueue processes = this.states.getProcesses(this.inGameNumber);
+        int waiting = processes == null ? 0 : processes.size();
+        if (waiting + 1 >= limit) {
+            switchProcess();
+            return;
+        }
+        if (processes == null) {
+            processes = this.states.createProcesses(this.inGameNumber);
+        }
+        processes.offer(this.states.getPointer(this.inGameNumber));
+        processes.offer(position);
+        this.states.setPointer(this.inGameNumber, processes.poll());
     }
 
     /**
-     * Updates the round counter of the AI by incrementing it.
+     * Hands over to the next process after the current process executed a command.
      */
-    public void updateRoundCounter() {
-        this.roundCounter++;
+    public void switchProcess() {
+        ProcessQueue processes = this.states.getProcesses(this.inGameNumber);
+        if (processes != null && processes.size() > 0) {
+            processes.offer(this.states.getPointer(this.inGameNumber));
+            this.states.setPointer(this.inGameNumber, processes.poll());
+        }
     }
 
     /**
-     * Updates the pointer index of the AI by incrementing it.
+     * Stops the current process, handing over to the next process or stopping the AI if it was the last one.
      */
-    public void updatePointerIndex() {
-        this.pointerIndex++;
+    public void stopProcess() {
+        ProcessQueue processes = this.states.getProcesses(this.inGameNumber);
+        if (processes != null && processes.size() > 0) {
+            this.states.setPointer(this.inGameNumber, processes.poll());
+        } else {
+            toggleAliveStatus();
+        }
+    }
+
+    /**
+     * Retrieves the amount of processes the AI runs.
+     *
+     * @return The amount of processes, 0 if the AI stopped.
+     */
+    public int getProcessCount() {
+        return getAliveStatus() ? getWaitingProcessCount() + 1 : 0;
+    }
+
+    /**
+     * Retrieves the amount of processes waiting for their turn.
+     *
+     * @return The amount of processes besides the current one.
+     */
+    int getWaitingProcessCount() {
+        ProcessQueue processes = this.states.getProcesses(this.inGameNumber);
+        return processes == null ? 0 : processes.size();
+    }
+
+    /**
+     * Retrieves the program counter of a process waiting for its turn.
+     *
+     * @param position The position of the process in the queue of waiting processes.
+     * @return The program counter of the process.
+     */
+    int getWaitingProcess(int position) {
+        return this.states.getProcesses(this.inGameNumber).get(position);
+    }
+
+    /**
+     * Restores the processes waiting for their turn from a checkpoint.
+     *
+     * @param pointers The program counters of all checkpointed processes.
+     * @param offset   The position of the first program counter of this AI.
+     * @param amount   The amount of waiting processes of this AI.
+     */
+    void restoreWaitingProcesses(int[] pointers, int offset, int amount) {
+        ProcessQueue processes = this.states.getProcesses(this.inGameNumber);
+        if (amount == 0 && processes == null) {
+            return;
+        }
+        if (processes == null) {
+            processes = this.states.createProcesses(this.inGameNumber);
+        }
+        processes.clear();
+        for (int i = 0; i < amount; i++) {
+            processes.offer(pointers[offset + i]);
+        }
     }
 
     /**
      * Retrieves the list of arguments associated with the AI.
      *
-     * @return The list of arguments.
+     * @return The unmodifiable list of arguments.
+     */
+    public List<AiArguments> getArguments() {
+        return this.program.getInstructions();
+    }
+
+    /**
+     * Retrieves the program the AI runs.
+     *
+     * @return The program of the AI.
      */
-    public ArrayList<AiArguments> getArguments() {
-        return this.arguments;
+    public AiProgram getProgram() {
+        return this.program;
     }
 
     /**
@@ -96,16 +190,25 @@ public class Ai {
      * @return The name of the AI.
      */
     public String getName() {
-        return this.name;
+        return this.program.getName();
+    }
+
+    /**
+     * Retrieves the name of the AI followed by its ID, which is recorded as the last editor of the cells it writes.
+     *
+     * @return The name and ID of the AI.
+     */
+    public String getEditorName() {
+        return this.states.getEditorName(this.inGameNumber, this.program.getName());
     }
 
     /**
-     * Sets the name of the AI.
+     * Retrieves the name of the AI as it is displayed to the user, followed by its ID if the AI was given one.
      *
-     * @param newName The new name of the AI.
+     * @return The name of the AI, followed by its ID if it has one.
      */
-    public void setName(String newName) {
-        this.name = newName;
+    public String getDisplayName() {
+        return getId() == AiStateTable.DEFAULT_ID ? getName() : getEditorName();
     }
 
     /**
@@ -114,7 +217,7 @@ public class Ai {
      * @return The pointer index of the AI.
      */
     public int getPointerIndex() {
-        return this.pointerIndex;
+        return this.states.getPointer(this.inGameNumber);
     }
 
     /**
@@ -123,7 +226,7 @@ public class Ai {
      * @return The round counter of the AI.
      */
     public int getRoundCounter() {
-        return this.roundCounter;
+        return this.states.getRoundCounter(this.inGameNumber);
     }
 
     /**
@@ -132,7 +235,7 @@ public class Ai {
      * @return {@code true} if the AI is alive, {@code false} otherwise.
      */
     public boolean getAliveStatus() {
-        return this.alive;
+        return this.states.isAlive(this.inGameNumber);
     }
 
     /**
@@ -140,16 +243,16 @@ public class Ai {
      * If the AI is alive, it becomes dead, and vice versa.
      */
     public void toggleAliveStatus() {
-        this.alive = !this.alive;
+        this.states.setAlive(this.inGameNumber, !this.states.isAlive(this.inGameNumber));
     }
 
     /**
      * Retrieves the ID of the AI.
      *
-     * @return The ID of the AI.
+     * @return The ID of the AI, {@link AiStateTable#DEFAULT_ID} if its name is unique in the game.
      */
     public int getId() {
-        return this.id;
+        return this.states.getId(this.inGameNumber);
     }
 
     /**
@@ -158,7 +261,34 @@ public class Ai {
      * @param newId The new ID of the AI.
      */
     public void setId(int newId) {
-        this.id = newId;
+        this.states.setId(this.inGameNumber, newId);
+    }
+
+    /**
+     * Retrieves the weight of the AI, the amount of commands it executes per turn under weighted scheduling modes.
+     *
+     * @return The weight of the AI.
+     */
+    public int getWeight() {
+        return this.states.getWeight(this.inGameNumber);
+    }
+
+    /**
+     * Sets the weight of the AI.
+     *
+     * @param newWeight The new weight of the AI, at least 1.
+     */
+    public void setWeight(int newWeight) {
+        this.states.setWeight(this.inGameNumber, newWeight);
+    }
+
+    /**
+     * Retrieves the in-game number of the AI, which is its position in the list of AIs taking part in the game.
+     *
+     * @return The in-game number of the AI.
+     */
+    public int getInGameNumber() {
+        return this.inGameNumber;
     }
 
     /**
@@ -167,7 +297,7 @@ public class Ai {
      * @return The symbol of the AI.
      */
     public String getSymbol() {
-        return this.symbol;
+        return this.states.getSymbol(this.inGameNumber);
     }
 
     /**
@@ -176,7 +306,25 @@ public class Ai {
      * @param newSymbol The new symbol of the AI.
      */
     public void setSymbol(String newSymbol) {
-        this.symbol = newSymbol;
+        this.states.setSymbol(this.inGameNumber, newSymbol);
+    }
+
+    /**
+     * Retrieves the execution profile of the AI.
+     *
+     * @return The execution profile of the AI.
+     */
+    public AiProfile getProfile() {
+        return this.states.getProfile(this.inGameNumber);
+    }
+
+    /**
+     * Sets the execution profile of the AI.
+     *
+     * @param newProfile The new execution profile of the AI.
+     */
+    public void setProfile(AiProfile newProfile) {
+        this.states.setProfile(this.inGameNumber, newProfile);
     }
 
     /**
@@ -185,7 +333,7 @@ public class Ai {
      * @return The bomb symbol of the AI.
      */
     public String getBombSymbol() {
-        return this.bombSymbol;
+        return this.states.getBombSymbol(this.inGameNumber);
     }
 
     /**
@@ -194,6 +342,6 @@ public class Ai {
      * @param newBombSymbol The new bomb symbol of the AI.
      */
     public void setBombSymbol(String newBombSymbol) {
-        this.bombSymbol = newBombSymbol;
+        this.states.setBombSymbol(this.inGameNumber, newBombSymbol);
     }
 }
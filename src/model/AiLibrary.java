@@ -0,0 +1,272 @@
+package model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Represents an on-disk library of AIs, which is memory-mapped and read lazily.
+ * <p>
+ * A library file starts with a header and the table of the command names its AIs use, followed by an open-addressing hash
+ * table from AI names to record offsets and the records themselves. Opening a library only maps the file and reads its
+ * header, so it takes the same time for any amount of AIs. An AI is only decoded when it is looked up, which probes a
+ * few table slots.
+ * </p>
+ * <p>
+ * Commands are stored as their index in the command table of the file, which holds the names of the commands, so a
+ * library can be read with any order of command names. Opening a library fails if its table names a command the game
+ * does not know. A record is checked against the bounds of the file and the command table while it is decoded, so a
+ * corrupt library fails with an {@link IOException} instead of crashing.
+ * </p>
+ *
+ * @author uenqh
+ */
+public final class AiLibrary {
+
+    private static final int MAGIC = 0x43464C42;
+    private static final int VERSION = 2;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int SLOT_COUNT_OFFSET = 8;
+    private static final int AI_COUNT_OFFSET = 12;
+    private static final int COMMAND_COUNT_OFFSET = 16;
+    private static final int HEADER_SIZE = 20;
+    private static final int MAX_COMMANDS = Byte.MAX_VALUE + 1;
+    private static final int EMPTY_SLOT = 0;
+    private static final int LOAD_FACTOR_DIVISOR = 2;
+    private static final int INSTRUCTION_SIZE = Byte.BYTES + 2 * Integer.BYTES;
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+    private static final String NO_LIBRARY_FORMAT = "%s is no AI library";
+    private static final String CORRUPT_RECORD_FORMAT = "the library holds a corrupt record of the AI %s";
+    private static final String UNKNOWN_COMMAND_FORMAT = "the AI %s uses the unknown command %s";
+    private static final String UNKNOWN_LIBRARY_COMMAND_FORMAT = "%s uses the unknown command %s";
+
+    private final ByteBuffer buffer;
+    private final String[] commands;
+    private final int slotMask;
+    private final int aiCount;
+    private final int slotsOffset;
+    private final int recordsOffset;
+
+    private AiLibrary(ByteBuffer buffer, String[] commands, int slotsOffset) {
+        this.buffer = buffer;
+        this.commands = commands;
+        this.slotMask = buffer.getInt(SLOT_COUNT_OFFSET) - 1;
+        this.aiCount = buffer.getInt(AI_COUNT_OFFSET);
+        this.slotsOffset = slotsOffset;
+        this.recordsOffset = slotsOffset + (this.slotMask + 1) * Integer.BYTES;
+    }
+
+    /**
+     * Opens the library file at the specified path by mapping it into memory.
+     *
+     * @param path         The path of the library file.
+     * @param commandNames The command names of the game the AIs are loaded into.
+     * @return The opened library.
+     * @throws IOException If the file cannot be read, is no library file or uses commands that do not exist.
+     */
+    public static AiLibrary open(Path path, List<String> commandNames) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(MAGIC_OFFSET) != MAGIC || buffer.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException(NO_LIBRARY_FORMAT.formatted(path));
+        }
+        int commandCount = buffer.getInt(COMMAND_COUNT_OFFSET);
+        if (commandCount < 0 || commandCount > MAX_COMMANDS) {
+            throw new IOException(NO_LIBRARY_FORMAT.formatted(path));
+        }
+        String[] commands = new String[commandCount];
+        int position = HEADER_SIZE;
+        for (int i = 0; i < commandCount; i++) {
+            if (position >= buffer.limit() || position + Byte.BYTES + Byte.toUnsignedInt(buffer.get(position)) > buffer.limit()) {
+                throw new IOException(NO_LIBRARY_FORMAT.formatted(path));
+            }
+            byte[] command = new byte[Byte.toUnsignedInt(buffer.get(position))];
+            buffer.get(position + Byte.BYTES, command);
+            position += Byte.BYTES + command.length;
+            commands[i] = new String(command, StandardCharsets.UTF_8);
+            if (!commandNames.contains(commands[i])) {
+                throw new IOException(UNKNOWN_LIBRARY_COMMAND_FORMAT.formatted(path, commands[i]));
+            }
+        }
+        int slotCount = buffer.getInt(SLOT_COUNT_OFFSET);
+        if (Integer.bitCount(slotCount) != 1 || position + (long) slotCount * Integer.BYTES > buffer.limit()) {
+            throw new IOException(NO_LIBRARY_FORMAT.formatted(path));
+        }
+        return new AiLibrary(buffer, commands, position);
+    }
+
+    /**
+     * Writes the specified AIs into a library file at the specified path, replacing an existing file atomically.
+     * <p>
+     * The new file is written next to the old one and moved over it, so a library that is still mapped keeps its content.
+     * </p>
+     *
+     * @param path         The path of the library file.
+     * @param programs     The programs to write, whose names have to be unique.
+     * @param commandNames The command names of the game the AIs are taken from.
+     * @throws IOException If the file cannot be written, or an AI uses a command that is not in the command names.
+     */
+    public static void write(Path path, Collection<AiProgram> programs, List<String> commandNames) throws IOException {
+        // the collection may be a view of the registry, which can change while it is written
+        List<AiProgram> ais = List.copyOf(programs);
+        // only the commands the AIs use are stored, so the library can be read by games lacking any other command
+        List<String> commands = new ArrayList<>();
+        for (AiProgram ai : ais) {
+            for (AiArguments argument : ai.getInstructions()) {
+                if (!commandNames.contains(argument.getCommand())) {
+                    throw new IOException(UNKNOWN_COMMAND_FORMAT.formatted(ai.getName(), argument.getCommand()));
+                }
+                if (!commands.contains(argument.getCommand())) {
+                    commands.add(argument.getCommand());
+                }
+            }
+        }
+        int offset = HEADER_SIZE;
+        for (String command : commands) {
+            offset += Byte.BYTES + command.getBytes(StandardCharsets.UTF_8).length;
+        }
+        int slotCount = Integer.highestOneBit(Math.max(1, ais.size() * LOAD_FACTOR_DIVISOR) * 2 - 1);
+        int[] slots = new int[slotCount];
+        byte[][] names = new byte[ais.size()][];
+        offset += slotCount * Integer.BYTES;
+        int index = 0;
+        for (AiProgram ai : ais) {
+            names[index] = ai.getName().getBytes(StandardCharsets.UTF_8);
+            int slot = findSlot(slots, ai.getName());
+            slots[slot] = offset;
+            offset += Short.BYTES + names[index].length + Integer.BYTES + ai.getInstructions().size() * INSTRUCTION_SIZE;
+            index++;
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + TEMPORARY_FILE_SUFFIX);
+        try (OutputStream file = Files.newOutputStream(temporary);
+             DataOutputStream output = new DataOutputStream(new BufferedOutputStream(file))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(slotCount);
+            output.writeInt(ais.size());
+            output.writeInt(commands.size());
+            for (String command : commands) {
+                byte[] commandName = command.getBytes(StandardCharsets.UTF_8);
+                output.writeByte(commandName.length);
+                output.write(commandName);
+            }
+            for (int slot : slots) {
+                output.writeInt(slot);
+            }
+            index = 0;
+            for (AiProgram ai : ais) {
+                output.writeShort(names[index].length);
+                output.write(names[index]);
+                output.writeInt(ai.getInstructions().size());
+                for (AiArguments argument : ai.getInstructions()) {
+                    output.writeByte(commands.indexOf(argument.getCommand()));
+                    output.writeInt(argument.getEntryA());
+                    output.writeInt(argument.getEntryB());
+                }
+                index++;
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static int findSlot(int[] slots, String name) {
+        int slot = spread(name.hashCode()) & (slots.length - 1);
+        while (slots[slot] != EMPTY_SLOT) {
+            slot = (slot + 1) & (slots.length - 1);
+        }
+        return slot;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> Short.SIZE);
+    }
+
+    /**
+     * Looks up the AI with the specified name and decodes it.
+     *
+     * @param name The name of the AI.
+     * @return A new program holding the stored commands, or null if the library holds no AI of that name.
+     * @throws IOException If a record probed for the AI is corrupt.
+     */
+    public AiProgram find(String name) throws IOException {
+        byte[] wanted = name.getBytes(StandardCharsets.UTF_8);
+        int slot = spread(name.hashCode()) & this.slotMask;
+        // a corrupt table may have no empty slot, so no more slots are probed than the table holds
+        for (int probe = 0; probe <= this.slotMask; probe++) {
+            int offset = this.buffer.getInt(this.slotsOffset + slot * Integer.BYTES);
+            if (offset == EMPTY_SLOT) {
+                return null;
+            }
+            checkRecord(name, offset >= this.recordsOffset && offset <= this.buffer.limit() - Short.BYTES);
+            if (nameEquals(offset, wanted)) {
+                return decode(name, offset + Short.BYTES + wanted.length);
+            }
+            slot = (slot + 1) & this.slotMask;
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the amount of AIs stored in the library.
+     *
+     * @return The amount of AIs.
+     */
+    public int getAiCount() {
+        return this.aiCount;
+    }
+
+    private boolean nameEquals(int offset, byte[] wanted) {
+        if (this.buffer.getShort(offset) != wanted.length || offset + Short.BYTES + wanted.length > this.buffer.limit()) {
+            return false;
+        }
+        for (int i = 0; i < wanted.length; i++) {
+            if (this.buffer.get(offset + Short.BYTES + i) != wanted[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private AiProgram decode(String name, int offset) throws IOException {
+        int position = offset;
+        checkRecord(name, position <= this.buffer.limit() - Integer.BYTES);
+        int amount = this.buffer.getInt(position);
+        position += Integer.BYTES;
+        // the amount is checked against the remaining bytes before anything is allocated for it
+        checkRecord(name, amount >= 0 && amount <= (this.buffer.limit() - position) / INSTRUCTION_SIZE);
+        List<AiArguments> instructions = new ArrayList<>(amount);
+        for (int i = 0; i < amount; i++) {
+            int opcode = this.buffer.get(position);
+            checkRecord(name, opcode >= 0 && opcode < this.commands.length);
+            String command = this.commands[opcode];
+            int entryA = this.buffer.getInt(position + Byte.BYTES);
+            int entryB = this.buffer.getInt(position + Byte.BYTES + Integer.BYTES);
+            instructions.add(new AiArguments(command, entryA, entryB));
+            position += INSTRUCTION_SIZE;
+        }
+        return new AiProgram(name, instructions);
+    }
+
+    private static void checkRecord(String name, boolean valid) throws IOException {
+        if (!valid) {
+            throw new IOException(CORRUPT_RECORD_FORMAT.formatted(name));
+        }
+    }
+}
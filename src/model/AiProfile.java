@@ -0,0 +1,88 @@
+package model;
+
+/**
+ * Represents the execution profile of an AI taking part in a game.
+ * <p>
+ * The profile counts the executed instructions per opcode, the cells written by the AI and the AI-Bombs it planted.
+ * All counters are kept in primitive fields so that recording them does not allocate while the game loop runs.
+ * </p>
+ *
+ * @author uenqh
+ */
+public class AiProfile {
+
+    private final int[] instructionCounts;
+    private int cellsWritten;
+    private int bombsPlanted;
+
+    /**
+     * Constructs an empty AiProfile for the specified amount of opcodes.
+     *
+     * @param amountOfOpcodes The amount of different AI-Commands that can be executed.
+     */
+    public AiProfile(int amountOfOpcodes) {
+        this.instructionCounts = new int[amountOfOpcodes];
+    }
+
+    /**
+     * Counts an executed instruction.
+     *
+     * @param opcode The opcode of the executed AI-Command.
+     */
+    public void recordInstruction(int opcode) {
+        this.instructionCounts[opcode]++;
+    }
+
+    /**
+     * Counts a written cell.
+     *
+     * @param plantedBomb {@code true} if the written cell is an AI-Bomb after the write, otherwise {@code false}.
+     */
+    public void recordWrite(boolean plantedBomb) {
+        this.cellsWritten++;
+        if (plantedBomb) {
+            this.bombsPlanted++;
+        }
+    }
+
+    /**
+     * Restores the counters from a checkpoint.
+     *
+     * @param instructions The saved amounts of executed instructions per opcode.
+     * @param written      The saved amount of written cells.
+     * @param bombs        The saved amount of planted AI-Bombs.
+     */
+    void restore(int[] instructions, int written, int bombs) {
+        System.arraycopy(instructions, 0, this.instructionCounts, 0, this.instructionCounts.length);
+        this.cellsWritten = written;
+        this.bombsPlanted = bombs;
+    }
+
+    /**
+     * Retrieves the amount of executed instructions of the specified opcode.
+     *
+     * @param opcode The opcode of the AI-Command.
+     * @return The amount of executed instructions.
+     */
+    public int getInstructionCount(int opcode) {
+        return this.instructionCounts[opcode];
+    }
+
+    /**
+     * Retrieves the amount of cells written by the AI.
+     *
+     * @return The amount of written cells.
+     */
+    public int getCellsWritten() {
+        return this.cellsWritten;
+    }
+
+    /**
+     * Retrieves the amount of AI-Bombs planted by the AI.
+     *
+     * @return The amount of planted AI-Bombs.
+     */
+    public int getBombsPlanted() {
+        return this.bombsPlanted;
+    }
+}
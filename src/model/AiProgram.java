@@ -0,0 +1,57 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Represents the immutable program of an AI, consisting of its name and its instructions.
+ * <p>
+ * Programs are registered in the {@link GameSystem} and shared by every {@link Ai} running them, so any amount of
+ * games on any amount of threads can run the same program without copying it.
+ * </p>
+ *
+ * @author uenqh
+ */
+public final class AiProgram {
+
+    private final String name;
+    private final List<AiArguments> instructions;
+
+    /**
+     * Constructs an AiProgram with the specified name and instructions.
+     *
+     * @param name         The name of the AI.
+     * @param instructions The instructions of the AI, which are copied unless the list is already unmodifiable.
+     */
+    public AiProgram(String name, List<AiArguments> instructions) {
+        this.name = name;
+        this.instructions = List.copyOf(instructions);
+    }
+
+    /**
+     * Retrieves the name of the AI.
+     *
+     * @return The name of the AI.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Retrieves the instructions of the AI.
+     *
+     * @return The unmodifiable list of instructions.
+     */
+    public List<AiArguments> getInstructions() {
+        return this.instructions;
+    }
+
+    /**
+     * Creates a program with the instructions of this one under another name, sharing the instructions.
+     *
+     * @param newName The name of the new program.
+     * @return The renamed program.
+     */
+    public AiProgram rename(String newName) {
+        return new AiProgram(newName, this.instructions);
+    }
+}
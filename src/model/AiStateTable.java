@@ -0,0 +1,188 @@
+package model;
+
+import java.util.Arrays;
+
+import static model.Constants.BETWEEN_NAME_AND_ID_PLACEHOLDER;
+
+/**
+ * Holds the state of all AIs taking part in a game in primitive columns, indexed by the in-game number of the AIs.
+ * <p>
+ * The {@link Ai} objects of a game are views of one row of this table each, so the state of thousands of AIs is kept
+ * in a handful of arrays instead of thousands of objects. A new table is used for every game, so AIs of a finished
+ * game keep their final state.
+ * </p>
+ * <p>
+ * The processes an AI split off wait in a {@link ProcessQueue}, which is only allocated once the AI splits for the
+ * first time, so AIs running a single process cost no more than before.
+ * </p>
+ *
+ * @author uenqh
+ */
+public final class AiStateTable {
+
+    /**
+     * ID of AIs whose name is unique among the AIs of the game.
+     */
+    public static final int DEFAULT_ID = -1;
+
+    private static final int MIN_CAPACITY = 2;
+
+    private final int processLimit;
+    private int size;
+    private int[] pointers;
+    private int[] roundCounters;
+    private int[] ids;
+    private int[] weights;
+    private boolean[] alive;
+    private String[] symbols;
+    private String[] bombSymbols;
+    private String[] editorNames;
+    private AiProfile[] profiles;
+    private ProcessQueue[] processes;
+
+    /**
+     * Constructs an empty AiStateTable with room for the specified amount of AIs.
+     *
+     * @param capacity     The amount of AIs the table holds before it grows.
+     * @param processLimit The amount of processes every AI runs at most.
+     */
+    public AiStateTable(int capacity, int processLimit) {
+        this.processLimit = processLimit;
+        int initialCapacity = Math.max(MIN_CAPACITY, capacity);
+        this.pointers = new int[initialCapacity];
+        this.roundCounters = new int[initialCapacity];
+        this.ids = new int[initialCapacity];
+        this.weights = new int[initialCapacity];
+        this.alive = new boolean[initialCapacity];
+        this.symbols = new String[initialCapacity];
+        this.bombSymbols = new String[initialCapacity];
+        this.editorNames = new String[initialCapacity];
+        this.profiles = new AiProfile[initialCapacity];
+        this.processes = new ProcessQueue[initialCapacity];
+    }
+
+    /**
+     * Adds a row for a new AI.
+     *
+     * @return The in-game number of the new AI.
+     */
+    public int addRow() {
+        if (this.size == this.pointers.length) {
+            int capacity = 2 * this.size;
+            this.pointers = Arrays.copyOf(this.pointers, capacity);
+            this.roundCounters = Arrays.copyOf(this.roundCounters, capacity);
+            this.ids = Arrays.copyOf(this.ids, capacity);
+            this.weights = Arrays.copyOf(this.weights, capacity);
+            this.alive = Arrays.copyOf(this.alive, capacity);
+            this.symbols = Arrays.copyOf(this.symbols, capacity);
+            this.bombSymbols = Arrays.copyOf(this.bombSymbols, capacity);
+            this.editorNames = Arrays.copyOf(this.editorNames, capacity);
+            this.profiles = Arrays.copyOf(this.profiles, capacity);
+            this.processes = Arrays.copyOf(this.processes, capacity);
+        }
+        this.ids[this.size] = DEFAULT_ID;
+        return this.size++;
+    }
+
+    /**
+     * Retrieves the amount of AIs in the table.
+     *
+     * @return The amount of AIs.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    int getPointer(int number) {
+        return this.pointers[number];
+    }
+
+    void setPointer(int number, int pointer) {
+        this.pointers[number] = pointer;
+    }
+
+    int getRoundCounter(int number) {
+        return this.roundCounters[number];
+    }
+
+    void incrementRoundCounter(int number) {
+        this.roundCounters[number]++;
+    }
+
+    void setRoundCounter(int number, int roundCounter) {
+        this.roundCounters[number] = roundCounter;
+    }
+
+    int getId(int number) {
+        return this.ids[number];
+    }
+
+    void setId(int number, int id) {
+        this.ids[number] = id;
+        this.editorNames[number] = null;
+    }
+
+    int getWeight(int number) {
+        return this.weights[number];
+    }
+
+    void setWeight(int number, int weight) {
+        this.weights[number] = weight;
+    }
+
+    boolean isAlive(int number) {
+        return this.alive[number];
+    }
+
+    void setAlive(int number, boolean isAlive) {
+        this.alive[number] = isAlive;
+    }
+
+    String getSymbol(int number) {
+        return this.symbols[number];
+    }
+
+    void setSymbol(int number, String symbol) {
+        this.symbols[number] = symbol;
+    }
+
+    String getBombSymbol(int number) {
+        return this.bombSymbols[number];
+    }
+
+    void setBombSymbol(int number, String bombSymbol) {
+        this.bombSymbols[number] = bombSymbol;
+    }
+
+    AiProfile getProfile(int number) {
+        return this.profiles[number];
+    }
+
+    void setProfile(int number, AiProfile profile) {
+        this.profiles[number] = profile;
+    }
+
+    int getProcessLimit() {
+        return this.processLimit;
+    }
+
+    ProcessQueue getProcesses(int number) {
+        return this.processes[number];
+    }
+
+    ProcessQueue createProcesses(int number) {
+        // a queue as long as the limit takes the splitting process and the new one before it hands out the next one
+        if (this.processes[number] == null) {
+            this.processes[number] = new ProcessQueue(this.processLimit);
+        }
+        return this.processes[number];
+    }
+
+    String getEditorName(int number, String name) {
+        // the name is built once per AI instead of once per written cell
+        if (this.editorNames[number] == null) {
+            this.editorNames[number] = name + BETWEEN_NAME_AND_ID_PLACEHOLDER + this.ids[number];
+        }
+        return this.editorNames[number];
+    }
+}
@@ -0,0 +1,201 @@
+package model;
+
+/**
+ * Represents the breakpoints and watchpoints stopping the steps of a game.
+ * <p>
+ * Breakpoints are kept as bitmaps over the cells of the game storage and over the opcodes, so checking whether a step
+ * hits one of them is a single bit test. A breakpoint on a cell fires before an AI executes the command of that cell,
+ * a breakpoint on an opcode fires before an AI executes a command with that opcode, and a watchpoint fires after an AI
+ * wrote a watched cell.
+ * </p>
+ * <p>
+ * Watchpoints are checked by a {@link CellWriteListener}, which is only registered at the game storage while at least
+ * one cell is watched. Without any breakpoints, the steps of a game are not checked at all.
+ * </p>
+ *
+ * @author uenqh
+ */
+public class Breakpoints implements CellWriteListener {
+
+    private static final int WORD_SHIFT = 6;
+    private static final int NO_HIT = -1;
+
+    private final GameStorage storage;
+    private final long[] cellBreakpoints;
+    private final long[] watchpoints;
+    private final long[] opcodeBreakpoints;
+    private int cellBreakpointAmount;
+    private int watchpointAmount;
+    private int opcodeBreakpointAmount;
+    private int hitIndex;
+    private Ai hitEditor;
+    private long hitStep;
+
+    /**
+     * Constructs Breakpoints over the cells of the specified storage without any breakpoint set.
+     *
+     * @param storage The game storage the breakpoints refer to.
+     * @param opcodes The amount of opcodes.
+     */
+    public Breakpoints(GameStorage storage, int opcodes) {
+        this.storage = storage;
+        this.cellBreakpoints = new long[words(storage.getSize())];
+        this.watchpoints = new long[words(storage.getSize())];
+        this.opcodeBreakpoints = new long[words(opcodes)];
+        this.hitIndex = NO_HIT;
+    }
+
+    /**
+     * Sets a breakpoint on the specified cell, or removes it if it is already set.
+     *
+     * @param index The index of the cell, within the storage.
+     * @return {@code true} if the breakpoint is set now, {@code false} if it was removed.
+     */
+    public boolean toggleCellBreakpoint(int index) {
+        boolean set = flip(this.cellBreakpoints, index);
+        this.cellBreakpointAmount += set ? 1 : -1;
+        return set;
+    }
+
+    /**
+     * Sets a breakpoint on the specified opcode, or removes it if it is already set.
+     *
+     * @param opcode The opcode of the command.
+     * @return {@code true} if the breakpoint is set now, {@code false} if it was removed.
+     */
+    public boolean toggleOpcodeBreakpoint(int opcode) {
+        boolean set = flip(this.opcodeBreakpoints, opcode);
+        this.opcodeBreakpointAmount += set ? 1 : -1;
+        return set;
+    }
+
+    /**
+     * Watches the cells of the specified range, or stops watching them if all of them are already watched.
+     *
+     * @param from The index of the first cell, inclusive.
+     * @param to   The index of the last cell, inclusive.
+     * @return {@code true} if the cells are watched now, {@code false} if they are no longer watched.
+     */
+    public boolean toggleWatchpoints(int from, int to) {
+        boolean watched = true;
+        for (int index = from; index <= to && watched; index++) {
+            watched = test(this.watchpoints, index);
+        }
+        int previousAmount = this.watchpointAmount;
+        for (int index = from; index <= to; index++) {
+            if (test(this.watchpoints, index) == watched) {
+                flip(this.watchpoints, index);
+                this.watchpointAmount += watched ? -1 : 1;
+            }
+        }
+        if (previousAmount == 0 && this.watchpointAmount > 0) {
+            this.storage.addWriteListener(this);
+        } else if (previousAmount > 0 && this.watchpointAmount == 0) {
+            this.storage.removeWriteListener(this);
+        }
+        return !watched;
+    }
+
+    /**
+     * Checks whether no breakpoint or watchpoint is set.
+     *
+     * @return {@code true} if the steps of the game need not be checked, otherwise {@code false}.
+     */
+    public boolean isEmpty() {
+        return this.cellBreakpointAmount == 0 && this.watchpointAmount == 0 && this.opcodeBreakpointAmount == 0;
+    }
+
+    /**
+     * Checks whether the specified AI would hit a breakpoint by executing its next command.
+     *
+     * @param ai The AI about to execute its next command.
+     * @return {@code true} if a breakpoint is set on the cell of the command or on its opcode, otherwise {@code false}.
+     */
+    public boolean breaksBefore(Ai ai) {
+        int index = getCellIndex(ai);
+        if (test(this.cellBreakpoints, index)) {
+            return true;
+        }
+        if (this.opcodeBreakpointAmount == 0) {
+            return false;
+        }
+        int opcode = this.storage.getCommandAt(index);
+        return opcode != GameStorage.NO_COMMAND && test(this.opcodeBreakpoints, opcode);
+    }
+
+    /**
+     * Retrieves the index of the cell holding the next command of the specified AI.
+     *
+     * @param ai The AI.
+     * @return The index of the cell, within the storage.
+     */
+    public int getCellIndex(Ai ai) {
+        return Math.floorMod(ai.getPointerIndex(), this.storage.getSize());
+    }
+
+    /**
+     * Forgets the last write to a watched cell, so the next one can be detected.
+     */
+    public void clearHit() {
+        this.hitIndex = NO_HIT;
+        this.hitEditor = null;
+    }
+
+    /**
+     * Checks whether an AI wrote a watched cell since the last call of {@link #clearHit()}.
+     *
+     * @return {@code true} if a watchpoint fired, otherwise {@code false}.
+     */
+    public boolean isHit() {
+        return this.hitIndex != NO_HIT;
+    }
+
+    /**
+     * Retrieves the index of the watched cell written last.
+     *
+     * @return The index of the cell, within the storage.
+     */
+    public int getHitIndex() {
+        return this.hitIndex;
+    }
+
+    /**
+     * Retrieves the AI that wrote the watched cell last.
+     *
+     * @return The AI.
+     */
+    public Ai getHitEditor() {
+        return this.hitEditor;
+    }
+
+    /**
+     * Retrieves the step in which the watched cell was written last.
+     *
+     * @return The step.
+     */
+    public long getHitStep() {
+        return this.hitStep;
+    }
+
+    @Override
+    public void onCellWrite(CellWrite write) {
+        if (test(this.watchpoints, write.getIndex())) {
+            this.hitIndex = write.getIndex();
+            this.hitEditor = write.getEditor();
+            this.hitStep = write.getStep();
+        }
+    }
+
+    private static int words(int bits) {
+        return (bits + Long.SIZE - 1) >>> WORD_SHIFT;
+    }
+
+    private static boolean test(long[] bitmap, int index) {
+        return (bitmap[index >>> WORD_SHIFT] & 1L << index) != 0;
+    }
+
+    private static boolean flip(long[] bitmap, int index) {
+        bitmap[index >>> WORD_SHIFT] ^= 1L << index;
+        return test(bitmap, index);
+    }
+}
@@ -0,0 +1,144 @@
+package model;
+
+/**
+ * Describes a single write of an AI to a cell of the game storage.
+ * <p>
+ * The game storage reuses one instance for all writes, so the contents of a CellWrite are only valid while the
+ * {@link CellWriteListener} it was passed to is being notified.
+ * </p>
+ *
+ * @author uenqh
+ */
+public class CellWrite {
+
+    private int index;
+    private GameStorageCell cell;
+    private int previousOpcode;
+    private int opcode;
+    private int previousEntryA;
+    private int previousEntryB;
+    private int previousOwner;
+    private boolean previousBomb;
+    private Ai editor;
+    private long step;
+
+    /**
+     * Stores the state of a cell before it is written.
+     *
+     * @param cellIndex     The index of the cell within the game storage.
+     * @param writtenCell   The cell that is about to be written.
+     * @param currentOpcode The opcode of the command of the cell before the write.
+     */
+    void begin(int cellIndex, GameStorageCell writtenCell, int currentOpcode) {
+        this.index = cellIndex;
+        this.cell = writtenCell;
+        this.previousOpcode = currentOpcode;
+        this.previousEntryA = writtenCell.getEntryA();
+        this.previousEntryB = writtenCell.getEntryB();
+        this.previousOwner = writtenCell.getOwner();
+        this.previousBomb = writtenCell.isAiBomb();
+    }
+
+    /**
+     * Stores the AI that wrote the cell, the game step it was written in and the opcode it holds afterwards.
+     *
+     * @param writingAi     The AI that wrote the cell.
+     * @param gameStep      The number of the game step.
+     * @param writtenOpcode The opcode of the command of the cell after the write.
+     */
+    void complete(Ai writingAi, long gameStep, int writtenOpcode) {
+        this.opcode = writtenOpcode;
+        this.editor = writingAi;
+        this.step = gameStep;
+    }
+
+    /**
+     * Retrieves the index of the written cell within the game storage.
+     *
+     * @return The index of the written cell.
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Retrieves the written cell in its current state.
+     *
+     * @return The written cell.
+     */
+    public GameStorageCell getCell() {
+        return this.cell;
+    }
+
+    /**
+     * Retrieves the opcode of the command of the cell before the write.
+     *
+     * @return The previous opcode or {@link GameStorage#NO_COMMAND}.
+     */
+    public int getPreviousOpcode() {
+        return this.previousOpcode;
+    }
+
+    /**
+     * Retrieves the opcode of the command of the cell after the write.
+     *
+     * @return The new opcode or {@link GameStorage#NO_COMMAND}.
+     */
+    public int getOpcode() {
+        return this.opcode;
+    }
+
+    /**
+     * Retrieves entry A of the cell before the write.
+     *
+     * @return The previous value of entry A.
+     */
+    public int getPreviousEntryA() {
+        return this.previousEntryA;
+    }
+
+    /**
+     * Retrieves entry B of the cell before the write.
+     *
+     * @return The previous value of entry B.
+     */
+    public int getPreviousEntryB() {
+        return this.previousEntryB;
+    }
+
+    /**
+     * Retrieves the in-game number of the owner of the cell before the write.
+     *
+     * @return The previous owner or {@link TerritoryIndex#NO_OWNER}.
+     */
+    public int getPreviousOwner() {
+        return this.previousOwner;
+    }
+
+    /**
+     * Retrieves whether the cell was an AI-Bomb before the write.
+     *
+     * @return {@code true} if the cell was an AI-Bomb, otherwise {@code false}.
+     */
+    public boolean wasAiBomb() {
+        return this.previousBomb;
+    }
+
+    /**
+     * Retrieves the AI that wrote the cell.
+     *
+     * @return The writing AI.
+     */
+    public Ai getEditor() {
+        return this.editor;
+    }
+
+    /**
+     * Retrieves the number of the game step during which the cell was written.
+     *
+     * @return The step number.
+     */
+    public long getStep() {
+        return this.step;
+    }
+}
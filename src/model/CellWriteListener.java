@@ -0,0 +1,19 @@
+package model;
+
+/**
+ * Represents a listener that is notified whenever an AI writes a cell of the game storage.
+ * <p>
+ * Listeners are notified on the thread executing the AI-Commands, after the cell has been written.
+ * </p>
+ *
+ * @author uenqh
+ */
+public interface CellWriteListener {
+
+    /**
+     * Reacts to a write of an AI to a cell of the game storage.
+     *
+     * @param write the write, only valid for the duration of this call
+     */
+    void onCellWrite(CellWrite write);
+}
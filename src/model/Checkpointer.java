@@ -0,0 +1,293 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Periodically takes checkpoints of a running game and writes them to a file on a background thread.
+ * <p>
+ * The game thread polls the checkpointer between steps. Once the step or time interval has passed, the game is copied
+ * into a spare {@link GameCheckpoint} buffer, which is handed to the writer thread. The writer writes it to a temporary
+ * file, forces it to the disk and rotates it into place, keeping the checkpoint before as a fallback. While the
+ * writer is still busy with the last checkpoint, due checkpoints are put off to the next poll instead of waiting, so
+ * the game thread never waits for the disk.
+ * </p>
+ * <p>
+ * Every checkpoint file ends with a CRC-32 checksum of its content. The checksum is verified before the checkpoint is
+ * parsed, so a checkpoint that was cut off or damaged is rejected as a whole when reading, and the previous checkpoint
+ * is read instead.
+ * </p>
+ *
+ * @author uenqh
+ */
+public final class Checkpointer {
+
+    private static final String THREAD_NAME = "checkpoint-writer";
+    private static final String PREVIOUS_SUFFIX = ".previous";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final String DAMAGED_MESSAGE = "the checkpoint is damaged";
+    private static final long TIME_POLL_STEPS = 1 << 12;
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final long NO_INTERVAL = 0;
+    private static final long NO_STEP = -1;
+    private static final GameCheckpoint CLOSED = new GameCheckpoint();
+
+    private final Path path;
+    private final long stepInterval;
+    private final long secondsInterval;
+    private final List<String> commandNames;
+    private final BlockingQueue<GameCheckpoint> pending;
+    private final AtomicBoolean writing;
+    private final GameCheckpoint spare;
+    private final Thread writer;
+    private long lastStep;
+    private long lastTime;
+    private long nextPollStep;
+    private volatile long checkpointsWritten;
+    private volatile IOException lastFailure;
+
+    /**
+     * Constructs a Checkpointer and starts its writer thread.
+     *
+     * @param path            The path of the checkpoint file.
+     * @param stepInterval    The amount of steps between two checkpoints, or 0 to not checkpoint by steps.
+     * @param secondsInterval The amount of seconds between two checkpoints, or 0 to not checkpoint by time.
+     * @param commandNames    The command names the opcodes of the game refer to.
+     */
+    public Checkpointer(Path path, long stepInterval, long secondsInterval, List<String> commandNames) {
+        this.path = path;
+        this.stepInterval = stepInterval;
+        this.secondsInterval = secondsInterval;
+        this.commandNames = List.copyOf(commandNames);
+        this.pending = new ArrayBlockingQueue<>(1);
+        this.writing = new AtomicBoolean();
+        this.spare = new GameCheckpoint();
+        this.lastStep = NO_STEP;
+        this.writer = new Thread(this::writeCheckpoints, THREAD_NAME);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Retrieves the step of the game at which the checkpointer wants to be polled next.
+     *
+     * @return The step of the next poll.
+     */
+    public long getNextPollStep() {
+        return this.nextPollStep;
+    }
+
+    /**
+     * Takes a checkpoint of the specified game if one is due and the writer is idle.
+     * <p>
+     * This has to be called on the game thread between two steps, once the step returned by {@link #getNextPollStep()}
+     * is reached.
+     * </p>
+     *
+     * @param game The running game.
+     */
+    public void poll(GameSystem game) {
+        long step = game.getGameStorage().getStep();
+        long now = System.nanoTime();
+        if (this.lastStep == NO_STEP || step < this.lastStep) {
+            // the first poll of a game only starts the intervals
+            this.lastStep = step;
+            this.lastTime = now;
+        }
+        boolean stepsPassed = this.stepInterval != NO_INTERVAL && step - this.lastStep >= this.stepInterval;
+        boolean timePassed = this.secondsInterval != NO_INTERVAL
+            && now - this.lastTime >= TimeUnit.SECONDS.toNanos(this.secondsInterval);
+        if ((stepsPassed || timePassed) && this.writing.compareAndSet(false, true)) {
+            this.spare.capture(game);
+            this.pending.add(this.spare);
+            this.lastStep = step;
+            this.lastTime = now;
+        }
+        this.nextPollStep = Long.MAX_VALUE;
+        if (this.stepInterval != NO_INTERVAL) {
+            this.nextPollStep = Math.max(step + 1, this.lastStep + this.stepInterval);
+        }
+        if (this.secondsInterval != NO_INTERVAL) {
+            this.nextPollStep = Math.min(this.nextPollStep, step + TIME_POLL_STEPS);
+        }
+    }
+
+    /**
+     * Retrieves the path of the checkpoint file.
+     *
+     * @return The path of the checkpoint file.
+     */
+    public Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * Retrieves the amount of steps between two checkpoints.
+     *
+     * @return The amount of steps, 0 if checkpoints are not taken by steps.
+     */
+    public long getStepInterval() {
+        return this.stepInterval;
+    }
+
+    /**
+     * Retrieves the amount of seconds between two checkpoints.
+     *
+     * @return The amount of seconds, 0 if checkpoints are not taken by time.
+     */
+    public long getSecondsInterval() {
+        return this.secondsInterval;
+    }
+
+    /**
+     * Retrieves the amount of checkpoints written so far.
+     *
+     * @return The amount of written checkpoints.
+     */
+    public long getCheckpointsWritten() {
+        return this.checkpointsWritten;
+    }
+
+    /**
+     * Retrieves the error of the last checkpoint that could not be written.
+     *
+     * @return The error, or null if every checkpoint was written.
+     */
+    public IOException getLastFailure() {
+        return this.lastFailure;
+    }
+
+    /**
+     * Stops the writer thread once the checkpoint it is writing is written, waiting for it to finish.
+     */
+    public void close() {
+        try {
+            this.pending.put(CLOSED);
+            this.writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reads the latest intact checkpoint written to the specified path.
+     *
+     * @param path         The path of the checkpoint file.
+     * @param commandNames The command names of the game the checkpoint is resumed in.
+     * @return The read checkpoint.
+     * @throws IOException If neither the checkpoint nor the previous one can be read.
+     */
+    public static GameCheckpoint readLatest(Path path, List<String> commandNames) throws IOException {
+        try {
+            return read(path, commandNames);
+        } catch (IOException e) {
+            Path previous = path.resolveSibling(path.getFileName() + PREVIOUS_SUFFIX);
+            if (!Files.exists(previous)) {
+                throw e;
+            }
+            return read(previous, commandNames);
+        }
+    }
+
+    private static GameCheckpoint read(Path path, List<String> commandNames) throws IOException {
+        // the lengths in a damaged checkpoint cannot be trusted, so nothing is parsed before the checksum matched
+        verifyChecksum(path);
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream input = new DataInputStream(new BufferedInputStream(file))) {
+            return GameCheckpoint.read(input, commandNames);
+        } catch (RuntimeException e) {
+            throw new IOException(DAMAGED_MESSAGE, e);
+        }
+    }
+
+    private static void verifyChecksum(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long remaining = channel.size() - Long.BYTES;
+            if (remaining < 0) {
+                throw new IOException(DAMAGED_MESSAGE);
+            }
+            CRC32 checksum = new CRC32();
+            ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+            while (remaining > 0) {
+                chunk.clear().limit((int) Math.min(CHUNK_SIZE, remaining));
+                int read = channel.read(chunk);
+                if (read < 0) {
+                    throw new IOException(DAMAGED_MESSAGE);
+                }
+                checksum.update(chunk.flip());
+                remaining -= read;
+            }
+            ByteBuffer trailer = ByteBuffer.allocate(Long.BYTES);
+            while (trailer.hasRemaining()) {
+                if (channel.read(trailer) < 0) {
+                    throw new IOException(DAMAGED_MESSAGE);
+                }
+            }
+            if (trailer.flip().getLong() != checksum.getValue()) {
+                throw new IOException(DAMAGED_MESSAGE);
+            }
+        }
+    }
+
+    private void writeCheckpoints() {
+        try {
+            while (true) {
+                GameCheckpoint checkpoint = this.pending.take();
+                if (checkpoint == CLOSED) {
+                    return;
+                }
+                try {
+                    write(checkpoint);
+                    this.checkpointsWritten++;
+                } catch (IOException e) {
+                    this.lastFailure = e;
+                } finally {
+                    this.writing.set(false);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(GameCheckpoint checkpoint) throws IOException {
+        Path temporary = this.path.resolveSibling(this.path.getFileName() + TEMPORARY_SUFFIX);
+        CRC32 checksum = new CRC32();
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+            // the streams are not closed, closing them would close the channel before it is forced
+            DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(new CheckedOutputStream(Channels.newOutputStream(channel), checksum)));
+            checkpoint.write(output, this.commandNames);
+            output.flush();
+            ByteBuffer trailer = ByteBuffer.allocate(Long.BYTES).putLong(checksum.getValue()).flip();
+            while (trailer.hasRemaining()) {
+                channel.write(trailer);
+            }
+            channel.force(true);
+        }
+        if (Files.exists(this.path)) {
+            Files.move(this.path, this.path.resolveSibling(this.path.getFileName() + PREVIOUS_SUFFIX),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        Files.move(temporary, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
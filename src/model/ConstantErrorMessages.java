@@ -22,6 +22,11 @@ public final class ConstantErrorMessages {
      */
     public static final String NO_RUNNING_REQUIREMENTS_MESSAGE = "This command can always be used.";
 
+    /**
+     * Error message indicating that an AI could not be loaded from the AI library, formatted with the cause.
+     */
+    public static final String LIBRARY_ERROR_FORMAT = "the AI library could not be read, %s!";
+
     private ConstantErrorMessages() {
     }
 }
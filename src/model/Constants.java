@@ -21,6 +21,11 @@ public final class Constants {
      */
     public static final String SET_INIT_MODE_COMMAND_NAME = "set-init-mode";
 
+    /**
+     * Command name for setting the execution mode.
+     */
+    public static final String SET_EXECUTION_MODE_COMMAND_NAME = "set-execution-mode";
+
     /**
      * Command name for starting the game.
      */
@@ -66,6 +71,131 @@ public final class Constants {
      */
     public static final String SHOW_AI_COMMAND_NAME = "show-ai";
 
+    /**
+     * Command name for showing the territory of the AIs.
+     */
+    public static final String SHOW_TERRITORY_COMMAND_NAME = "show-territory";
+
+    /**
+     * Command name for counting cells by command.
+     */
+    public static final String COUNT_COMMAND_NAME = "count";
+
+    /**
+     * Command name for finding the next cell holding a command.
+     */
+    public static final String FIND_NEXT_COMMAND_NAME = "find-next";
+
+    /**
+     * Command name for evolving AIs.
+     */
+    public static final String EVOLVE_COMMAND_NAME = "evolve";
+
+    /**
+     * Command name for playing a tournament between AIs.
+     */
+    public static final String TOURNAMENT_COMMAND_NAME = "tournament";
+
+    /**
+     * Command name for saving the AIs into an AI library.
+     */
+    public static final String SAVE_LIBRARY_COMMAND_NAME = "save-library";
+
+    /**
+     * Command name for starting a battle of many copies of AIs.
+     */
+    public static final String START_BATTLE_COMMAND_NAME = "start-battle";
+
+    /**
+     * Command name for setting the scheduling mode.
+     */
+    public static final String SET_SCHEDULING_MODE_COMMAND_NAME = "set-scheduling-mode";
+
+    /**
+     * Command name for setting the weight of an AI.
+     */
+    public static final String SET_WEIGHT_COMMAND_NAME = "set-weight";
+
+    /**
+     * Command name for taking periodic checkpoints of the game.
+     */
+    public static final String AUTO_CHECKPOINT_COMMAND_NAME = "auto-checkpoint";
+
+    /**
+     * Command name for adding an AI from a warrior file.
+     */
+    public static final String ADD_AI_FILE_COMMAND_NAME = "add-ai-file";
+
+    /**
+     * Command name for writing an AI into a warrior file.
+     */
+    public static final String EXPORT_AI_COMMAND_NAME = "export-ai";
+
+    /**
+     * Command name for recording the statistics of the running game.
+     */
+    public static final String RECORD_STATS_COMMAND_NAME = "record-stats";
+
+    /**
+     * Command name for converting a statistics file into a CSV file.
+     */
+    public static final String CONVERT_STATS_COMMAND_NAME = "convert-stats";
+
+    /**
+     * Command name for publishing the live state of the running game into a memory-mapped file.
+     */
+    public static final String PUBLISH_STATE_COMMAND_NAME = "publish-state";
+
+    /**
+     * Command name for logging the writes of the running game into a CSV file.
+     */
+    public static final String LOG_WRITES_COMMAND_NAME = "log-writes";
+
+    /**
+     * Command name for forking the running game.
+     */
+    public static final String FORK_GAME_COMMAND_NAME = "fork-game";
+
+    /**
+     * Command name for continuing the running game with another fork.
+     */
+    public static final String SWITCH_FORK_COMMAND_NAME = "switch-fork";
+
+    /**
+     * Command name for discarding a fork of the running game.
+     */
+    public static final String DISCARD_FORK_COMMAND_NAME = "discard-fork";
+
+    /**
+     * Command name for setting a breakpoint on a cell.
+     */
+    public static final String BREAK_PC_COMMAND_NAME = "break-pc";
+
+    /**
+     * Command name for setting a breakpoint on an AI-Command.
+     */
+    public static final String BREAK_OPCODE_COMMAND_NAME = "break-opcode";
+
+    /**
+     * Command name for watching cells.
+     */
+    public static final String WATCH_COMMAND_NAME = "watch";
+
+    /**
+     * Command name for showing the progress of the steps executed in the background.
+     */
+    public static final String RUN_STATUS_COMMAND_NAME = "status";
+
+    /**
+     * Command name for stopping the steps executed in the background.
+     */
+    public static final String STOP_RUN_COMMAND_NAME = "stop";
+
+    /**
+     * Command name for setting the amount of processes every AI runs at most.
+     */
+    public static final String SET_PROCESS_LIMIT_COMMAND_NAME = "set-process-limit";
+
 
 
     /**
@@ -113,6 +243,16 @@ public final class Constants {
      */
     public static final String SWAP_COMMAND_NAME = "SWAP";
 
+    /**
+     * Command name for the "SPL" command.
+     */
+    public static final String SPLIT_COMMAND_NAME = "SPL";
+
+    /**
+     * Name used instead of a command name to query 'AI-Bombs'.
+     */
+    public static final String BOMB_QUERY_NAME = "BOMB";
+
 
 
     /**
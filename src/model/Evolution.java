@@ -0,0 +1,231 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Searches for strong AI programs by mutating a population of programs and letting them fight a pool of reference AIs.
+ * <p>
+ * The population is seeded with mutated copies of the reference programs. Every candidate plays each reference AI
+ * twice, once loaded first and once loaded second, and earns {@value #POINTS_PER_WIN} points per win and
+ * {@value #POINTS_PER_DRAW} per draw, the cells it owned at the end of its matches break ties. After each generation
+ * the better part of the population survives and the rest is replaced by mutated copies of the survivors.
+ * </p>
+ * <p>
+ * The matches of a generation are played in parallel by a {@link MatchRunner}. All random decisions are made on the
+ * calling thread from a single seed, so the same seed always evolves the same programs.
+ * </p>
+ *
+ * @author uenqh
+ */
+public class Evolution {
+
+    /**
+     * Points a candidate earns for winning a match.
+     */
+    public static final int POINTS_PER_WIN = 2;
+
+    /**
+     * Points a candidate earns for a draw.
+     */
+    public static final int POINTS_PER_DRAW = 1;
+
+    private static final String CANDIDATE_NAME = "candidate";
+    private static final int CANDIDATE_POSITION = 0;
+    private static final int REFERENCE_POSITION = 1;
+    private static final int MATCHES_PER_REFERENCE = 2;
+    private static final int SURVIVOR_DIVISOR = 4;
+    private static final int MAX_MUTATIONS = 3;
+    private static final int MAX_ENTRY_NUDGE = 4;
+    private static final int MUTATION_KINDS = 6;
+    private static final int REPLACE_COMMAND = 0;
+    private static final int NUDGE_ENTRY_A = 1;
+    private static final int NUDGE_ENTRY_B = 2;
+    private static final int INSERT_INSTRUCTION = 3;
+    private static final int DELETE_INSTRUCTION = 4;
+
+    private final MatchRunner runner;
+    private final List<AiProgram> references;
+    private final List<String> commandNames;
+    private final int maxProgramLength;
+    private final int storageSize;
+    private final Random random;
+    private List<Candidate> population;
+    private long matchesPlayed;
+
+    /**
+     * Constructs an Evolution and seeds its population.
+     *
+     * @param template       The game system whose settings the matches are played with.
+     * @param references     The reference AIs the candidates have to fight.
+     * @param populationSize The amount of candidates per generation.
+     * @param stepCap        The most steps a match lasts.
+     * @param seed           The seed of all random decisions.
+     */
+    public Evolution(GameSystem template, List<AiProgram> references, int populationSize, long stepCap, long seed) {
+        this.runner = new MatchRunner(template, stepCap);
+        this.references = List.copyOf(references);
+        this.commandNames = List.copyOf(template.getAiCommandHandler().getAiCommandNameArrayList());
+        this.storageSize = template.getGameStorage().getSize();
+        // two contestants have to fit into the storage next to each other
+        this.maxProgramLength = this.storageSize / (REFERENCE_POSITION + 1);
+        this.random = new Random(seed);
+
+        List<Candidate> seeded = new ArrayList<>();
+        for (int i = 0; i < populationSize; i++) {
+            seeded.add(new Candidate(mutate(this.references.get(i % this.references.size()).getInstructions())));
+        }
+        evaluate(seeded);
+        this.population = seeded;
+        this.population.sort(Candidate.RANKING);
+    }
+
+    /**
+     * Replaces the weaker part of the population by mutated copies of the survivors and ranks the new population.
+     */
+    public void evolveGeneration() {
+        int survivors = Math.max(1, this.population.size() / SURVIVOR_DIVISOR);
+        List<Candidate> children = new ArrayList<>();
+        for (int i = survivors; i < this.population.size(); i++) {
+            Candidate parent = this.population.get(this.random.nextInt(survivors));
+            children.add(new Candidate(mutate(parent.program.getInstructions())));
+        }
+        evaluate(children);
+
+        List<Candidate> next = new ArrayList<>(this.population.subList(0, survivors));
+        next.addAll(children);
+        // the sort is stable, so survivors stay ahead of equally strong children
+        next.sort(Candidate.RANKING);
+        this.population = next;
+    }
+
+    /**
+     * Retrieves the strongest programs of the current population, the strongest first.
+     *
+     * @param amount The most programs to retrieve.
+     * @return The programs, which are named after their rank starting at 1.
+     */
+    public List<AiProgram> getBestPrograms(int amount) {
+        List<AiProgram> best = new ArrayList<>();
+        for (int i = 0; i < Math.min(amount, this.population.size()); i++) {
+            best.add(this.population.get(i).program.rename(String.valueOf(i + 1)));
+        }
+        return best;
+    }
+
+    /**
+     * Retrieves the points the strongest candidate earned.
+     *
+     * @return The points.
+     */
+    public int getBestPoints() {
+        return this.population.get(0).points;
+    }
+
+    /**
+     * Retrieves the most points a candidate can earn.
+     *
+     * @return The most points.
+     */
+    public int getMaxPoints() {
+        return this.references.size() * MATCHES_PER_REFERENCE * POINTS_PER_WIN;
+    }
+
+    /**
+     * Retrieves the amount of matches played so far.
+     *
+     * @return The amount of matches.
+     */
+    public long getMatchesPlayed() {
+        return this.matchesPlayed;
+    }
+
+    private void evaluate(List<Candidate> candidates) {
+        int matchesPerCandidate = this.references.size() * MATCHES_PER_REFERENCE;
+        MatchResult[] results = new MatchResult[candidates.size() * matchesPerCandidate];
+        IntStream.range(0, results.length).parallel().forEach(match -> {
+            AiProgram candidate = candidates.get(match / matchesPerCandidate).program;
+            AiProgram reference = this.references.get(match % matchesPerCandidate / MATCHES_PER_REFERENCE);
+            boolean candidateFirst = match % MATCHES_PER_REFERENCE == 0;
+            results[match] = this.runner.run(candidateFirst ? List.of(candidate, reference) : List.of(reference, candidate));
+        });
+        this.matchesPlayed += results.length;
+
+        for (int match = 0; match < results.length; match++) {
+            Candidate candidate = candidates.get(match / matchesPerCandidate);
+            int position = match % MATCHES_PER_REFERENCE == 0 ? CANDIDATE_POSITION : REFERENCE_POSITION;
+            int winner = results[match].getWinner();
+            if (winner == position) {
+                candidate.points += POINTS_PER_WIN;
+            } else if (winner == MatchResult.DRAW) {
+                candidate.points += POINTS_PER_DRAW;
+            }
+            candidate.territory += results[match].getTerritory(position);
+        }
+    }
+
+    private AiProgram mutate(List<AiArguments> program) {
+        List<AiArguments> mutated = new ArrayList<>(program);
+        int mutations = 1 + this.random.nextInt(MAX_MUTATIONS);
+        for (int i = 0; i < mutations; i++) {
+            int kind = this.random.nextInt(MUTATION_KINDS);
+            if (mutated.isEmpty() || kind == INSERT_INSTRUCTION && mutated.size() < this.maxProgramLength) {
+                mutated.add(this.random.nextInt(mutated.size() + 1), randomInstruction());
+                continue;
+            }
+            int index = this.random.nextInt(mutated.size());
+            AiArguments instruction = mutated.get(index);
+            switch (kind) {
+                case REPLACE_COMMAND -> mutated.set(index,
+                    new AiArguments(randomCommand(), instruction.getEntryA(), instruction.getEntryB()));
+                case NUDGE_ENTRY_A -> mutated.set(index,
+                    new AiArguments(instruction.getCommand(), instruction.getEntryA() + randomNudge(), instruction.getEntryB()));
+                case NUDGE_ENTRY_B -> mutated.set(index,
+                    new AiArguments(instruction.getCommand(), instruction.getEntryA(), instruction.getEntryB() + randomNudge()));
+                case DELETE_INSTRUCTION -> {
+                    if (mutated.size() > 1) {
+                        mutated.remove(index);
+                    }
+                }
+                default -> mutated.set(index, randomInstruction());
+            }
+        }
+        while (mutated.size() > this.maxProgramLength) {
+            mutated.remove(mutated.size() - 1);
+        }
+        return new AiProgram(CANDIDATE_NAME, mutated);
+    }
+
+    private AiArguments randomInstruction() {
+        return new AiArguments(randomCommand(), randomEntry(), randomEntry());
+    }
+
+    private String randomCommand() {
+        return this.commandNames.get(this.random.nextInt(this.commandNames.size()));
+    }
+
+    private int randomEntry() {
+        return this.random.nextInt(this.storageSize) - this.storageSize / 2;
+    }
+
+    private int randomNudge() {
+        int nudge = this.random.nextInt(MAX_ENTRY_NUDGE) + 1;
+        return this.random.nextBoolean() ? nudge : -nudge;
+    }
+
+    private static final class Candidate {
+        private static final Comparator<Candidate> RANKING = Comparator.<Candidate>comparingInt(candidate -> candidate.points)
+            .thenComparingLong(candidate -> candidate.territory).reversed();
+
+        private final AiProgram program;
+        private int points;
+        private long territory;
+
+        private Candidate(AiProgram program) {
+            this.program = program;
+        }
+    }
+}
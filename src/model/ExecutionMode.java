@@ -0,0 +1,19 @@
+package model;
+
+/**
+ * Represents the way the AIs of a game execute their commands.
+ *
+ * @author uenqh
+ */
+public enum ExecutionMode {
+
+    /**
+     * Sequential execution mode, the AIs execute one command after another.
+     */
+    EXECUTION_MODE_SEQUENTIAL,
+
+    /**
+     * Speculative execution mode, the commands of a round are evaluated in parallel and applied in order.
+     */
+    EXECUTION_MODE_SPECULATIVE;
+}
@@ -0,0 +1,386 @@
+package model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a snapshot of a running game, which can be written to a file and resumed later.
+ * <p>
+ * A checkpoint holds the columns of the game storage, the programs and runtime state of the AIs, including the
+ * processes they split off, and the state of the scheduler, so a resumed game continues exactly where the snapshot
+ * was taken. Its arrays are kept between captures and only reallocated when the storage size or the amount of AIs
+ * changes, so capturing a game copies its state without allocating the columns again.
+ * </p>
+ * <p>
+ * Opcodes are stored as they are, so a checkpoint can only be read with the command names it was written with.
+ * </p>
+ *
+ * @author uenqh
+ * @see Checkpointer
+ */
+public final class GameCheckpoint {
+
+    private static final int MAGIC = 0x43464350;
+    private static final int VERSION = 2;
+    private static final String NO_CHECKPOINT_MESSAGE = "the data is no checkpoint";
+    private static final String OTHER_COMMANDS_MESSAGE = "the checkpoint was written with other commands";
+
+    private int storageSize;
+    private long step;
+    private int seed;
+    private int processLimit;
+    private ExecutionMode executionMode;
+    private SchedulingMode schedulingMode;
+    private int opcodes;
+    private List<AiProgram> programs;
+    private int[] pointers;
+    private int[] roundCounters;
+    private int[] weights;
+    private boolean[] alive;
+    private int[] cellsWritten;
+    private int[] bombsPlanted;
+    private int[] instructionCounts;
+    private int[] processOffsets;
+    private int[] processPointers;
+    private long[] schedulerState;
+    private int[] commands;
+    private int[] entriesA;
+    private int[] entriesB;
+    private int[] owners;
+    private int[] changeFlags;
+
+    /**
+     * Copies the state of the specified running game into this checkpoint.
+     * <p>
+     * This has to be called between two steps of the game, while every alive AI waits in the scheduler.
+     * </p>
+     *
+     * @param game The running game.
+     */
+    public void capture(GameSystem game) {
+        captureWithoutStorage(game);
+        if (this.commands == null || this.commands.length != this.storageSize) {
+            this.commands = new int[this.storageSize];
+            this.entriesA = new int[this.storageSize];
+            this.entriesB = new int[this.storageSize];
+            this.owners = new int[this.storageSize];
+            this.changeFlags = new int[this.storageSize];
+        }
+        game.getGameStorage().copyColumns(this.commands, this.entriesA, this.entriesB, this.owners, this.changeFlags);
+    }
+
+    /**
+     * Copies the state of the specified running game into this checkpoint, leaving out the columns of its storage.
+     * <p>
+     * A checkpoint taken this way only serves to restore the AIs and the scheduler of a {@link GameFork}.
+     * </p>
+     *
+     * @param game The running game.
+     */
+    void captureWithoutStorage(GameSystem game) {
+        GameStorage storage = game.getGameStorage();
+        this.storageSize = storage.getSize();
+        this.step = storage.getStep();
+        this.seed = game.getSeed();
+        this.processLimit = game.getProcessLimit();
+        this.executionMode = game.getExecutionMode();
+        this.schedulingMode = game.getSchedulingMode();
+
+        List<Ai> ais = game.getInGameAis();
+        int opcodes = game.getAiCommandHandler().getAiCommandNameArrayList().size();
+        allocateAiColumns(ais.size(), opcodes);
+        this.programs = new ArrayList<>(ais.size());
+        for (int i = 0; i < ais.size(); i++) {
+            Ai ai = ais.get(i);
+            this.programs.add(ai.getProgram());
+            this.pointers[i] = ai.getPointerIndex();
+            this.roundCounters[i] = ai.getRoundCounter();
+            this.weights[i] = ai.getWeight();
+            this.alive[i] = ai.getAliveStatus();
+            this.cellsWritten[i] = ai.getProfile().getCellsWritten();
+            this.bombsPlanted[i] = ai.getProfile().getBombsPlanted();
+            for (int opcode = 0; opcode < opcodes; opcode++) {
+                this.instructionCounts[i * opcodes + opcode] = ai.getProfile().getInstructionCount(opcode);
+            }
+            this.processOffsets[i + 1] = this.processOffsets[i] + ai.getWaitingProcessCount();
+        }
+        capturePointers(ais);
+        this.schedulerState = game.getScheduler().saveState();
+    }
+
+    /**
+     * Writes this checkpoint to the specified output.
+     *
+     * @param output       The output to write to.
+     * @param commandNames The command names the opcodes of the checkpoint refer to.
+     * @throws IOException If the output cannot be written.
+     */
+    public void write(DataOutput output, List<String> commandNames) throws IOException {
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(commandNames.size());
+        for (String commandName : commandNames) {
+            output.writeUTF(commandName);
+        }
+        output.writeInt(this.storageSize);
+        output.writeLong(this.step);
+        output.writeInt(this.seed);
+        output.writeInt(this.processLimit);
+        output.writeUTF(this.executionMode.name());
+        output.writeUTF(this.schedulingMode.name());
+
+        output.writeInt(this.programs.size());
+        for (int i = 0; i < this.programs.size(); i++) {
+            AiProgram program = this.programs.get(i);
+            output.writeUTF(program.getName());
+            output.writeInt(program.getInstructions().size());
+            for (AiArguments instruction : program.getInstructions()) {
+                output.writeByte(commandNames.indexOf(instruction.getCommand()));
+                output.writeInt(instruction.getEntryA());
+                output.writeInt(instruction.getEntryB());
+            }
+            output.writeInt(this.pointers[i]);
+            output.writeInt(this.roundCounters[i]);
+            output.writeInt(this.weights[i]);
+            output.writeBoolean(this.alive[i]);
+            output.writeInt(this.cellsWritten[i]);
+            output.writeInt(this.bombsPlanted[i]);
+            for (int opcode = 0; opcode < commandNames.size(); opcode++) {
+                output.writeInt(this.instructionCounts[i * commandNames.size() + opcode]);
+            }
+            output.writeInt(this.processOffsets[i + 1] - this.processOffsets[i]);
+        }
+        for (int i = 0; i < this.processOffsets[this.programs.size()]; i++) {
+            output.writeInt(this.processPointers[i]);
+        }
+        output.writeInt(this.schedulerState.length);
+        for (long word : this.schedulerState) {
+            output.writeLong(word);
+        }
+        for (int[] column : new int[][] {this.commands, this.entriesA, this.entriesB, this.owners, this.changeFlags}) {
+            for (int i = 0; i < this.storageSize; i++) {
+                output.writeInt(column[i]);
+            }
+        }
+    }
+
+    /**
+     * Reads a checkpoint written by {@link #write}.
+     * <p>
+     * Counts are only checked to be plausible, not against the length of the input, so a damaged input may ask for
+     * large arrays. Inputs from files have to be verified first, as {@link Checkpointer} does with their checksum.
+     * </p>
+     *
+     * @param input        The input to read from.
+     * @param commandNames The command names of the game the checkpoint is resumed in.
+     * @return The read checkpoint.
+     * @throws IOException If the input cannot be read, holds no checkpoint or refers to other commands.
+     */
+    public static GameCheckpoint read(DataInput input, List<String> commandNames) throws IOException {
+        if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+            throw new IOException(NO_CHECKPOINT_MESSAGE);
+        }
+        int opcodes = input.readInt();
+        List<String> writtenNames = new ArrayList<>();
+        for (int i = 0; i < opcodes; i++) {
+            writtenNames.add(input.readUTF());
+        }
+        if (!writtenNames.equals(commandNames)) {
+            throw new IOException(OTHER_COMMANDS_MESSAGE);
+        }
+
+        GameCheckpoint checkpoint = new GameCheckpoint();
+        checkpoint.storageSize = input.readInt();
+        checkpoint.step = input.readLong();
+        checkpoint.seed = input.readInt();
+        checkpoint.processLimit = input.readInt();
+        try {
+            checkpoint.executionMode = ExecutionMode.valueOf(input.readUTF());
+            checkpoint.schedulingMode = SchedulingMode.valueOf(input.readUTF());
+        } catch (IllegalArgumentException e) {
+            throw new IOException(NO_CHECKPOINT_MESSAGE, e);
+        }
+
+        int aiCount = input.readInt();
+        if (checkpoint.storageSize <= 0 || aiCount < 0 || checkpoint.processLimit <= 0) {
+            throw new IOException(NO_CHECKPOINT_MESSAGE);
+        }
+        checkpoint.allocateAiColumns(aiCount, opcodes);
+        checkpoint.programs = new ArrayList<>(aiCount);
+        for (int i = 0; i < aiCount; i++) {
+            String name = input.readUTF();
+            int length = input.readInt();
+            if (length < 0) {
+                throw new IOException(NO_CHECKPOINT_MESSAGE);
+            }
+            List<AiArguments> instructions = new ArrayList<>(length);
+            for (int j = 0; j < length; j++) {
+                int opcode = input.readByte();
+                if (opcode < 0 || opcode >= opcodes) {
+                    throw new IOException(NO_CHECKPOINT_MESSAGE);
+                }
+                instructions.add(new AiArguments(commandNames.get(opcode), input.readInt(), input.readInt()));
+            }
+            checkpoint.programs.add(new AiProgram(name, instructions));
+            checkpoint.pointers[i] = input.readInt();
+            checkpoint.roundCounters[i] = input.readInt();
+            checkpoint.weights[i] = input.readInt();
+            checkpoint.alive[i] = input.readBoolean();
+            checkpoint.cellsWritten[i] = input.readInt();
+            checkpoint.bombsPlanted[i] = input.readInt();
+            for (int opcode = 0; opcode < opcodes; opcode++) {
+                checkpoint.instructionCounts[i * opcodes + opcode] = input.readInt();
+            }
+            int waitingProcesses = input.readInt();
+            if (waitingProcesses < 0 || waitingProcesses >= checkpoint.processLimit) {
+                throw new IOException(NO_CHECKPOINT_MESSAGE);
+            }
+            checkpoint.processOffsets[i + 1] = checkpoint.processOffsets[i] + waitingProcesses;
+        }
+        checkpoint.processPointers = readColumn(input, checkpoint.processOffsets[aiCount]);
+        int schedulerStateLength = input.readInt();
+        if (schedulerStateLength < 0) {
+            throw new IOException(NO_CHECKPOINT_MESSAGE);
+        }
+        checkpoint.schedulerState = new long[schedulerStateLength];
+        for (int i = 0; i < checkpoint.schedulerState.length; i++) {
+            checkpoint.schedulerState[i] = input.readLong();
+        }
+        checkpoint.commands = readColumn(input, checkpoint.storageSize);
+        checkpoint.entriesA = readColumn(input, checkpoint.storageSize);
+        checkpoint.entriesB = readColumn(input, checkpoint.storageSize);
+        checkpoint.owners = readColumn(input, checkpoint.storageSize);
+        checkpoint.changeFlags = readColumn(input, checkpoint.storageSize);
+        return checkpoint;
+    }
+
+    /**
+     * Retrieves the size of the storage of the checkpointed game.
+     *
+     * @return The storage size.
+     */
+    public int getStorageSize() {
+        return this.storageSize;
+    }
+
+    /**
+     * Retrieves the amount of AIs taking part in the checkpointed game.
+     *
+     * @return The amount of AIs.
+     */
+    public int getAiCount() {
+        return this.programs.size();
+    }
+
+    /**
+     * Retrieves the step the checkpoint was taken at.
+     *
+     * @return The step.
+     */
+    public long getStep() {
+        return this.step;
+    }
+
+    int getSeed() {
+        return this.seed;
+    }
+
+    int getProcessLimit() {
+        return this.processLimit;
+    }
+
+    ExecutionMode getExecutionMode() {
+        return this.executionMode;
+    }
+
+    SchedulingMode getSchedulingMode() {
+        return this.schedulingMode;
+    }
+
+    List<AiProgram> getPrograms() {
+        return this.programs;
+    }
+
+    long[] getSchedulerState() {
+        return this.schedulerState;
+    }
+
+    int[] getCommandColumn() {
+        return this.commands;
+    }
+
+    int[] getEntryAColumn() {
+        return this.entriesA;
+    }
+
+    int[] getEntryBColumn() {
+        return this.entriesB;
+    }
+
+    int[] getOwnerColumn() {
+        return this.owners;
+    }
+
+    int[] getChangeFlagColumn() {
+        return this.changeFlags;
+    }
+
+    /**
+     * Restores the runtime state of the specified AI, which was loaded from the program of the same in-game number.
+     *
+     * @param ai The AI to restore.
+     */
+    void restoreAi(Ai ai) {
+        int number = ai.getInGameNumber();
+        ai.updatePointerIndex(this.pointers[number]);
+        ai.restoreRoundCounter(this.roundCounters[number]);
+        ai.setWeight(this.weights[number]);
+        if (ai.getAliveStatus() != this.alive[number]) {
+            ai.toggleAliveStatus();
+        }
+        int[] instructions = new int[this.opcodes];
+        System.arraycopy(this.instructionCounts, number * this.opcodes, instructions, 0, this.opcodes);
+        ai.getProfile().restore(instructions, this.cellsWritten[number], this.bombsPlanted[number]);
+        int offset = this.processOffsets[number];
+        ai.restoreWaitingProcesses(this.processPointers, offset, this.processOffsets[number + 1] - offset);
+    }
+
+    private void capturePointers(List<Ai> ais) {
+        // the program counters of all waiting processes are kept in one column, in the order of the AIs
+        int processes = this.processOffsets[ais.size()];
+        if (this.processPointers == null || this.processPointers.length < processes) {
+            this.processPointers = new int[processes];
+        }
+        for (int i = 0; i < ais.size(); i++) {
+            int offset = this.processOffsets[i];
+            for (int position = 0; position < this.processOffsets[i + 1] - offset; position++) {
+                this.processPointers[offset + position] = ais.get(i).getWaitingProcess(position);
+            }
+        }
+    }
+
+    private void allocateAiColumns(int aiCount, int opcodes) {
+        this.opcodes = opcodes;
+        if (this.pointers == null || this.pointers.length != aiCount || this.instructionCounts.length != aiCount * opcodes) {
+            this.pointers = new int[aiCount];
+            this.roundCounters = new int[aiCount];
+            this.weights = new int[aiCount];
+            this.alive = new boolean[aiCount];
+            this.cellsWritten = new int[aiCount];
+            this.bombsPlanted = new int[aiCount];
+            this.instructionCounts = new int[aiCount * opcodes];
+            this.processOffsets = new int[aiCount + 1];
+        }
+    }
+
+    private static int[] readColumn(DataInput input, int size) throws IOException {
+        int[] column = new int[size];
+        for (int i = 0; i < size; i++) {
+            column[i] = input.readInt();
+        }
+        return column;
+    }
+}
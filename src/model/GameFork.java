@@ -0,0 +1,112 @@
+package model;
+
+/**
+ * Represents a fork of a running game, from which the game can continue later on.
+ * <p>
+ * A fork shares the {@link StoragePage}s of the game storage with the game it was taken of, so taking a fork only
+ * copies the state of the AIs and the scheduler and takes time linear in the amount of pages. The storage copies a
+ * shared page before writing it, which leaves the cells of the fork untouched.
+ * </p>
+ * <p>
+ * A fork refers to its pages until it is discarded or the game continues with it, so every fork that is no longer
+ * needed has to be discarded on the game thread.
+ * </p>
+ *
+ * @author uenqh
+ * @see GameSystem#forkGame()
+ */
+public final class GameFork {
+
+    private final StoragePage[] pages;
+    private final int[] pageGenerations;
+    private final int generation;
+    private final int currentPages;
+    private final GameStorageImage image;
+    private final TerritoryIndex territory;
+    private final GameCheckpoint state;
+
+    /**
+     * Constructs a GameFork referring to the specified pages.
+     *
+     * @param pages           The pages of the storage, each of them retained for the fork.
+     * @param pageGenerations The generations the pages were written in.
+     * @param generation      The generation of the storage.
+     * @param currentPages    The amount of pages written in the generation of the storage.
+     * @param image           The image the storage was formatted with.
+     * @param territory       The territory of the AIs.
+     * @param state           The state of the AIs and the scheduler.
+     */
+    GameFork(StoragePage[] pages, int[] pageGenerations, int generation, int currentPages, GameStorageImage image,
+             TerritoryIndex territory, GameCheckpoint state) {
+        this.pages = pages;
+        this.pageGenerations = pageGenerations;
+        this.generation = generation;
+        this.currentPages = currentPages;
+        this.image = image;
+        this.territory = territory;
+        this.state = state;
+    }
+
+    /**
+     * Retrieves the step the fork was taken at.
+     *
+     * @return The step.
+     */
+    public long getStep() {
+        return this.state.getStep();
+    }
+
+    /**
+     * Counts the pages only this fork refers to, which are the pages the game wrote since the fork was taken.
+     *
+     * @return The amount of pages held by this fork alone.
+     */
+    public int getExclusivePages() {
+        int exclusive = 0;
+        for (StoragePage page : this.pages) {
+            if (page != null && !page.isShared()) {
+                exclusive++;
+            }
+        }
+        return exclusive;
+    }
+
+    /**
+     * Releases the pages of this fork, which must not be used afterwards.
+     */
+    void discard() {
+        for (StoragePage page : this.pages) {
+            if (page != null) {
+                page.release();
+            }
+        }
+    }
+
+    StoragePage[] getPages() {
+        return this.pages;
+    }
+
+    int[] getPageGenerations() {
+        return this.pageGenerations;
+    }
+
+    int getGeneration() {
+        return this.generation;
+    }
+
+    int getCurrentPages() {
+        return this.currentPages;
+    }
+
+    GameStorageImage getImage() {
+        return this.image;
+    }
+
+    TerritoryIndex getTerritory() {
+        return this.territory;
+    }
+
+    GameCheckpoint getState() {
+        return this.state;
+    }
+}
@@ -1,29 +1,115 @@
 package model;
 
 import utility.CircularArrayList;
+import utility.ColumnKernels;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static model.Constants.JUMP_CHECK_CELL_COMMAND_NAME;
+import static model.Constants.JUMP_COMMAND_NAME;
+import static model.Constants.STOP_COMMAND_NAME;
 
 /**
  * Represents the storage of game cells in the game system.
  * <p>
  * The GameStorage class manages a circular list of GameStorageCell objects,
  * representing the memory cells used by the game system.
+ * All changes an AI applies to the storage are made through the write methods of this class,
+ * so that the change history of the cells, the territory of the AIs and the execution profile of the AI stay up to date.
+ * Additional indexes over the storage can register a {@link CellWriteListener} to be notified of every write.
+ * The contents of the cells are kept in primitive columns, one entry per cell, in which commands are stored as their
+ * opcodes. Bulk operations over the columns are performed by the {@link ColumnKernels}.
+ * </p>
+ * <p>
+ * The columns are split into {@link StoragePage}s of {@value StoragePage#SIZE} cells. Forking the game shares all pages
+ * with the {@link GameFork}, which takes time linear in the amount of pages. A shared page is copied once it is
+ * written, so every fork only pays for the pages it changes.
+ * </p>
+ * <p>
+ * Formatting the storage does not touch its cells. Every page is stamped with the generation it was last written in,
+ * and formatting only starts a new generation. A page of an earlier generation is reset to the {@link GameStorageImage}
+ * of the current format when it is first accessed, so formatting takes the same time for any storage size.
+ * </p>
+ * <p>
+ * Every page also records whether it was written since the columns were last published, so a
+ * {@link LiveStatePublisher} only copies the pages that changed.
  * </p>
  *
  * @author uenqh
  */
 public class GameStorage {
+
+    /**
+     * Value of the change flag column for cells that were changed after initialization.
+     */
+    public static final int CHANGED = 1;
+
+    /**
+     * Opcode of cells that did not hold a command yet.
+     */
+    public static final int NO_COMMAND = -1;
+
+    private static final int UNCHANGED = 0;
+    private static final String NO_COMMAND_NAME = "";
+    private static final String NO_EDITOR = "";
+    private static final int BOMB_ENTRY = 0;
+    private static final int BITS_PER_WORD = Long.SIZE;
+    private static final int WORDS_PER_PAGE = StoragePage.SIZE / BITS_PER_WORD;
+
     private final CircularArrayList<GameStorageCell> storage;
     private final int size;
+    private final ColumnKernels kernels;
+    private final String[] commandNames;
+    private final Map<String, Integer> opcodes;
+    private final int stopOpcode;
+    private final int jumpOpcode;
+    private final int jumpCheckCellOpcode;
+    private final int pageAmount;
+    private final StoragePage[] pages;
+    private final boolean[] exclusivePages;
+    private final boolean[] writtenPages;
+    private final int[] pageGenerations;
+    private final ArrayList<CellWriteListener> writeListeners;
+    private final CellWrite currentWrite;
+    private TerritoryIndex territory;
+    private GameStorageImage image;
+    private int generation;
+    private int currentPages;
+    private long step;
 
     /**
      * Constructs a GameStorage object with the specified size.
      *
-     * @param size The size of the game storage.
+     * @param size         The size of the game storage.
+     * @param commandNames The names of the commands, the position of a name is the opcode of the command.
      */
-    public GameStorage(int size) {
+    public GameStorage(int size, List<String> commandNames) {
         this.size = size;
         this.storage = new CircularArrayList<GameStorageCell>(this.size);
+        this.writeListeners = new ArrayList<>();
+        this.currentWrite = new CellWrite();
+        this.kernels = ColumnKernels.getInstance();
+        this.commandNames = commandNames.toArray(new String[0]);
+        this.opcodes = new HashMap<>();
+        for (int opcode = 0; opcode < this.commandNames.length; opcode++) {
+            this.opcodes.put(this.commandNames[opcode], opcode);
+        }
+        this.opcodes.put(NO_COMMAND_NAME, NO_COMMAND);
+        this.stopOpcode = getOpcode(STOP_COMMAND_NAME);
+        this.jumpOpcode = getOpcode(JUMP_COMMAND_NAME);
+        this.jumpCheckCellOpcode = getOpcode(JUMP_CHECK_CELL_COMMAND_NAME);
+        this.pageAmount = (size + StoragePage.MASK) >>> StoragePage.SHIFT;
+        this.pages = new StoragePage[this.pageAmount];
+        this.exclusivePages = new boolean[this.pageAmount];
+        this.writtenPages = new boolean[this.pageAmount];
+        this.pageGenerations = new int[this.pageAmount];
         this.initGameStorageCells(size);
+        this.format(GameStorageImage.uniform(NO_COMMAND, 0, 0));
     }
 
     /**
@@ -33,8 +119,239 @@ public class GameStorage {
      */
     private void initGameStorageCells(int size) {
         for (int i = 0; i < size; i++) {
-            storage.add(new GameStorageCell());
+            storage.add(new GameStorageCell(this, i));
+        }
+    }
+
+    /**
+     * Formats the storage, so every cell holds the contents of the specified image and is neither owned nor changed.
+     * <p>
+     * The territory and the step counter are reset as well. Registered write listeners stay registered.
+     * </p>
+     *
+     * @param newImage The image the cells start with.
+     */
+    public void format(GameStorageImage newImage) {
+        this.image = newImage;
+        this.generation++;
+        if (this.generation == 0) {
+            // after an overflow, stamps of the first generations could be mistaken for current ones
+            this.kernels.fill(this.pageGenerations, 0, this.pageAmount, 0);
+            this.generation = 1;
+        }
+        this.currentPages = 0;
+        Arrays.fill(this.writtenPages, true);
+        this.territory = new TerritoryIndex(0);
+        this.step = 0;
+    }
+
+    private StoragePage readablePage(int index) {
+        // kept small, so it is inlined into every cell access
+        int page = index >>> StoragePage.SHIFT;
+        if (this.pageGenerations[page] != this.generation) {
+            reset(page);
+        }
+        return this.pages[page];
+    }
+
+    private StoragePage writablePage(int index) {
+        int page = index >>> StoragePage.SHIFT;
+        if (this.pageGenerations[page] != this.generation) {
+            reset(page);
+        } else if (!this.exclusivePages[page]) {
+            unshare(page);
+        }
+        this.writtenPages[page] = true;
+        return this.pages[page];
+    }
+
+    private void reset(int page) {
+        StoragePage fresh = exclusivePage(page);
+        int from = page << StoragePage.SHIFT;
+        int length = Math.min(StoragePage.SIZE, this.size - from);
+        for (int offset = 0; offset < length; offset++) {
+            fresh.commands[offset] = this.image.getCommand(from + offset);
+            fresh.entriesA[offset] = this.image.getEntryA(from + offset);
+            fresh.entriesB[offset] = this.image.getEntryB(from + offset);
+            fresh.lastEditors[offset] = NO_EDITOR;
+        }
+        this.kernels.fill(fresh.owners, 0, length, TerritoryIndex.NO_OWNER);
+        this.kernels.fill(fresh.changeFlags, 0, length, UNCHANGED);
+        this.pageGenerations[page] = this.generation;
+        this.currentPages++;
+    }
+
+    private void unshare(int page) {
+        StoragePage shared = this.pages[page];
+        if (shared.isShared()) {
+            shared.release();
+            this.pages[page] = shared.copy();
+        }
+        this.exclusivePages[page] = true;
+    }
+
+    private StoragePage exclusivePage(int page) {
+        // the contents of the page are about to be replaced, so a shared page is left to its forks instead of copied
+        StoragePage current = this.pages[page];
+        if (current == null || !this.exclusivePages[page] && current.isShared()) {
+            if (current != null) {
+                current.release();
+            }
+            current = new StoragePage();
+            this.pages[page] = current;
+        }
+        this.exclusivePages[page] = true;
+        return current;
+    }
+
+    /**
+     * Resets every page of an earlier generation to the image of the current format.
+     * <p>
+     * Reading a page of an earlier generation resets it, which is not safe while several threads read the storage.
+     * Calling this before the storage is read by several threads makes every page current, so the readers never write.
+     * It returns at once if no page is outdated.
+     * </p>
+     */
+    public void refreshAll() {
+        if (this.currentPages == this.pageAmount) {
+            return;
+        }
+        for (int page = 0; page < this.pageAmount; page++) {
+            if (this.pageGenerations[page] != this.generation) {
+                reset(page);
+            }
+        }
+    }
+
+    /**
+     * Overwrites all cells with the columns saved in a checkpoint, after the storage was formatted.
+     * <p>
+     * The last editor of every cell is its owner, so it is restored from the owner column. The territory has to be
+     * reset afterwards to count the restored owners.
+     * </p>
+     *
+     * @param checkpoint  The checkpoint holding the columns.
+     * @param editorNames The names the AIs record as last editor, indexed by in-game number.
+     */
+    void restore(GameCheckpoint checkpoint, String[] editorNames) {
+        for (int page = 0; page < this.pageAmount; page++) {
+            StoragePage restored = exclusivePage(page);
+            int from = page << StoragePage.SHIFT;
+            int length = Math.min(StoragePage.SIZE, this.size - from);
+            System.arraycopy(checkpoint.getCommandColumn(), from, restored.commands, 0, length);
+            System.arraycopy(checkpoint.getEntryAColumn(), from, restored.entriesA, 0, length);
+            System.arraycopy(checkpoint.getEntryBColumn(), from, restored.entriesB, 0, length);
+            System.arraycopy(checkpoint.getOwnerColumn(), from, restored.owners, 0, length);
+            System.arraycopy(checkpoint.getChangeFlagColumn(), from, restored.changeFlags, 0, length);
+            for (int offset = 0; offset < length; offset++) {
+                int owner = restored.owners[offset];
+                restored.lastEditors[offset] = owner == TerritoryIndex.NO_OWNER ? NO_EDITOR : editorNames[owner];
+            }
+        }
+        this.kernels.fill(this.pageGenerations, 0, this.pageAmount, this.generation);
+        this.currentPages = this.pageAmount;
+        Arrays.fill(this.writtenPages, true);
+        this.step = checkpoint.getStep();
+    }
+
+    /**
+     * Copies the columns of all cells into the specified arrays, which hold at least one entry per cell.
+     *
+     * @param commands    The array the opcodes of the commands are copied to.
+     * @param entriesA    The array entry A of the cells is copied to.
+     * @param entriesB    The array entry B of the cells is copied to.
+     * @param owners      The array the in-game numbers of the owners are copied to.
+     * @param changeFlags The array the change flags are copied to.
+     */
+    void copyColumns(int[] commands, int[] entriesA, int[] entriesB, int[] owners, int[] changeFlags) {
+        refreshAll();
+        for (int page = 0; page < this.pageAmount; page++) {
+            StoragePage copied = this.pages[page];
+            int from = page << StoragePage.SHIFT;
+            int length = Math.min(StoragePage.SIZE, this.size - from);
+            System.arraycopy(copied.commands, 0, commands, from, length);
+            System.arraycopy(copied.entriesA, 0, entriesA, from, length);
+            System.arraycopy(copied.entriesB, 0, entriesB, from, length);
+            System.arraycopy(copied.owners, 0, owners, from, length);
+            System.arraycopy(copied.changeFlags, 0, changeFlags, from, length);
+        }
+    }
+
+    /**
+     * Copies the columns of every page written since the previous call into the specified buffers, which hold at least
+     * one entry per cell, and leaves the pages unwritten.
+     * <p>
+     * All pages count as written after the storage was formatted or restored.
+     * </p>
+     *
+     * @param commands The buffer the opcodes of the commands are copied to.
+     * @param entriesA The buffer entry A of the cells is copied to.
+     * @param entriesB The buffer entry B of the cells is copied to.
+     * @param owners   The buffer the in-game numbers of the owners are copied to.
+     * @param allPages Whether every page is copied, whether written or not.
+     * @return The amount of pages copied.
+     */
+    int copyWrittenPages(IntBuffer commands, IntBuffer entriesA, IntBuffer entriesB, IntBuffer owners,
+                         boolean allPages) {
+        int copiedPages = 0;
+        for (int page = 0; page < this.pageAmount; page++) {
+            if (!allPages && !this.writtenPages[page]) {
+                continue;
+            }
+            int from = page << StoragePage.SHIFT;
+            int length = Math.min(StoragePage.SIZE, this.size - from);
+            StoragePage copied = readablePage(from);
+            commands.put(from, copied.commands, 0, length);
+            entriesA.put(from, copied.entriesA, 0, length);
+            entriesB.put(from, copied.entriesB, 0, length);
+            owners.put(from, copied.owners, 0, length);
+            this.writtenPages[page] = false;
+            copiedPages++;
+        }
+        return copiedPages;
+    }
+
+    /**
+     * Shares all pages of this storage with a new fork, so both continue from the current state of the cells.
+     *
+     * @param state The state of the AIs and the scheduler at the time of the fork.
+     * @return The fork.
+     */
+    GameFork fork(GameCheckpoint state) {
+        for (int page = 0; page < this.pageAmount; page++) {
+            if (this.pages[page] != null) {
+                this.pages[page].retain();
+            }
+            this.exclusivePages[page] = false;
+        }
+        return new GameFork(this.pages.clone(), this.pageGenerations.clone(), this.generation, this.currentPages,
+            this.image, new TerritoryIndex(this.territory), state);
+    }
+
+    /**
+     * Continues with the cells of the specified fork, which hands its references to its pages over to this storage.
+     * <p>
+     * The fork must not be used afterwards.
+     * </p>
+     *
+     * @param fork The fork to continue with.
+     */
+    void restore(GameFork fork) {
+        for (int page = 0; page < this.pageAmount; page++) {
+            if (this.pages[page] != null) {
+                this.pages[page].release();
+            }
+            this.pages[page] = fork.getPages()[page];
+            this.exclusivePages[page] = false;
         }
+        System.arraycopy(fork.getPageGenerations(), 0, this.pageGenerations, 0, this.pageAmount);
+        // the stamps of the fork are at most its generation, so later formats cannot be mistaken for earlier ones
+        this.generation = fork.getGeneration();
+        this.currentPages = fork.getCurrentPages();
+        Arrays.fill(this.writtenPages, true);
+        this.image = fork.getImage();
+        this.territory = fork.getTerritory();
+        this.step = fork.getState().getStep();
     }
 
     /**
@@ -54,4 +371,310 @@ public class GameStorage {
     public int getSize() {
         return this.size;
     }
+
+    /**
+     * Retrieves the amount of pages the cells of the game storage are split into.
+     *
+     * @return The amount of pages.
+     */
+    public int getPageAmount() {
+        return this.pageAmount;
+    }
+
+    /**
+     * Retrieves the name of the command with the specified opcode.
+     *
+     * @param opcode The opcode of the command or {@link #NO_COMMAND}.
+     * @return The name of the command.
+     */
+    public String getCommandName(int opcode) {
+        return opcode == NO_COMMAND ? NO_COMMAND_NAME : this.commandNames[opcode];
+    }
+
+    /**
+     * Retrieves the opcode of the command with the specified name.
+     *
+     * @param commandName The name of the command.
+     * @return The opcode of the command.
+     */
+    public int getOpcode(String commandName) {
+        return this.opcodes.get(commandName);
+    }
+
+    String getLastEditor(int index) {
+        return readablePage(index).lastEditors[index & StoragePage.MASK];
+    }
+
+    void setLastEditor(int index, String editor) {
+        writablePage(index).lastEditors[index & StoragePage.MASK] = editor;
+    }
+
+    /**
+     * Retrieves the opcode of the command of the cell at the specified index.
+     *
+     * @param index The index of the cell, within the storage.
+     * @return The opcode of the command, or {@link #NO_COMMAND} if the cell holds no command.
+     */
+    public int getCommandAt(int index) {
+        return readablePage(index).commands[index & StoragePage.MASK];
+    }
+
+    void setCommandAt(int index, int opcode) {
+        writablePage(index).commands[index & StoragePage.MASK] = opcode;
+    }
+
+    int getEntryAAt(int index) {
+        return readablePage(index).entriesA[index & StoragePage.MASK];
+    }
+
+    void setEntryAAt(int index, int entryA) {
+        writablePage(index).entriesA[index & StoragePage.MASK] = entryA;
+    }
+
+    int getEntryBAt(int index) {
+        return readablePage(index).entriesB[index & StoragePage.MASK];
+    }
+
+    void setEntryBAt(int index, int entryB) {
+        writablePage(index).entriesB[index & StoragePage.MASK] = entryB;
+    }
+
+    /**
+     * Retrieves the in-game number of the owner of the cell at the specified index.
+     *
+     * @param index The index of the cell, within the storage.
+     * @return The in-game number of the owner, or {@link TerritoryIndex#NO_OWNER} if the cell is not owned.
+     */
+    public int getOwnerAt(int index) {
+        return readablePage(index).owners[index & StoragePage.MASK];
+    }
+
+    void setOwnerAt(int index, int owner) {
+        writablePage(index).owners[index & StoragePage.MASK] = owner;
+    }
+
+    int getChangeFlagAt(int index) {
+        return readablePage(index).changeFlags[index & StoragePage.MASK];
+    }
+
+    void setChangeFlagAt(int index, int changeFlag) {
+        writablePage(index).changeFlags[index & StoragePage.MASK] = changeFlag;
+    }
+
+    /**
+     * Checks whether the cell at the specified index is an 'AI-Bomb'.
+     * <p>
+     * A cell is an AI-Bomb if it was changed after initialization and would stop any AI executing it.
+     * </p>
+     *
+     * @param index The index of the cell, within the storage.
+     * @return {@code true} if the cell is an AI-Bomb, otherwise {@code false}.
+     */
+    public boolean isAiBomb(int index) {
+        StoragePage page = readablePage(index);
+        int offset = index & StoragePage.MASK;
+        if (page.changeFlags[offset] != CHANGED) {
+            return false;
+        }
+        int command = page.commands[offset];
+        if (command == this.stopOpcode) {
+            return true;
+        }
+        if (command == this.jumpOpcode && page.entriesA[offset] == BOMB_ENTRY) {
+            return true;
+        }
+        return command == this.jumpCheckCellOpcode && page.entriesA[offset] == BOMB_ENTRY && page.entriesB[offset] == BOMB_ENTRY;
+    }
+
+    /**
+     * Compares the cells of this storage with the cells of another storage of the same size.
+     * <p>
+     * Two cells differ if their commands, entries, owners or change flags differ. The bit of every differing cell is
+     * set in the bitmap, bit {@code i % 64} of {@code bitmap[i / 64]} belonging to the cell at index {@code i}.
+     * Pages both storages share are equal, so they are skipped.
+     * </p>
+     *
+     * @param other  The storage to compare with.
+     * @param bitmap The bitmap of the differing cells, holding at least one bit per cell.
+     * @return The amount of differing cells.
+     */
+    public int diff(GameStorage other, long[] bitmap) {
+        int words = (this.size + BITS_PER_WORD - 1) / BITS_PER_WORD;
+        for (int i = 0; i < words; i++) {
+            bitmap[i] = 0;
+        }
+        refreshAll();
+        other.refreshAll();
+        long[] pageBitmap = new long[WORDS_PER_PAGE];
+        for (int page = 0; page < this.pageAmount; page++) {
+            StoragePage left = this.pages[page];
+            StoragePage right = other.pages[page];
+            if (left == right) {
+                continue;
+            }
+            Arrays.fill(pageBitmap, 0);
+            this.kernels.diff(left.commands, right.commands, pageBitmap);
+            this.kernels.diff(left.entriesA, right.entriesA, pageBitmap);
+            this.kernels.diff(left.entriesB, right.entriesB, pageBitmap);
+            this.kernels.diff(left.owners, right.owners, pageBitmap);
+            this.kernels.diff(left.changeFlags, right.changeFlags, pageBitmap);
+            // cells behind the end of the storage are never written, so they never differ
+            int firstWord = page * WORDS_PER_PAGE;
+            System.arraycopy(pageBitmap, 0, bitmap, firstWord, Math.min(WORDS_PER_PAGE, words - firstWord));
+        }
+        int differing = 0;
+        for (int i = 0; i < words; i++) {
+            differing += Long.bitCount(bitmap[i]);
+        }
+        return differing;
+    }
+
+    /**
+     * Registers a listener that is notified of every write of an AI to the game storage.
+     *
+     * @param listener The listener to register.
+     */
+    public void addWriteListener(CellWriteListener listener) {
+        this.writeListeners.add(listener);
+    }
+
+    /**
+     * Unregisters a previously registered write listener.
+     *
+     * @param listener The listener to unregister.
+     */
+    public void removeWriteListener(CellWriteListener listener) {
+        this.writeListeners.remove(listener);
+    }
+
+    /**
+     * Retrieves the territory index of the current game.
+     *
+     * @return The territory index.
+     */
+    public TerritoryIndex getTerritory() {
+        return this.territory;
+    }
+
+    /**
+     * Starts tracking the territory of the specified amount of AIs, counting the cells they already own.
+     *
+     * @param amountOfAis The amount of AIs taking part in the game.
+     */
+    public void resetTerritory(int amountOfAis) {
+        if (this.currentPages == 0) {
+            // right after a format no cell is owned, so the columns need not be reset
+            this.territory = new TerritoryIndex(amountOfAis);
+            return;
+        }
+        refreshAll();
+        int[] cellsPerOwner = new int[amountOfAis];
+        int[] pageCounts = new int[amountOfAis];
+        for (int page = 0; page < this.pageAmount; page++) {
+            int length = Math.min(StoragePage.SIZE, this.size - (page << StoragePage.SHIFT));
+            this.kernels.histogram(this.pages[page].owners, 0, length, pageCounts);
+            for (int owner = 0; owner < amountOfAis; owner++) {
+                cellsPerOwner[owner] += pageCounts[owner];
+            }
+        }
+        this.territory = new TerritoryIndex(cellsPerOwner);
+    }
+
+    /**
+     * Retrieves the number of the current game step, which is the amount of AI-Commands executed on this storage.
+     *
+     * @return The number of the current step.
+     */
+    public long getStep() {
+        return this.step;
+    }
+
+    /**
+     * Advances to the next game step before an AI-Command is executed.
+     */
+    public void advanceStep() {
+        this.step++;
+    }
+
+    /**
+     * Loads a command of an AI into the cell at the specified index when the game starts.
+     * <p>
+     * Unlike the write methods, the cell is not marked as changed after initialization.
+     * </p>
+     *
+     * @param index   The index of the loaded cell.
+     * @param command The command of the cell.
+     * @param entryA  The value of entry A.
+     * @param entryB  The value of entry B.
+     * @param owner   The AI the command belongs to.
+     */
+    public void loadCell(int index, String command, int entryA, int entryB, Ai owner) {
+        GameStorageCell cell = this.storage.get(index);
+        cell.setCommand(command);
+        cell.setEntryA(entryA);
+        cell.setEntryB(entryB);
+        this.territory.transfer(cell.getOwner(), owner.getInGameNumber());
+        cell.changedBy(owner.getEditorName(), owner.getInGameNumber());
+    }
+
+    /**
+     * Copies the command and both entries into the cell at the specified index on behalf of an AI.
+     *
+     * @param index   The index of the written cell.
+     * @param command The new command of the cell.
+     * @param entryA  The new value of entry A.
+     * @param entryB  The new value of entry B.
+     * @param editor  The AI writing the cell.
+     */
+    public void writeCell(int index, String command, int entryA, int entryB, Ai editor) {
+        GameStorageCell cell = this.storage.get(index);
+        int cellIndex = Math.floorMod(index, this.size);
+        this.currentWrite.begin(cellIndex, cell, getCommandAt(cellIndex));
+        cell.setCommand(command);
+        cell.setEntryA(entryA);
+        cell.setEntryB(entryB);
+        recordWrite(cellIndex, cell, editor);
+    }
+
+    /**
+     * Writes entry A of the cell at the specified index on behalf of an AI.
+     *
+     * @param index  The index of the written cell.
+     * @param entryA The new value of entry A.
+     * @param editor The AI writing the cell.
+     */
+    public void writeEntryA(int index, int entryA, Ai editor) {
+        GameStorageCell cell = this.storage.get(index);
+        int cellIndex = Math.floorMod(index, this.size);
+        this.currentWrite.begin(cellIndex, cell, getCommandAt(cellIndex));
+        cell.setEntryA(entryA);
+        recordWrite(cellIndex, cell, editor);
+    }
+
+    /**
+     * Writes entry B of the cell at the specified index on behalf of an AI.
+     *
+     * @param index  The index of the written cell.
+     * @param entryB The new value of entry B.
+     * @param editor The AI writing the cell.
+     */
+    public void writeEntryB(int index, int entryB, Ai editor) {
+        GameStorageCell cell = this.storage.get(index);
+        int cellIndex = Math.floorMod(index, this.size);
+        this.currentWrite.begin(cellIndex, cell, getCommandAt(cellIndex));
+        cell.setEntryB(entryB);
+        recordWrite(cellIndex, cell, editor);
+    }
+
+    private void recordWrite(int cellIndex, GameStorageCell cell, Ai editor) {
+        this.territory.transfer(cell.getOwner(), editor.getInGameNumber());
+        cell.postInitChangedBy(editor.getEditorName(), editor.getInGameNumber());
+        editor.getProfile().recordWrite(cell.isAiBomb());
+
+        this.currentWrite.complete(editor, this.step, getCommandAt(cellIndex));
+        // an indexed loop does not allocate an iterator for every write
+        for (int i = 0; i < this.writeListeners.size(); i++) {
+            this.writeListeners.get(i).onCellWrite(this.currentWrite);
+        }
+    }
 }
@@ -4,25 +4,25 @@ package model;
  * Represents a single cell in the game storage.
  * <p>
  * The GameStorageCell class encapsulates data related to a single cell in the game storage.
+ * The data itself is kept in the primitive columns of the {@link GameStorage}, a cell only provides access to its row.
  * </p>
  *
  * @author uenqh
  */
 public class GameStorageCell {
 
-    private int entryA;
-    private int entryB;
-    private String command;
-    private String lastEditedBy;
-    private boolean wasChangedAfterInit;
+    private final GameStorage storage;
+    private final int index;
 
     /**
-     * Constructs a GameStorageCell object.
+     * Constructs a GameStorageCell object for a row of the columns of the specified storage.
+     *
+     * @param storage The game storage holding the data of the cell.
+     * @param index   The index of the cell within the game storage.
      */
-    public GameStorageCell() {
-        this.lastEditedBy = "";
-        this.command = "";
-        this.wasChangedAfterInit = false;
+    GameStorageCell(GameStorage storage, int index) {
+        this.storage = storage;
+        this.index = index;
     }
 
     /**
@@ -31,7 +31,7 @@ public class GameStorageCell {
      * @return The value of entry A.
      */
     public int getEntryA() {
-        return this.entryA;
+        return this.storage.getEntryAAt(this.index);
     }
 
     /**
@@ -40,7 +40,7 @@ public class GameStorageCell {
      * @return The value of entry B.
      */
     public int getEntryB() {
-        return this.entryB;
+        return this.storage.getEntryBAt(this.index);
     }
 
     /**
@@ -49,7 +49,7 @@ public class GameStorageCell {
      * @return The command associated with the cell.
      */
     public String getCommand() {
-        return this.command;
+        return this.storage.getCommandName(this.storage.getCommandAt(this.index));
     }
 
     /**
@@ -58,7 +58,7 @@ public class GameStorageCell {
      * @param newEntryA The new value of entry A.
      */
     public void setEntryA(int newEntryA) {
-        this.entryA = newEntryA;
+        this.storage.setEntryAAt(this.index, newEntryA);
     }
 
     /**
@@ -67,7 +67,7 @@ public class GameStorageCell {
      * @param newEntryB The new value of entry B.
      */
     public void setEntryB(int newEntryB) {
-        this.entryB = newEntryB;
+        this.storage.setEntryBAt(this.index, newEntryB);
     }
 
     /**
@@ -76,35 +76,46 @@ public class GameStorageCell {
      * @param command The command to set.
      */
     public void setCommand(String command) {
-        this.command = command;
+        this.storage.setCommandAt(this.index, this.storage.getOpcode(command));
     }
 
-
     /**
      * Retrieves the name of the last AI that edited the cell.
      *
      * @return The name of the last AI that edited the cell.
      */
     public String getLastChangedBy() {
-        return this.lastEditedBy;
+        return this.storage.getLastEditor(this.index);
+    }
+
+    /**
+     * Retrieves the in-game number of the last AI that edited the cell.
+     *
+     * @return The in-game number of the owning AI or {@link TerritoryIndex#NO_OWNER} if the cell was not edited yet.
+     */
+    public int getOwner() {
+        return this.storage.getOwnerAt(this.index);
     }
 
     /**
-     * Updates the name of the AI that edited the cell.
+     * Updates the name and in-game number of the AI that edited the cell.
      *
-     * @param aiName The name of the AI that edited the cell.
+     * @param aiName      The name of the AI that edited the cell.
+     * @param ownerNumber The in-game number of the AI that edited the cell.
      */
-    public void changedBy(String aiName) {
-        this.lastEditedBy = aiName;
+    public void changedBy(String aiName, int ownerNumber) {
+        this.storage.setLastEditor(this.index, aiName);
+        this.storage.setOwnerAt(this.index, ownerNumber);
     }
 
     /**
-     * Updates the name of the AI that edited the cell and marks the cell as changed after initialization.
+     * Updates the name and in-game number of the AI that edited the cell and marks the cell as changed after initialization.
      *
-     * @param aiName The name of the AI that edited the cell.
+     * @param aiName      The name of the AI that edited the cell.
+     * @param ownerNumber The in-game number of the AI that edited the cell.
      */
-    public void postInitChangedBy(String aiName) {
-        changedBy(aiName);
+    public void postInitChangedBy(String aiName, int ownerNumber) {
+        changedBy(aiName, ownerNumber);
         setWasChangedAfterInitTrue();
     }
 
@@ -112,7 +123,7 @@ public class GameStorageCell {
      * Sets the flag indicating whether the cell was changed after initialization to true.
      */
     private void setWasChangedAfterInitTrue() {
-        this.wasChangedAfterInit = true;
+        this.storage.setChangeFlagAt(this.index, GameStorage.CHANGED);
     }
 
     /**
@@ -121,6 +132,18 @@ public class GameStorageCell {
      * @return {@code true} if the cell was changed after initialization, otherwise {@code false}.
      */
     public boolean getWasChangedAfterInitStatus() {
-        return this.wasChangedAfterInit;
+        return this.storage.getChangeFlagAt(this.index) == GameStorage.CHANGED;
+    }
+
+    /**
+     * Checks whether the cell is an 'AI-Bomb'.
+     * <p>
+     * A cell is an AI-Bomb if it was changed after initialization and would stop any AI executing it.
+     * </p>
+     *
+     * @return {@code true} if the cell is an AI-Bomb, otherwise {@code false}.
+     */
+    public boolean isAiBomb() {
+        return this.storage.isAiBomb(this.index);
     }
 }
@@ -0,0 +1,86 @@
+package model;
+
+/**
+ * Represents the contents a formatted game storage starts with, which its cells read until they are first written.
+ * <p>
+ * An image either holds the same command and entries for every cell or one command and two entries per cell. Images
+ * are immutable, so one image can be shared by any amount of formats of any amount of storages of the same size.
+ * </p>
+ *
+ * @author uenqh
+ */
+public final class GameStorageImage {
+
+    private final int[] commands;
+    private final int[] entriesA;
+    private final int[] entriesB;
+    private final int command;
+    private final int entryA;
+    private final int entryB;
+
+    private GameStorageImage(int[] commands, int[] entriesA, int[] entriesB, int command, int entryA, int entryB) {
+        this.commands = commands;
+        this.entriesA = entriesA;
+        this.entriesB = entriesB;
+        this.command = command;
+        this.entryA = entryA;
+        this.entryB = entryB;
+    }
+
+    /**
+     * Creates an image holding the same command and entries in every cell.
+     *
+     * @param opcode The opcode of the command of every cell.
+     * @param entryA The value of entry A of every cell.
+     * @param entryB The value of entry B of every cell.
+     * @return The image.
+     */
+    public static GameStorageImage uniform(int opcode, int entryA, int entryB) {
+        return new GameStorageImage(null, null, null, opcode, entryA, entryB);
+    }
+
+    /**
+     * Creates an image holding the specified command and entries per cell.
+     * <p>
+     * The columns are not copied and must not be changed afterwards.
+     * </p>
+     *
+     * @param commands The opcode of the command of every cell.
+     * @param entriesA The value of entry A of every cell.
+     * @param entriesB The value of entry B of every cell.
+     * @return The image.
+     */
+    public static GameStorageImage of(int[] commands, int[] entriesA, int[] entriesB) {
+        return new GameStorageImage(commands, entriesA, entriesB, 0, 0, 0);
+    }
+
+    /**
+     * Retrieves the opcode of the command the cell at the specified index starts with.
+     *
+     * @param index The index of the cell.
+     * @return The opcode of the command.
+     */
+    public int getCommand(int index) {
+        return this.commands == null ? this.command : this.commands[index];
+    }
+
+    /**
+     * Retrieves the value of entry A the cell at the specified index starts with.
+     *
+     * @param index The index of the cell.
+     * @return The value of entry A.
+     */
+    public int getEntryA(int index) {
+        return this.entriesA == null ? this.entryA : this.entriesA[index];
+    }
+
+    /**
+     * Retrieves the value of entry B the cell at the specified index starts with.
+     *
+     * @param index The index of the cell.
+     * @return The value of entry B.
+     */
+    public int getEntryB(int index) {
+        return this.entriesB == null ? this.entryB : this.entriesB[index];
+    }
+}
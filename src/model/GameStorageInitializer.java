@@ -2,6 +2,7 @@ package model;
 
 import java.util.Random;
 
+import static model.Constants.SPLIT_COMMAND_NAME;
 import static model.Constants.STOP_COMMAND_NAME;
 
 
@@ -9,7 +10,9 @@ import static model.Constants.STOP_COMMAND_NAME;
  * Initializes the game storage with specific commands or random values.
  * <p>
  * The GameStorageInitializer class is responsible for formatting the game storage with either
- * a specific command or random values for each cell.
+ * a specific command or random values for each cell. The contents are described by a {@link GameStorageImage},
+ * which the storage only applies to a cell once the cell is accessed. The image of the random values is kept for
+ * the last seed, so formatting the storage again with the same seed does not draw the random values again.
  * </p>
  *
  * @author uenqh
@@ -18,19 +21,12 @@ public class GameStorageInitializer {
 
     private static final int STANDARD_ENTRY = 0;
     private static final String COMMON_ERROR_MESSAGE = "Unexpected error in GameStorageInitializer.java";
-    private final Random numberGenerator;
+    private GameStorageImage stopImage;
+    private GameStorageImage randomImage;
+    private int randomImageSeed;
 
     /**
-     * Constructs a GameStorageInitializer object with the specified seed for random number generation.
-     *
-     * @param seed The seed for random number generation.
-     */
-    public GameStorageInitializer(int seed) {
-        this.numberGenerator = new Random(seed);
-    }
-
-    /**
-     * Formats the game storage based on the provided mode.
+     * Formats the game storage based on the initialization mode and seed of the game.
      *
      * @param model The GameSystem object representing the game model.
      */
@@ -51,26 +47,34 @@ public class GameStorageInitializer {
     }
 
     private void formatStopGameStorage(GameSystem model) {
-        for (GameStorageCell cell : model.getGameStorage().getCells()) {
-            cell.setCommand(STOP_COMMAND_NAME);
-            cell.setEntryA(STANDARD_ENTRY);
-            cell.setEntryB(STANDARD_ENTRY);
+        if (this.stopImage == null) {
+            int stopOpcode = model.getGameStorage().getOpcode(STOP_COMMAND_NAME);
+            this.stopImage = GameStorageImage.uniform(stopOpcode, STANDARD_ENTRY, STANDARD_ENTRY);
         }
+        model.getGameStorage().format(this.stopImage);
     }
 
     private void formatRandomGameStorage(GameSystem model) {
-        int bound = model.getAiCommandHandler().getAiCommandNameArrayList().size();
-        int random;
-
-        for (GameStorageCell cell : model.getGameStorage().getCells()) {
-            random = this.numberGenerator.nextInt(bound);
-            cell.setCommand(model.getAiCommandHandler().getAiCommandNameArrayList().get(random));
-
-            random = this.numberGenerator.nextInt(bound);
-            cell.setEntryA(random);
+        if (this.randomImage == null || this.randomImageSeed != model.getSeed()) {
+            // only the original commands are drawn, which end before SPL, so a seed keeps producing the same storage
+            int originalCommandAmount = model.getGameStorage().getOpcode(SPLIT_COMMAND_NAME);
+            this.randomImage = createRandomImage(model.getGameStorage().getSize(), originalCommandAmount, model.getSeed());
+            this.randomImageSeed = model.getSeed();
+        }
+        model.getGameStorage().format(this.randomImage);
+    }
 
-            random = this.numberGenerator.nextInt(bound);
-            cell.setEntryB(random);
+    private GameStorageImage createRandomImage(int size, int bound, int seed) {
+        Random numberGenerator = new Random(seed);
+        int[] commands = new int[size];
+        int[] entriesA = new int[size];
+        int[] entriesB = new int[size];
+        for (int i = 0; i < size; i++) {
+            // the opcode of a command is its position in the list of command names
+            commands[i] = numberGenerator.nextInt(bound);
+            entriesA[i] = numberGenerator.nextInt(bound);
+            entriesB[i] = numberGenerator.nextInt(bound);
         }
+        return GameStorageImage.of(commands, entriesA, entriesB);
     }
 }
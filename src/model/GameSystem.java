@@ -3,13 +3,15 @@ package model;
 import model.aicommands.AiCommandHandler;
 import usercommands.CommandHandler;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
-import static model.Constants.BETWEEN_NAME_AND_ID_PLACEHOLDER;
 import static model.Constants.CURRENT_AI_SYMBOL_INDEX;
 import static model.Constants.NEXT_AIS_SYMBOL_INDEX;
 import static model.Constants.SHOW_STORAGE_SYMBOL_INDEX;
@@ -27,20 +29,46 @@ import static model.Constants.UNCHANGED_FIELD_SYMBOL_INDEX;
 public class GameSystem {
 
     private static final InitMode STANDARD_INIT_MODE = InitMode.INIT_MODE_STOP;
+    private static final ExecutionMode STANDARD_EXECUTION_MODE = ExecutionMode.EXECUTION_MODE_SEQUENTIAL;
+    private static final SchedulingMode STANDARD_SCHEDULING_MODE = SchedulingMode.SCHEDULING_MODE_ROUND_ROBIN;
+    private static final int STANDARD_WEIGHT = 1;
     private static final int STANDARD_SEED = 0;
+    private static final int STANDARD_PROCESS_LIMIT = 8000;
     private static final int AMOUNT_OF_SPECIFIC_AI_SYMBOLS_PER_AI = 2;
     private static final int AMOUNT_OF_GENERAL_AI_SYMBOLS = 4;
     private static final int AI_STANDARD_SYMBOL_INDEX = 0;
     private static final int AI_BOMB_SYMBOL_INDEX = 1;
-    private final Map<String, Ai> aiMap;
+    private static final int WRITE_EVENT_RING_CAPACITY = 1 << 14;
+    private static final int DUPLICATE_COUNTERS = 2;
+    private static final int TOTAL_COUNTER = 0;
+    private static final int NUMBERED_COUNTER = 1;
+    private static final int ORIGINAL_FORK = 0;
+    private final Map<String, AiProgram> aiMap;
+    private final Map<String, Integer> aiWeights;
     private final ArrayList<Ai> inGameAis;
-    private final LinkedList<Ai> aliveAis;
+    private Scheduler scheduler;
     private final CommandHandler commandHandler;
     private final AiCommandHandler aiCommandHandler;
-    private GameStorage gameStorage;
+    private final GameStorage gameStorage;
+    private final GameStorageInitializer storageInitializer;
+    private OwnershipTree ownershipTree;
+    private OpcodeIndex opcodeIndex;
+    private WriteEventRing writeEventRing;
+    private AiLibrary aiLibrary;
+    private Checkpointer checkpointer;
+    private StatsRecorder statsRecorder;
+    private LiveStatePublisher liveStatePublisher;
+    private WriteEventLogger writeEventLogger;
+    private Breakpoints breakpoints;
+    private final Map<Integer, GameFork> forks;
+    private int activeFork;
+    private int nextFork;
     private InitMode initMode;
+    private ExecutionMode executionMode;
+    private SchedulingMode schedulingMode;
     private boolean gameStarted;
     private int seed;
+    private int processLimit;
     private final int maxAmountOfAis;
     private final String[] specificAiSymbols;
     private final String[] generalAiSymbols;
@@ -62,15 +90,24 @@ public class GameSystem {
         this.specificAiSymbols = Arrays.copyOf(aiSpecificSymbols, aiSpecificSymbols.length);
         this.maxAmountOfAis = aiSpecificSymbols.length / AMOUNT_OF_SPECIFIC_AI_SYMBOLS_PER_AI;
 
-        this.aiMap = new HashMap<>();
+        // matches on other threads read the registered programs while AIs are added and removed
+        this.aiMap = new ConcurrentHashMap<>();
+        this.aiWeights = new HashMap<>();
         this.inGameAis = new ArrayList<>();
-        this.aliveAis = new LinkedList<>();
-        this.gameStorage = new GameStorage(gameStorageSize);
-        this.commandHandler = new CommandHandler(this);
+        this.forks = new TreeMap<>();
+        this.activeFork = ORIGINAL_FORK;
+        this.nextFork = ORIGINAL_FORK + 1;
+        this.scheduler = new RoundRobinScheduler();
         this.aiCommandHandler = new AiCommandHandler(this);
+        this.gameStorage = new GameStorage(gameStorageSize, this.aiCommandHandler.getAiCommandNameArrayList());
+        this.storageInitializer = new GameStorageInitializer();
+        this.commandHandler = new CommandHandler(this);
         this.gameStarted = false;
         this.seed = STANDARD_SEED;
+        this.processLimit = STANDARD_PROCESS_LIMIT;
         this.initMode = STANDARD_INIT_MODE;
+        this.executionMode = STANDARD_EXECUTION_MODE;
+        this.schedulingMode = STANDARD_SCHEDULING_MODE;
     }
 
     /**
@@ -79,17 +116,159 @@ public class GameSystem {
      * @param ais An array of AI player names.
      */
     public void startGame(String[] ais) {
+        List<AiProgram> programs = new ArrayList<>();
+        for (String ai : ais) {
+            AiProgram program = this.aiMap.get(ai);
+            if (program != null) {
+                programs.add(program);
+            }
+        }
+        this.startGame(programs);
+    }
+
+    /**
+     * Starts the game with AI players running the specified programs, which do not have to be registered.
+     *
+     * @param programs The programs of the AI players.
+     */
+    public void startGame(List<AiProgram> programs) {
+        this.setStatsRecorder(null);
+        this.setLiveStatePublisher(null);
+        this.setWriteEventLogger(null);
+        this.discardForks();
+        this.dropStorageIndexes();
         this.toggleGameStatus();
         this.formatGameStorage();
-        this.loadAiArray(ais);
+        this.loadAiArray(programs);
         this.loadAiArgumentsIntoGameStorage();
     }
 
+    /**
+     * Starts a game continuing where the specified checkpoint was taken.
+     * <p>
+     * The seed, process limit, execution mode and scheduling mode of the checkpointed game replace the ones of this game, and the
+     * programs of the checkpointed AIs are added if no AI of the same name exists yet.
+     * </p>
+     *
+     * @param checkpoint The checkpoint to resume, which has to match the storage size of this game.
+     */
+    public void resume(GameCheckpoint checkpoint) {
+        this.setStatsRecorder(null);
+        this.setLiveStatePublisher(null);
+        this.setWriteEventLogger(null);
+        this.discardForks();
+        this.dropStorageIndexes();
+        this.toggleGameStatus();
+        this.setSeed(checkpoint.getSeed());
+        this.setProcessLimit(checkpoint.getProcessLimit());
+        this.setExecutionMode(checkpoint.getExecutionMode());
+        this.setSchedulingMode(checkpoint.getSchedulingMode());
+        this.formatGameStorage();
+        String[] editorNames = this.restoreAis(checkpoint);
+        this.gameStorage.restore(checkpoint, editorNames);
+        this.gameStorage.resetTerritory(this.inGameAis.size());
+        this.scheduler.restoreState(checkpoint.getSchedulerState(), this.inGameAis);
+    }
+
+    private String[] restoreAis(GameCheckpoint checkpoint) {
+        this.loadAiArray(checkpoint.getPrograms());
+        String[] editorNames = new String[this.inGameAis.size()];
+        for (Ai ai : this.inGameAis) {
+            checkpoint.restoreAi(ai);
+            editorNames[ai.getInGameNumber()] = ai.getEditorName();
+            this.addAi(ai.getProgram());
+        }
+        return editorNames;
+    }
+
+    /**
+     * Forks the running game, which continues as the active fork while the new fork keeps its current state.
+     * <p>
+     * The fork shares the pages of the game storage, so forking takes time linear in the amount of pages and every
+     * fork only costs the memory of the pages written after it was taken.
+     * </p>
+     *
+     * @return The number of the new fork.
+     */
+    public int forkGame() {
+        int number = this.nextFork++;
+        this.forks.put(number, this.takeFork());
+        return number;
+    }
+
+    private GameFork takeFork() {
+        GameCheckpoint state = new GameCheckpoint();
+        state.captureWithoutStorage(this);
+        return this.gameStorage.fork(state);
+    }
+
+    /**
+     * Continues the game with the fork of the specified number, keeping the current state as the previously active fork.
+     * <p>
+     * The statistics recorder is closed, as it belongs to the game it was started in.
+     * </p>
+     *
+     * @param number The number of an inactive fork of the game.
+     */
+    public void switchFork(int number) {
+        GameFork target = this.forks.remove(number);
+        this.forks.put(this.activeFork, this.takeFork());
+        this.activeFork = number;
+        this.setStatsRecorder(null);
+        this.dropStorageIndexes();
+        GameCheckpoint state = target.getState();
+        this.setSeed(state.getSeed());
+        this.setProcessLimit(state.getProcessLimit());
+        this.setExecutionMode(state.getExecutionMode());
+        this.setSchedulingMode(state.getSchedulingMode());
+        this.clearInGameAis();
+        this.restoreAis(state);
+        this.gameStorage.restore(target);
+        this.scheduler.restoreState(state.getSchedulerState(), this.inGameAis);
+    }
+
+    /**
+     * Discards the inactive fork of the specified number, releasing the pages only it refers to.
+     *
+     * @param number The number of an inactive fork of the game.
+     */
+    public void discardFork(int number) {
+        this.forks.remove(number).discard();
+    }
+
+    private void discardForks() {
+        for (GameFork fork : this.forks.values()) {
+            fork.discard();
+        }
+        this.forks.clear();
+        this.activeFork = ORIGINAL_FORK;
+        this.nextFork = ORIGINAL_FORK + 1;
+    }
+
+    /**
+     * Retrieves the inactive forks of the running game by their numbers.
+     *
+     * @return The inactive forks, sorted by their numbers.
+     */
+    public Map<Integer, GameFork> getForks() {
+        return this.forks;
+    }
+
+    /**
+     * Retrieves the number of the fork the running game continues with, which is 0 until another fork is switched to.
+     *
+     * @return The number of the active fork.
+     */
+    public int getActiveFork() {
+        return this.activeFork;
+    }
+
     private void loadAiArgumentsIntoGameStorage() {
         int storageSize = this.gameStorage.getSize();
         int numberOfAis = this.inGameAis.size();
         int currentPosition;
         Ai currentAi;
+        this.gameStorage.resetTerritory(numberOfAis);
 
         for (int i = 0; i < this.inGameAis.size(); i++) {
             currentAi = inGameAis.get(i);
@@ -97,72 +276,63 @@ public class GameSystem {
             currentAi.updatePointerIndex(currentPosition);
 
             for (int j = 0; j < currentAi.getArguments().size(); j++) {
-                this.gameStorage.getCells().get(currentPosition + j).setCommand(currentAi.getArguments().get(j).getCommand());
-                this.gameStorage.getCells().get(currentPosition + j).setEntryA(currentAi.getArguments().get(j).getEntryA());
-                this.gameStorage.getCells().get(currentPosition + j).setEntryB(currentAi.getArguments().get(j).getEntryB());
-                this.gameStorage.getCells().get(currentPosition + j).changedBy(currentAi.getName()
-                    + BETWEEN_NAME_AND_ID_PLACEHOLDER
-                    + currentAi.getId());
+                AiArguments argument = currentAi.getArguments().get(j);
+                this.gameStorage.loadCell(currentPosition + j, argument.getCommand(), argument.getEntryA(), argument.getEntryB(),
+                    currentAi);
             }
         }
     }
 
-    private void loadAiArray(String[] ais) {
-        for (String ai : ais) {
-            loadAi(ai);
+    private void loadAiArray(List<AiProgram> programs) {
+        // every game gets a new table, so AIs of the previous game keep their final state
+        AiStateTable states = new AiStateTable(programs.size(), this.processLimit);
+        this.scheduler = createScheduler();
+        for (AiProgram program : programs) {
+            loadAi(program, states);
         }
         checkDuplicateInGameAis();
     }
-    private void loadAi(String name) {
-        if (this.aiMap.containsKey(name)) {
-            Ai clone = aiMap.get(name).copy();
-            int inGameAiNumber = inGameAis.size();
-            clone.setSymbol(getSymbols(inGameAiNumber)[AI_STANDARD_SYMBOL_INDEX]);
-            clone.setBombSymbol(getSymbols(inGameAiNumber)[AI_BOMB_SYMBOL_INDEX]);
-            clone.toggleAliveStatus();
-            this.inGameAis.add(clone);
-            this.aliveAis.add(clone);
-        }
-    }
 
-    private String[] getSymbols(int inGameAiNumber) {
-        String[] symbols = new String[2];
-
-        int index = inGameAiNumber * AMOUNT_OF_SPECIFIC_AI_SYMBOLS_PER_AI + AI_STANDARD_SYMBOL_INDEX;
-        symbols[AI_STANDARD_SYMBOL_INDEX] = this.specificAiSymbols[index];
-
-        index = inGameAiNumber * AMOUNT_OF_SPECIFIC_AI_SYMBOLS_PER_AI + AI_BOMB_SYMBOL_INDEX;
-        symbols[AI_BOMB_SYMBOL_INDEX] = this.specificAiSymbols[index];
+    private Scheduler createScheduler() {
+        return switch (this.schedulingMode) {
+            case SCHEDULING_MODE_ROUND_ROBIN -> new RoundRobinScheduler();
+            case SCHEDULING_MODE_WEIGHTED -> new WeightedScheduler();
+            case SCHEDULING_MODE_TIME_SLICE -> new TimeSliceScheduler();
+            case SCHEDULING_MODE_RANDOM -> new RandomOrderScheduler(this.seed);
+        };
+    }
 
-        return symbols;
+    private void loadAi(AiProgram program, AiStateTable states) {
+        int inGameAiNumber = states.addRow();
+        Ai ai = new Ai(program, states, inGameAiNumber);
+        int symbolIndex = inGameAiNumber * AMOUNT_OF_SPECIFIC_AI_SYMBOLS_PER_AI;
+        ai.setSymbol(this.specificAiSymbols[symbolIndex + AI_STANDARD_SYMBOL_INDEX]);
+        ai.setBombSymbol(this.specificAiSymbols[symbolIndex + AI_BOMB_SYMBOL_INDEX]);
+        ai.setProfile(new AiProfile(this.aiCommandHandler.getAiCommandNameArrayList().size()));
+        ai.setWeight(getAiWeight(program.getName()));
+        ai.toggleAliveStatus();
+        this.inGameAis.add(ai);
+        this.scheduler.add(ai);
     }
 
     private void checkDuplicateInGameAis() {
-        Map<String, Integer> counts = new HashMap<>();
+        // one pass counts the AIs per name, a second pass numbers the duplicates from the back
+        Map<String, int[]> counts = new HashMap<>();
         for (Ai ai : this.inGameAis) {
-            int count = counts.getOrDefault(ai.getName(), 0);
-            counts.put(ai.getName(), count + 1);
+            counts.computeIfAbsent(ai.getName(), name -> new int[DUPLICATE_COUNTERS])[TOTAL_COUNTER]++;
         }
-        for (Ai ai : this.inGameAis) {
-            int count = counts.get(ai.getName());
-            if (count == 1) {
-                counts.remove(ai.getName());
-            }
-        }
-
         for (int i = this.inGameAis.size() - 1; i >= 0; i--) {
-            int count = counts.getOrDefault(this.inGameAis.get(i).getName(), 0);
-            if (count > 0) {
-                count--;
-                this.inGameAis.get(i).setId(count);
-                counts.put(this.inGameAis.get(i).getName(), count);
+            Ai ai = this.inGameAis.get(i);
+            int[] count = counts.get(ai.getName());
+            if (count[TOTAL_COUNTER] > 1) {
+                ai.setId(count[TOTAL_COUNTER] - ++count[NUMBERED_COUNTER]);
             }
         }
     }
 
     private void clearInGameAis() {
         this.inGameAis.clear();
-        this.aliveAis.clear();
+        this.scheduler.clear();
     }
 
     /**
@@ -170,24 +340,91 @@ public class GameSystem {
      */
     public void resetGame() {
         this.toggleGameStatus();
+        this.setStatsRecorder(null);
+        this.discardForks();
         this.clearInGameAis();
-        this.gameStorage = new GameStorage(this.gameStorage.getSize());
+        this.setLiveStatePublisher(null);
+        this.setWriteEventLogger(null);
+        this.dropStorageIndexes();
+        // the storage is reused, so the write event ring stays registered for the next game
         this.setInitMode(STANDARD_INIT_MODE);
         this.formatGameStorage();
     }
 
+    private void dropStorageIndexes() {
+        if (this.ownershipTree != null) {
+            this.gameStorage.removeWriteListener(this.ownershipTree);
+            this.ownershipTree = null;
+        }
+        if (this.opcodeIndex != null) {
+            this.gameStorage.removeWriteListener(this.opcodeIndex);
+            this.opcodeIndex = null;
+        }
+    }
+
     private void formatGameStorage() {
-        GameStorageInitializer initializer = new GameStorageInitializer(this.seed);
-        initializer.format(this);
+        this.storageInitializer.format(this);
+    }
+
+    /**
+     * Creates a new game system with the storage size and symbols of this one, which shares no state with it.
+     * <p>
+     * The initialization mode, seed, process limit, scheduling mode and weights are copied, the new game system executes its AIs
+     * sequentially.
+     * </p>
+     *
+     * @return The isolated game system.
+     */
+    public GameSystem createIsolatedInstance() {
+        GameSystem instance = new GameSystem(this.gameStorage.getSize(), this.generalAiSymbols, this.specificAiSymbols);
+        instance.setInitMode(this.initMode);
+        instance.setSeed(this.seed);
+        instance.setProcessLimit(this.processLimit);
+        instance.setSchedulingMode(this.schedulingMode);
+        instance.aiWeights.putAll(this.aiWeights);
+        return instance;
     }
 
     /**
      * Adds an AI player to the game.
      *
-     * @param ai The AI player to add.
+     * @param program The program of the AI player to add.
+     * @return True if the AI player was added, false if an AI player of the same name already exists.
+     */
+    public boolean addAi(AiProgram program) {
+        return this.aiMap.putIfAbsent(program.getName(), program) == null;
+    }
+
+    /**
+     * Retrieves the AI player with the specified name, loading it from the AI library if it was not added yet.
+     * <p>
+     * AIs added to the game take precedence over AIs of the same name in the library.
+     * </p>
+     *
+     * @param name The name of the AI player.
+     * @return The program of the AI player, or null if neither the game nor the library holds an AI of that name.
+     * @throws IOException If the record of the AI in the library is corrupt.
      */
-    public void addAi(Ai ai) {
-        this.aiMap.put(ai.getName(), ai);
+    public AiProgram resolveAi(String name) throws IOException {
+        AiProgram program = this.aiMap.get(name);
+        if (program == null && this.aiLibrary != null) {
+            program = this.aiLibrary.find(name);
+            if (program != null) {
+                // an AI added in the meantime wins, so a name always stands for the same program
+                AiProgram added = this.aiMap.putIfAbsent(name, program);
+                program = added == null ? program : added;
+            }
+        }
+        return program;
+    }
+
+    /**
+     * Sets the AI library AI players are loaded from on their first use.
+     *
+     * @param aiLibrary The AI library, or null to use none.
+     */
+    public void setAiLibrary(AiLibrary aiLibrary) {
+        this.aiLibrary = aiLibrary;
     }
 
     /**
@@ -197,6 +434,7 @@ public class GameSystem {
      */
     public void removeAi(String name) {
         this.aiMap.remove(name);
+        this.aiWeights.remove(name);
     }
 
     /**
@@ -208,6 +446,69 @@ public class GameSystem {
         this.initMode = initMode;
     }
 
+    /**
+     * Sets the execution mode of the following games.
+     *
+     * @param executionMode The execution mode to set.
+     */
+    public void setExecutionMode(ExecutionMode executionMode) {
+        this.executionMode = executionMode;
+    }
+
+    /**
+     * Retrieves the execution mode of the game.
+     *
+     * @return The execution mode.
+     */
+    public ExecutionMode getExecutionMode() {
+        return this.executionMode;
+    }
+
+    /**
+     * Sets the scheduling mode of the following games.
+     *
+     * @param schedulingMode The scheduling mode to set.
+     */
+    public void setSchedulingMode(SchedulingMode schedulingMode) {
+        this.schedulingMode = schedulingMode;
+    }
+
+    /**
+     * Retrieves the scheduling mode of the game.
+     *
+     * @return The scheduling mode.
+     */
+    public SchedulingMode getSchedulingMode() {
+        return this.schedulingMode;
+    }
+
+    /**
+     * Sets the weight the AI player of the specified name gets in the following games.
+     * <p>
+     * The weight is the amount of commands the AI player executes per turn under the weighted scheduling modes.
+     * </p>
+     *
+     * @param name   The name of the AI player.
+     * @param weight The weight, at least 1.
+     */
+    public void setAiWeight(String name, int weight) {
+        if (weight == STANDARD_WEIGHT) {
+            this.aiWeights.remove(name);
+        } else {
+            this.aiWeights.put(name, weight);
+        }
+    }
+
+    /**
+     * Retrieves the weight of the AI player of the specified name.
+     *
+     * @param name The name of the AI player.
+     * @return The weight, 1 unless it was set.
+     */
+    public int getAiWeight(String name) {
+        return this.aiWeights.getOrDefault(name, STANDARD_WEIGHT);
+    }
+
     /**
      * Retrieves the command handler associated with the game system.
      *
@@ -235,6 +536,184 @@ public class GameSystem {
         return this.gameStorage;
     }
 
+    /**
+     * Retrieves the segment tree over the owners of the game storage.
+     * <p>
+     * The tree is built on first use and kept up to date by the writes of the AIs until the game ends. The leaves of
+     * the tree cover larger blocks of cells the more AIs take part in the game, so it is built for any game.
+     * </p>
+     *
+     * @return The segment tree over the owners of the game storage.
+     */
+    public OwnershipTree getOwnershipTree() {
+        if (this.ownershipTree == null) {
+            this.ownershipTree = new OwnershipTree(this.gameStorage, this.inGameAis.size());
+            this.gameStorage.addWriteListener(this.ownershipTree);
+        }
+        return this.ownershipTree;
+    }
+
+    /**
+     * Retrieves the index over the commands of the game storage.
+     * <p>
+     * The index is built on first use and kept up to date by the writes of the AIs until the game ends.
+     * </p>
+     *
+     * @return The index over the commands of the game storage.
+     */
+    public OpcodeIndex getOpcodeIndex() {
+        if (this.opcodeIndex == null) {
+            this.opcodeIndex = new OpcodeIndex(this.gameStorage, this.aiCommandHandler);
+            this.gameStorage.addWriteListener(this.opcodeIndex);
+        }
+        return this.opcodeIndex;
+    }
+
+    /**
+     * Retrieves the ring buffer publishing the writes of the AIs to observers on other threads.
+     * <p>
+     * The ring is created on first use and keeps publishing the writes of all following games.
+     * </p>
+     *
+     * @return The ring buffer of write events.
+     */
+    public WriteEventRing getWriteEventRing() {
+        if (this.writeEventRing == null) {
+            this.writeEventRing = new WriteEventRing(WRITE_EVENT_RING_CAPACITY);
+            this.gameStorage.addWriteListener(this.writeEventRing);
+        }
+        return this.writeEventRing;
+    }
+
+    /**
+     * Retrieves the breakpoints and watchpoints stopping the steps of the games.
+     * <p>
+     * They are created on first use and kept for all following games.
+     * </p>
+     *
+     * @return The breakpoints.
+     */
+    public Breakpoints getBreakpoints() {
+        if (this.breakpoints == null) {
+            this.breakpoints = new Breakpoints(this.gameStorage, this.aiCommandHandler.getAiCommandNameArrayList().size());
+        }
+        return this.breakpoints;
+    }
+
+    /**
+     * Checks whether any breakpoint or watchpoint is set, so the steps of the game have to be checked.
+     *
+     * @return True if a breakpoint or watchpoint is set, false otherwise.
+     */
+    public boolean hasBreakpoints() {
+        return this.breakpoints != null && !this.breakpoints.isEmpty();
+    }
+
+    /**
+     * Retrieves the checkpointer taking periodic checkpoints of the running game.
+     *
+     * @return The checkpointer, or null if no checkpoints are taken.
+     */
+    public Checkpointer getCheckpointer() {
+        return this.checkpointer;
+    }
+
+    /**
+     * Sets the checkpointer taking periodic checkpoints of the running game, closing the previous one.
+     *
+     * @param checkpointer The checkpointer, or null to take no checkpoints.
+     */
+    public void setCheckpointer(Checkpointer checkpointer) {
+        if (this.checkpointer != null) {
+            this.checkpointer.close();
+        }
+        this.checkpointer = checkpointer;
+    }
+
+    /**
+     * Retrieves the recorder writing the statistics of the running game.
+     *
+     * @return The statistics recorder, or null if no statistics are recorded.
+     */
+    public StatsRecorder getStatsRecorder() {
+        return this.statsRecorder;
+    }
+
+    /**
+     * Sets the recorder writing the statistics of the running game, closing the previous one.
+     * <p>
+     * A recorder belongs to a single game, it is closed once the game ends.
+     * </p>
+     *
+     * @param statsRecorder The statistics recorder, or null to record no statistics.
+     */
+    public void setStatsRecorder(StatsRecorder statsRecorder) {
+        if (this.statsRecorder != null) {
+            this.statsRecorder.close();
+        }
+        this.statsRecorder = statsRecorder;
+    }
+
+    /**
+     * Retrieves the publisher of the live state of the running game.
+     *
+     * @return The live state publisher, or null if no live state is published.
+     */
+    public LiveStatePublisher getLiveStatePublisher() {
+        return this.liveStatePublisher;
+    }
+
+    /**
+     * Sets the publisher of the live state of the running game, closing the previous one.
+     * <p>
+     * A publisher belongs to a single game, it is closed once the game ends. It keeps publishing after switching
+     * forks, as every fork runs the same AIs on a storage of the same size.
+     * </p>
+     *
+     * @param liveStatePublisher The live state publisher, or null to publish no live state.
+     */
+    public void setLiveStatePublisher(LiveStatePublisher liveStatePublisher) {
+        if (this.liveStatePublisher != null) {
+            this.liveStatePublisher.close();
+        }
+        this.liveStatePublisher = liveStatePublisher;
+    }
+
+    /**
+     * Retrieves the logger writing the write events of the running game.
+     *
+     * @return The write event logger, or null if no write events are logged.
+     */
+    public WriteEventLogger getWriteEventLogger() {
+        return this.writeEventLogger;
+    }
+
+    /**
+     * Sets the logger writing the write events of the running game, closing the previous one.
+     * <p>
+     * A logger belongs to a single game, it is closed once the game ends. Like the live state publisher, it keeps
+     * logging after switching forks.
+     * </p>
+     *
+     * @param writeEventLogger The write event logger, or null to log no write events.
+     */
+    public void setWriteEventLogger(WriteEventLogger writeEventLogger) {
+        if (this.writeEventLogger != null) {
+            this.writeEventLogger.close();
+        }
+        this.writeEventLogger = writeEventLogger;
+    }
+
+    /**
+     * Stops the background writers of the game system, waiting until the data they hold is written.
+     */
+    public void close() {
+        this.setCheckpointer(null);
+        this.setStatsRecorder(null);
+        this.setLiveStatePublisher(null);
+        this.setWriteEventLogger(null);
+    }
+
     /**
      * Retrieves the initialization mode of the game.
      *
@@ -272,11 +751,32 @@ public class GameSystem {
     }
 
     /**
-     * Retrieves the map of AI players associated with their names.
+     * Retrieves the amount of processes every AI runs at most.
+     *
+     * @return The process limit.
+     */
+    public int getProcessLimit() {
+        return this.processLimit;
+    }
+
+    /**
+     * Sets the amount of processes every AI runs at most, taking effect with the next game.
+     *
+     * @param newProcessLimit The new process limit, at least 1.
+     */
+    public void setProcessLimit(int newProcessLimit) {
+        this.processLimit = newProcessLimit;
+    }
+
+    /**
+     * Retrieves the map of AI programs associated with their names.
+     * <p>
+     * The map is safe to use from any thread, matches running on other threads never copy the programs.
+     * </p>
      *
-     * @return The map of AI players.
+     * @return The map of AI programs.
      */
-    public Map<String, Ai> getAiMap() {
+    public Map<String, AiProgram> getAiMap() {
         return this.aiMap;
     }
 
@@ -290,12 +790,12 @@ public class GameSystem {
     }
 
     /**
-     * Retrieves the list of AI players currently alive in the game.
+     * Retrieves the scheduler holding the AI players currently alive in the game.
      *
-     * @return The list of alive AI players.
+     * @return The scheduler of the alive AI players.
      */
-    public LinkedList<Ai> getAliveAis() {
-        return this.aliveAis;
+    public Scheduler getScheduler() {
+        return this.scheduler;
     }
 
     /**
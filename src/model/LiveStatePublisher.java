@@ -0,0 +1,223 @@
+package model;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes frames of the live state of a running game into a memory-mapped file, which external visualisers map as
+ * well to read the frames without copying them.
+ * <p>
+ * All numbers are little-endian. The file consists of fixed-width sections, for a storage of {@code n} cells,
+ * {@code m} AIs and {@code k} commands:
+ * </p>
+ * <pre>
+ * offset               width    content
+ * 0                    int      magic number 0x43464C56
+ * 4                    int      version, 1
+ * 8                    long     sequence number, odd while a frame is written
+ * 16                   long     step of the frame
+ * 24                   int      n, the amount of cells
+ * 28                   int      m, the amount of AIs
+ * 32                   int      k, the amount of commands
+ * 36                   int      1 once the game ended and no further frames follow, otherwise 0
+ * 64                   int[n]   opcode of every cell, -1 for no command
+ * 64 + 4n              int[n]   entry A of every cell
+ * 64 + 8n              int[n]   entry B of every cell
+ * 64 + 12n             int[n]   in-game number of the owner of every cell, -1 for no owner
+ * 64 + 16n             int[m]   cell of the next command of every AI
+ * 64 + 16n + 4m        int[m]   amount of processes of every AI, 0 once the AI stopped
+ * 64 + 16n + 8m        16 * k   name of every opcode, ASCII, padded with zeros
+ * 64 + 16n + 8m + 16k  32 * m   name of every AI, ASCII, padded with zeros
+ * </pre>
+ * <p>
+ * The step, the cells and the AI sections form a frame guarded by the sequence number, a seqlock. A reader reads the
+ * sequence number, retries if it is odd, reads the frame, and accepts it if the sequence number is still the same.
+ * The game is never held up by readers.
+ * </p>
+ * <p>
+ * The game thread polls the publisher between steps and publishes a frame once the frame interval has passed. Only the
+ * {@link StoragePage}s written since the previous frame are copied, so a frame costs time linear in the amount of
+ * changed cells rather than in the size of the storage.
+ * </p>
+ *
+ * @author uenqh
+ */
+public final class LiveStatePublisher {
+
+    private static final int MAGIC = 0x43464C56;
+    private static final int VERSION = 1;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int SEQUENCE_OFFSET = 8;
+    private static final int STEP_OFFSET = 16;
+    private static final int SIZE_OFFSET = 24;
+    private static final int AI_COUNT_OFFSET = 28;
+    private static final int OPCODE_COUNT_OFFSET = 32;
+    private static final int ENDED_OFFSET = 36;
+    private static final int HEADER_BYTES = 64;
+    private static final int CELL_COLUMNS = 4;
+    private static final int AI_COLUMNS = 2;
+    private static final int OPCODE_NAME_BYTES = 16;
+    private static final int AI_NAME_BYTES = 32;
+    private static final int ENDED = 1;
+    private static final long TIME_POLL_STEPS = 1 << 12;
+    private static final VarHandle SEQUENCE = MethodHandles.byteBufferViewVarHandle(long[].class,
+        ByteOrder.LITTLE_ENDIAN);
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final IntBuffer commands;
+    private final IntBuffer entriesA;
+    private final IntBuffer entriesB;
+    private final IntBuffer owners;
+    private final IntBuffer pointers;
+    private final IntBuffer processes;
+    private final long frameNanos;
+    private long sequence;
+    private long lastFrameTime;
+    private long nextPollStep;
+    private long framesPublished;
+
+    /**
+     * Constructs a LiveStatePublisher for the running game and publishes its first frame.
+     *
+     * @param path        The path of the live state file, which is replaced.
+     * @param frameMillis The amount of milliseconds between two frames.
+     * @param game        The running game.
+     * @throws IOException If the live state file cannot be created or mapped.
+     */
+    public LiveStatePublisher(Path path, long frameMillis, GameSystem game) throws IOException {
+        GameStorage storage = game.getGameStorage();
+        List<Ai> ais = game.getInGameAis();
+        List<String> commandNames = game.getAiCommandHandler().getAiCommandNameArrayList();
+        int size = storage.getSize();
+        int aiCount = ais.size();
+        long length = HEADER_BYTES + (long) CELL_COLUMNS * Integer.BYTES * size + (long) AI_COLUMNS * Integer.BYTES * aiCount
+            + (long) OPCODE_NAME_BYTES * commandNames.size() + (long) AI_NAME_BYTES * aiCount;
+        this.frameNanos = TimeUnit.MILLISECONDS.toNanos(frameMillis);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+        } catch (IOException e) {
+            this.channel.close();
+            throw e;
+        }
+        this.buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.buffer.putInt(MAGIC_OFFSET, MAGIC);
+        this.buffer.putInt(VERSION_OFFSET, VERSION);
+        this.buffer.putInt(SIZE_OFFSET, size);
+        this.buffer.putInt(AI_COUNT_OFFSET, aiCount);
+        this.buffer.putInt(OPCODE_COUNT_OFFSET, commandNames.size());
+
+        int offset = HEADER_BYTES;
+        this.commands = intColumn(offset, size);
+        this.entriesA = intColumn(offset += Integer.BYTES * size, size);
+        this.entriesB = intColumn(offset += Integer.BYTES * size, size);
+        this.owners = intColumn(offset += Integer.BYTES * size, size);
+        this.pointers = intColumn(offset += Integer.BYTES * size, aiCount);
+        this.processes = intColumn(offset += Integer.BYTES * aiCount, aiCount);
+        offset += Integer.BYTES * aiCount;
+        for (String commandName : commandNames) {
+            putName(offset, commandName, OPCODE_NAME_BYTES);
+            offset += OPCODE_NAME_BYTES;
+        }
+        for (Ai ai : ais) {
+            putName(offset, ai.getDisplayName(), AI_NAME_BYTES);
+            offset += AI_NAME_BYTES;
+        }
+        publish(game);
+    }
+
+    /**
+     * Retrieves the step of the game at which the publisher wants to be polled next.
+     *
+     * @return The step of the next poll.
+     */
+    public long getNextPollStep() {
+        return this.nextPollStep;
+    }
+
+    /**
+     * Publishes a frame of the specified game if the frame interval has passed.
+     * <p>
+     * This has to be called on the game thread between two steps, once the step returned by {@link #getNextPollStep()}
+     * is reached.
+     * </p>
+     *
+     * @param game The running game the publisher was constructed for.
+     */
+    public void poll(GameSystem game) {
+        this.nextPollStep = game.getGameStorage().getStep() + TIME_POLL_STEPS;
+        if (System.nanoTime() - this.lastFrameTime >= this.frameNanos) {
+            publish(game);
+        }
+    }
+
+    /**
+     * Publishes a frame of the specified game.
+     * <p>
+     * This has to be called on the game thread between two steps.
+     * </p>
+     *
+     * @param game The running game the publisher was constructed for.
+     */
+    public void publish(GameSystem game) {
+        GameStorage storage = game.getGameStorage();
+        // an odd sequence number tells readers that the frame is incomplete, it is visible before any of the frame
+        SEQUENCE.setOpaque(this.buffer, SEQUENCE_OFFSET, ++this.sequence);
+        VarHandle.storeStoreFence();
+        this.buffer.putLong(STEP_OFFSET, storage.getStep());
+        // the first frame copies every cell, the pages written before it may have been published to another file
+        storage.copyWrittenPages(this.commands, this.entriesA, this.entriesB, this.owners, this.framesPublished == 0);
+        List<Ai> ais = game.getInGameAis();
+        for (int i = 0; i < ais.size(); i++) {
+            Ai ai = ais.get(i);
+            this.pointers.put(i, Math.floorMod(ai.getPointerIndex(), storage.getSize()));
+            this.processes.put(i, ai.getProcessCount());
+        }
+        SEQUENCE.setRelease(this.buffer, SEQUENCE_OFFSET, ++this.sequence);
+        this.lastFrameTime = System.nanoTime();
+        this.framesPublished++;
+    }
+
+    /**
+     * Retrieves the amount of frames published so far.
+     *
+     * @return The amount of frames.
+     */
+    public long getFramesPublished() {
+        return this.framesPublished;
+    }
+
+    /**
+     * Marks the file as ended, so readers know that no further frames follow, and closes it.
+     */
+    public void close() {
+        this.buffer.putInt(ENDED_OFFSET, ENDED);
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            // the mapping stays valid after the channel is closed, readers still see the last frame
+        }
+    }
+
+    private IntBuffer intColumn(int offset, int length) {
+        return this.buffer.slice(offset, length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    private void putName(int offset, String name, int width) {
+        byte[] bytes = name.getBytes(StandardCharsets.US_ASCII);
+        this.buffer.put(offset, bytes, 0, Math.min(bytes.length, width));
+    }
+}
@@ -0,0 +1,247 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents a persistent cache of match results, addressed by the content of the matches.
+ * <p>
+ * Matches are deterministic, so a match between the same programs in the same order, on a storage of the same size
+ * with the same initialization mode, seed, scheduling mode, process limit, weights and step cap always ends the same.
+ * The key of a match is a SHA-256 digest of all of these and of the command names of the game, so the results stay
+ * valid when AIs are renamed, are never mixed up when a program changes and are not reused once commands are added.
+ * </p>
+ * <p>
+ * A cache file starts with a header, followed by one record per result, which holds the key, the winner, the amount
+ * of steps and the territory of every contestant. Records are only ever appended. Opening a cache reads every record
+ * into an index in memory, and drops an incomplete last record left behind by an interrupted write.
+ * </p>
+ *
+ * @author uenqh
+ * @see MatchRunner
+ */
+public final class MatchCache {
+
+    private static final int MAGIC = 0x4346434D;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final int KEY_SIZE = 32;
+    private static final int RECORD_FIXED_SIZE = KEY_SIZE + Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final String NO_CACHE_FORMAT = "%s is no match cache";
+    private static final HexFormat KEY_FORMAT = HexFormat.of();
+
+    private final FileChannel channel;
+    private final Map<String, MatchResult> results;
+    private final AtomicLong hits;
+    private IOException lastFailure;
+
+    private MatchCache(FileChannel channel, Map<String, MatchResult> results) {
+        this.channel = channel;
+        this.results = results;
+        this.hits = new AtomicLong();
+    }
+
+    /**
+     * Opens the cache file at the specified path, creating it if it does not exist yet, and reads its records.
+     *
+     * @param path The path of the cache file.
+     * @return The opened cache.
+     * @throws IOException If the file cannot be read or written, or is no cache file.
+     */
+    public static MatchCache open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            Map<String, MatchResult> results = new ConcurrentHashMap<>();
+            long validSize = channel.size() == 0 ? writeHeader(channel) : readRecords(channel, path, results);
+            // an interrupted append leaves an incomplete record, the next one is written over it
+            channel.truncate(validSize);
+            channel.position(validSize);
+            return new MatchCache(channel, results);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static long writeHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        return HEADER_SIZE;
+    }
+
+    private static long readRecords(FileChannel channel, Path path, Map<String, MatchResult> results) throws IOException {
+        long size = channel.size();
+        // the stream is not closed, as that would close the channel the records are appended to
+        DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(0))));
+        if (size < HEADER_SIZE || input.readInt() != MAGIC || input.readInt() != VERSION) {
+            throw new IOException(NO_CACHE_FORMAT.formatted(path));
+        }
+        long validSize = HEADER_SIZE;
+        byte[] key = new byte[KEY_SIZE];
+        while (size - validSize >= RECORD_FIXED_SIZE) {
+            input.readFully(key);
+            int winner = input.readInt();
+            long steps = input.readLong();
+            int contestants = input.readInt();
+            if (contestants < 0 || size - validSize - RECORD_FIXED_SIZE < (long) contestants * Integer.BYTES) {
+                break;
+            }
+            int[] territory = new int[contestants];
+            for (int i = 0; i < contestants; i++) {
+                territory[i] = input.readInt();
+            }
+            results.put(KEY_FORMAT.formatHex(key), new MatchResult(winner, territory, steps));
+            validSize += RECORD_FIXED_SIZE + (long) contestants * Integer.BYTES;
+        }
+        return validSize;
+    }
+
+    /**
+     * Computes the key of a match between the specified programs, played with the settings of the specified game system.
+     *
+     * @param template The game system whose commands, storage size, initialization mode, seed, scheduling mode,
+     *                 process limit and weights the match is played with.
+     * @param stepCap  The most steps the match lasts.
+     * @param programs The programs of the contestants, in the order they are loaded.
+     * @return The key of the match.
+     */
+    public static String computeKey(GameSystem template, long stepCap, List<AiProgram> programs) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform has to support SHA-256
+            throw new IllegalStateException(e);
+        }
+        try (DataOutputStream output = new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+            // the rules are identified by the command names, so the results of older rules are not reused
+            List<String> commandNames = template.getAiCommandHandler().getAiCommandNameArrayList();
+            output.writeInt(commandNames.size());
+            for (String commandName : commandNames) {
+                output.writeUTF(commandName);
+            }
+            output.writeInt(template.getGameStorage().getSize());
+            output.writeUTF(template.getInitMode().name());
+            output.writeInt(template.getSeed());
+            output.writeUTF(template.getSchedulingMode().name());
+            output.writeInt(template.getProcessLimit());
+            output.writeLong(stepCap);
+            output.writeInt(programs.size());
+            for (AiProgram program : programs) {
+                output.writeInt(template.getAiWeight(program.getName()));
+                output.writeInt(program.getInstructions().size());
+                for (AiArguments instruction : program.getInstructions()) {
+                    output.writeUTF(instruction.getCommand());
+                    output.writeInt(instruction.getEntryA());
+                    output.writeInt(instruction.getEntryB());
+                }
+            }
+        } catch (IOException e) {
+            // the digest stream writes into memory only
+            throw new UncheckedIOException(e);
+        }
+        return KEY_FORMAT.formatHex(digest.digest());
+    }
+
+    /**
+     * Looks up the result of the match with the specified key.
+     *
+     * @param key The key computed by {@link #computeKey}.
+     * @return The result, or null if the match was not played yet.
+     */
+    public MatchResult find(String key) {
+        MatchResult result = this.results.get(key);
+        if (result != null) {
+            this.hits.incrementAndGet();
+        }
+        return result;
+    }
+
+    /**
+     * Adds the result of the match with the specified key, appending it to the cache file unless it is known already.
+     * <p>
+     * A result that cannot be written stays available until the cache is closed, and the failure is reported by
+     * {@link #close()}.
+     * </p>
+     *
+     * @param key    The key computed by {@link #computeKey}.
+     * @param result The result of the match.
+     */
+    public void add(String key, MatchResult result) {
+        if (this.results.putIfAbsent(key, result) == null) {
+            append(key, result);
+        }
+    }
+
+    private synchronized void append(String key, MatchResult result) {
+        if (this.lastFailure != null) {
+            return;
+        }
+        ByteBuffer record = ByteBuffer.allocate(RECORD_FIXED_SIZE + result.getContestantAmount() * Integer.BYTES);
+        record.put(KEY_FORMAT.parseHex(key)).putInt(result.getWinner()).putLong(result.getSteps())
+            .putInt(result.getContestantAmount());
+        for (int contestant = 0; contestant < result.getContestantAmount(); contestant++) {
+            record.putInt(result.getTerritory(contestant));
+        }
+        record.flip();
+        try {
+            while (record.hasRemaining()) {
+                this.channel.write(record);
+            }
+        } catch (IOException e) {
+            this.lastFailure = e;
+        }
+    }
+
+    /**
+     * Retrieves the amount of results in the cache.
+     *
+     * @return The amount of results.
+     */
+    public int size() {
+        return this.results.size();
+    }
+
+    /**
+     * Retrieves the amount of lookups that found a result since the cache was opened.
+     *
+     * @return The amount of found results.
+     */
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    /**
+     * Closes the cache file.
+     *
+     * @throws IOException If a result could not be appended to the file, or the file cannot be closed.
+     */
+    public synchronized void close() throws IOException {
+        this.channel.close();
+        if (this.lastFailure != null) {
+            throw this.lastFailure;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package model;
+
+/**
+ * Represents the outcome of a single match played by a {@link MatchRunner}.
+ *
+ * @author uenqh
+ */
+public class MatchResult {
+
+    /**
+     * Winner of a match that ended in a draw.
+     */
+    public static final int DRAW = -1;
+
+    private final int winner;
+    private final int[] territory;
+    private final long steps;
+
+    /**
+     * Constructs a MatchResult.
+     *
+     * @param winner    The position of the winning contestant or {@link #DRAW}.
+     * @param territory The amount of cells owned by each contestant at the end of the match.
+     * @param steps     The amount of executed steps.
+     */
+    public MatchResult(int winner, int[] territory, long steps) {
+        this.winner = winner;
+        this.territory = territory;
+        this.steps = steps;
+    }
+
+    /**
+     * Retrieves the position of the winning contestant.
+     *
+     * @return The position of the winner or {@link #DRAW}.
+     */
+    public int getWinner() {
+        return this.winner;
+    }
+
+    /**
+     * Retrieves the amount of cells the specified contestant owned at the end of the match.
+     *
+     * @param contestant The position of the contestant.
+     * @return The amount of owned cells.
+     */
+    public int getTerritory(int contestant) {
+        return this.territory[contestant];
+    }
+
+    /**
+     * Retrieves the amount of contestants of the match.
+     *
+     * @return The amount of contestants.
+     */
+    public int getContestantAmount() {
+        return this.territory.length;
+    }
+
+    /**
+     * Retrieves the amount of steps executed in the match.
+     *
+     * @return The amount of steps.
+     */
+    public long getSteps() {
+        return this.steps;
+    }
+}
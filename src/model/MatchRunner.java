@@ -0,0 +1,127 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Plays matches between AI programs without any output, on game instances isolated from the running game.
+ * <p>
+ * Every match takes a game instance from a pool owned by the runner, which is configured like the template game system
+ * and put back once the match ended, so a single runner can play matches on all processors at once while holding no
+ * more instances than matches were played at the same time. The instances are released together with the runner.
+ * A match ends as soon as only one AI is still running, which wins it. If several AIs are still running after the step
+ * cap, the one owning the most cells wins, and the match is a draw if the largest territory is shared.
+ * </p>
+ * <p>
+ * With a {@link MatchCache}, a match that was played before is looked up instead of played again.
+ * </p>
+ *
+ * @author uenqh
+ */
+public class MatchRunner {
+
+    private final GameSystem template;
+    private final long stepCap;
+    private final MatchCache cache;
+    private final Queue<GameSystem> idleInstances;
+
+    /**
+     * Constructs a MatchRunner playing on copies of the specified game system.
+     *
+     * @param template The game system whose storage size, symbols, initialization and scheduling mode are used.
+     * @param stepCap  The most steps a match lasts.
+     */
+    public MatchRunner(GameSystem template, long stepCap) {
+        this(template, stepCap, null);
+    }
+
+    /**
+     * Constructs a MatchRunner playing on copies of the specified game system and caching the results.
+     *
+     * @param template The game system whose storage size, symbols, initialization and scheduling mode are used.
+     * @param stepCap  The most steps a match lasts.
+     * @param cache    The cache of match results, or null to play every match.
+     */
+    public MatchRunner(GameSystem template, long stepCap, MatchCache cache) {
+        this.template = template;
+        this.stepCap = stepCap;
+        this.cache = cache;
+        this.idleInstances = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Plays a match between the specified programs, the first program being loaded first and executing first.
+     *
+     * @param programs The programs of the contestants, which are shared and not copied.
+     * @return The result of the match.
+     */
+    public MatchResult run(List<AiProgram> programs) {
+        if (this.cache == null) {
+            return play(programs);
+        }
+        String key = MatchCache.computeKey(this.template, this.stepCap, programs);
+        MatchResult result = this.cache.find(key);
+        if (result == null) {
+            result = play(programs);
+            this.cache.add(key, result);
+        }
+        return result;
+    }
+
+    private MatchResult play(List<AiProgram> programs) {
+        GameSystem game = this.idleInstances.poll();
+        if (game == null) {
+            game = this.template.createIsolatedInstance();
+        }
+        game.setInitMode(this.template.getInitMode());
+        game.setSeed(this.template.getSeed());
+        game.startGame(programs);
+
+        long step = 0;
+        Scheduler scheduler = game.getScheduler();
+        while (scheduler.size() > 1 && step < this.stepCap) {
+            Ai current = scheduler.poll();
+            game.getAiCommandHandler().execute(current);
+            if (current.getAliveStatus()) {
+                scheduler.requeue(current);
+            }
+            step++;
+        }
+        MatchResult result = new MatchResult(determineWinner(game), countTerritory(game), step);
+        game.resetGame();
+        this.idleInstances.offer(game);
+        return result;
+    }
+
+    private int determineWinner(GameSystem game) {
+        List<Ai> alive = new ArrayList<>();
+        game.getScheduler().forEach(alive::add);
+        if (alive.size() == 1) {
+            return alive.get(0).getInGameNumber();
+        }
+        TerritoryIndex territory = game.getGameStorage().getTerritory();
+        int winner = MatchResult.DRAW;
+        int largest = -1;
+        for (Ai ai : alive) {
+            int owned = territory.getCellsOwned(ai.getInGameNumber());
+            if (owned > largest) {
+                largest = owned;
+                winner = ai.getInGameNumber();
+            } else if (owned == largest) {
+                winner = MatchResult.DRAW;
+            }
+        }
+        return winner;
+    }
+
+    private int[] countTerritory(GameSystem game) {
+        TerritoryIndex territory = game.getGameStorage().getTerritory();
+        int[] cells = new int[territory.getAmountOfOwners()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = territory.getCellsOwned(i);
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,164 @@
+package model;
+
+import model.aicommands.AiCommandHandler;
+
+/**
+ * Represents an index over the commands of the cells of the game storage.
+ * <p>
+ * For every opcode, a Fenwick tree (binary indexed tree) counts the cells holding that command, an additional tree
+ * counts the AI-Bombs. Writes are applied in O(log n) from the opcodes the game storage keeps for every cell, without
+ * looking at the names of the commands. The amount of matching cells in any range as well as the next matching cell
+ * after any position are found in O(log n).
+ * </p>
+ *
+ * @author uenqh
+ */
+public class OpcodeIndex implements CellWriteListener {
+
+    /**
+     * Result of {@link #findNextOpcode} and {@link #findNextBomb} if no cell matches.
+     */
+    public static final int NOT_FOUND = -1;
+
+    private final int size;
+    private final int[][] opcodeTrees;
+    private final int[] bombTree;
+    private final int highestPowerOfTwo;
+
+    /**
+     * Constructs an OpcodeIndex from the current state of the specified game storage.
+     *
+     * @param storage          The game storage to build the index for.
+     * @param aiCommandHandler The handler defining the opcodes of the commands.
+     */
+    public OpcodeIndex(GameStorage storage, AiCommandHandler aiCommandHandler) {
+        this.size = storage.getSize();
+        this.opcodeTrees = new int[aiCommandHandler.getAiCommandNameArrayList().size()][this.size + 1];
+        this.bombTree = new int[this.size + 1];
+        this.highestPowerOfTwo = Integer.highestOneBit(this.size);
+
+        for (int i = 0; i < this.size; i++) {
+            int opcode = storage.getCommandAt(i);
+            if (opcode != GameStorage.NO_COMMAND) {
+                this.opcodeTrees[opcode][i + 1] = 1;
+            }
+            if (storage.isAiBomb(i)) {
+                this.bombTree[i + 1] = 1;
+            }
+        }
+        for (int[] tree : this.opcodeTrees) {
+            build(tree);
+        }
+        build(this.bombTree);
+    }
+
+    @Override
+    public void onCellWrite(CellWrite write) {
+        int previousOpcode = write.getPreviousOpcode();
+        int opcode = write.getOpcode();
+        if (opcode != previousOpcode) {
+            if (previousOpcode != GameStorage.NO_COMMAND) {
+                add(this.opcodeTrees[previousOpcode], write.getIndex(), -1);
+            }
+            if (opcode != GameStorage.NO_COMMAND) {
+                add(this.opcodeTrees[opcode], write.getIndex(), 1);
+            }
+        }
+        boolean bomb = write.getCell().isAiBomb();
+        if (bomb != write.wasAiBomb()) {
+            add(this.bombTree, write.getIndex(), bomb ? 1 : -1);
+        }
+    }
+
+    /**
+     * Counts the cells holding the specified command within the specified range.
+     *
+     * @param opcode The opcode of the command.
+     * @param from   The first index of the range, inclusive.
+     * @param to     The last index of the range, exclusive.
+     * @return The amount of matching cells.
+     */
+    public int countOpcode(int opcode, int from, int to) {
+        return prefixSum(this.opcodeTrees[opcode], to) - prefixSum(this.opcodeTrees[opcode], from);
+    }
+
+    /**
+     * Counts the AI-Bombs within the specified range.
+     *
+     * @param from The first index of the range, inclusive.
+     * @param to   The last index of the range, exclusive.
+     * @return The amount of AI-Bombs.
+     */
+    public int countBombs(int from, int to) {
+        return prefixSum(this.bombTree, to) - prefixSum(this.bombTree, from);
+    }
+
+    /**
+     * Finds the first cell at or after the specified position holding the specified command.
+     * The search wraps around the end of the game storage.
+     *
+     * @param opcode   The opcode of the command.
+     * @param position The position the search starts at.
+     * @return The index of the found cell or {@link #NOT_FOUND}.
+     */
+    public int findNextOpcode(int opcode, int position) {
+        return findNext(this.opcodeTrees[opcode], position);
+    }
+
+    /**
+     * Finds the first AI-Bomb at or after the specified position.
+     * The search wraps around the end of the game storage.
+     *
+     * @param position The position the search starts at.
+     * @return The index of the found AI-Bomb or {@link #NOT_FOUND}.
+     */
+    public int findNextBomb(int position) {
+        return findNext(this.bombTree, position);
+    }
+
+    private int findNext(int[] tree, int position) {
+        int total = prefixSum(tree, this.size);
+        if (total == 0) {
+            return NOT_FOUND;
+        }
+        int before = prefixSum(tree, position);
+        return select(tree, before < total ? before + 1 : 1);
+    }
+
+    // Finds the index of the cell holding the k-th match by descending the implicit tree
+    private int select(int[] tree, int k) {
+        int position = 0;
+        int remaining = k;
+        for (int step = this.highestPowerOfTwo; step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= this.size && tree[next] < remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        return position;
+    }
+
+    private void build(int[] tree) {
+        for (int i = 1; i <= this.size; i++) {
+            int parent = i + (i & -i);
+            if (parent <= this.size) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    private void add(int[] tree, int index, int delta) {
+        for (int i = index + 1; i <= this.size; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private int prefixSum(int[] tree, int end) {
+        int sum = 0;
+        for (int i = end; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+}
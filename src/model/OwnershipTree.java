@@ -0,0 +1,172 @@
+package model;
+
+/**
+ * Represents a segment tree over the owners of the cells of the game storage.
+ * <p>
+ * Every node of the tree counts, for the range of cells it covers, how many cells each AI owns, how many cells are
+ * not owned by any AI and how many cells are AI-Bombs. The counts of one node are stored next to each other in a
+ * single array. A write only changes the nodes on the path from the written cell to the root, so it is applied in
+ * O(log n), and the counts of any range of cells are combined from O(log n) nodes.
+ * </p>
+ * <p>
+ * The counts of a node grow with the amount of AIs, so for large storages shared by many AIs a leaf of the tree
+ * covers a block of cells instead of a single cell, chosen so that the memory of the tree stays below a fixed limit.
+ * The cells of a range that only partially cover a block are counted directly, which are at most two blocks per range.
+ * </p>
+ *
+ * @author uenqh
+ */
+public class OwnershipTree implements CellWriteListener {
+
+    private static final long MAX_COUNTS = 1 << 24;
+    private static final int ROOT = 1;
+
+    private final GameStorage storage;
+    private final int size;
+    private final int blockShift;
+    private final int blocks;
+    private final int stride;
+    private final int unownedSlot;
+    private final int bombSlot;
+    private final int[] counts;
+
+    /**
+     * Constructs an OwnershipTree from the current state of the specified game storage.
+     *
+     * @param storage        The game storage to build the tree for.
+     * @param amountOfOwners The amount of AIs taking part in the game.
+     */
+    public OwnershipTree(GameStorage storage, int amountOfOwners) {
+        this.storage = storage;
+        this.size = storage.getSize();
+        this.unownedSlot = amountOfOwners;
+        this.bombSlot = amountOfOwners + 1;
+        this.stride = amountOfOwners + 2;
+        int shift = 0;
+        while (2L * blockAmount(this.size, shift) * this.stride > MAX_COUNTS && (1 << shift) < this.size) {
+            shift++;
+        }
+        this.blockShift = shift;
+        this.blocks = blockAmount(this.size, shift);
+        this.counts = new int[2 * this.blocks * this.stride];
+
+        for (int i = 0; i < this.size; i++) {
+            int leaf = (this.blocks + (i >> this.blockShift)) * this.stride;
+            this.counts[leaf + getSlot(storage.getOwnerAt(i))]++;
+            if (storage.isAiBomb(i)) {
+                this.counts[leaf + this.bombSlot]++;
+            }
+        }
+        for (int node = this.blocks - 1; node >= ROOT; node--) {
+            for (int slot = 0; slot < this.stride; slot++) {
+                this.counts[node * this.stride + slot] = this.counts[2 * node * this.stride + slot]
+                    + this.counts[(2 * node + 1) * this.stride + slot];
+            }
+        }
+    }
+
+    @Override
+    public void onCellWrite(CellWrite write) {
+        int previousSlot = getSlot(write.getPreviousOwner());
+        int newSlot = getSlot(write.getCell().getOwner());
+        int bombChange = (write.getCell().isAiBomb() ? 1 : 0) - (write.wasAiBomb() ? 1 : 0);
+        if (previousSlot == newSlot && bombChange == 0) {
+            return;
+        }
+        for (int node = this.blocks + (write.getIndex() >> this.blockShift); node >= ROOT; node >>= 1) {
+            int offset = node * this.stride;
+            this.counts[offset + previousSlot]--;
+            this.counts[offset + newSlot]++;
+            this.counts[offset + this.bombSlot] += bombChange;
+        }
+    }
+
+    /**
+     * Counts the owners and AI-Bombs of the cells within the specified range.
+     * <p>
+     * After the call, {@code result[owner]} holds the amount of cells owned by the AI with that in-game number,
+     * {@code result[getUnownedSlot()]} the amount of cells without owner and {@code result[getBombSlot()]} the amount
+     * of AI-Bombs.
+     * </p>
+     *
+     * @param from   The first index of the range, inclusive.
+     * @param to     The last index of the range, exclusive.
+     * @param result The array the counts are written to, its length has to be at least {@link #getStride()}.
+     */
+    public void countRange(int from, int to, int[] result) {
+        for (int slot = 0; slot < this.stride; slot++) {
+            result[slot] = 0;
+        }
+        int firstBlock = (from + (1 << this.blockShift) - 1) >> this.blockShift;
+        int endBlock = to >> this.blockShift;
+        if (firstBlock >= endBlock) {
+            countCells(from, to, result);
+            return;
+        }
+        countCells(from, firstBlock << this.blockShift, result);
+        countCells(endBlock << this.blockShift, to, result);
+        int left = firstBlock + this.blocks;
+        int right = endBlock + this.blocks;
+        while (left < right) {
+            if ((left & 1) == 1) {
+                addNode(left++, result);
+            }
+            if ((right & 1) == 1) {
+                addNode(--right, result);
+            }
+            left >>= 1;
+            right >>= 1;
+        }
+    }
+
+    /**
+     * Retrieves the amount of counts stored for every range.
+     *
+     * @return The amount of counts per range.
+     */
+    public int getStride() {
+        return this.stride;
+    }
+
+    /**
+     * Retrieves the position of the amount of cells without owner in the result of {@link #countRange}.
+     *
+     * @return The position of the amount of cells without owner.
+     */
+    public int getUnownedSlot() {
+        return this.unownedSlot;
+    }
+
+    /**
+     * Retrieves the position of the amount of AI-Bombs in the result of {@link #countRange}.
+     *
+     * @return The position of the amount of AI-Bombs.
+     */
+    public int getBombSlot() {
+        return this.bombSlot;
+    }
+
+    private void countCells(int from, int to, int[] result) {
+        for (int i = from; i < to; i++) {
+            result[getSlot(this.storage.getOwnerAt(i))]++;
+            if (this.storage.isAiBomb(i)) {
+                result[this.bombSlot]++;
+            }
+        }
+    }
+
+    private void addNode(int node, int[] result) {
+        int offset = node * this.stride;
+        for (int slot = 0; slot < this.stride; slot++) {
+            result[slot] += this.counts[offset + slot];
+        }
+    }
+
+    private int getSlot(int owner) {
+        return owner == TerritoryIndex.NO_OWNER ? this.unownedSlot : owner;
+    }
+
+    private static int blockAmount(int size, int shift) {
+        return (size + (1 << shift) - 1) >> shift;
+    }
+}
@@ -0,0 +1,92 @@
+package model;
+
+/**
+ * Represents the program counters of the processes of an AI waiting for their next turn.
+ * <p>
+ * The program counters are kept in a ring over an array allocated once with the process limit of the game, so splitting
+ * and switching processes never allocates, however many processes an AI runs.
+ * </p>
+ *
+ * @author uenqh
+ * @see Ai#splitProcess(int)
+ */
+final class ProcessQueue {
+
+    private final int[] pointers;
+    private int head;
+    private int size;
+
+    /**
+     * Constructs an empty ProcessQueue holding up to the specified amount of program counters.
+     *
+     * @param capacity The amount of program counters the queue holds.
+     */
+    ProcessQueue(int capacity) {
+        this.pointers = new int[capacity];
+    }
+
+    /**
+     * Appends the program counter of a process to the end of the queue.
+     *
+     * @param pointer The program counter.
+     */
+    void offer(int pointer) {
+        int tail = this.head + this.size;
+        if (tail >= this.pointers.length) {
+            tail -= this.pointers.length;
+        }
+        this.pointers[tail] = pointer;
+        this.size++;
+    }
+
+    /**
+     * Removes the program counter at the front of the queue.
+     *
+     * @return The program counter of the process waiting longest.
+     */
+    int poll() {
+        int pointer = this.pointers[this.head];
+        if (++this.head == this.pointers.length) {
+            this.head = 0;
+        }
+        this.size--;
+        return pointer;
+    }
+
+    /**
+     * Retrieves the program counter at the specified position of the queue.
+     *
+     * @param position The position, counted from the front of the queue.
+     * @return The program counter.
+     */
+    int get(int position) {
+        int index = this.head + position;
+        return this.pointers[index >= this.pointers.length ? index - this.pointers.length : index];
+    }
+
+    /**
+     * Removes every program counter from the queue.
+     */
+    void clear() {
+        this.head = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Retrieves the amount of program counters in the queue.
+     *
+     * @return The amount of waiting processes.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Retrieves the amount of program counters the queue holds at most.
+     *
+     * @return The capacity of the queue.
+     */
+    int capacity() {
+        return this.pointers.length;
+    }
+}
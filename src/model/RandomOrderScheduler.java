@@ -0,0 +1,175 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Schedules the AIs in random order, every AI executes one command per round in an order shuffled for every round.
+ * <p>
+ * The AIs of the current round and the AIs handed back for the next round are kept in two arrays. Once the current
+ * round is over, the next round is shuffled and becomes the current one. The order only depends on the seed the
+ * scheduler is constructed with, so a game played with the same seed plays out the same way.
+ * </p>
+ * <p>
+ * The random numbers are drawn from a SplitMix64 generator, whose whole state is a single number, so the state of the
+ * scheduler can be saved and restored exactly.
+ * </p>
+ *
+ * @author uenqh
+ */
+public final class RandomOrderScheduler implements Scheduler {
+
+    private static final int MIN_CAPACITY = 2;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long FIRST_MIX_MULTIPLIER = 0xBF58476D1CE4E5B9L;
+    private static final long SECOND_MIX_MULTIPLIER = 0x94D049BB133111EBL;
+    private static final int FIRST_MIX_SHIFT = 30;
+    private static final int SECOND_MIX_SHIFT = 27;
+    private static final int THIRD_MIX_SHIFT = 31;
+    private static final int RANDOM_STATE_POSITION = 0;
+    private static final int CURRENT_ROUND_SIZE_POSITION = 1;
+    private static final int CURRENT_ROUND_POSITION = 2;
+
+    private long randomState;
+    private Ai[] currentRound;
+    private Ai[] nextRound;
+    private int currentPosition;
+    private int currentSize;
+    private int nextSize;
+
+    /**
+     * Constructs an empty RandomOrderScheduler.
+     *
+     * @param seed The seed of the shuffled orders.
+     */
+    public RandomOrderScheduler(long seed) {
+        this.randomState = seed;
+        this.currentRound = new Ai[MIN_CAPACITY];
+        this.nextRound = new Ai[MIN_CAPACITY];
+    }
+
+    @Override
+    public void add(Ai ai) {
+        // the AIs of a new game wait for the first round, which is shuffled like every other
+        requeue(ai);
+    }
+
+    @Override
+    public Ai poll() {
+        Ai ai = peek();
+        if (ai != null) {
+            this.currentRound[this.currentPosition++] = null;
+        }
+        return ai;
+    }
+
+    @Override
+    public Ai peek() {
+        if (this.currentPosition == this.currentSize) {
+            startNextRound();
+        }
+        return this.currentPosition == this.currentSize ? null : this.currentRound[this.currentPosition];
+    }
+
+    @Override
+    public void requeue(Ai ai) {
+        if (this.nextSize == this.nextRound.length) {
+            this.nextRound = Arrays.copyOf(this.nextRound, 2 * this.nextSize);
+        }
+        this.nextRound[this.nextSize++] = ai;
+    }
+
+    @Override
+    public int size() {
+        return this.currentSize - this.currentPosition + this.nextSize;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(this.currentRound, null);
+        Arrays.fill(this.nextRound, null);
+        this.currentPosition = 0;
+        this.currentSize = 0;
+        this.nextSize = 0;
+    }
+
+    @Override
+    public long[] saveState() {
+        // the remaining AIs of the current round are saved first, followed by the AIs of the next round
+        int currentRemaining = this.currentSize - this.currentPosition;
+        long[] state = new long[CURRENT_ROUND_POSITION + currentRemaining + this.nextSize];
+        state[RANDOM_STATE_POSITION] = this.randomState;
+        state[CURRENT_ROUND_SIZE_POSITION] = currentRemaining;
+        int position = CURRENT_ROUND_POSITION;
+        for (Ai ai : this) {
+            state[position++] = ai.getInGameNumber();
+        }
+        return state;
+    }
+
+    @Override
+    public void restoreState(long[] state, List<Ai> ais) {
+        clear();
+        this.randomState = state[RANDOM_STATE_POSITION];
+        this.currentSize = (int) state[CURRENT_ROUND_SIZE_POSITION];
+        this.nextSize = state.length - CURRENT_ROUND_POSITION - this.currentSize;
+        this.currentRound = new Ai[Math.max(MIN_CAPACITY, this.currentSize)];
+        this.nextRound = new Ai[Math.max(MIN_CAPACITY, this.nextSize)];
+        for (int i = 0; i < this.currentSize; i++) {
+            this.currentRound[i] = ais.get((int) state[CURRENT_ROUND_POSITION + i]);
+        }
+        for (int i = 0; i < this.nextSize; i++) {
+            this.nextRound[i] = ais.get((int) state[CURRENT_ROUND_POSITION + this.currentSize + i]);
+        }
+    }
+
+    @Override
+    public Iterator<Ai> iterator() {
+        return new Iterator<>() {
+            private int position = RandomOrderScheduler.this.currentPosition;
+
+            @Override
+            public boolean hasNext() {
+                return this.position < RandomOrderScheduler.this.currentSize + RandomOrderScheduler.this.nextSize;
+            }
+
+            @Override
+            public Ai next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int current = this.position++;
+                if (current < RandomOrderScheduler.this.currentSize) {
+                    return RandomOrderScheduler.this.currentRound[current];
+                }
+                return RandomOrderScheduler.this.nextRound[current - RandomOrderScheduler.this.currentSize];
+            }
+        };
+    }
+
+    private long nextRandom() {
+        this.randomState += GOLDEN_GAMMA;
+        long mixed = this.randomState;
+        mixed = (mixed ^ (mixed >>> FIRST_MIX_SHIFT)) * FIRST_MIX_MULTIPLIER;
+        mixed = (mixed ^ (mixed >>> SECOND_MIX_SHIFT)) * SECOND_MIX_MULTIPLIER;
+        return mixed ^ (mixed >>> THIRD_MIX_SHIFT);
+    }
+
+    private void startNextRound() {
+        Ai[] finished = this.currentRound;
+        this.currentRound = this.nextRound;
+        this.currentSize = this.nextSize;
+        this.currentPosition = 0;
+        this.nextRound = finished;
+        this.nextSize = 0;
+        // Fisher-Yates shuffle
+        for (int i = this.currentSize - 1; i > 0; i--) {
+            int j = (int) Long.remainderUnsigned(nextRandom(), i + 1);
+            Ai swapped = this.currentRound[i];
+            this.currentRound[i] = this.currentRound[j];
+            this.currentRound[j] = swapped;
+        }
+    }
+}
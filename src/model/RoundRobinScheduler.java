@@ -0,0 +1,67 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Schedules the AIs round-robin, every AI executes one command per turn in the order the AIs were loaded.
+ * <p>
+ * This is the default scheduler. The AIs wait in a single queue and an AI that executed goes back to its end.
+ * </p>
+ *
+ * @author uenqh
+ */
+public final class RoundRobinScheduler implements Scheduler {
+
+    private final ArrayDeque<Ai> queue = new ArrayDeque<>();
+
+    @Override
+    public void add(Ai ai) {
+        this.queue.addLast(ai);
+    }
+
+    @Override
+    public Ai poll() {
+        return this.queue.pollFirst();
+    }
+
+    @Override
+    public Ai peek() {
+        return this.queue.peekFirst();
+    }
+
+    @Override
+    public void requeue(Ai ai) {
+        this.queue.addLast(ai);
+    }
+
+    @Override
+    public int size() {
+        return this.queue.size();
+    }
+
+    @Override
+    public void clear() {
+        this.queue.clear();
+    }
+
+    @Override
+    public long[] saveState() {
+        // the state is the queue, first AI first
+        return this.queue.stream().mapToLong(Ai::getInGameNumber).toArray();
+    }
+
+    @Override
+    public void restoreState(long[] state, List<Ai> ais) {
+        this.queue.clear();
+        for (long number : state) {
+            this.queue.addLast(ais.get((int) number));
+        }
+    }
+
+    @Override
+    public Iterator<Ai> iterator() {
+        return this.queue.iterator();
+    }
+}
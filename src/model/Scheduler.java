@@ -0,0 +1,81 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Decides in which order the alive AIs of a game execute their commands.
+ * <p>
+ * An AI is taken from the scheduler with {@link #poll()}, executes one command and is handed back with
+ * {@link #requeue(Ai)} if it is still alive. AIs that stopped are simply not handed back. Iterating over a scheduler
+ * visits every AI waiting in it once, in no particular order.
+ * </p>
+ *
+ * @author uenqh
+ * @see SchedulingMode
+ */
+public interface Scheduler extends Iterable<Ai> {
+
+    /**
+     * Adds an AI when the game is started, AIs added first execute first.
+     *
+     * @param ai The AI to add.
+     */
+    void add(Ai ai);
+
+    /**
+     * Takes the AI that executes next out of the scheduler.
+     *
+     * @return The AI that executes next, or null if no AI is waiting.
+     */
+    Ai poll();
+
+    /**
+     * Retrieves the AI that executes next without taking it out of the scheduler.
+     *
+     * @return The AI that executes next, or null if no AI is waiting.
+     */
+    Ai peek();
+
+    /**
+     * Hands an AI back after it executed a command taken by {@link #poll()}.
+     *
+     * @param ai The AI that executed, which is still alive.
+     */
+    void requeue(Ai ai);
+
+    /**
+     * Retrieves the amount of AIs waiting in the scheduler.
+     *
+     * @return The amount of waiting AIs.
+     */
+    int size();
+
+    /**
+     * Checks whether no AI is waiting in the scheduler.
+     *
+     * @return {@code true} if no AI is waiting, otherwise {@code false}.
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes all AIs from the scheduler.
+     */
+    void clear();
+
+    /**
+     * Saves the state of the scheduler, which determines the order of all following turns.
+     *
+     * @return The state, whose layout only the scheduler knows.
+     */
+    long[] saveState();
+
+    /**
+     * Restores a state saved by a scheduler of the same kind, replacing the waiting AIs.
+     *
+     * @param state The saved state.
+     * @param ais   The AIs of the game, indexed by their in-game number.
+     */
+    void restoreState(long[] state, List<Ai> ais);
+}
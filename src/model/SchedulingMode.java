@@ -0,0 +1,32 @@
+package model;
+
+/**
+ * Represents the order in which the AIs of a game take their turns.
+ * <p>
+ * The weighted modes use the weight of every AI, which is the amount of commands it executes per turn.
+ * </p>
+ *
+ * @author uenqh
+ */
+public enum SchedulingMode {
+
+    /**
+     * Round-robin scheduling mode, every AI executes one command per turn in the order the AIs were loaded.
+     */
+    SCHEDULING_MODE_ROUND_ROBIN,
+
+    /**
+     * Weighted scheduling mode, every AI executes as many commands per round as its weight, spread evenly over the round.
+     */
+    SCHEDULING_MODE_WEIGHTED,
+
+    /**
+     * Time-slice scheduling mode, every AI executes as many commands in a row as its weight before the next AI's turn.
+     */
+    SCHEDULING_MODE_TIME_SLICE,
+
+    /**
+     * Random scheduling mode, every AI executes one command per round, in an order shuffled with the seed of the game.
+     */
+    SCHEDULING_MODE_RANDOM;
+}
@@ -0,0 +1,364 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Records time series of statistics of a running game into a columnar binary file on a background thread.
+ * <p>
+ * Every given amount of steps, the game thread appends a row holding the step, the amount of alive AIs, the territory
+ * and planted bombs of every AI and the amount of cells written since the previous row. The rows are stored column by
+ * column in preallocated blocks, so recording a row copies a few numbers without allocating. Full blocks are handed to
+ * the writer thread, which writes every column of a block in one piece through a {@link FileChannel}. If the writer
+ * falls behind until no block is free, rows are dropped instead of waiting for the disk.
+ * </p>
+ * <p>
+ * A statistics file starts with a header holding the AI names, followed by the blocks. Every block starts with its
+ * amount of rows, followed by the step, alive, territory, bomb and write columns. {@link #writeCsv} converts a
+ * statistics file into a CSV file with one line per row.
+ * </p>
+ *
+ * @author uenqh
+ */
+public final class StatsRecorder {
+
+    private static final String THREAD_NAME = "stats-writer";
+    private static final int MAGIC = 0x43465354;
+    private static final int VERSION = 1;
+    private static final int BLOCK_VALUES = 1 << 16;
+    private static final int BLOCK_AMOUNT = 4;
+    private static final int COLUMNS_PER_AI = 2;
+    private static final int SHARED_COLUMNS = 3;
+    private static final int END_OF_FILE = -1;
+    private static final String NO_STATS_FORMAT = "%s is no statistics file";
+    private static final String CSV_SEPARATOR = ",";
+    private static final String CSV_STEP_HEADER = "step";
+    private static final String CSV_ALIVE_HEADER = "alive";
+    private static final String CSV_TERRITORY_HEADER_FORMAT = "territory %s";
+    private static final String CSV_BOMBS_HEADER_FORMAT = "bombs %s";
+    private static final String CSV_WRITES_HEADER = "writes";
+
+    private final Path path;
+    private final long interval;
+    private final int aiCount;
+    private final int rowsPerBlock;
+    private final BlockingQueue<Block> freeBlocks;
+    private final BlockingQueue<Block> fullBlocks;
+    private final Block closed;
+    private final Thread writer;
+    private final ByteBuffer encoded;
+    private final List<String> aiNames;
+    private Block current;
+    private long nextRowStep;
+    private long lastCellsWritten;
+    private long droppedRows;
+    private volatile IOException lastFailure;
+
+    /**
+     * Constructs a StatsRecorder for the AIs of the running game and starts its writer thread.
+     *
+     * @param path     The path of the statistics file, which is replaced.
+     * @param interval The amount of steps between two rows.
+     * @param ais      The AIs of the running game.
+     * @throws IOException If the statistics file cannot be created.
+     */
+    public StatsRecorder(Path path, long interval, List<Ai> ais) throws IOException {
+        this.path = path;
+        this.interval = interval;
+        this.aiCount = ais.size();
+        this.aiNames = ais.stream().map(Ai::getDisplayName).toList();
+        this.rowsPerBlock = Math.max(1, BLOCK_VALUES / (COLUMNS_PER_AI * this.aiCount + SHARED_COLUMNS));
+        this.freeBlocks = new ArrayBlockingQueue<>(BLOCK_AMOUNT);
+        this.fullBlocks = new ArrayBlockingQueue<>(BLOCK_AMOUNT + 1);
+        for (int i = 1; i < BLOCK_AMOUNT; i++) {
+            this.freeBlocks.add(new Block(this.rowsPerBlock, this.aiCount));
+        }
+        this.current = new Block(this.rowsPerBlock, this.aiCount);
+        this.closed = new Block(0, 0);
+        this.encoded = ByteBuffer.allocateDirect(Integer.BYTES + this.rowsPerBlock * Long.BYTES
+            + this.rowsPerBlock * (COLUMNS_PER_AI * this.aiCount + SHARED_COLUMNS - 1) * Integer.BYTES);
+        writeHeader();
+        this.writer = new Thread(this::writeBlocks, THREAD_NAME);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Retrieves the step of the game at which the next row is due.
+     *
+     * @return The step of the next row.
+     */
+    public long getNextRowStep() {
+        return this.nextRowStep;
+    }
+
+    /**
+     * Appends a row with the current statistics of the specified game and schedules the next row.
+     * <p>
+     * This has to be called on the game thread between two steps, once the step returned by {@link #getNextRowStep()}
+     * is reached.
+     * </p>
+     *
+     * @param game The running game the recorder was constructed for.
+     */
+    public void record(GameSystem game) {
+        long step = game.getGameStorage().getStep();
+        this.nextRowStep = step + this.interval;
+        if (this.current == null) {
+            this.current = this.freeBlocks.poll();
+            if (this.current == null) {
+                this.droppedRows++;
+                return;
+            }
+        }
+        Block block = this.current;
+        int row = block.rows++;
+        TerritoryIndex territory = game.getGameStorage().getTerritory();
+        List<Ai> ais = game.getInGameAis();
+        long cellsWritten = 0;
+        for (int i = 0; i < this.aiCount; i++) {
+            Ai ai = ais.get(i);
+            block.territory[i * this.rowsPerBlock + row] = territory.getCellsOwned(i);
+            block.bombs[i * this.rowsPerBlock + row] = ai.getProfile().getBombsPlanted();
+            cellsWritten += ai.getProfile().getCellsWritten();
+        }
+        block.steps[row] = step;
+        block.alive[row] = game.getScheduler().size();
+        block.writes[row] = (int) (cellsWritten - this.lastCellsWritten);
+        this.lastCellsWritten = cellsWritten;
+        if (block.rows == this.rowsPerBlock) {
+            this.fullBlocks.add(block);
+            this.current = null;
+        }
+    }
+
+    /**
+     * Retrieves the path of the statistics file.
+     *
+     * @return The path of the statistics file.
+     */
+    public Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * Retrieves the amount of rows dropped because the writer fell behind.
+     *
+     * @return The amount of dropped rows.
+     */
+    public long getDroppedRows() {
+        return this.droppedRows;
+    }
+
+    /**
+     * Retrieves the error of the last block that could not be written.
+     *
+     * @return The error, or null if every block was written.
+     */
+    public IOException getLastFailure() {
+        return this.lastFailure;
+    }
+
+    /**
+     * Hands the recorded rows to the writer thread and waits until they are written.
+     */
+    public void close() {
+        if (this.current != null && this.current.rows > 0) {
+            this.fullBlocks.add(this.current);
+        }
+        this.current = null;
+        this.fullBlocks.add(this.closed);
+        try {
+            this.writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Converts the statistics file at the specified path into a CSV file with a header line and one line per row.
+     *
+     * @param statsPath The path of the statistics file.
+     * @param csvPath   The path of the CSV file, which is replaced.
+     * @return The amount of converted rows.
+     * @throws IOException If the statistics file cannot be read or the CSV file cannot be written.
+     */
+    public static long writeCsv(Path statsPath, Path csvPath) throws IOException {
+        long rows = 0;
+        try (InputStream file = Files.newInputStream(statsPath);
+             DataInputStream input = new DataInputStream(new BufferedInputStream(file));
+             Writer csv = Files.newBufferedWriter(csvPath, StandardCharsets.UTF_8)) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                throw new IOException(NO_STATS_FORMAT.formatted(statsPath));
+            }
+            int aiCount = input.readInt();
+            if (aiCount < 0) {
+                throw new IOException(NO_STATS_FORMAT.formatted(statsPath));
+            }
+            StringBuilder header = new StringBuilder(CSV_STEP_HEADER).append(CSV_SEPARATOR).append(CSV_ALIVE_HEADER);
+            String[] names = new String[aiCount];
+            for (int i = 0; i < aiCount; i++) {
+                byte[] name = new byte[input.readUnsignedShort()];
+                input.readFully(name);
+                names[i] = new String(name, StandardCharsets.UTF_8);
+                header.append(CSV_SEPARATOR).append(CSV_TERRITORY_HEADER_FORMAT.formatted(names[i]));
+            }
+            for (String name : names) {
+                header.append(CSV_SEPARATOR).append(CSV_BOMBS_HEADER_FORMAT.formatted(name));
+            }
+            csv.write(header.append(CSV_SEPARATOR).append(CSV_WRITES_HEADER).append(System.lineSeparator()).toString());
+
+            int blockRows;
+            while ((blockRows = readBlockRows(input)) != END_OF_FILE) {
+                if (blockRows < 0 || blockRows > BLOCK_VALUES) {
+                    throw new IOException(NO_STATS_FORMAT.formatted(statsPath));
+                }
+                Block block = new Block(blockRows, aiCount);
+                block.readColumns(input);
+                for (int row = 0; row < blockRows; row++) {
+                    csv.write(block.formatRow(row));
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static int readBlockRows(DataInputStream input) throws IOException {
+        try {
+            return input.readInt();
+        } catch (EOFException e) {
+            return END_OF_FILE;
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(3 * Integer.BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putInt(this.aiCount).flip();
+            writeFully(channel, header);
+            for (String name : this.aiNames) {
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                writeFully(channel, ByteBuffer.allocate(Short.BYTES + bytes.length).putShort((short) bytes.length).put(bytes)
+                    .flip());
+            }
+        }
+    }
+
+    private void writeBlocks() {
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            Block block;
+            while ((block = this.fullBlocks.take()) != this.closed) {
+                try {
+                    this.encoded.clear();
+                    block.writeColumns(this.encoded);
+                    writeFully(channel, this.encoded.flip());
+                } catch (IOException e) {
+                    this.lastFailure = e;
+                }
+                block.rows = 0;
+                this.freeBlocks.offer(block);
+            }
+        } catch (IOException e) {
+            this.lastFailure = e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Holds the columns of a block of rows, every AI column stored in one piece of its array.
+     */
+    private static final class Block {
+
+        private final int capacity;
+        private final int aiCount;
+        private final long[] steps;
+        private final int[] alive;
+        private final int[] territory;
+        private final int[] bombs;
+        private final int[] writes;
+        private int rows;
+
+        private Block(int capacity, int aiCount) {
+            this.capacity = capacity;
+            this.aiCount = aiCount;
+            this.steps = new long[capacity];
+            this.alive = new int[capacity];
+            this.territory = new int[capacity * aiCount];
+            this.bombs = new int[capacity * aiCount];
+            this.writes = new int[capacity];
+        }
+
+        private void writeColumns(ByteBuffer buffer) {
+            buffer.putInt(this.rows);
+            buffer.asLongBuffer().put(this.steps, 0, this.rows);
+            buffer.position(buffer.position() + this.rows * Long.BYTES);
+            putColumn(buffer, this.alive, 0);
+            for (int i = 0; i < this.aiCount; i++) {
+                putColumn(buffer, this.territory, i * this.capacity);
+            }
+            for (int i = 0; i < this.aiCount; i++) {
+                putColumn(buffer, this.bombs, i * this.capacity);
+            }
+            putColumn(buffer, this.writes, 0);
+        }
+
+        private void putColumn(ByteBuffer buffer, int[] column, int offset) {
+            buffer.asIntBuffer().put(column, offset, this.rows);
+            buffer.position(buffer.position() + this.rows * Integer.BYTES);
+        }
+
+        private void readColumns(DataInputStream input) throws IOException {
+            this.rows = this.capacity;
+            for (int row = 0; row < this.rows; row++) {
+                this.steps[row] = input.readLong();
+            }
+            readColumn(input, this.alive, 0);
+            for (int i = 0; i < this.aiCount; i++) {
+                readColumn(input, this.territory, i * this.capacity);
+            }
+            for (int i = 0; i < this.aiCount; i++) {
+                readColumn(input, this.bombs, i * this.capacity);
+            }
+            readColumn(input, this.writes, 0);
+        }
+
+        private void readColumn(DataInputStream input, int[] column, int offset) throws IOException {
+            for (int row = 0; row < this.rows; row++) {
+                column[offset + row] = input.readInt();
+            }
+        }
+
+        private String formatRow(int row) {
+            StringBuilder line = new StringBuilder().append(this.steps[row]).append(CSV_SEPARATOR).append(this.alive[row]);
+            for (int i = 0; i < this.aiCount; i++) {
+                line.append(CSV_SEPARATOR).append(this.territory[i * this.capacity + row]);
+            }
+            for (int i = 0; i < this.aiCount; i++) {
+                line.append(CSV_SEPARATOR).append(this.bombs[i * this.capacity + row]);
+            }
+            return line.append(CSV_SEPARATOR).append(this.writes[row]).append(System.lineSeparator()).toString();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package model;
+
+/**
+ * Represents a page of consecutive cells of the game storage, holding the slice of every column of the storage.
+ * <p>
+ * Forks of a game share the pages of its storage. A page counts the storages and forks referring to it, and a storage
+ * copies a page before writing it while anyone else still refers to it. The counter is only changed on the game thread
+ * or while the storage holding the page is locked.
+ * </p>
+ *
+ * @author uenqh
+ * @see GameFork
+ */
+final class StoragePage {
+
+    /**
+     * The binary logarithm of the amount of cells of a page.
+     */
+    static final int SHIFT = 10;
+
+    /**
+     * The amount of cells of a page.
+     */
+    static final int SIZE = 1 << SHIFT;
+
+    /**
+     * The mask extracting the offset of a cell within its page from the index of the cell.
+     */
+    static final int MASK = SIZE - 1;
+
+    final int[] commands;
+    final int[] entriesA;
+    final int[] entriesB;
+    final int[] owners;
+    final int[] changeFlags;
+    final String[] lastEditors;
+    private int references;
+
+    /**
+     * Constructs an empty page referred to once.
+     */
+    StoragePage() {
+        this.commands = new int[SIZE];
+        this.entriesA = new int[SIZE];
+        this.entriesB = new int[SIZE];
+        this.owners = new int[SIZE];
+        this.changeFlags = new int[SIZE];
+        this.lastEditors = new String[SIZE];
+        this.references = 1;
+    }
+
+    /**
+     * Creates a copy of this page referred to once.
+     *
+     * @return The copy.
+     */
+    StoragePage copy() {
+        StoragePage copy = new StoragePage();
+        System.arraycopy(this.commands, 0, copy.commands, 0, SIZE);
+        System.arraycopy(this.entriesA, 0, copy.entriesA, 0, SIZE);
+        System.arraycopy(this.entriesB, 0, copy.entriesB, 0, SIZE);
+        System.arraycopy(this.owners, 0, copy.owners, 0, SIZE);
+        System.arraycopy(this.changeFlags, 0, copy.changeFlags, 0, SIZE);
+        System.arraycopy(this.lastEditors, 0, copy.lastEditors, 0, SIZE);
+        return copy;
+    }
+
+    /**
+     * Adds a reference to this page.
+     */
+    void retain() {
+        this.references++;
+    }
+
+    /**
+     * Removes a reference to this page.
+     */
+    void release() {
+        this.references--;
+    }
+
+    /**
+     * Checks whether more than one storage or fork refers to this page.
+     *
+     * @return {@code true} if the page has to be copied before it is written, otherwise {@code false}.
+     */
+    boolean isShared() {
+        return this.references > 1;
+    }
+}
@@ -0,0 +1,82 @@
+package model;
+
+/**
+ * Keeps track of the amount of cells each AI of the current game owns.
+ * <p>
+ * A cell is owned by the AI that changed it last. The counts are updated whenever a write changes the owner of a cell,
+ * so the territory of every AI can be retrieved without scanning the game storage.
+ * </p>
+ *
+ * @author uenqh
+ */
+public class TerritoryIndex {
+
+    /**
+     * Owner of cells that have not been changed by any AI yet.
+     */
+    public static final int NO_OWNER = -1;
+
+    private final int[] cellsPerOwner;
+
+    /**
+     * Constructs an empty TerritoryIndex for the specified amount of AIs.
+     *
+     * @param amountOfOwners The amount of AIs taking part in the game.
+     */
+    public TerritoryIndex(int amountOfOwners) {
+        this.cellsPerOwner = new int[amountOfOwners];
+    }
+
+    /**
+     * Constructs a TerritoryIndex starting from the specified amounts of owned cells.
+     *
+     * @param cellsPerOwner The amount of cells owned by each AI, indexed by in-game number.
+     */
+    public TerritoryIndex(int[] cellsPerOwner) {
+        this.cellsPerOwner = cellsPerOwner.clone();
+    }
+
+    /**
+     * Constructs a copy of the specified TerritoryIndex.
+     *
+     * @param territory The TerritoryIndex to copy.
+     */
+    public TerritoryIndex(TerritoryIndex territory) {
+        this(territory.cellsPerOwner);
+    }
+
+    /**
+     * Moves a cell from its previous owner to its new owner.
+     *
+     * @param previousOwner The in-game index of the previous owner or {@link #NO_OWNER}.
+     * @param newOwner      The in-game index of the new owner.
+     */
+    public void transfer(int previousOwner, int newOwner) {
+        if (previousOwner == newOwner) {
+            return;
+        }
+        if (previousOwner != NO_OWNER) {
+            this.cellsPerOwner[previousOwner]--;
+        }
+        this.cellsPerOwner[newOwner]++;
+    }
+
+    /**
+     * Retrieves the amount of cells owned by the specified AI.
+     *
+     * @param owner The in-game index of the AI.
+     * @return The amount of cells owned by the AI.
+     */
+    public int getCellsOwned(int owner) {
+        return this.cellsPerOwner[owner];
+    }
+
+    /**
+     * Retrieves the amount of AIs this index keeps track of.
+     *
+     * @return The amount of AIs.
+     */
+    public int getAmountOfOwners() {
+        return this.cellsPerOwner.length;
+    }
+}
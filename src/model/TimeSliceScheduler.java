@@ -0,0 +1,99 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Schedules the AIs in time slices, every AI executes as many commands in a row as its weight before the next AI's turn.
+ * <p>
+ * The AIs wait in a single queue like with the {@link RoundRobinScheduler}. An AI whose slice is not used up yet is
+ * handed back to the front of the queue instead of its end.
+ * </p>
+ *
+ * @author uenqh
+ */
+public final class TimeSliceScheduler implements Scheduler {
+
+    private static final int NO_CURRENT_AI = -1;
+    private static final int CURRENT_AI_POSITION = 0;
+    private static final int REMAINING_POSITION = 1;
+    private static final int QUEUE_POSITION = 2;
+
+    private final ArrayDeque<Ai> queue = new ArrayDeque<>();
+    private Ai current;
+    private int remaining;
+
+    @Override
+    public void add(Ai ai) {
+        this.queue.addLast(ai);
+    }
+
+    @Override
+    public Ai poll() {
+        Ai ai = this.queue.pollFirst();
+        // a new slice starts when another AI takes its turn or the only AI left used up its slice
+        if (ai != this.current || this.remaining == 0) {
+            this.current = ai;
+            this.remaining = ai == null ? 0 : ai.getWeight();
+        }
+        if (ai != null) {
+            this.remaining--;
+        }
+        return ai;
+    }
+
+    @Override
+    public Ai peek() {
+        return this.queue.peekFirst();
+    }
+
+    @Override
+    public void requeue(Ai ai) {
+        if (ai == this.current && this.remaining > 0) {
+            this.queue.addFirst(ai);
+        } else {
+            this.queue.addLast(ai);
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.queue.size();
+    }
+
+    @Override
+    public void clear() {
+        this.queue.clear();
+        this.current = null;
+        this.remaining = 0;
+    }
+
+    @Override
+    public long[] saveState() {
+        long[] state = new long[QUEUE_POSITION + this.queue.size()];
+        state[CURRENT_AI_POSITION] = this.current == null ? NO_CURRENT_AI : this.current.getInGameNumber();
+        state[REMAINING_POSITION] = this.remaining;
+        int position = QUEUE_POSITION;
+        for (Ai ai : this.queue) {
+            state[position++] = ai.getInGameNumber();
+        }
+        return state;
+    }
+
+    @Override
+    public void restoreState(long[] state, List<Ai> ais) {
+        clear();
+        int currentNumber = (int) state[CURRENT_AI_POSITION];
+        this.current = currentNumber == NO_CURRENT_AI ? null : ais.get(currentNumber);
+        this.remaining = (int) state[REMAINING_POSITION];
+        for (int position = QUEUE_POSITION; position < state.length; position++) {
+            this.queue.addLast(ais.get((int) state[position]));
+        }
+    }
+
+    @Override
+    public Iterator<Ai> iterator() {
+        return this.queue.iterator();
+    }
+}
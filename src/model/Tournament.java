@@ -0,0 +1,142 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Represents a round-robin tournament, in which every contestant plays every other contestant twice, once loaded first
+ * and once loaded second.
+ * <p>
+ * A contestant earns {@value Evolution#POINTS_PER_WIN} points per win and {@value Evolution#POINTS_PER_DRAW} per draw,
+ * the cells it owned at the end of its matches break ties. The matches are played in parallel by a
+ * {@link MatchRunner}, which takes the results of matches played before from its {@link MatchCache}, so a tournament
+ * repeated after adding a contestant only plays the matches of the new contestant.
+ * </p>
+ *
+ * @author uenqh
+ */
+public class Tournament {
+
+    private final MatchRunner runner;
+    private final List<AiProgram> contestants;
+    private final int[] points;
+    private final int[] wins;
+    private final int[] draws;
+    private final int[] losses;
+    private final long[] territory;
+    private long matchesPlayed;
+
+    /**
+     * Constructs a Tournament between the specified contestants.
+     *
+     * @param template    The game system whose settings the matches are played with.
+     * @param contestants The programs of the contestants.
+     * @param stepCap     The most steps a match lasts.
+     * @param cache       The cache of match results, or null to play every match.
+     */
+    public Tournament(GameSystem template, List<AiProgram> contestants, long stepCap, MatchCache cache) {
+        this.runner = new MatchRunner(template, stepCap, cache);
+        this.contestants = List.copyOf(contestants);
+        this.points = new int[contestants.size()];
+        this.wins = new int[contestants.size()];
+        this.draws = new int[contestants.size()];
+        this.losses = new int[contestants.size()];
+        this.territory = new long[contestants.size()];
+    }
+
+    /**
+     * Plays every match of the tournament.
+     */
+    public void play() {
+        int amount = this.contestants.size();
+        // match i * amount + j is played by contestant i loaded first and contestant j loaded second
+        MatchResult[] results = new MatchResult[amount * amount];
+        IntStream.range(0, results.length).filter(match -> match / amount != match % amount).parallel().forEach(match ->
+            results[match] = this.runner.run(List.of(this.contestants.get(match / amount), this.contestants.get(match % amount))));
+
+        for (int match = 0; match < results.length; match++) {
+            if (results[match] != null) {
+                score(match / amount, 0, results[match]);
+                score(match % amount, 1, results[match]);
+                this.matchesPlayed++;
+            }
+        }
+    }
+
+    private void score(int contestant, int position, MatchResult result) {
+        if (result.getWinner() == position) {
+            this.points[contestant] += Evolution.POINTS_PER_WIN;
+            this.wins[contestant]++;
+        } else if (result.getWinner() == MatchResult.DRAW) {
+            this.points[contestant] += Evolution.POINTS_PER_DRAW;
+            this.draws[contestant]++;
+        } else {
+            this.losses[contestant]++;
+        }
+        this.territory[contestant] += result.getTerritory(position);
+    }
+
+    /**
+     * Retrieves the positions of the contestants ranked by their points, the strongest first.
+     *
+     * @return The positions of the contestants in the order they were passed.
+     */
+    public List<Integer> getRanking() {
+        List<Integer> ranking = new ArrayList<>(IntStream.range(0, this.contestants.size()).boxed().toList());
+        // the sort is stable, so equally strong contestants keep the order they were passed in
+        ranking.sort(Comparator.<Integer>comparingInt(contestant -> this.points[contestant])
+            .thenComparingLong(contestant -> this.territory[contestant]).reversed());
+        return ranking;
+    }
+
+    /**
+     * Retrieves the points the specified contestant earned.
+     *
+     * @param contestant The position of the contestant.
+     * @return The points.
+     */
+    public int getPoints(int contestant) {
+        return this.points[contestant];
+    }
+
+    /**
+     * Retrieves the amount of matches the specified contestant won.
+     *
+     * @param contestant The position of the contestant.
+     * @return The amount of wins.
+     */
+    public int getWins(int contestant) {
+        return this.wins[contestant];
+    }
+
+    /**
+     * Retrieves the amount of matches of the specified contestant that ended in a draw.
+     *
+     * @param contestant The position of the contestant.
+     * @return The amount of draws.
+     */
+    public int getDraws(int contestant) {
+        return this.draws[contestant];
+    }
+
+    /**
+     * Retrieves the amount of matches the specified contestant lost.
+     *
+     * @param contestant The position of the contestant.
+     * @return The amount of losses.
+     */
+    public int getLosses(int contestant) {
+        return this.losses[contestant];
+    }
+
+    /**
+     * Retrieves the amount of matches of the tournament, whether played or taken from the cache.
+     *
+     * @return The amount of matches.
+     */
+    public long getMatchesPlayed() {
+        return this.matchesPlayed;
+    }
+}
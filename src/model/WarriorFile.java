@@ -0,0 +1,160 @@
+package model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes single AIs in the compact binary warrior format, whose files end in {@value #FILE_EXTENSION}.
+ * <p>
+ * A warrior file starts with a header holding the amount of instructions, followed by the name of the AI and a table
+ * of the command names it uses. After padding to a multiple of four bytes, the entries of the instructions follow as
+ * packed pairs of integers, and finally one byte per instruction indexing the command table.
+ * </p>
+ * <p>
+ * Reading a file maps it into memory and copies the entry pairs in one bulk transfer, so loading an AI parses no text.
+ * Since commands are stored by name in the table, a warrior file can be read with any order of command names.
+ * </p>
+ *
+ * @author uenqh
+ * @see AiLibrary
+ */
+public final class WarriorFile {
+
+    /**
+     * The extension of warrior files.
+     */
+    public static final String FILE_EXTENSION = ".cfw";
+
+    private static final int MAGIC = 0x43465731;
+    private static final int VERSION = 1;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int INSTRUCTION_COUNT_OFFSET = 8;
+    private static final int COMMAND_COUNT_OFFSET = 12;
+    private static final int NAME_LENGTH_OFFSET = 14;
+    private static final int HEADER_SIZE = 16;
+    private static final int ALIGNMENT = Integer.BYTES;
+    private static final int ENTRIES_PER_INSTRUCTION = 2;
+    private static final int INSTRUCTION_BYTES = ENTRIES_PER_INSTRUCTION * Integer.BYTES + Byte.BYTES;
+    private static final int MAX_COMMANDS = 1 << Byte.SIZE;
+    private static final int UNSIGNED_BYTE_MASK = 0xFF;
+    private static final String NO_WARRIOR_FORMAT = "%s is no warrior file";
+    private static final String UNKNOWN_COMMAND_FORMAT = "%s uses the unknown command %s";
+
+    private WarriorFile() {
+
+    }
+
+    /**
+     * Reads the AI stored in the warrior file at the specified path.
+     *
+     * @param path         The path of the warrior file.
+     * @param commandNames The command names of the game the AI is loaded into.
+     * @return The program of the stored AI.
+     * @throws IOException If the file cannot be read, is no warrior file or uses commands that do not exist.
+     */
+    public static AiProgram read(Path path, List<String> commandNames) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(MAGIC_OFFSET) != MAGIC || buffer.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IOException(NO_WARRIOR_FORMAT.formatted(path));
+        }
+        int amount = buffer.getInt(INSTRUCTION_COUNT_OFFSET);
+        int commandCount = Short.toUnsignedInt(buffer.getShort(COMMAND_COUNT_OFFSET));
+        int nameLength = Short.toUnsignedInt(buffer.getShort(NAME_LENGTH_OFFSET));
+        try {
+            byte[] name = new byte[nameLength];
+            buffer.position(HEADER_SIZE).get(name);
+            String[] commands = new String[commandCount];
+            for (int i = 0; i < commandCount; i++) {
+                byte[] command = new byte[Byte.toUnsignedInt(buffer.get())];
+                buffer.get(command);
+                commands[i] = new String(command, StandardCharsets.UTF_8);
+                if (!commandNames.contains(commands[i])) {
+                    throw new IOException(UNKNOWN_COMMAND_FORMAT.formatted(path, commands[i]));
+                }
+            }
+            int entriesOffset = align(buffer.position());
+            // the amount is checked against the file before any array of that size is allocated
+            if (amount < 0 || (long) amount * INSTRUCTION_BYTES > buffer.limit() - entriesOffset) {
+                throw new IOException(NO_WARRIOR_FORMAT.formatted(path));
+            }
+            int[] entries = new int[amount * ENTRIES_PER_INSTRUCTION];
+            IntBuffer entryBlock = buffer.position(entriesOffset).asIntBuffer();
+            entryBlock.get(entries);
+            int opcodesOffset = entriesOffset + entries.length * Integer.BYTES;
+            List<AiArguments> instructions = new ArrayList<>(amount);
+            for (int i = 0; i < amount; i++) {
+                String command = commands[buffer.get(opcodesOffset + i) & UNSIGNED_BYTE_MASK];
+                instructions.add(new AiArguments(command, entries[ENTRIES_PER_INSTRUCTION * i],
+                    entries[ENTRIES_PER_INSTRUCTION * i + 1]));
+            }
+            return new AiProgram(new String(name, StandardCharsets.UTF_8), instructions);
+        } catch (RuntimeException e) {
+            // a truncated file or an index outside the command table
+            throw new IOException(NO_WARRIOR_FORMAT.formatted(path), e);
+        }
+    }
+
+    /**
+     * Writes the specified AI into a warrior file at the specified path, replacing an existing file.
+     *
+     * @param path    The path of the warrior file.
+     * @param program The program of the AI to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path path, AiProgram program) throws IOException {
+        byte[] name = program.getName().getBytes(StandardCharsets.UTF_8);
+        List<String> commands = new ArrayList<>();
+        for (AiArguments instruction : program.getInstructions()) {
+            if (!commands.contains(instruction.getCommand())) {
+                commands.add(instruction.getCommand());
+            }
+        }
+        if (name.length > Character.MAX_VALUE || commands.size() > MAX_COMMANDS) {
+            throw new IOException(NO_WARRIOR_FORMAT.formatted(path));
+        }
+
+        try (OutputStream file = Files.newOutputStream(path);
+             DataOutputStream output = new DataOutputStream(new BufferedOutputStream(file))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(program.getInstructions().size());
+            output.writeShort(commands.size());
+            output.writeShort(name.length);
+            output.write(name);
+            for (String command : commands) {
+                byte[] commandName = command.getBytes(StandardCharsets.UTF_8);
+                output.writeByte(commandName.length);
+                output.write(commandName);
+            }
+            while (output.size() != align(output.size())) {
+                output.writeByte(0);
+            }
+            for (AiArguments instruction : program.getInstructions()) {
+                output.writeInt(instruction.getEntryA());
+                output.writeInt(instruction.getEntryB());
+            }
+            for (AiArguments instruction : program.getInstructions()) {
+                output.writeByte(commands.indexOf(instruction.getCommand()));
+            }
+        }
+    }
+
+    private static int align(int offset) {
+        return (offset + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+}
@@ -0,0 +1,213 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Schedules the AIs by weight, every AI executes as many commands per round as its weight, spread evenly over the round.
+ * <p>
+ * This is a stride scheduler: every AI has a pass, which grows by {@value #PASS_UNIT} divided by its weight whenever
+ * it executes a command, and the AI with the lowest pass executes next. AIs with the same pass execute in the order
+ * they were handed back, so AIs of equal weight take turns like in round-robin scheduling.
+ * </p>
+ * <p>
+ * Weights not dividing {@value #PASS_UNIT} would get a truncated stride and thereby more than their share. Instead,
+ * every AI carries the remainder of the division and its pass grows by one more whenever the carried remainder adds
+ * up to its weight, so the passes grow by exactly {@value #PASS_UNIT} per weight commands for every weight.
+ * </p>
+ * <p>
+ * The waiting AIs are kept in a binary heap of their in-game numbers, their passes and tickets in primitive arrays
+ * indexed by in-game number, so taking or handing back an AI takes O(log n) without allocating.
+ * </p>
+ *
+ * @author uenqh
+ */
+public final class WeightedScheduler implements Scheduler {
+
+    // divisible by every weight up to 16, so these weights never carry a remainder
+    private static final long PASS_UNIT = 720720;
+    private static final int MIN_CAPACITY = 2;
+    private static final int ROOT = 0;
+    private static final int NEXT_TICKET_POSITION = 0;
+    private static final int HEAP_POSITION = 1;
+    private static final int WORDS_PER_AI = 4;
+
+    private Ai[] ais;
+    private long[] passes;
+    private long[] remainders;
+    private long[] tickets;
+    private int[] heap;
+    private int size;
+    private long nextTicket;
+
+    /**
+     * Constructs an empty WeightedScheduler.
+     */
+    public WeightedScheduler() {
+        this.ais = new Ai[MIN_CAPACITY];
+        this.passes = new long[MIN_CAPACITY];
+        this.remainders = new long[MIN_CAPACITY];
+        this.tickets = new long[MIN_CAPACITY];
+        this.heap = new int[MIN_CAPACITY];
+    }
+
+    @Override
+    public void add(Ai ai) {
+        int number = ai.getInGameNumber();
+        if (number >= this.ais.length) {
+            int capacity = Math.max(2 * this.ais.length, number + 1);
+            this.ais = Arrays.copyOf(this.ais, capacity);
+            this.passes = Arrays.copyOf(this.passes, capacity);
+            this.remainders = Arrays.copyOf(this.remainders, capacity);
+            this.tickets = Arrays.copyOf(this.tickets, capacity);
+            this.heap = Arrays.copyOf(this.heap, capacity);
+        }
+        this.ais[number] = ai;
+        this.passes[number] = 0;
+        this.remainders[number] = 0;
+        push(number);
+    }
+
+    @Override
+    public Ai poll() {
+        if (this.size == 0) {
+            return null;
+        }
+        int first = this.heap[ROOT];
+        this.size--;
+        if (this.size > 0) {
+            this.heap[ROOT] = this.heap[this.size];
+            siftDown(ROOT);
+        }
+        return this.ais[first];
+    }
+
+    @Override
+    public Ai peek() {
+        return this.size == 0 ? null : this.ais[this.heap[ROOT]];
+    }
+
+    @Override
+    public void requeue(Ai ai) {
+        int number = ai.getInGameNumber();
+        long weight = ai.getWeight();
+        // the weight may have changed since the remainder was carried, so it can exceed the weight once
+        long remainder = this.remainders[number] + PASS_UNIT % weight;
+        this.passes[number] += PASS_UNIT / weight + remainder / weight;
+        this.remainders[number] = remainder % weight;
+        push(number);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(this.ais, null);
+        this.size = 0;
+        this.nextTicket = 0;
+    }
+
+    @Override
+    public long[] saveState() {
+        // the heap is saved as it is, so it needs no rebuilding when restored
+        long[] state = new long[HEAP_POSITION + WORDS_PER_AI * this.size];
+        state[NEXT_TICKET_POSITION] = this.nextTicket;
+        for (int i = 0; i < this.size; i++) {
+            int number = this.heap[i];
+            int position = HEAP_POSITION + WORDS_PER_AI * i;
+            state[position] = number;
+            state[position + 1] = this.passes[number];
+            state[position + 2] = this.remainders[number];
+            state[position + 3] = this.tickets[number];
+        }
+        return state;
+    }
+
+    @Override
+    public void restoreState(long[] state, List<Ai> ais) {
+        clear();
+        for (Ai ai : ais) {
+            this.add(ai);
+        }
+        this.size = (state.length - HEAP_POSITION) / WORDS_PER_AI;
+        this.nextTicket = state[NEXT_TICKET_POSITION];
+        for (int i = 0; i < this.size; i++) {
+            int position = HEAP_POSITION + WORDS_PER_AI * i;
+            int number = (int) state[position];
+            this.heap[i] = number;
+            this.passes[number] = state[position + 1];
+            this.remainders[number] = state[position + 2];
+            this.tickets[number] = state[position + 3];
+        }
+    }
+
+    @Override
+    public Iterator<Ai> iterator() {
+        return new Iterator<>() {
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                return this.position < WeightedScheduler.this.size;
+            }
+
+            @Override
+            public Ai next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return WeightedScheduler.this.ais[WeightedScheduler.this.heap[this.position++]];
+            }
+        };
+    }
+
+    private void push(int number) {
+        this.tickets[number] = this.nextTicket++;
+        this.heap[this.size] = number;
+        siftUp(this.size++);
+    }
+
+    private void siftUp(int position) {
+        int number = this.heap[position];
+        int current = position;
+        while (current > ROOT) {
+            int parent = (current - 1) >>> 1;
+            if (!executesBefore(number, this.heap[parent])) {
+                break;
+            }
+            this.heap[current] = this.heap[parent];
+            current = parent;
+        }
+        this.heap[current] = number;
+    }
+
+    private void siftDown(int position) {
+        int number = this.heap[position];
+        int current = position;
+        int half = this.size >>> 1;
+        while (current < half) {
+            int child = 2 * current + 1;
+            if (child + 1 < this.size && executesBefore(this.heap[child + 1], this.heap[child])) {
+                child++;
+            }
+            if (!executesBefore(this.heap[child], number)) {
+                break;
+            }
+            this.heap[current] = this.heap[child];
+            current = child;
+        }
+        this.heap[current] = number;
+    }
+
+    private boolean executesBefore(int first, int second) {
+        if (this.passes[first] != this.passes[second]) {
+            return this.passes[first] < this.passes[second];
+        }
+        return this.tickets[first] < this.tickets[second];
+    }
+}
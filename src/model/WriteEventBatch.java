@@ -0,0 +1,195 @@
+package model;
+
+/**
+ * Represents a batch of write events copied out of a {@link WriteEventRing} for a single consumer.
+ * <p>
+ * The batch stores its events in preallocated columns and is reused for every delivery, so consuming events does not
+ * allocate either. Its contents are only valid while the {@link WriteEventConsumer} it was passed to is being notified.
+ * </p>
+ *
+ * @author uenqh
+ */
+public class WriteEventBatch {
+
+    private final long[] sequences;
+    private final int[] indexes;
+    private final int[] previousOpcodes;
+    private final int[] opcodes;
+    private final int[] previousEntriesA;
+    private final int[] entriesA;
+    private final int[] previousEntriesB;
+    private final int[] entriesB;
+    private final int[] owners;
+    private final long[] steps;
+    private int size;
+    private long dropped;
+
+    /**
+     * Constructs an empty WriteEventBatch holding the specified amount of events.
+     *
+     * @param capacity The most events the batch holds.
+     */
+    public WriteEventBatch(int capacity) {
+        this.sequences = new long[capacity];
+        this.indexes = new int[capacity];
+        this.previousOpcodes = new int[capacity];
+        this.opcodes = new int[capacity];
+        this.previousEntriesA = new int[capacity];
+        this.entriesA = new int[capacity];
+        this.previousEntriesB = new int[capacity];
+        this.entriesB = new int[capacity];
+        this.owners = new int[capacity];
+        this.steps = new long[capacity];
+    }
+
+    void clear() {
+        this.size = 0;
+        this.dropped = 0;
+    }
+
+    boolean isFull() {
+        return this.size == this.sequences.length;
+    }
+
+    void add(long sequence, int index, int previousOpcode, int opcode, int previousEntryA, int entryA, int previousEntryB,
+             int entryB, int owner, long step) {
+        this.sequences[this.size] = sequence;
+        this.indexes[this.size] = index;
+        this.previousOpcodes[this.size] = previousOpcode;
+        this.opcodes[this.size] = opcode;
+        this.previousEntriesA[this.size] = previousEntryA;
+        this.entriesA[this.size] = entryA;
+        this.previousEntriesB[this.size] = previousEntryB;
+        this.entriesB[this.size] = entryB;
+        this.owners[this.size] = owner;
+        this.steps[this.size] = step;
+        this.size++;
+    }
+
+    void discardLast() {
+        this.size--;
+        this.dropped++;
+    }
+
+    void addDropped(long amount) {
+        this.dropped += amount;
+    }
+
+    /**
+     * Retrieves the amount of events in the batch.
+     *
+     * @return The amount of events.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Retrieves the amount of events that were overwritten in the ring before they could be copied into this batch.
+     *
+     * @return The amount of dropped events.
+     */
+    public long getDropped() {
+        return this.dropped;
+    }
+
+    /**
+     * Retrieves the sequence number of an event.
+     *
+     * @param event The position of the event within the batch.
+     * @return The sequence number.
+     */
+    public long getSequence(int event) {
+        return this.sequences[event];
+    }
+
+    /**
+     * Retrieves the index of the written cell of an event.
+     *
+     * @param event The position of the event within the batch.
+     * @return The index of the written cell.
+     */
+    public int getIndex(int event) {
+        return this.indexes[event];
+    }
+
+    /**
+     * Retrieves the opcode of the written cell before the write.
+     *
+     * @param event The position of the event within the batch.
+     * @return The previous opcode.
+     */
+    public int getPreviousOpcode(int event) {
+        return this.previousOpcodes[event];
+    }
+
+    /**
+     * Retrieves the opcode of the written cell after the write.
+     *
+     * @param event The position of the event within the batch.
+     * @return The new opcode.
+     */
+    public int getOpcode(int event) {
+        return this.opcodes[event];
+    }
+
+    /**
+     * Retrieves entry A of the written cell before the write.
+     *
+     * @param event The position of the event within the batch.
+     * @return The previous value of entry A.
+     */
+    public int getPreviousEntryA(int event) {
+        return this.previousEntriesA[event];
+    }
+
+    /**
+     * Retrieves entry A of the written cell after the write.
+     *
+     * @param event The position of the event within the batch.
+     * @return The new value of entry A.
+     */
+    public int getEntryA(int event) {
+        return this.entriesA[event];
+    }
+
+    /**
+     * Retrieves entry B of the written cell before the write.
+     *
+     * @param event The position of the event within the batch.
+     * @return The previous value of entry B.
+     */
+    public int getPreviousEntryB(int event) {
+        return this.previousEntriesB[event];
+    }
+
+    /**
+     * Retrieves entry B of the written cell after the write.
+     *
+     * @param event The position of the event within the batch.
+     * @return The new value of entry B.
+     */
+    public int getEntryB(int event) {
+        return this.entriesB[event];
+    }
+
+    /**
+     * Retrieves the in-game number of the AI that owns the written cell after the write.
+     *
+     * @param event The position of the event within the batch.
+     * @return The owner of the cell.
+     */
+    public int getOwner(int event) {
+        return this.owners[event];
+    }
+
+    /**
+     * Retrieves the number of the game step during which the cell was written.
+     *
+     * @param event The position of the event within the batch.
+     * @return The step number.
+     */
+    public long getStep(int event) {
+        return this.steps[event];
+    }
+}
@@ -0,0 +1,20 @@
+package model;
+
+/**
+ * Represents a consumer of the write events published by a {@link WriteEventRing}.
+ * <p>
+ * Consumers are notified on the thread of their {@link WriteEventSubscription}, never on the thread executing the
+ * AI-Commands.
+ * </p>
+ *
+ * @author uenqh
+ */
+public interface WriteEventConsumer {
+
+    /**
+     * Reacts to a batch of write events.
+     *
+     * @param batch the events, only valid for the duration of this call
+     */
+    void onWriteEvents(WriteEventBatch batch);
+}
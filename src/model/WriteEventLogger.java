@@ -0,0 +1,127 @@
+package model;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Logs the write events of a {@link WriteEventRing} into a CSV file on the thread of its subscription.
+ * <p>
+ * Every event becomes one line holding its sequence number, step, the index of the written cell, the command and
+ * entries of the cell before and after the write, and its owner. The game never waits for the logger: events the
+ * logger could not keep up with are overwritten in the ring, which shows as a gap in the sequence numbers of the file
+ * and is counted by {@link #getDropped()}.
+ * </p>
+ *
+ * @author uenqh
+ */
+public final class WriteEventLogger implements WriteEventConsumer {
+
+    private static final int BATCH_SIZE = 1 << 10;
+    private static final String HEADER = "sequence,step,index,previous command,command,previous entry A,entry A,"
+        + "previous entry B,entry B,owner";
+    private static final char SEPARATOR = ',';
+
+    private final Path path;
+    private final GameStorage storage;
+    private final Writer output;
+    private final StringBuilder line;
+    private final WriteEventSubscription subscription;
+    private volatile long logged;
+    private volatile IOException lastFailure;
+
+    /**
+     * Constructs a WriteEventLogger and subscribes it to the events published from now on.
+     *
+     * @param path    The path of the log file, which is replaced.
+     * @param ring    The ring publishing the write events.
+     * @param storage The game storage the events are published for, which names the opcodes.
+     * @throws IOException If the log file cannot be created.
+     */
+    public WriteEventLogger(Path path, WriteEventRing ring, GameStorage storage) throws IOException {
+        this.path = path;
+        this.storage = storage;
+        this.output = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        this.output.write(HEADER);
+        this.output.write(System.lineSeparator());
+        this.line = new StringBuilder();
+        this.subscription = ring.subscribe(this, BATCH_SIZE);
+    }
+
+    @Override
+    public void onWriteEvents(WriteEventBatch batch) {
+        if (this.lastFailure != null) {
+            return;
+        }
+        try {
+            for (int event = 0; event < batch.size(); event++) {
+                this.line.setLength(0);
+                this.line.append(batch.getSequence(event)).append(SEPARATOR)
+                    .append(batch.getStep(event)).append(SEPARATOR)
+                    .append(batch.getIndex(event)).append(SEPARATOR)
+                    .append(this.storage.getCommandName(batch.getPreviousOpcode(event))).append(SEPARATOR)
+                    .append(this.storage.getCommandName(batch.getOpcode(event))).append(SEPARATOR)
+                    .append(batch.getPreviousEntryA(event)).append(SEPARATOR)
+                    .append(batch.getEntryA(event)).append(SEPARATOR)
+                    .append(batch.getPreviousEntryB(event)).append(SEPARATOR)
+                    .append(batch.getEntryB(event)).append(SEPARATOR)
+                    .append(batch.getOwner(event))
+                    .append(System.lineSeparator());
+                this.output.append(this.line);
+            }
+            this.logged += batch.size();
+        } catch (IOException e) {
+            this.lastFailure = e;
+        }
+    }
+
+    /**
+     * Retrieves the path of the log file.
+     *
+     * @return The path of the log file.
+     */
+    public Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * Retrieves the amount of events written to the log file.
+     *
+     * @return The amount of logged events.
+     */
+    public long getLogged() {
+        return this.logged;
+    }
+
+    /**
+     * Retrieves the amount of events that were overwritten in the ring before the logger could write them.
+     *
+     * @return The amount of dropped events.
+     */
+    public long getDropped() {
+        return this.subscription.getDropped();
+    }
+
+    /**
+     * Retrieves the error of the last event that could not be written.
+     *
+     * @return The error, or null if every event was written.
+     */
+    public IOException getLastFailure() {
+        return this.lastFailure;
+    }
+
+    /**
+     * Stops the subscription once it delivered the events published so far and closes the log file.
+     */
+    public void close() {
+        this.subscription.close();
+        try {
+            this.output.close();
+        } catch (IOException e) {
+            this.lastFailure = e;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Represents a preallocated ring buffer publishing every write of an AI to the game storage as a typed event.
+ * <p>
+ * The ring has a single producer, the thread executing the AI-Commands, which copies each write into preallocated
+ * columns and numbers it with a sequence number. Publishing never allocates and never waits for a consumer: a full ring
+ * simply overwrites its oldest events. Consumers read the events in batches on their own thread through a
+ * {@link WriteEventSubscription} and detect overwritten events with a sequence lock per slot, so a slow consumer only
+ * loses events instead of slowing down the game.
+ * </p>
+ *
+ * @author uenqh
+ */
+public class WriteEventRing implements CellWriteListener {
+
+    /**
+     * Sequence number of the event published before the first one.
+     */
+    public static final long NO_SEQUENCE = -1;
+
+    private static final long WRITING = Long.MIN_VALUE;
+    private static final VarHandle SLOT_SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle CURSOR;
+
+    static {
+        try {
+            CURSOR = MethodHandles.lookup().findVarHandle(WriteEventRing.class, "cursor", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final int mask;
+    private final long[] slotSequences;
+    private final int[] indexes;
+    private final int[] previousOpcodes;
+    private final int[] opcodes;
+    private final int[] previousEntriesA;
+    private final int[] entriesA;
+    private final int[] previousEntriesB;
+    private final int[] entriesB;
+    private final int[] owners;
+    private final long[] steps;
+    private long nextSequence;
+    private volatile long cursor;
+
+    /**
+     * Constructs a WriteEventRing holding the specified amount of events.
+     *
+     * @param capacity The amount of events the ring holds, rounded up to a power of two.
+     */
+    public WriteEventRing(int capacity) {
+        int slots = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.mask = slots - 1;
+        this.slotSequences = new long[slots];
+        this.indexes = new int[slots];
+        this.previousOpcodes = new int[slots];
+        this.opcodes = new int[slots];
+        this.previousEntriesA = new int[slots];
+        this.entriesA = new int[slots];
+        this.previousEntriesB = new int[slots];
+        this.entriesB = new int[slots];
+        this.owners = new int[slots];
+        this.steps = new long[slots];
+        Arrays.fill(this.slotSequences, NO_SEQUENCE);
+        this.cursor = NO_SEQUENCE;
+    }
+
+    /**
+     * Publishes a write of an AI as the next event of the ring.
+     *
+     * @param write the write, only valid for the duration of this call
+     */
+    @Override
+    public void onCellWrite(CellWrite write) {
+        long sequence = this.nextSequence++;
+        int slot = (int) sequence & this.mask;
+        GameStorageCell cell = write.getCell();
+
+        // readers seeing the marker or a changed sequence discard what they copied from the slot
+        SLOT_SEQUENCE.setOpaque(this.slotSequences, slot, WRITING);
+        VarHandle.storeStoreFence();
+        this.indexes[slot] = write.getIndex();
+        this.previousOpcodes[slot] = write.getPreviousOpcode();
+        this.opcodes[slot] = write.getOpcode();
+        this.previousEntriesA[slot] = write.getPreviousEntryA();
+        this.entriesA[slot] = cell.getEntryA();
+        this.previousEntriesB[slot] = write.getPreviousEntryB();
+        this.entriesB[slot] = cell.getEntryB();
+        this.owners[slot] = cell.getOwner();
+        this.steps[slot] = write.getStep();
+        SLOT_SEQUENCE.setRelease(this.slotSequences, slot, sequence);
+        CURSOR.setRelease(this, sequence);
+    }
+
+    /**
+     * Starts a thread delivering the events published from now on to the specified consumer.
+     *
+     * @param consumer  The consumer of the events.
+     * @param batchSize The most events delivered at once.
+     * @return The subscription, which has to be closed to stop the thread.
+     */
+    public WriteEventSubscription subscribe(WriteEventConsumer consumer, int batchSize) {
+        WriteEventSubscription subscription = new WriteEventSubscription(this, consumer, new WriteEventBatch(batchSize),
+            getCursor() + 1);
+        subscription.start();
+        return subscription;
+    }
+
+    /**
+     * Retrieves the amount of events the ring holds before it overwrites its oldest ones.
+     *
+     * @return The capacity of the ring.
+     */
+    public int getCapacity() {
+        return this.mask + 1;
+    }
+
+    /**
+     * Retrieves the sequence number of the most recently published event.
+     *
+     * @return The sequence number or {@link #NO_SEQUENCE} if no event was published yet.
+     */
+    public long getCursor() {
+        return (long) CURSOR.getAcquire(this);
+    }
+
+    /**
+     * Copies the published events starting at the specified sequence number into the batch.
+     * <p>
+     * Events that were overwritten before they could be copied are skipped and counted as dropped by the batch.
+     * </p>
+     *
+     * @param firstSequence The sequence number of the first event to copy.
+     * @param batch         The batch to fill.
+     * @return The sequence number of the next event to copy.
+     */
+    long read(long firstSequence, WriteEventBatch batch) {
+        batch.clear();
+        long last = getCursor();
+        long sequence = firstSequence;
+        // events older than a full ring are certainly overwritten
+        if (last - sequence >= getCapacity()) {
+            batch.addDropped(last - getCapacity() + 1 - sequence);
+            sequence = last - getCapacity() + 1;
+        }
+        while (sequence <= last && !batch.isFull()) {
+            int slot = (int) sequence & this.mask;
+            long before = (long) SLOT_SEQUENCE.getAcquire(this.slotSequences, slot);
+            batch.add(sequence, this.indexes[slot], this.previousOpcodes[slot], this.opcodes[slot],
+                this.previousEntriesA[slot], this.entriesA[slot], this.previousEntriesB[slot], this.entriesB[slot],
+                this.owners[slot], this.steps[slot]);
+            VarHandle.loadLoadFence();
+            long after = (long) SLOT_SEQUENCE.getOpaque(this.slotSequences, slot);
+            if (before != sequence || after != sequence) {
+                batch.discardLast();
+            }
+            sequence++;
+        }
+        return sequence;
+    }
+}
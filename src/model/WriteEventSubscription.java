@@ -0,0 +1,108 @@
+package model;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Represents a consumer reading the events of a {@link WriteEventRing} on its own daemon thread.
+ * <p>
+ * The thread polls the ring and hands every non-empty batch to its consumer. While no events arrive, it first spins
+ * briefly and then parks for increasing amounts of time, so an idle subscription hardly uses any processor time.
+ * Closing the subscription delivers the events that were published until then before the thread ends.
+ * </p>
+ *
+ * @author uenqh
+ */
+public class WriteEventSubscription implements AutoCloseable {
+
+    private static final String THREAD_NAME = "write-event-consumer";
+    private static final int SPINS_BEFORE_PARKING = 100;
+    private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final WriteEventRing ring;
+    private final WriteEventConsumer consumer;
+    private final WriteEventBatch batch;
+    private final Thread thread;
+    private volatile boolean running;
+    private volatile long nextSequence;
+    private volatile long dropped;
+
+    WriteEventSubscription(WriteEventRing ring, WriteEventConsumer consumer, WriteEventBatch batch, long firstSequence) {
+        this.ring = ring;
+        this.consumer = consumer;
+        this.batch = batch;
+        this.nextSequence = firstSequence;
+        this.thread = new Thread(this::consume, THREAD_NAME);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        this.running = true;
+        this.thread.start();
+    }
+
+    private void consume() {
+        int idleRounds = 0;
+        long parkNanos = MIN_PARK_NANOS;
+        while (this.running) {
+            if (deliver()) {
+                idleRounds = 0;
+                parkNanos = MIN_PARK_NANOS;
+            } else if (idleRounds < SPINS_BEFORE_PARKING) {
+                idleRounds++;
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(parkNanos);
+                parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+            }
+        }
+        // the events published before the subscription was closed are still delivered
+        boolean pending = true;
+        while (pending) {
+            pending = deliver();
+        }
+    }
+
+    private boolean deliver() {
+        this.nextSequence = this.ring.read(this.nextSequence, this.batch);
+        this.dropped += this.batch.getDropped();
+        if (this.batch.size() == 0 && this.batch.getDropped() == 0) {
+            return false;
+        }
+        this.consumer.onWriteEvents(this.batch);
+        return true;
+    }
+
+    /**
+     * Retrieves the sequence number of the next event this subscription delivers.
+     *
+     * @return The next sequence number.
+     */
+    public long getNextSequence() {
+        return this.nextSequence;
+    }
+
+    /**
+     * Retrieves the amount of events that were overwritten before this subscription could deliver them.
+     *
+     * @return The amount of dropped events.
+     */
+    public long getDropped() {
+        return this.dropped;
+    }
+
+    /**
+     * Stops the thread of this subscription and waits until it delivered the events published before.
+     */
+    @Override
+    public void close() {
+        this.running = false;
+        LockSupport.unpark(this.thread);
+        try {
+            this.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
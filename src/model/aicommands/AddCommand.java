@@ -1,9 +1,8 @@
 
 package model.aicommands;
 
-import model.Ai;
+import model.GameStorage;
 import model.GameStorageCell;
-import model.GameSystem;
 
 /**
  * Represents an AI command to add two values.
@@ -18,13 +17,11 @@ import model.GameSystem;
 public class AddCommand implements AiCommand {
 
     @Override
-    public void execute(GameSystem model, Ai executingAi) {
-        int index = executingAi.getPointerIndex();
-        GameStorageCell cell = model.getGameStorage().getCells().get(index);
-        int result = cell.getEntryA() + cell.getEntryB();
-        model.getGameStorage().getCells().get(index).setEntryB(result);
-
-        model.getGameStorage().getCells().get(index).postInitChangedBy(executingAi.getName());
-        executingAi.updatePointerIndex();
+    public void evaluate(GameStorage storage, int pointer, InstructionResult result) {
+        GameStorageCell cell = storage.getCells().get(pointer);
+        result.read(pointer);
+        int sum = cell.getEntryA() + cell.getEntryB();
+        result.writeEntryB(pointer, sum);
+        result.advance();
     }
 }
@@ -1,10 +1,7 @@
 package model.aicommands;
 
-import model.Ai;
+import model.GameStorage;
 import model.GameStorageCell;
-import model.GameSystem;
-
-import static model.Constants.BETWEEN_NAME_AND_ID_PLACEHOLDER;
 
 /**
  * Represents an AI command to add a value to the entry of a cell relative to the current AI pointer.
@@ -19,15 +16,13 @@ import static model.Constants.BETWEEN_NAME_AND_ID_PLACEHOLDER;
 public class AddRelativeCommand implements AiCommand {
 
     @Override
-    public void execute(GameSystem model, Ai executingAi) {
-        int index = executingAi.getPointerIndex();
-        GameStorageCell source = model.getGameStorage().getCells().get(index);
-        int targetIndex = index + source.getEntryB();
-        int result = source.getEntryA() + model.getGameStorage().getCells().get(targetIndex).getEntryB();
-        model.getGameStorage().getCells().get(targetIndex).setEntryB(result);
-
-        String name = executingAi.getName() + BETWEEN_NAME_AND_ID_PLACEHOLDER + executingAi.getId();
-        model.getGameStorage().getCells().get(targetIndex).postInitChangedBy(name);
-        executingAi.updatePointerIndex();
+    public void evaluate(GameStorage storage, int pointer, InstructionResult result) {
+        GameStorageCell source = storage.getCells().get(pointer);
+        result.read(pointer);
+        int targetIndex = pointer + source.getEntryB();
+        result.read(targetIndex);
+        int sum = source.getEntryA() + storage.getCells().get(targetIndex).getEntryB();
+        result.writeEntryB(targetIndex, sum);
+        result.advance();
     }
 }
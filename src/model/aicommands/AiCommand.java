@@ -1,13 +1,14 @@
 package model.aicommands;
 
-import model.Ai;
-import model.GameSystem;
+import model.GameStorage;
 
 /**
  * Represents a command to be executed by an AI in the game system.
  * <p>
  * Implementations of this interface define specific actions to be performed by an AI when executed in the game system.
- * Each command receives the game system and the executing AI as parameters and performs its designated task.
+ * A command does not change the game directly: it evaluates the current game storage and records the cells it reads,
+ * the writes it makes and the movement of the pointer in an {@link InstructionResult}, which the
+ * {@link AiCommandHandler} then applies. This allows commands of several AIs to be evaluated in parallel.
  * </p>
  *
  * @author uenqh
@@ -15,10 +16,11 @@ import model.GameSystem;
 public interface AiCommand {
 
     /**
-     * Executes the command, performing its designated task on the game system using the executing AI.
+     * Evaluates the command at the pointer of the executing AI without changing the game storage.
      *
-     * @param model        the game system on which the command is executed
-     * @param executingAi  the AI executing the command
+     * @param storage the game storage the command is evaluated on, only read
+     * @param pointer the pointer index of the executing AI
+     * @param result  the result recording the reads, writes and pointer movement of the command
      */
-    void execute(GameSystem model, Ai executingAi);
+    void evaluate(GameStorage storage, int pointer, InstructionResult result);
 }
@@ -1,6 +1,7 @@
 package model.aicommands;
 
 import model.Ai;
+import model.GameStorage;
 import model.GameSystem;
 
 import java.util.ArrayList;
@@ -15,6 +16,7 @@ import static model.Constants.JUMP_CHECK_CELL_COMMAND_NAME;
 import static model.Constants.JUMP_COMMAND_NAME;
 import static model.Constants.MOVE_INDIRECT_COMMAND_NAME;
 import static model.Constants.MOVE_RELATIVE_COMMAND_NAME;
+import static model.Constants.SPLIT_COMMAND_NAME;
 import static model.Constants.STOP_COMMAND_NAME;
 import static model.Constants.SWAP_COMMAND_NAME;
 
@@ -32,8 +34,11 @@ public class AiCommandHandler {
 
     // Instance variables
     private final GameSystem gameSystem;
-    private final Map<String, AiCommand> aiCommandMap;
+    private final AiCommand[] aiCommands;
+    private final Map<String, Integer> opcodeMap;
     private final ArrayList<String> aiCommandNameArrayList;
+    private final InstructionResult sequentialResult;
+    private SpeculativeExecutor speculativeExecutor;
 
     /**
      * Constructs an AiCommandHandler with the specified game system.
@@ -43,37 +48,62 @@ public class AiCommandHandler {
      */
     public AiCommandHandler(GameSystem gameSystem) {
         this.gameSystem = Objects.requireNonNull(gameSystem);
-        this.aiCommandMap = new HashMap<>();
+        this.opcodeMap = new HashMap<>();
         this.aiCommandNameArrayList = new ArrayList<>();
+        this.sequentialResult = new InstructionResult();
         this.initAiCommands();
+        // the commands are constructed up front, so speculative workers only ever read the table
+        this.aiCommands = new AiCommand[this.aiCommandNameArrayList.size()];
+        for (int opcode = 0; opcode < this.aiCommands.length; opcode++) {
+            this.aiCommands[opcode] = createCommand(this.aiCommandNameArrayList.get(opcode));
+        }
     }
 
-    // Initializes the mapping of command names to their implementations
+    // Registers the command names, the opcode of a command is its position in the table of commands
     private void initAiCommands() {
-        this.addCommand(STOP_COMMAND_NAME, new StopCommand());
-        this.addCommand(MOVE_RELATIVE_COMMAND_NAME, new MoveRelativeCommand());
-        this.addCommand(MOVE_INDIRECT_COMMAND_NAME, new MoveIndirectCommand());
-        this.addCommand(ADD_COMMAND_NAME, new AddCommand());
-        this.addCommand(ADD_RELATIVE_COMMAND_NAME, new AddRelativeCommand());
-        this.addCommand(JUMP_COMMAND_NAME, new JumpCommand());
-        this.addCommand(JUMP_CHECK_CELL_COMMAND_NAME, new JumpZCommand());
-        this.addCommand(COMPARE_COMMAND_NAME, new CompareCommand());
-        this.addCommand(SWAP_COMMAND_NAME, new SwapCommand());
+        this.addCommand(STOP_COMMAND_NAME);
+        this.addCommand(MOVE_RELATIVE_COMMAND_NAME);
+        this.addCommand(MOVE_INDIRECT_COMMAND_NAME);
+        this.addCommand(ADD_COMMAND_NAME);
+        this.addCommand(ADD_RELATIVE_COMMAND_NAME);
+        this.addCommand(JUMP_COMMAND_NAME);
+        this.addCommand(JUMP_CHECK_CELL_COMMAND_NAME);
+        this.addCommand(COMPARE_COMMAND_NAME);
+        this.addCommand(SWAP_COMMAND_NAME);
+        // new commands are added last, so the opcodes stored in existing AI libraries keep their meaning
+        this.addCommand(SPLIT_COMMAND_NAME);
     }
 
-    // Adds a command to the mapping
-    private void addCommand(String name, AiCommand command) {
-        this.aiCommandMap.put(name, command);
+    // Adds a command name, its opcode is the position in the list of command names
+    private void addCommand(String name) {
+        this.opcodeMap.put(name, this.aiCommandNameArrayList.size());
         this.aiCommandNameArrayList.add(name);
     }
 
+    private static AiCommand createCommand(String name) {
+        return switch (name) {
+            case STOP_COMMAND_NAME -> new StopCommand();
+            case MOVE_RELATIVE_COMMAND_NAME -> new MoveRelativeCommand();
+            case MOVE_INDIRECT_COMMAND_NAME -> new MoveIndirectCommand();
+            case ADD_COMMAND_NAME -> new AddCommand();
+            case ADD_RELATIVE_COMMAND_NAME -> new AddRelativeCommand();
+            case JUMP_COMMAND_NAME -> new JumpCommand();
+            case JUMP_CHECK_CELL_COMMAND_NAME -> new JumpZCommand();
+            case COMPARE_COMMAND_NAME -> new CompareCommand();
+            case SWAP_COMMAND_NAME -> new SwapCommand();
+            case SPLIT_COMMAND_NAME -> new SplitCommand();
+            default -> throw new IllegalArgumentException(name);
+        };
+    }
+
     /**
-     * Gets the mapping of command names to their implementations.
+     * Checks whether an AI command of the specified name exists.
      *
-     * @return The mapping of command names to their implementations.
+     * @param name The name to check.
+     * @return True if an AI command has that name, false otherwise.
      */
-    public Map<String, AiCommand> getAiCommandMap() {
-        return this.aiCommandMap;
+    public boolean isAiCommand(String name) {
+        return this.opcodeMap.containsKey(name);
     }
 
     /**
@@ -85,15 +115,81 @@ public class AiCommandHandler {
         return this.aiCommandNameArrayList;
     }
 
+    /**
+     * Gets the opcode of the specified command.
+     * <p>
+     * The opcode is the position of the command in the list of command names.
+     * </p>
+     *
+     * @param commandName The name of the command.
+     * @return The opcode of the command.
+     */
+    public int getOpcode(String commandName) {
+        return this.opcodeMap.get(commandName);
+    }
+
     /**
      * Executes the command pointed to by the specified AI.
      *
      * @param executingAi The AI executing the command.
      */
     public void execute(Ai executingAi) {
+        evaluate(this.gameSystem.getGameStorage(), executingAi, this.sequentialResult);
+        commit(executingAi, this.sequentialResult);
+    }
+
+    /**
+     * Executes the commands pointed to by the specified AIs as if they were executed one after another.
+     * <p>
+     * The commands are evaluated in parallel by a {@link SpeculativeExecutor} and applied in the given order.
+     * The game ends up in exactly the same state as after executing the AIs with {@link #execute(Ai)}.
+     * </p>
+     *
+     * @param executingAis The AIs executing a command, each AI at most once.
+     * @param amount       The amount of AIs at the start of the array executing a command.
+     */
+    public void executeSpeculatively(Ai[] executingAis, int amount) {
+        if (this.speculativeExecutor == null) {
+            this.speculativeExecutor = new SpeculativeExecutor(this);
+        }
+        this.speculativeExecutor.execute(this.gameSystem.getGameStorage(), executingAis, amount);
+    }
+
+    /**
+     * Retrieves the executor evaluating the commands of several AIs in parallel.
+     *
+     * @return The speculative executor or {@code null} if no command was executed speculatively yet.
+     */
+    public SpeculativeExecutor getSpeculativeExecutor() {
+        return this.speculativeExecutor;
+    }
+
+    /**
+     * Evaluates the command pointed to by the specified AI without changing the game.
+     *
+     * @param storage     The game storage to evaluate the command on.
+     * @param executingAi The AI executing the command.
+     * @param result      The result to record the evaluation in.
+     */
+    void evaluate(GameStorage storage, Ai executingAi, InstructionResult result) {
         int pointer = executingAi.getPointerIndex();
-        String command = this.gameSystem.getGameStorage().getCells().get(pointer).getCommand();
-        this.getAiCommandMap().get(command).execute(this.gameSystem, executingAi);
+        // the storage keeps the opcode of every cell, so the command is found without looking up its name
+        int opcode = storage.getCommandAt(Math.floorMod(pointer, storage.getSize()));
+        result.reset(storage.getSize(), pointer);
+        result.setOpcode(opcode);
+        this.aiCommands[opcode].evaluate(storage, pointer, result);
     }
 
+    /**
+     * Applies an evaluated command as the next step of the game.
+     *
+     * @param executingAi The AI executing the command.
+     * @param result      The evaluation of the command.
+     */
+    void commit(Ai executingAi, InstructionResult result) {
+        GameStorage storage = this.gameSystem.getGameStorage();
+        storage.advanceStep();
+        executingAi.getProfile().recordInstruction(result.getOpcode());
+        result.apply(storage, executingAi);
+    }
 }
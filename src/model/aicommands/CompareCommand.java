@@ -1,8 +1,7 @@
 package model.aicommands;
 
-import model.Ai;
+import model.GameStorage;
 import model.GameStorageCell;
-import model.GameSystem;
 
 
 /**
@@ -18,16 +17,19 @@ import model.GameSystem;
  * @author uenqh
  */
 public class CompareCommand implements AiCommand {
+    private static final int SKIPPING_DISTANCE = 2;
     @Override
-    public void execute(GameSystem model, Ai executingAi) {
-        int index = executingAi.getPointerIndex();
-        GameStorageCell currentCell = model.getGameStorage().getCells().get(index);
-        GameStorageCell first = model.getGameStorage().getCells().get(index + currentCell.getEntryA());
-        GameStorageCell second = model.getGameStorage().getCells().get(index + currentCell.getEntryB());
-
+    public void evaluate(GameStorage storage, int pointer, InstructionResult result) {
+        GameStorageCell currentCell = storage.getCells().get(pointer);
+        result.read(pointer);
+        GameStorageCell first = storage.getCells().get(pointer + currentCell.getEntryA());
+        result.read(pointer + currentCell.getEntryA());
+        GameStorageCell second = storage.getCells().get(pointer + currentCell.getEntryB());
+        result.read(pointer + currentCell.getEntryB());
         if (first.getEntryA() != second.getEntryB()) {
-            executingAi.updatePointerIndex();
+            result.advance(SKIPPING_DISTANCE);
+        } else {
+            result.advance();
         }
-        executingAi.updatePointerIndex();
     }
 }
@@ -0,0 +1,232 @@
+package model.aicommands;
+
+import model.Ai;
+import model.GameStorage;
+
+/**
+ * Represents the outcome of evaluating a single AI-Command without applying it.
+ * <p>
+ * An {@link AiCommand} records the cells it read, the writes it wants to make, how the pointer of the executing AI
+ * moves and the process it splits off. Applying the result afterwards has the same effect as executing the command
+ * directly, which allows the {@link SpeculativeExecutor} to evaluate several commands in parallel and only apply them
+ * in their original order. Results are reused for many commands, so they do not allocate while the game is running.
+ * </p>
+ *
+ * @author uenqh
+ */
+public class InstructionResult {
+
+    private static final int MAX_READS = 4;
+    private static final int MAX_WRITES = 2;
+    private static final int WRITE_CELL = 0;
+    private static final int WRITE_ENTRY_A = 1;
+    private static final int WRITE_ENTRY_B = 2;
+    private static final int NEXT_CELL_DISTANCE = 1;
+
+    private final int[] readCells = new int[MAX_READS];
+    private final int[] writeKinds = new int[MAX_WRITES];
+    private final int[] writeIndexes = new int[MAX_WRITES];
+    private final int[] writeCells = new int[MAX_WRITES];
+    private final String[] writeCommands = new String[MAX_WRITES];
+    private final int[] writeEntriesA = new int[MAX_WRITES];
+    private final int[] writeEntriesB = new int[MAX_WRITES];
+    private int storageSize;
+    private int pointer;
+    private int opcode;
+    private int readCount;
+    private int writeCount;
+    private int nextPointer;
+    private boolean stops;
+    private boolean splits;
+    private int splitPointer;
+
+    /**
+     * Prepares the result for the evaluation of the command at the specified pointer.
+     *
+     * @param size         The size of the evaluated game storage.
+     * @param pointerIndex The pointer index of the executing AI.
+     */
+    void reset(int size, int pointerIndex) {
+        this.storageSize = size;
+        this.pointer = pointerIndex;
+        this.readCount = 0;
+        this.writeCount = 0;
+        this.nextPointer = pointerIndex;
+        this.stops = false;
+        this.splits = false;
+        for (int i = 0; i < MAX_WRITES; i++) {
+            this.writeCommands[i] = null;
+        }
+    }
+
+    /**
+     * Retrieves the pointer index the command is evaluated at.
+     *
+     * @return The pointer index of the executing AI.
+     */
+    public int getPointer() {
+        return this.pointer;
+    }
+
+    /**
+     * Retrieves the opcode of the evaluated command.
+     *
+     * @return The opcode.
+     */
+    public int getOpcode() {
+        return this.opcode;
+    }
+
+    void setOpcode(int evaluatedOpcode) {
+        this.opcode = evaluatedOpcode;
+    }
+
+    /**
+     * Records that the command read the cell at the specified index.
+     *
+     * @param index The index of the read cell, may lie outside the storage.
+     */
+    public void read(int index) {
+        this.readCells[this.readCount++] = Math.floorMod(index, this.storageSize);
+    }
+
+    /**
+     * Records that the command copies a command and both entries into the cell at the specified index.
+     *
+     * @param index   The index of the written cell, may lie outside the storage.
+     * @param command The new command of the cell.
+     * @param entryA  The new value of entry A.
+     * @param entryB  The new value of entry B.
+     */
+    public void writeCell(int index, String command, int entryA, int entryB) {
+        int write = addWrite(WRITE_CELL, index);
+        this.writeCommands[write] = command;
+        this.writeEntriesA[write] = entryA;
+        this.writeEntriesB[write] = entryB;
+    }
+
+    /**
+     * Records that the command writes entry A of the cell at the specified index.
+     *
+     * @param index  The index of the written cell, may lie outside the storage.
+     * @param entryA The new value of entry A.
+     */
+    public void writeEntryA(int index, int entryA) {
+        this.writeEntriesA[addWrite(WRITE_ENTRY_A, index)] = entryA;
+    }
+
+    /**
+     * Records that the command writes entry B of the cell at the specified index.
+     *
+     * @param index  The index of the written cell, may lie outside the storage.
+     * @param entryB The new value of entry B.
+     */
+    public void writeEntryB(int index, int entryB) {
+        this.writeEntriesB[addWrite(WRITE_ENTRY_B, index)] = entryB;
+    }
+
+    private int addWrite(int kind, int index) {
+        int write = this.writeCount++;
+        this.writeKinds[write] = kind;
+        this.writeIndexes[write] = index;
+        this.writeCells[write] = Math.floorMod(index, this.storageSize);
+        return write;
+    }
+
+    /**
+     * Records that the pointer of the executing AI moves on to the next cell.
+     */
+    public void advance() {
+        advance(NEXT_CELL_DISTANCE);
+    }
+
+    /**
+     * Records that the pointer of the executing AI moves forward by the specified amount of cells.
+     *
+     * @param cells The amount of cells.
+     */
+    public void advance(int cells) {
+        this.nextPointer = this.pointer + cells;
+    }
+
+    /**
+     * Records that the pointer of the executing AI jumps to the specified index.
+     *
+     * @param target The new pointer index.
+     */
+    public void jump(int target) {
+        this.nextPointer = target;
+    }
+
+    /**
+     * Records that the current process of the executing AI stops.
+     */
+    public void stop() {
+        this.stops = true;
+    }
+
+    /**
+     * Records that the executing AI splits off a new process.
+     *
+     * @param target The program counter of the new process.
+     */
+    public void split(int target) {
+        this.splits = true;
+        this.splitPointer = target;
+    }
+
+    /**
+     * Checks whether the command read a cell that is marked with the specified stamp.
+     *
+     * @param cellStamps The stamps of the cells of the storage.
+     * @param stamp      The stamp to look for.
+     * @return {@code true} if a read cell is marked, otherwise {@code false}.
+     */
+    boolean readsAny(int[] cellStamps, int stamp) {
+        for (int i = 0; i < this.readCount; i++) {
+            if (cellStamps[this.readCells[i]] == stamp) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Marks the cells written by the command with the specified stamp.
+     *
+     * @param cellStamps The stamps of the cells of the storage.
+     * @param stamp      The stamp to mark the written cells with.
+     */
+    void markWrites(int[] cellStamps, int stamp) {
+        for (int i = 0; i < this.writeCount; i++) {
+            cellStamps[this.writeCells[i]] = stamp;
+        }
+    }
+
+    /**
+     * Applies the recorded writes to the storage and moves the pointer of the executing AI, which then hands over to
+     * its next process.
+     *
+     * @param storage     The game storage to write to.
+     * @param executingAi The AI that executed the command.
+     */
+    void apply(GameStorage storage, Ai executingAi) {
+        for (int i = 0; i < this.writeCount; i++) {
+            int index = this.writeIndexes[i];
+            switch (this.writeKinds[i]) {
+                case WRITE_CELL -> storage.writeCell(index, this.writeCommands[i], this.writeEntriesA[i], this.writeEntriesB[i],
+                    executingAi);
+                case WRITE_ENTRY_A -> storage.writeEntryA(index, this.writeEntriesA[i], executingAi);
+                default -> storage.writeEntryB(index, this.writeEntriesB[i], executingAi);
+            }
+        }
+        executingAi.updatePointerIndex(this.nextPointer);
+        if (this.stops) {
+            executingAi.stopProcess();
+        } else if (this.splits) {
+            executingAi.splitProcess(this.splitPointer);
+        } else {
+            executingAi.switchProcess();
+        }
+    }
+}
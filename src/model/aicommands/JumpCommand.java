@@ -1,7 +1,6 @@
 package model.aicommands;
 
-import model.Ai;
-import model.GameSystem;
+import model.GameStorage;
 
 /**
  * Represents an AI command to jump to a specific cell index.
@@ -15,10 +14,9 @@ import model.GameSystem;
  */
 public class JumpCommand implements AiCommand {
     @Override
-    public void execute(GameSystem model, Ai executingAi) {
-        int index = executingAi.getPointerIndex();
-        int jumpDistance = model.getGameStorage().getCells().get(index).getEntryA();
-        int targetIndex = index + jumpDistance;
-        executingAi.updatePointerIndex(targetIndex);
+    public void evaluate(GameStorage storage, int pointer, InstructionResult result) {
+        result.read(pointer);
+        int jumpDistance = storage.getCells().get(pointer).getEntryA();
+        result.jump(pointer + jumpDistance);
     }
 }
@@ -1,8 +1,7 @@
 package model.aicommands;
 
-import model.Ai;
+import model.GameStorage;
 import model.GameStorageCell;
-import model.GameSystem;
 
 /**
  * Represents an AI command to jump to a specific cell index if a condition is met.
@@ -17,12 +16,13 @@ import model.GameSystem;
 public class JumpZCommand implements AiCommand {
     private static final int COMPARING_AMOUNT = 0;
     @Override
-    public void execute(GameSystem model, Ai executingAi) {
-        int index = executingAi.getPointerIndex();
-        GameStorageCell currentCell = model.getGameStorage().getCells().get(index);
-        GameStorageCell checkCell = model.getGameStorage().getCells().get(index + currentCell.getEntryB());
+    public void evaluate(GameStorage storage, int pointer, InstructionResult result) {
+        GameStorageCell currentCell = storage.getCells().get(pointer);
+        result.read(pointer);
+        GameStorageCell checkCell = storage.getCells().get(pointer + currentCell.getEntryB());
+        result.read(pointer + currentCell.getEntryB());
         if (checkCell.getEntryB() == COMPARING_AMOUNT) {
-            new JumpCommand().execute(model, executingAi);
+            result.jump(pointer + currentCell.getEntryA());
         }
     }
 }
@@ -1,12 +1,7 @@
 package model.aicommands;
 
-import model.Ai;
+import model.GameStorage;
 import model.GameStorageCell;
-import model.GameSystem;
-
-import static model.Constants.BETWEEN_NAME_AND_ID_PLACEHOLDER;
-
-
 
 /**
  * Represents an AI command to move the contents of one cell to another cell relative to the current position.
@@ -21,19 +16,13 @@ import static model.Constants.BETWEEN_NAME_AND_ID_PLACEHOLDER;
  */
 public class MoveRelativeCommand implements AiCommand {
     @Override
-    public void execute(GameSystem model, Ai executingAi) {
-        int index = executingAi.getPointerIndex();
-        GameStorageCell currentCell = model.getGameStorage().getCells().get(index);
-
-        GameStorageCell source = model.getGameStorage().getCells().get(index + currentCell.getEntryA());
-
-        int targetIndex = index + currentCell.getEntryB();
-        model.getGameStorage().getCells().get(targetIndex).setCommand(source.getCommand());
-        model.getGameStorage().getCells().get(targetIndex).setEntryA(source.getEntryA());
-        model.getGameStorage().getCells().get(targetIndex).setEntryB(source.getEntryB());
-
-        String name = executingAi.getName() + BETWEEN_NAME_AND_ID_PLACEHOLDER + executingAi.getId();
-        model.getGameStorage().getCells().get(targetIndex).postInitChangedBy(name);
-        executingAi.updatePointerIndex();
+    public void evaluate(GameStorage storage, int pointer, InstructionResult result) {
+        GameStorageCell currentCell = storage.getCells().get(pointer);
+        result.read(pointer);
+        GameStorageCell source = storage.getCells().get(pointer + currentCell.getEntryA());
+        result.read(pointer + currentCell.getEntryA());
+        int targetIndex = pointer + currentCell.getEntryB();
+        result.writeCell(targetIndex, source.getCommand(), source.getEntryA(), source.getEntryB());
+        result.advance();
     }
 }
@@ -0,0 +1,116 @@
+package model.aicommands;
+
+import model.Ai;
+import model.GameStorage;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Represents an engine executing the next commands of several AIs at once.
+ * <p>
+ * All commands are first evaluated against the current game storage, in parallel if there are enough of them.
+ * The results are then applied one after another in the original order. A command that read a cell written by an
+ * earlier command of the same batch was evaluated on outdated cells, so it is evaluated again right before it is applied.
+ * This way, the game always ends up in exactly the same state as after sequential execution, with the same writes
+ * reported in the same order.
+ * </p>
+ *
+ * @author uenqh
+ */
+public class SpeculativeExecutor {
+
+    private static final int MIN_PARALLEL_AMOUNT = 8;
+    private static final int NO_STAMP = 0;
+
+    private final AiCommandHandler aiCommandHandler;
+    private InstructionResult[] results;
+    private int[] cellStamps;
+    private int stamp;
+    private long speculatedCommands;
+    private long reevaluatedCommands;
+
+    /**
+     * Constructs a SpeculativeExecutor applying commands through the specified handler.
+     *
+     * @param aiCommandHandler The handler defining the commands.
+     */
+    public SpeculativeExecutor(AiCommandHandler aiCommandHandler) {
+        this.aiCommandHandler = aiCommandHandler;
+        this.results = new InstructionResult[0];
+        this.cellStamps = new int[0];
+        this.stamp = NO_STAMP;
+    }
+
+    /**
+     * Executes the commands pointed to by the specified AIs as if they were executed one after another.
+     *
+     * @param storage      The game storage of the game.
+     * @param executingAis The AIs executing a command, each AI at most once.
+     * @param amount       The amount of AIs at the start of the array executing a command.
+     */
+    public void execute(GameStorage storage, Ai[] executingAis, int amount) {
+        prepare(storage.getSize(), amount);
+        InstructionResult[] batch = this.results;
+        if (amount >= MIN_PARALLEL_AMOUNT) {
+            // outdated pages are reset on first access, so they are reset here before the workers share the storage
+            storage.refreshAll();
+            IntStream.range(0, amount).parallel()
+                .forEach(i -> this.aiCommandHandler.evaluate(storage, executingAis[i], batch[i]));
+        } else {
+            for (int i = 0; i < amount; i++) {
+                this.aiCommandHandler.evaluate(storage, executingAis[i], batch[i]);
+            }
+        }
+
+        for (int i = 0; i < amount; i++) {
+            InstructionResult result = batch[i];
+            if (result.readsAny(this.cellStamps, this.stamp)) {
+                this.aiCommandHandler.evaluate(storage, executingAis[i], result);
+                this.reevaluatedCommands++;
+            }
+            this.aiCommandHandler.commit(executingAis[i], result);
+            result.markWrites(this.cellStamps, this.stamp);
+        }
+        this.speculatedCommands += amount;
+    }
+
+    private void prepare(int storageSize, int amount) {
+        if (this.results.length < amount) {
+            InstructionResult[] grown = new InstructionResult[amount];
+            System.arraycopy(this.results, 0, grown, 0, this.results.length);
+            for (int i = this.results.length; i < amount; i++) {
+                grown[i] = new InstructionResult();
+            }
+            this.results = grown;
+        }
+        if (this.cellStamps.length != storageSize) {
+            this.cellStamps = new int[storageSize];
+            this.stamp = NO_STAMP;
+        }
+        // a new stamp invalidates the writes of all earlier batches at once
+        this.stamp++;
+        if (this.stamp == NO_STAMP) {
+            Arrays.fill(this.cellStamps, NO_STAMP);
+            this.stamp++;
+        }
+    }
+
+    /**
+     * Retrieves the amount of commands executed by this executor.
+     *
+     * @return The amount of executed commands.
+     */
+    public long getSpeculatedCommands() {
+        return this.speculatedCommands;
+    }
+
+    /**
+     * Retrieves the amount of commands that had to be evaluated again because of a conflict with an earlier command.
+     *
+     * @return The amount of reevaluated commands.
+     */
+    public long getReevaluatedCommands() {
+        return this.reevaluatedCommands;
+    }
+}
@@ -0,0 +1,23 @@
+package model.aicommands;
+
+import model.GameStorage;
+
+/**
+ * Represents an AI command to split off a new process of the executing AI.
+ * <p>
+ * The new process starts at the cell determined by adding entry A to the current cell index, while the splitting
+ * process continues with the next cell. The new process gets its first turn once every other process of the AI had
+ * its turn. No process is split off if the AI already runs as many processes as the game allows.
+ * </p>
+ *
+ * @author uenqh
+ */
+public class SplitCommand implements AiCommand {
+    @Override
+    public void evaluate(GameStorage storage, int pointer, InstructionResult result) {
+        result.read(pointer);
+        int splitDistance = storage.getCells().get(pointer).getEntryA();
+        result.split(pointer + splitDistance);
+        result.advance();
+    }
+}
@@ -1,7 +1,6 @@
 package model.aicommands;
 
-import model.Ai;
-import model.GameSystem;
+import model.GameStorage;
 
 /**
  * Represents an AI command to stop the execution of an AI.
@@ -13,7 +12,8 @@ import model.GameSystem;
  */
 public class StopCommand implements AiCommand {
     @Override
-    public void execute(GameSystem model, Ai executingAi) {
-        executingAi.toggleAliveStatus();
+    public void evaluate(GameStorage storage, int pointer, InstructionResult result) {
+        result.read(pointer);
+        result.stop();
     }
 }
@@ -1,11 +1,7 @@
 package model.aicommands;
 
-import model.Ai;
+import model.GameStorage;
 import model.GameStorageCell;
-import model.GameSystem;
-
-import static model.Constants.BETWEEN_NAME_AND_ID_PLACEHOLDER;
-
 
 /**
  * Represents an AI command to swap the values of two cells.
@@ -20,19 +16,17 @@ import static model.Constants.BETWEEN_NAME_AND_ID_PLACEHOLDER;
  */
 public class SwapCommand implements AiCommand {
     @Override
-    public void execute(GameSystem model, Ai executingAi) {
-        int index = executingAi.getPointerIndex();
-        GameStorageCell currentCell = model.getGameStorage().getCells().get(index);
-        int firstIndex = index + currentCell.getEntryA();
-        GameStorageCell first = model.getGameStorage().getCells().get(firstIndex);
-        int secondIndex = index + currentCell.getEntryB();
-        GameStorageCell second = model.getGameStorage().getCells().get(secondIndex);
-        model.getGameStorage().getCells().get(firstIndex).setEntryA(second.getEntryB());
-        model.getGameStorage().getCells().get(secondIndex).setEntryB(first.getEntryA());
-
-        String name = executingAi.getName() + BETWEEN_NAME_AND_ID_PLACEHOLDER + executingAi.getId();
-        model.getGameStorage().getCells().get(firstIndex).postInitChangedBy(name);
-        model.getGameStorage().getCells().get(secondIndex).postInitChangedBy(name);
-        executingAi.updatePointerIndex();
+    public void evaluate(GameStorage storage, int pointer, InstructionResult result) {
+        GameStorageCell currentCell = storage.getCells().get(pointer);
+        result.read(pointer);
+        int firstIndex = pointer + currentCell.getEntryA();
+        int secondIndex = pointer + currentCell.getEntryB();
+        GameStorageCell second = storage.getCells().get(secondIndex);
+        result.read(secondIndex);
+        int newEntryA = second.getEntryB();
+        result.writeEntryA(firstIndex, newEntryA);
+        // entry B is taken from 'first' after its entry A has been written, so it receives the new entry A
+        result.writeEntryB(secondIndex, newEntryA);
+        result.advance();
     }
 }
@@ -1,8 +1,11 @@
 package usercommands;
 
-import model.Ai;
+import model.AiArguments;
+import model.AiProgram;
 import model.GameSystem;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Pattern;
 
 import static model.ConstantErrorMessages.REQUIRES_GAME_STOPPED_MESSAGE;
@@ -27,9 +30,11 @@ public class AddAiCommand implements Command {
     private static final String DESCRIPTION_MESSAGE = "With it, you can add uniquely named AIs";
     private static final String DESCRIPTION_FORMAT = "%s: %s %s and %s";
     private static final String ARGUMENT_SEPARATOR_REGEX = ",";
+    private static final String AI_NAME_REGEX = "[^ \\r\\n]+";
     private static final String WRONG_ARGUMENT_LENGTH_MESSAGE = "the entered AI has too many specified arguments for this storage!";
     private static final String WRONG_ARGUMENT_MESSAGE = "the entered AI has the wrong format! ";
     private static final String ARGUMENT_FORMAT_MESSAGE = "the argument format should be: [Name] [Command name],[int],[int] ";
+    private static final String INVALID_NAME_MESSAGE = "the name of the AI has to be a single argument!";
     private static final String CANNOT_OVERWRITE_AI_MESSAGE = "you cannot overwrite an already existing AI!";
     private static final String COMMON_ERROR_MESSAGE = "Unexpected error in AddAiCommand.java";
 
@@ -45,17 +50,13 @@ public class AddAiCommand implements Command {
         String aiName = commandArguments[AI_NAME_INDEX];
         String[] aiArguments = commandArguments[AI_ARGUMENTS_INDEX].trim().split(ARGUMENT_SEPARATOR_REGEX);
 
-        if (!checkValidArgumentLength(model, aiArguments)) {
+        if (!checkValidArgumentLength(model, aiArguments.length / AMOUNT_OF_ARGUMENTS_PER_AI)) {
             return new CommandResult(CommandResultType.FAILURE, WRONG_ARGUMENT_LENGTH_MESSAGE);
         }
         if (!checkValidArgumentFormat(model, aiArguments)) {
             return new CommandResult(CommandResultType.FAILURE, WRONG_ARGUMENT_MESSAGE + ARGUMENT_FORMAT_MESSAGE);
         }
-        if (checkIfNameAlreadyExists(model, aiName)) {
-            return new CommandResult(CommandResultType.FAILURE, CANNOT_OVERWRITE_AI_MESSAGE);
-        }
-
-        Ai ai = new Ai(aiName);
+        List<AiArguments> instructions = new ArrayList<>();
 
         String aiCommand;
         int entryA;
@@ -67,9 +68,12 @@ public class AddAiCommand implements Command {
             entryA = Integer.parseInt(aiArguments[AMOUNT_OF_ARGUMENTS_PER_AI * i + ENTRY_A_INDEX]);
             entryB = Integer.parseInt(aiArguments[AMOUNT_OF_ARGUMENTS_PER_AI * i + ENTRY_B_INDEX]);
 
-            ai.addArgument(aiCommand, entryA, entryB);
+            instructions.add(new AiArguments(aiCommand, entryA, entryB));
+        }
+        // the name is checked while adding, so AIs added concurrently can never overwrite each other
+        if (!model.addAi(new AiProgram(aiName, instructions))) {
+            return new CommandResult(CommandResultType.FAILURE, CANNOT_OVERWRITE_AI_MESSAGE);
         }
-        model.addAi(ai);
         return new CommandResult(CommandResultType.SUCCESS, aiName);
     }
 
@@ -105,8 +109,30 @@ public class AddAiCommand implements Command {
             DESCRIPTION_MESSAGE, ARGUMENT_FORMAT_MESSAGE);
     }
 
-    private boolean checkValidArgumentLength(GameSystem model, String[] arguments) {
-        int argumentCount = arguments.length / AMOUNT_OF_ARGUMENTS_PER_AI;
+    /**
+     * Checks a program that was not entered as text, like a loaded or evolved one, the same way as an entered AI.
+     *
+     * @param model   The GameSystem model.
+     * @param program The program to check.
+     * @return The message describing why the program cannot be added, or null if it can be added.
+     */
+    static String checkValidProgram(GameSystem model, AiProgram program) {
+        // an entered name is a single argument of the command, so it is neither empty nor holds separators
+        if (!Pattern.matches(AI_NAME_REGEX, program.getName())) {
+            return INVALID_NAME_MESSAGE;
+        }
+        if (!checkValidArgumentLength(model, program.getInstructions().size())) {
+            return WRONG_ARGUMENT_LENGTH_MESSAGE;
+        }
+        for (AiArguments instruction : program.getInstructions()) {
+            if (!model.getAiCommandHandler().isAiCommand(instruction.getCommand())) {
+                return WRONG_ARGUMENT_MESSAGE + ARGUMENT_FORMAT_MESSAGE;
+            }
+        }
+        return null;
+    }
+
+    private static boolean checkValidArgumentLength(GameSystem model, int argumentCount) {
         int availableSpace = model.getGameStorage().getSize();
         return argumentCount <= Math.ceil(availableSpace / (double) MINIMUM_NUMBER_OF_AIS_PER_GAME);
     }
@@ -118,7 +144,7 @@ public class AddAiCommand implements Command {
         for (int i = 0; i < arguments.length; i++) {
             switch (i % AMOUNT_OF_ARGUMENTS_PER_AI) {
                 case COMMAND_NAME_INDEX -> {
-                    if (!model.getAiCommandHandler().getAiCommandMap().containsKey(arguments[i])) {
+                    if (!model.getAiCommandHandler().isAiCommand(arguments[i])) {
                         return false;
                     }
                 }
@@ -133,10 +159,6 @@ public class AddAiCommand implements Command {
         return true;
     }
 
-    private boolean checkIfNameAlreadyExists(GameSystem model, String name) {
-        return model.getAiMap().containsKey(name);
-    }
-
     private void printError() {
         System.err.println(COMMON_ERROR_MESSAGE);
     }
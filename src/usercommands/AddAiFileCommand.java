@@ -0,0 +1,96 @@
+package usercommands;
+
+import model.AiProgram;
+import model.GameSystem;
+import model.WarriorFile;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+import static model.ConstantErrorMessages.REQUIRES_GAME_STOPPED_MESSAGE;
+
+/**
+ * Represents a command to add an AI stored in a binary warrior file to the game.
+ * <p>
+ * The AI is added under the name stored in the file, following the same rules as AIs added with 'add-ai'.
+ * </p>
+ *
+ * @author uenqh
+ * @see WarriorFile
+ */
+public class AddAiFileCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 1;
+    private static final int PATH_INDEX = 0;
+    private static final boolean REQUIRES_GAME_RUNNING = false;
+    private static final String DESCRIPTION_MESSAGE = "Using '%s <path>', you can add the AI stored in a warrior file.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final String INVALID_PATH_MESSAGE = "the entered path is invalid!";
+    private static final String READ_ERROR_MESSAGE = "the warrior file could not be read!";
+    private static final String EMPTY_AI_MESSAGE = "the entered AI has no arguments!";
+    private static final String CANNOT_OVERWRITE_AI_MESSAGE = "you cannot overwrite an already existing AI!";
+
+    /**
+     * Executes the command, adding the AI stored in the warrior file at the specified path.
+     *
+     * @param model            The {@link GameSystem} to execute the command on.
+     * @param commandArguments The path of the warrior file.
+     * @return A {@link CommandResult} indicating the result of the execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        AiProgram program;
+        try {
+            program = WarriorFile.read(Path.of(commandArguments[PATH_INDEX]),
+                model.getAiCommandHandler().getAiCommandNameArrayList());
+        } catch (InvalidPathException e) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_PATH_MESSAGE);
+        } catch (IOException e) {
+            return new CommandResult(CommandResultType.FAILURE, READ_ERROR_MESSAGE);
+        }
+        if (program.getInstructions().isEmpty()) {
+            return new CommandResult(CommandResultType.FAILURE, EMPTY_AI_MESSAGE);
+        }
+        String programError = AddAiCommand.checkValidProgram(model, program);
+        if (programError != null) {
+            return new CommandResult(CommandResultType.FAILURE, programError);
+        }
+        if (!model.addAi(program)) {
+            return new CommandResult(CommandResultType.FAILURE, CANNOT_OVERWRITE_AI_MESSAGE);
+        }
+        return new CommandResult(CommandResultType.SUCCESS, program.getName());
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return The number of arguments required for the command.
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether the command requires the game to be running for execution.
+     *
+     * @return True if the game must be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Generates a description of the command including usage instructions and requirements.
+     *
+     * @param commandName The name of the command.
+     * @return The description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        String message = String.format(DESCRIPTION_MESSAGE, commandName);
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_STOPPED_MESSAGE, message);
+    }
+}
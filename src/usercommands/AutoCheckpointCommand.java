@@ -0,0 +1,113 @@
+package usercommands;
+
+import model.Checkpointer;
+import model.GameSystem;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+import static model.ConstantErrorMessages.REQUIRES_GAME_STOPPED_MESSAGE;
+
+/**
+ * Represents a command to take periodic checkpoints of the following games.
+ * <p>
+ * Every given amount of steps or seconds, the running game is written to the checkpoint file on a background thread.
+ * The file can be passed to the next session with the startup option {@code --resume=<path>}, which continues the game
+ * where the checkpoint was taken.
+ * </p>
+ *
+ * @author uenqh
+ * @see Checkpointer
+ */
+public class AutoCheckpointCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = -1;
+    private static final int ENABLE_ARGUMENTS = 3;
+    private static final int DISABLE_ARGUMENTS = 1;
+    private static final int PATH_INDEX = 0;
+    private static final int STEPS_INDEX = 1;
+    private static final int SECONDS_INDEX = 2;
+    private static final String DISABLE_ARGUMENT = "off";
+    private static final boolean REQUIRES_GAME_RUNNING = false;
+    private static final String DESCRIPTION_MESSAGE = "Using '%s <path> <steps> <seconds>', the following games are written "
+        + "to a checkpoint file every amount of steps or seconds, 0 turning either off. '%s off' stops taking checkpoints.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final String WRONG_ARGUMENT_AMOUNT_MESSAGE = "please enter a path and two intervals or 'off'!";
+    private static final String INVALID_PATH_MESSAGE = "the entered path is invalid!";
+    private static final String INVALID_INTERVAL_MESSAGE = "the intervals have to be numbers of at least 0!";
+    private static final String NO_INTERVAL_MESSAGE = "at least one interval has to be greater than 0!";
+    private static final String ENABLED_FORMAT = "Checkpoints are written to %s.";
+    private static final String DISABLED_MESSAGE = "Stopped taking checkpoints.";
+
+    /**
+     * Executes the command, starting or stopping the periodic checkpoints.
+     *
+     * @param model            The {@link GameSystem} to execute the command on.
+     * @param commandArguments The path of the checkpoint file and the intervals, or 'off'.
+     * @return A {@link CommandResult} indicating the result of the execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        if (commandArguments.length == DISABLE_ARGUMENTS && commandArguments[PATH_INDEX].equals(DISABLE_ARGUMENT)) {
+            model.setCheckpointer(null);
+            return new CommandResult(CommandResultType.SUCCESS, DISABLED_MESSAGE);
+        }
+        if (commandArguments.length != ENABLE_ARGUMENTS) {
+            return new CommandResult(CommandResultType.FAILURE, WRONG_ARGUMENT_AMOUNT_MESSAGE);
+        }
+        Path path;
+        try {
+            path = Path.of(commandArguments[PATH_INDEX]);
+        } catch (InvalidPathException e) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_PATH_MESSAGE);
+        }
+        long steps;
+        long seconds;
+        try {
+            steps = Long.parseLong(commandArguments[STEPS_INDEX]);
+            seconds = Long.parseLong(commandArguments[SECONDS_INDEX]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_INTERVAL_MESSAGE);
+        }
+        if (steps < 0 || seconds < 0) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_INTERVAL_MESSAGE);
+        }
+        if (steps == 0 && seconds == 0) {
+            return new CommandResult(CommandResultType.FAILURE, NO_INTERVAL_MESSAGE);
+        }
+        model.setCheckpointer(new Checkpointer(path, steps, seconds, model.getAiCommandHandler().getAiCommandNameArrayList()));
+        return new CommandResult(CommandResultType.SUCCESS, ENABLED_FORMAT.formatted(path));
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return The number of arguments required (-1 indicating a variable amount).
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether the command requires the game to be running for execution.
+     *
+     * @return True if the game must be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Generates a description of the command including usage instructions and requirements.
+     *
+     * @param commandName The name of the command.
+     * @return The description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        String message = String.format(DESCRIPTION_MESSAGE, commandName, commandName);
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_STOPPED_MESSAGE, message);
+    }
+}
@@ -0,0 +1,152 @@
+package usercommands;
+
+import model.Ai;
+import model.GameStorage;
+import model.GameSystem;
+import model.Scheduler;
+
+import java.util.ArrayList;
+
+/**
+ * Represents a long run of the command 'next', executing its steps on a worker thread.
+ * <p>
+ * The steps are executed in quanta. Only between two quanta, the run publishes its progress, reports it every few
+ * seconds and checks whether it was cancelled, so the game is consistent whenever the run stops. A quantum is large
+ * enough for these checks to cost nothing measurable compared to executing the steps.
+ * </p>
+ * <p>
+ * While the run executes, the game must only be read through {@link #getStatus()} and changed through
+ * {@link #cancel()}. Every other command waits for the run to finish with {@link #await()}.
+ * </p>
+ *
+ * @author uenqh
+ * @see NextCommand
+ */
+final class BackgroundRun implements Runnable {
+
+    private static final int QUANTUM = 1 << 16;
+    private static final long REPORT_INTERVAL_NANOS = 2_000_000_000L;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final String THREAD_NAME = "next-runner";
+    private static final String PROGRESS_FORMAT = "Executed %d of %d steps, %.0f steps per second, %d AIs alive.";
+    private static final String UNBOUNDED_PROGRESS_FORMAT = "Executed %d steps, %.0f steps per second, %d AIs alive.";
+
+    private final GameSystem model;
+    private final NextCommand command;
+    private final int stepAmount;
+    private final Thread thread;
+    private long startNanos;
+    private volatile long stepsDone;
+    private volatile int aliveAis;
+    private volatile boolean cancelled;
+
+    /**
+     * Constructs a BackgroundRun executing the specified amount of steps.
+     *
+     * @param model      The GameSystem instance.
+     * @param command    The command executing the steps of every quantum.
+     * @param stepAmount The amount of steps, or a negative amount to execute steps until every AI stopped.
+     */
+    BackgroundRun(GameSystem model, NextCommand command, int stepAmount) {
+        this.model = model;
+        this.command = command;
+        this.stepAmount = stepAmount;
+        this.thread = new Thread(this, THREAD_NAME);
+        this.aliveAis = model.getScheduler().size();
+    }
+
+    /**
+     * Starts executing the steps on the worker thread.
+     */
+    void start() {
+        this.startNanos = System.nanoTime();
+        this.thread.start();
+    }
+
+    @Override
+    public void run() {
+        GameStorage storage = this.model.getGameStorage();
+        Scheduler scheduler = this.model.getScheduler();
+        ArrayList<Ai> newAiDropOuts = new ArrayList<>();
+        String breakMessage = null;
+        long startStep = storage.getStep();
+        long nextReport = this.startNanos + REPORT_INTERVAL_NANOS;
+        long done = 0;
+        while (!this.cancelled && done != this.stepAmount && !scheduler.isEmpty() && breakMessage == null) {
+            int quantum = this.stepAmount < 0 ? QUANTUM : (int) Math.min(QUANTUM, this.stepAmount - done);
+            // only the first quantum leaves the breakpoint the last 'next' stopped at
+            breakMessage = this.command.executeSteps(this.model, quantum, newAiDropOuts, done == 0);
+            done = storage.getStep() - startStep;
+            this.stepsDone = done;
+            this.aliveAis = scheduler.size();
+            long now = System.nanoTime();
+            if (now >= nextReport) {
+                System.out.println(getStatus());
+                nextReport = now + REPORT_INTERVAL_NANOS;
+            }
+        }
+        this.command.publishFrame(this.model);
+        String message = this.command.buildResultMessage(this.model, newAiDropOuts, breakMessage);
+        if (message != null) {
+            System.out.println(message);
+        }
+    }
+
+    /**
+     * Describes the progress of the run as of the last finished quantum.
+     *
+     * @return The steps executed, the steps per second and the amount of AIs alive.
+     */
+    String getStatus() {
+        long done = this.stepsDone;
+        double seconds = (System.nanoTime() - this.startNanos) / NANOS_PER_SECOND;
+        double stepsPerSecond = seconds > 0 ? done / seconds : 0;
+        if (this.stepAmount < 0) {
+            return UNBOUNDED_PROGRESS_FORMAT.formatted(done, stepsPerSecond, this.aliveAis);
+        }
+        return PROGRESS_FORMAT.formatted(done, this.stepAmount, stepsPerSecond, this.aliveAis);
+    }
+
+    /**
+     * Checks whether the run is still executing steps.
+     *
+     * @return {@code true} if the worker thread has not finished yet, otherwise {@code false}.
+     */
+    boolean isRunning() {
+        return this.thread.isAlive();
+    }
+
+    /**
+     * Retrieves the amount of steps executed as of the last finished quantum.
+     *
+     * @return The amount of steps.
+     */
+    long getStepsDone() {
+        return this.stepsDone;
+    }
+
+    /**
+     * Cancels the run after its current quantum and waits for it to stop.
+     */
+    void cancel() {
+        this.cancelled = true;
+        await();
+    }
+
+    /**
+     * Waits for the run to execute all of its steps.
+     */
+    void await() {
+        boolean interrupted = false;
+        while (this.thread.isAlive()) {
+            try {
+                this.thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
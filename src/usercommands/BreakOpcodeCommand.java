@@ -0,0 +1,77 @@
+package usercommands;
+
+import model.GameSystem;
+
+import static model.ConstantErrorMessages.REQUIRES_GAME_RUNNING_MESSAGE;
+
+/**
+ * Represents a command to set or remove a breakpoint on an AI-Command.
+ * <p>
+ * Once set, the command 'next' stops right before any AI executes the AI-Command, wherever it is stored.
+ * </p>
+ *
+ * @author uenqh
+ * @see model.Breakpoints
+ */
+public class BreakOpcodeCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 1;
+    private static final int COMMAND_INDEX = 0;
+    private static final boolean REQUIRES_GAME_RUNNING = true;
+    private static final String DESCRIPTION_MESSAGE = "Using '%s <AI-Command>', 'next' stops before any AI executes "
+        + "the AI-Command. Entering the same AI-Command again removes the breakpoint.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final String UNKNOWN_COMMAND_MESSAGE = "the entered AI-Command does not exist!";
+    private static final String SET_FORMAT = "Set a breakpoint on %s.";
+    private static final String REMOVED_FORMAT = "Removed the breakpoint on %s.";
+
+    /**
+     * Executes the command, toggling the breakpoint on an AI-Command.
+     *
+     * @param model            The {@link GameSystem} to execute the command on.
+     * @param commandArguments The name of the AI-Command.
+     * @return A {@link CommandResult} indicating the result of the execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        String commandName = commandArguments[COMMAND_INDEX];
+        if (!model.getAiCommandHandler().isAiCommand(commandName)) {
+            return new CommandResult(CommandResultType.FAILURE, UNKNOWN_COMMAND_MESSAGE);
+        }
+        int opcode = model.getAiCommandHandler().getOpcode(commandName);
+        boolean set = model.getBreakpoints().toggleOpcodeBreakpoint(opcode);
+        return new CommandResult(CommandResultType.SUCCESS, (set ? SET_FORMAT : REMOVED_FORMAT).formatted(commandName));
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return The number of arguments required (1).
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether the command requires the game to be running for execution.
+     *
+     * @return True if the game must be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Generates a description of the command including usage instructions and requirements.
+     *
+     * @param commandName The name of the command.
+     * @return The description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        String message = String.format(DESCRIPTION_MESSAGE, commandName);
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_RUNNING_MESSAGE, message);
+    }
+}
@@ -0,0 +1,83 @@
+package usercommands;
+
+import model.GameSystem;
+
+import static model.ConstantErrorMessages.REQUIRES_GAME_RUNNING_MESSAGE;
+
+/**
+ * Represents a command to set or remove a breakpoint on a cell of the game storage.
+ * <p>
+ * Once set, the command 'next' stops right before an AI executes the command of the cell, so the following steps can
+ * be examined one by one.
+ * </p>
+ *
+ * @author uenqh
+ * @see model.Breakpoints
+ */
+public class BreakPcCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 1;
+    private static final int CELL_INDEX = 0;
+    private static final boolean REQUIRES_GAME_RUNNING = true;
+    private static final String DESCRIPTION_MESSAGE = "Using '%s <cell>', 'next' stops before an AI executes the "
+        + "command of the cell. Entering the same cell again removes the breakpoint.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final String INVALID_CELL_FORMAT = "the cell has to be a number between 0 and %d!";
+    private static final String SET_FORMAT = "Set a breakpoint at cell %d.";
+    private static final String REMOVED_FORMAT = "Removed the breakpoint at cell %d.";
+
+    /**
+     * Executes the command, toggling the breakpoint on a cell.
+     *
+     * @param model            The {@link GameSystem} to execute the command on.
+     * @param commandArguments The index of the cell.
+     * @return A {@link CommandResult} indicating the result of the execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        int size = model.getGameStorage().getSize();
+        int cell;
+        try {
+            cell = Integer.parseInt(commandArguments[CELL_INDEX]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_CELL_FORMAT.formatted(size - 1));
+        }
+        if (cell < 0 || cell >= size) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_CELL_FORMAT.formatted(size - 1));
+        }
+        boolean set = model.getBreakpoints().toggleCellBreakpoint(cell);
+        return new CommandResult(CommandResultType.SUCCESS, (set ? SET_FORMAT : REMOVED_FORMAT).formatted(cell));
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return The number of arguments required (1).
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether the command requires the game to be running for execution.
+     *
+     * @return True if the game must be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Generates a description of the command including usage instructions and requirements.
+     *
+     * @param commandName The name of the command.
+     * @return The description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        String message = String.format(DESCRIPTION_MESSAGE, commandName);
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_RUNNING_MESSAGE, message);
+    }
+}
@@ -2,25 +2,57 @@ package usercommands;
 
 import model.GameSystem;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Scanner;
 
 import static model.Constants.ADD_AI_COMMAND_NAME;
+import static model.Constants.ADD_AI_FILE_COMMAND_NAME;
+import static model.Constants.AUTO_CHECKPOINT_COMMAND_NAME;
+import static model.Constants.BREAK_OPCODE_COMMAND_NAME;
+import static model.Constants.BREAK_PC_COMMAND_NAME;
+import static model.Constants.CONVERT_STATS_COMMAND_NAME;
+import static model.Constants.COUNT_COMMAND_NAME;
+import static model.Constants.DISCARD_FORK_COMMAND_NAME;
 import static model.Constants.END_GAME_COMMAND_NAME;
 import static model.Constants.ERROR_PREFIX;
+import static model.Constants.EVOLVE_COMMAND_NAME;
+import static model.Constants.EXPORT_AI_COMMAND_NAME;
+import static model.Constants.FIND_NEXT_COMMAND_NAME;
+import static model.Constants.FORK_GAME_COMMAND_NAME;
 import static model.Constants.HELP_COMMAND_NAME;
+import static model.Constants.LOG_WRITES_COMMAND_NAME;
 import static model.Constants.NEXT_COMMAND_NAME;
+import static model.Constants.PUBLISH_STATE_COMMAND_NAME;
 import static model.Constants.QUIT_COMMAND_NAME;
+import static model.Constants.RECORD_STATS_COMMAND_NAME;
 import static model.Constants.REMOVE_AI_COMMAND_NAME;
+import static model.Constants.RUN_STATUS_COMMAND_NAME;
+import static model.Constants.SAVE_LIBRARY_COMMAND_NAME;
+import static model.Constants.SET_EXECUTION_MODE_COMMAND_NAME;
 import static model.Constants.SET_INIT_MODE_COMMAND_NAME;
+import static model.Constants.SET_PROCESS_LIMIT_COMMAND_NAME;
+import static model.Constants.SET_SCHEDULING_MODE_COMMAND_NAME;
+import static model.Constants.SET_WEIGHT_COMMAND_NAME;
 import static model.Constants.SHOW_AI_COMMAND_NAME;
 import static model.Constants.SHOW_MEMORY_COMMAND_NAME;
+import static model.Constants.SHOW_TERRITORY_COMMAND_NAME;
+import static model.Constants.START_BATTLE_COMMAND_NAME;
 import static model.Constants.START_GAME_COMMAND_NAME;
+import static model.Constants.STOP_RUN_COMMAND_NAME;
+import static model.Constants.SWITCH_FORK_COMMAND_NAME;
+import static model.Constants.TOURNAMENT_COMMAND_NAME;
+import static model.Constants.WATCH_COMMAND_NAME;
 import static model.Constants.WRONG_ARGUMENTS_COUNT_FORMAT;
 
 /**
@@ -34,11 +66,16 @@ public class CommandHandler {
     private static final String COMMAND_SEPARATOR_REGEX = " ";
     private static final String COMMAND_NOT_FOUND_FORMAT = "command '%s' not found!";
     private static final String GAME_MUST_BE_RUNNING_FORMAT = "the game must be running to use the command '%s'!";
+    private static final String INPUT_ERROR_MESSAGE = "the input could not be read!";
+    private static final String OUTPUT_ERROR_MESSAGE = "the output could not be written!";
     private static final String GAME_MUST_BE_STOPPED_FORMAT = "the game must be stopped to use the command '%s'!";
     private final GameSystem gameSystem;
     private final Map<String, Command> commands;
     private final ArrayList<String> commandsList;
+    private final Writer output;
     private boolean running = false;
+    private BackgroundRun backgroundRun;
+    private BackgroundRun submittedRun;
 
     /**
      * Constructs a new CommandHandler.
@@ -49,6 +86,7 @@ public class CommandHandler {
         this.gameSystem = Objects.requireNonNull(gameSystem);
         this.commands = new HashMap<>();
         this.commandsList = new ArrayList<>();
+        this.output = new BufferedWriter(new OutputStreamWriter(System.out, Charset.defaultCharset()));
         this.initCommands();
     }
 
@@ -58,11 +96,18 @@ public class CommandHandler {
     public void handleUserInput() {
         this.running = true;
 
-        try (Scanner scanner = new Scanner(System.in)) {
-            while (running && scanner.hasNextLine()) {
-                executeCommand(scanner.nextLine());
+        // a plain reader starts faster than a scanner, which sets up its locale-dependent number parsing
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(System.in))) {
+            String line;
+            while (running && (line = reader.readLine()) != null) {
+                executeCommand(line);
             }
+        } catch (IOException e) {
+            System.err.println(ERROR_PREFIX + INPUT_ERROR_MESSAGE);
         }
+        // the end of a piped script does not cancel its last run, only an explicit 'stop' or 'quit' does
+        awaitBackgroundRun();
+        this.gameSystem.close();
     }
 
     /**
@@ -81,20 +126,32 @@ public class CommandHandler {
     }
 
     private void executeCommand(String commandName, String[] commandArguments) {
-        if (!commands.containsKey(commandName)) {
+        // only the progress of steps executing in the background is read or cancelled, everything else waits for them
+        boolean controlsBackgroundRun = commandName.equals(RUN_STATUS_COMMAND_NAME)
+            || commandName.equals(STOP_RUN_COMMAND_NAME);
+        if (commandName.equals(QUIT_COMMAND_NAME)) {
+            cancelBackgroundRun();
+        } else if (!controlsBackgroundRun) {
+            awaitBackgroundRun();
+        }
+        Command command = getCommand(commandName);
+        if (command == null) {
             System.err.printf(ERROR_PREFIX + COMMAND_NOT_FOUND_FORMAT + "%n", commandName);
-        } else if (commands.get(commandName).getNumberOfArguments() != commandArguments.length
-            && commands.get(commandName).getNumberOfArguments() != -1) {
+        } else if (command.getNumberOfArguments() != commandArguments.length
+            && command.getNumberOfArguments() != -1) {
             System.err.printf(ERROR_PREFIX + WRONG_ARGUMENTS_COUNT_FORMAT + "%n", commandName);
-        } else if (!(commandName.equals(HELP_COMMAND_NAME) || commandName.equals(QUIT_COMMAND_NAME))
-            && !doRunRequirementsMatch(commandName)) {
+        } else if (!(commandName.equals(HELP_COMMAND_NAME) || commandName.equals(QUIT_COMMAND_NAME)
+            || controlsBackgroundRun) && !doRunRequirementsMatch(command)) {
             if (gameSystem.getGameStatus()) {
                 System.err.printf(ERROR_PREFIX + GAME_MUST_BE_STOPPED_FORMAT + "%n", commandName);
             } else {
                 System.err.printf(ERROR_PREFIX + GAME_MUST_BE_RUNNING_FORMAT + "%n", commandName);
             }
         } else {
-            CommandResult result = commands.get(commandName).execute(gameSystem, commandArguments);
+            CommandResult result = command.execute(gameSystem, commandArguments);
+            if (result.getOutput() != null) {
+                writeOutput(result.getOutput());
+            }
             String output = switch (result.getType()) {
                 case SUCCESS -> result.getMessage();
                 case FAILURE -> ERROR_PREFIX + result.getMessage();
@@ -106,47 +163,169 @@ public class CommandHandler {
                     default -> throw new IllegalStateException("Unexpected value: " + result.getType());
                 }
             }
+            // submitted steps start once the output of their command is printed, so their own output follows it
+            if (this.submittedRun != null) {
+                this.backgroundRun = this.submittedRun;
+                this.submittedRun = null;
+                this.backgroundRun.start();
+            }
         }
     }
 
-    private boolean doRunRequirementsMatch(String commandName) {
-        return commands.get(commandName).requiredGameStatus() == gameSystem.getGameStatus();
+    private void writeOutput(CommandOutput commandOutput) {
+        try {
+            commandOutput.writeTo(this.output);
+            this.output.write(System.lineSeparator());
+            this.output.flush();
+        } catch (IOException e) {
+            System.err.println(ERROR_PREFIX + OUTPUT_ERROR_MESSAGE);
+        }
+    }
+
+    private void awaitBackgroundRun() {
+        if (this.backgroundRun != null) {
+            this.backgroundRun.await();
+            this.backgroundRun = null;
+        }
+    }
+
+    private void cancelBackgroundRun() {
+        if (this.backgroundRun != null) {
+            this.backgroundRun.cancel();
+            this.backgroundRun = null;
+        }
+    }
+
+    private boolean doRunRequirementsMatch(Command command) {
+        return command.requiredGameStatus() == gameSystem.getGameStatus();
     }
 
     private void initCommands() {
-        this.addCommand(ADD_AI_COMMAND_NAME, new AddAiCommand());
-        this.addCommand(REMOVE_AI_COMMAND_NAME, new RemoveAiCommand());
-        this.addCommand(SET_INIT_MODE_COMMAND_NAME, new SetInitModeCommand());
-        this.addCommand(START_GAME_COMMAND_NAME, new StartGameCommand());
-        this.addCommand(END_GAME_COMMAND_NAME, new EndGameCommand());
-        this.addCommand(NEXT_COMMAND_NAME, new NextCommand());
-        this.addCommand(SHOW_MEMORY_COMMAND_NAME, new ShowMemoryCommand());
-        this.addCommand(SHOW_AI_COMMAND_NAME, new ShowAiCommand());
-        this.addCommand(QUIT_COMMAND_NAME, new QuitCommand());
-        this.addCommand(HELP_COMMAND_NAME, new HelpCommand());
+        // only the names are registered, every command is constructed on its first use
+        this.commandsList.add(ADD_AI_COMMAND_NAME);
+        this.commandsList.add(ADD_AI_FILE_COMMAND_NAME);
+        this.commandsList.add(EXPORT_AI_COMMAND_NAME);
+        this.commandsList.add(REMOVE_AI_COMMAND_NAME);
+        this.commandsList.add(SET_INIT_MODE_COMMAND_NAME);
+        this.commandsList.add(SET_EXECUTION_MODE_COMMAND_NAME);
+        this.commandsList.add(SET_SCHEDULING_MODE_COMMAND_NAME);
+        this.commandsList.add(SET_WEIGHT_COMMAND_NAME);
+        this.commandsList.add(SET_PROCESS_LIMIT_COMMAND_NAME);
+        this.commandsList.add(AUTO_CHECKPOINT_COMMAND_NAME);
+        this.commandsList.add(START_GAME_COMMAND_NAME);
+        this.commandsList.add(START_BATTLE_COMMAND_NAME);
+        this.commandsList.add(END_GAME_COMMAND_NAME);
+        this.commandsList.add(NEXT_COMMAND_NAME);
+        this.commandsList.add(RECORD_STATS_COMMAND_NAME);
+        this.commandsList.add(CONVERT_STATS_COMMAND_NAME);
+        this.commandsList.add(PUBLISH_STATE_COMMAND_NAME);
+        this.commandsList.add(LOG_WRITES_COMMAND_NAME);
+        this.commandsList.add(FORK_GAME_COMMAND_NAME);
+        this.commandsList.add(SWITCH_FORK_COMMAND_NAME);
+        this.commandsList.add(DISCARD_FORK_COMMAND_NAME);
+        this.commandsList.add(BREAK_PC_COMMAND_NAME);
+        this.commandsList.add(BREAK_OPCODE_COMMAND_NAME);
+        this.commandsList.add(WATCH_COMMAND_NAME);
+        this.commandsList.add(RUN_STATUS_COMMAND_NAME);
+        this.commandsList.add(STOP_RUN_COMMAND_NAME);
+        this.commandsList.add(SHOW_MEMORY_COMMAND_NAME);
+        this.commandsList.add(SHOW_AI_COMMAND_NAME);
+        this.commandsList.add(SHOW_TERRITORY_COMMAND_NAME);
+        this.commandsList.add(COUNT_COMMAND_NAME);
+        this.commandsList.add(FIND_NEXT_COMMAND_NAME);
+        this.commandsList.add(EVOLVE_COMMAND_NAME);
+        this.commandsList.add(TOURNAMENT_COMMAND_NAME);
+        this.commandsList.add(SAVE_LIBRARY_COMMAND_NAME);
+        this.commandsList.add(QUIT_COMMAND_NAME);
+        this.commandsList.add(HELP_COMMAND_NAME);
 
         this.commandsList.sort(Comparator.naturalOrder());
     }
-    private void addCommand(String commandName, Command command) {
-        this.commands.put(commandName, command);
-        this.commandsList.add(commandName);
+
+    private static Command createCommand(String commandName) {
+        return switch (commandName) {
+            case ADD_AI_COMMAND_NAME -> new AddAiCommand();
+            case ADD_AI_FILE_COMMAND_NAME -> new AddAiFileCommand();
+            case EXPORT_AI_COMMAND_NAME -> new ExportAiCommand();
+            case REMOVE_AI_COMMAND_NAME -> new RemoveAiCommand();
+            case SET_INIT_MODE_COMMAND_NAME -> new SetInitModeCommand();
+            case SET_EXECUTION_MODE_COMMAND_NAME -> new SetExecutionModeCommand();
+            case SET_SCHEDULING_MODE_COMMAND_NAME -> new SetSchedulingModeCommand();
+            case SET_WEIGHT_COMMAND_NAME -> new SetWeightCommand();
+            case SET_PROCESS_LIMIT_COMMAND_NAME -> new SetProcessLimitCommand();
+            case AUTO_CHECKPOINT_COMMAND_NAME -> new AutoCheckpointCommand();
+            case START_GAME_COMMAND_NAME -> new StartGameCommand();
+            case START_BATTLE_COMMAND_NAME -> new StartBattleCommand();
+            case END_GAME_COMMAND_NAME -> new EndGameCommand();
+            case NEXT_COMMAND_NAME -> new NextCommand();
+            case RECORD_STATS_COMMAND_NAME -> new RecordStatsCommand();
+            case CONVERT_STATS_COMMAND_NAME -> new ConvertStatsCommand();
+            case PUBLISH_STATE_COMMAND_NAME -> new PublishStateCommand();
+            case LOG_WRITES_COMMAND_NAME -> new LogWritesCommand();
+            case FORK_GAME_COMMAND_NAME -> new ForkGameCommand();
+            case SWITCH_FORK_COMMAND_NAME -> new SwitchForkCommand();
+            case DISCARD_FORK_COMMAND_NAME -> new DiscardForkCommand();
+            case BREAK_PC_COMMAND_NAME -> new BreakPcCommand();
+            case BREAK_OPCODE_COMMAND_NAME -> new BreakOpcodeCommand();
+            case WATCH_COMMAND_NAME -> new WatchCommand();
+            case RUN_STATUS_COMMAND_NAME -> new RunStatusCommand();
+            case STOP_RUN_COMMAND_NAME -> new StopRunCommand();
+            case SHOW_MEMORY_COMMAND_NAME -> new ShowMemoryCommand();
+            case SHOW_AI_COMMAND_NAME -> new ShowAiCommand();
+            case SHOW_TERRITORY_COMMAND_NAME -> new ShowTerritoryCommand();
+            case COUNT_COMMAND_NAME -> new CountCommand();
+            case FIND_NEXT_COMMAND_NAME -> new FindNextCommand();
+            case EVOLVE_COMMAND_NAME -> new EvolveCommand();
+            case TOURNAMENT_COMMAND_NAME -> new TournamentCommand();
+            case SAVE_LIBRARY_COMMAND_NAME -> new SaveLibraryCommand();
+            case QUIT_COMMAND_NAME -> new QuitCommand();
+            case HELP_COMMAND_NAME -> new HelpCommand();
+            default -> null;
+        };
     }
 
     /**
-     * Retrieves the list of available commands.
+     * Retrieves the command with the specified name, constructing it on its first use.
      *
-     * @return The list of available commands.
+     * @param commandName The name of the command.
+     * @return The command, or null if no command has that name.
      */
-    public ArrayList<String> getCommandsList() {
-        return this.commandsList;
+    public Command getCommand(String commandName) {
+        Command command = this.commands.get(commandName);
+        if (command == null) {
+            command = createCommand(commandName);
+            if (command != null) {
+                this.commands.put(commandName, command);
+            }
+        }
+        return command;
+    }
+
+    /**
+     * Submits steps to execute in the background once the current command finished, which every following command
+     * but 'status' and 'stop' waits for.
+     *
+     * @param run The steps to execute.
+     */
+    void submitBackgroundRun(BackgroundRun run) {
+        this.submittedRun = run;
+    }
+
+    /**
+     * Retrieves the steps executing in the background.
+     *
+     * @return The steps, or null if no steps were started in the background since the last command waiting for them.
+     */
+    BackgroundRun getBackgroundRun() {
+        return this.backgroundRun;
     }
 
     /**
-     * Retrieves the map of commands.
+     * Retrieves the list of available commands.
      *
-     * @return The map of commands.
+     * @return The list of available commands.
      */
-    public Map<String, Command> getCommandsMap() {
-        return this.commands;
+    public ArrayList<String> getCommandsList() {
+        return this.commandsList;
     }
 }
@@ -0,0 +1,25 @@
+package usercommands;
+
+import java.io.IOException;
+
+/**
+ * Represents output of a command that is written straight to the output of the {@link CommandHandler}.
+ * <p>
+ * Commands producing large output return it as a CommandOutput instead of a message, so it is written into the
+ * buffered output of the handler without being copied into a String first.
+ * </p>
+ *
+ * @author uenqh
+ * @see CommandResult
+ */
+@FunctionalInterface
+public interface CommandOutput {
+
+    /**
+     * Writes the output to the specified target.
+     *
+     * @param target the target the output is appended to
+     * @throws IOException if the target cannot be written
+     */
+    void writeTo(Appendable target) throws IOException;
+}
@@ -13,6 +13,7 @@ public class CommandResult {
 
     private final String message;
     private final CommandResultType type;
+    private final CommandOutput output;
 
     /**
      * Constructs a new CommandResult.
@@ -23,6 +24,19 @@ public class CommandResult {
     public CommandResult(CommandResultType type, String resultMessage) {
         this.type = type;
         this.message = resultMessage;
+        this.output = null;
+    }
+
+    /**
+     * Constructs a new CommandResult whose output is written straight to the output of the handler.
+     *
+     * @param type         the type of the result
+     * @param resultOutput the output of the result, which is written instead of a message
+     */
+    public CommandResult(CommandResultType type, CommandOutput resultOutput) {
+        this.type = type;
+        this.message = null;
+        this.output = resultOutput;
     }
 
     /**
@@ -34,6 +48,16 @@ public class CommandResult {
         return this.message;
     }
 
+    /**
+     * Returns the output of the result, which is written instead of the message. Might be {@code null} indicating that
+     * the result only has a message.
+     *
+     * @return the output of the result.
+     */
+    public CommandOutput getOutput() {
+        return this.output;
+    }
+
     /**
      * Returns the type of the result.
      *
@@ -0,0 +1,93 @@
+package usercommands;
+
+import model.GameSystem;
+import model.StatsRecorder;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+import static model.ConstantErrorMessages.REQUIRES_GAME_STOPPED_MESSAGE;
+
+/**
+ * Represents a command to convert a statistics file written by 'record-stats' into a CSV file.
+ *
+ * @author uenqh
+ * @see StatsRecorder
+ */
+public class ConvertStatsCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 2;
+    private static final int STATS_PATH_INDEX = 0;
+    private static final int CSV_PATH_INDEX = 1;
+    private static final boolean REQUIRES_GAME_RUNNING = false;
+    private static final String DESCRIPTION_MESSAGE = "Using '%s <statistics path> <CSV path>', you can convert a statistics "
+        + "file into a CSV file.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final String INVALID_PATH_MESSAGE = "the entered path is invalid!";
+    private static final String CONVERSION_ERROR_MESSAGE = "the statistics file could not be converted!";
+    private static final String CONVERTED_FORMAT = "Converted %s rows.";
+
+    /**
+     * Executes the command, converting the statistics file into a CSV file.
+     *
+     * @param model            The {@link GameSystem} to execute the command on.
+     * @param commandArguments The paths of the statistics file and the CSV file.
+     * @return A {@link CommandResult} indicating the result of the execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        Path statsPath;
+        Path csvPath;
+        try {
+            statsPath = Path.of(commandArguments[STATS_PATH_INDEX]);
+            csvPath = Path.of(commandArguments[CSV_PATH_INDEX]);
+        } catch (InvalidPathException e) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_PATH_MESSAGE);
+        }
+        // the recording of a game that ended by itself may still hold rows for the file
+        StatsRecorder statsRecorder = model.getStatsRecorder();
+        if (statsRecorder != null && statsRecorder.getPath().equals(statsPath)) {
+            model.setStatsRecorder(null);
+        }
+        long rows;
+        try {
+            rows = StatsRecorder.writeCsv(statsPath, csvPath);
+        } catch (IOException e) {
+            return new CommandResult(CommandResultType.FAILURE, CONVERSION_ERROR_MESSAGE);
+        }
+        return new CommandResult(CommandResultType.SUCCESS, CONVERTED_FORMAT.formatted(rows));
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return The number of arguments required for the command.
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether the command requires the game to be running for execution.
+     *
+     * @return True if the game must be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Generates a description of the command including usage instructions and requirements.
+     *
+     * @param commandName The name of the command.
+     * @return The description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        String message = String.format(DESCRIPTION_MESSAGE, commandName);
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_STOPPED_MESSAGE, message);
+    }
+}
@@ -0,0 +1,109 @@
+package usercommands;
+
+import model.GameSystem;
+import model.OpcodeIndex;
+
+import static model.ConstantErrorMessages.REQUIRES_GAME_RUNNING_MESSAGE;
+import static model.Constants.BOMB_QUERY_NAME;
+import static model.Constants.COUNT_COMMAND_NAME;
+import static model.Constants.INTEGER_REGEX;
+
+/**
+ * Represents a command to count the cells holding a specific command or the AI-Bombs within a range of the storage.
+ * <p>
+ * The range includes both of its borders. If the first border lies behind the second one, the range wraps around the
+ * end of the storage. The cells are counted with the {@link OpcodeIndex} of the game, so no cells have to be scanned.
+ * </p>
+ *
+ * @author uenqh
+ */
+public class CountCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 3;
+    private static final boolean REQUIRES_GAME_RUNNING = true;
+    private static final String DESCRIPTION_MESSAGE = "'%s' counts the cells holding a command or the %s cells between two positions.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final int QUERY_INDEX = 0;
+    private static final int FROM_INDEX = 1;
+    private static final int TO_INDEX = 2;
+    private static final String UNKNOWN_QUERY_FORMAT = "'%s' is neither a command nor %s!";
+    private static final String WRONG_ARGUMENT_TYPE_FORMAT = "only numbers are allowed as positions for the command '%s'!";
+    private static final String ARGUMENT_OUT_OF_BOUNDS_MESSAGE = "the entered positions are not within the storage size!";
+
+    /**
+     * Executes the CountCommand, counting the cells holding the entered command or {@value model.Constants#BOMB_QUERY_NAME}.
+     *
+     * @param model            The game system instance.
+     * @param commandArguments The arguments provided with the command.
+     * @return A CommandResult indicating the success or failure of the command execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        String query = commandArguments[QUERY_INDEX];
+        boolean countBombs = query.equals(BOMB_QUERY_NAME);
+        if (!countBombs && !model.getAiCommandHandler().isAiCommand(query)) {
+            return new CommandResult(CommandResultType.FAILURE, UNKNOWN_QUERY_FORMAT.formatted(query, BOMB_QUERY_NAME));
+        }
+        if (!commandArguments[FROM_INDEX].matches(INTEGER_REGEX) || !commandArguments[TO_INDEX].matches(INTEGER_REGEX)) {
+            return new CommandResult(CommandResultType.FAILURE, WRONG_ARGUMENT_TYPE_FORMAT.formatted(COUNT_COMMAND_NAME));
+        }
+        int size = model.getGameStorage().getSize();
+        int from;
+        int to;
+        try {
+            from = Integer.parseInt(commandArguments[FROM_INDEX]);
+            to = Integer.parseInt(commandArguments[TO_INDEX]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, ARGUMENT_OUT_OF_BOUNDS_MESSAGE);
+        }
+        if (from < 0 || from >= size || to < 0 || to >= size) {
+            return new CommandResult(CommandResultType.FAILURE, ARGUMENT_OUT_OF_BOUNDS_MESSAGE);
+        }
+
+        OpcodeIndex index = model.getOpcodeIndex();
+        int opcode = countBombs ? 0 : model.getAiCommandHandler().getOpcode(query);
+        int count;
+        if (from <= to) {
+            count = count(index, countBombs, opcode, from, to + 1);
+        } else {
+            count = count(index, countBombs, opcode, from, size) + count(index, countBombs, opcode, 0, to + 1);
+        }
+        return new CommandResult(CommandResultType.SUCCESS, String.valueOf(count));
+    }
+
+    /**
+     * Gets the number of arguments this command expects.
+     *
+     * @return The number of arguments expected by the command.
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether this command requires the game to be running.
+     *
+     * @return True if the command requires the game to be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Provides a description of the command for display to users.
+     *
+     * @param commandName The name of the command.
+     * @return A description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        String message = String.format(DESCRIPTION_MESSAGE, commandName, BOMB_QUERY_NAME);
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_RUNNING_MESSAGE, message);
+    }
+
+    private int count(OpcodeIndex index, boolean countBombs, int opcode, int from, int to) {
+        return countBombs ? index.countBombs(from, to) : index.countOpcode(opcode, from, to);
+    }
+}
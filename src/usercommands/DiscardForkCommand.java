@@ -0,0 +1,86 @@
+package usercommands;
+
+import model.GameFork;
+import model.GameSystem;
+
+import static model.ConstantErrorMessages.REQUIRES_GAME_RUNNING_MESSAGE;
+
+/**
+ * Represents a command to discard an inactive fork of the running game, releasing the pages only it refers to.
+ * <p>
+ * All forks are discarded once the game ends.
+ * </p>
+ *
+ * @author uenqh
+ * @see ForkGameCommand
+ */
+public class DiscardForkCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 1;
+    private static final int FORK_INDEX = 0;
+    private static final boolean REQUIRES_GAME_RUNNING = true;
+    private static final String DESCRIPTION_MESSAGE = "Using '%s <fork>', an inactive fork of the game is discarded.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final String UNKNOWN_FORK_MESSAGE = "the entered fork does not exist!";
+    private static final String ACTIVE_FORK_MESSAGE = "the active fork cannot be discarded!";
+    private static final String DISCARDED_FORMAT = "Discarded fork %d, releasing %d pages.";
+
+    /**
+     * Executes the command, discarding an inactive fork.
+     *
+     * @param model            The {@link GameSystem} to execute the command on.
+     * @param commandArguments The number of the fork to discard.
+     * @return A {@link CommandResult} indicating the result of the execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        int fork;
+        try {
+            fork = Integer.parseInt(commandArguments[FORK_INDEX]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, UNKNOWN_FORK_MESSAGE);
+        }
+        if (fork == model.getActiveFork()) {
+            return new CommandResult(CommandResultType.FAILURE, ACTIVE_FORK_MESSAGE);
+        }
+        GameFork discarded = model.getForks().get(fork);
+        if (discarded == null) {
+            return new CommandResult(CommandResultType.FAILURE, UNKNOWN_FORK_MESSAGE);
+        }
+        int releasedPages = discarded.getExclusivePages();
+        model.discardFork(fork);
+        return new CommandResult(CommandResultType.SUCCESS, DISCARDED_FORMAT.formatted(fork, releasedPages));
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return The number of arguments required (1).
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether the command requires the game to be running for execution.
+     *
+     * @return True if the game must be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Generates a description of the command including usage instructions and requirements.
+     *
+     * @param commandName The name of the command.
+     * @return The description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        String message = String.format(DESCRIPTION_MESSAGE, commandName);
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_RUNNING_MESSAGE, message);
+    }
+}
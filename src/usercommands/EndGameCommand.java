@@ -34,7 +34,7 @@ public class EndGameCommand implements Command {
         StringBuilder runningAis = new StringBuilder();
         String message = "";
         for (Ai ai : model.getInGameAis()) {
-            if (model.getAliveAis().contains(ai)) {
+            if (ai.getAliveStatus()) {
                 if (ai.getId() == -1) {
                     runningAis.append(ai.getName()).append(NAME_PARTITION);
                 } else {
@@ -0,0 +1,154 @@
+package usercommands;
+
+import model.AiProgram;
+import model.Evolution;
+import model.GameSystem;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static model.ConstantErrorMessages.LIBRARY_ERROR_FORMAT;
+import static model.ConstantErrorMessages.REQUIRES_GAME_STOPPED_MESSAGE;
+import static model.Constants.EVOLVE_COMMAND_NAME;
+import static model.Constants.WRONG_ARGUMENTS_COUNT_FORMAT;
+
+/**
+ * Represents a command to evolve new AIs by letting mutated programs fight previously added reference AIs.
+ * <p>
+ * The matches are played headless on isolated game instances with the current storage size, initialization mode and
+ * seed, so the running game system is not touched. The strongest programs are added as new AIs.
+ * </p>
+ *
+ * @author uenqh
+ * @see Evolution
+ */
+public class EvolveCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = -1;
+    private static final int LEAST_NUMBER_OF_ARGUMENTS = 4;
+    private static final int NAME_INDEX = 0;
+    private static final int GENERATIONS_INDEX = 1;
+    private static final int POPULATION_INDEX = 2;
+    private static final int FIRST_REFERENCE_INDEX = 3;
+    private static final int MIN_GENERATIONS = 1;
+    private static final int MIN_POPULATION = 2;
+    private static final int KEPT_PROGRAMS = 3;
+    private static final int STEPS_PER_CELL = 4;
+    private static final boolean REQUIRES_GAME_RUNNING = false;
+    private static final String DESCRIPTION_MESSAGE
+        = "Using '%s <name> <generations> <population> <reference AIs>', mutated programs fight the reference AIs";
+    private static final String KEPT_MESSAGE = "and the %s strongest are added as '<name>1' to '<name>%s'.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s %s";
+    private static final String WRONG_ARGUMENT_TYPE_MESSAGE = "the generations and the population have to be numbers!";
+    private static final String TOO_FEW_GENERATIONS_FORMAT = "at least %s generation has to be evolved!";
+    private static final String TOO_SMALL_POPULATION_FORMAT = "the population has to hold at least %s programs!";
+    private static final String UNKNOWN_AI_MESSAGE = "the entered reference AIs could not be found!";
+    private static final String NAME_TAKEN_FORMAT = "the AI %s already exists!";
+    private static final String SUMMARY_FORMAT = "Played %s matches in %s generations, %s earned %s of %s points.";
+
+    /**
+     * Executes the evolve command, evolving programs against the reference AIs and adding the strongest ones.
+     *
+     * @param model            The {@link GameSystem} to execute the command on.
+     * @param commandArguments The name, generations, population and reference AI names.
+     * @return A {@link CommandResult} indicating the result of the execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        if (commandArguments.length < LEAST_NUMBER_OF_ARGUMENTS) {
+            return new CommandResult(CommandResultType.FAILURE, String.format(WRONG_ARGUMENTS_COUNT_FORMAT, EVOLVE_COMMAND_NAME));
+        }
+        int generations;
+        int population;
+        try {
+            generations = Integer.parseInt(commandArguments[GENERATIONS_INDEX]);
+            population = Integer.parseInt(commandArguments[POPULATION_INDEX]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, WRONG_ARGUMENT_TYPE_MESSAGE);
+        }
+        if (generations < MIN_GENERATIONS) {
+            return new CommandResult(CommandResultType.FAILURE, TOO_FEW_GENERATIONS_FORMAT.formatted(MIN_GENERATIONS));
+        }
+        if (population < MIN_POPULATION) {
+            return new CommandResult(CommandResultType.FAILURE, TOO_SMALL_POPULATION_FORMAT.formatted(MIN_POPULATION));
+        }
+        List<AiProgram> references = new ArrayList<>();
+        for (int i = FIRST_REFERENCE_INDEX; i < commandArguments.length; i++) {
+            AiProgram reference;
+            try {
+                reference = model.resolveAi(commandArguments[i]);
+            } catch (IOException e) {
+                return new CommandResult(CommandResultType.FAILURE, LIBRARY_ERROR_FORMAT.formatted(e.getMessage()));
+            }
+            if (reference == null) {
+                return new CommandResult(CommandResultType.FAILURE, UNKNOWN_AI_MESSAGE);
+            }
+            references.add(reference);
+        }
+        String name = commandArguments[NAME_INDEX];
+        for (int i = 1; i <= KEPT_PROGRAMS; i++) {
+            if (model.getAiMap().containsKey(name + i)) {
+                return new CommandResult(CommandResultType.FAILURE, NAME_TAKEN_FORMAT.formatted(name + i));
+            }
+        }
+
+        long stepCap = (long) model.getGameStorage().getSize() * STEPS_PER_CELL;
+        Evolution evolution = new Evolution(model, references, population, stepCap, model.getSeed());
+        for (int generation = 1; generation < generations; generation++) {
+            evolution.evolveGeneration();
+        }
+
+        // the evolved programs are checked like entered AIs, and none is added unless all of them can be
+        List<AiProgram> kept = new ArrayList<>();
+        for (AiProgram evolved : evolution.getBestPrograms(KEPT_PROGRAMS)) {
+            AiProgram program = evolved.rename(name + evolved.getName());
+            String programError = AddAiCommand.checkValidProgram(model, program);
+            if (programError != null) {
+                return new CommandResult(CommandResultType.FAILURE, programError);
+            }
+            kept.add(program);
+        }
+        for (AiProgram program : kept) {
+            if (!model.addAi(program)) {
+                return new CommandResult(CommandResultType.FAILURE, NAME_TAKEN_FORMAT.formatted(program.getName()));
+            }
+        }
+        String summary = SUMMARY_FORMAT.formatted(evolution.getMatchesPlayed(), generations, name + 1,
+            evolution.getBestPoints(), evolution.getMaxPoints());
+        return new CommandResult(CommandResultType.SUCCESS, summary);
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return The number of arguments required for the command.
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether the command requires the game to be running for execution.
+     *
+     * @return True if the game must be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Generates a description of the command including usage instructions and requirements.
+     *
+     * @param commandName The name of the command.
+     * @return The description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        String message = String.format(DESCRIPTION_MESSAGE, commandName);
+        String keptMessage = KEPT_MESSAGE.formatted(KEPT_PROGRAMS, KEPT_PROGRAMS);
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_STOPPED_MESSAGE, message, keptMessage);
+    }
+}
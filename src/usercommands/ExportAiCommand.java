@@ -0,0 +1,99 @@
+package usercommands;
+
+import model.AiProgram;
+import model.GameSystem;
+import model.WarriorFile;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+import static model.ConstantErrorMessages.LIBRARY_ERROR_FORMAT;
+import static model.ConstantErrorMessages.REQUIRES_GAME_STOPPED_MESSAGE;
+
+/**
+ * Represents a command to write an AI into a binary warrior file.
+ * <p>
+ * The file can be added to another session with 'add-ai-file', which loads it without parsing any text.
+ * </p>
+ *
+ * @author uenqh
+ * @see WarriorFile
+ */
+public class ExportAiCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 2;
+    private static final int AI_NAME_INDEX = 0;
+    private static final int PATH_INDEX = 1;
+    private static final boolean REQUIRES_GAME_RUNNING = false;
+    private static final String DESCRIPTION_MESSAGE = "Using '%s <AI> <path>', you can write an AI into a warrior file.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final String UNKNOWN_AI_MESSAGE = "the entered AI does not exist!";
+    private static final String INVALID_PATH_MESSAGE = "the entered path is invalid!";
+    private static final String WRITE_ERROR_MESSAGE = "the warrior file could not be written!";
+    private static final String EXPORTED_FORMAT = "Exported %s.";
+
+    /**
+     * Executes the command, writing the specified AI into a warrior file.
+     *
+     * @param model            The {@link GameSystem} to execute the command on.
+     * @param commandArguments The name of the AI and the path of the warrior file.
+     * @return A {@link CommandResult} indicating the result of the execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        AiProgram program;
+        try {
+            program = model.resolveAi(commandArguments[AI_NAME_INDEX]);
+        } catch (IOException e) {
+            return new CommandResult(CommandResultType.FAILURE, LIBRARY_ERROR_FORMAT.formatted(e.getMessage()));
+        }
+        if (program == null) {
+            return new CommandResult(CommandResultType.FAILURE, UNKNOWN_AI_MESSAGE);
+        }
+        Path path;
+        try {
+            path = Path.of(commandArguments[PATH_INDEX]);
+        } catch (InvalidPathException e) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_PATH_MESSAGE);
+        }
+        try {
+            WarriorFile.write(path, program);
+        } catch (IOException e) {
+            return new CommandResult(CommandResultType.FAILURE, WRITE_ERROR_MESSAGE);
+        }
+        return new CommandResult(CommandResultType.SUCCESS, EXPORTED_FORMAT.formatted(program.getName()));
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return The number of arguments required for the command.
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether the command requires the game to be running for execution.
+     *
+     * @return True if the game must be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Generates a description of the command including usage instructions and requirements.
+     *
+     * @param commandName The name of the command.
+     * @return The description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        String message = String.format(DESCRIPTION_MESSAGE, commandName);
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_STOPPED_MESSAGE, message);
+    }
+}
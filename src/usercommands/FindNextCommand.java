@@ -0,0 +1,104 @@
+package usercommands;
+
+import model.GameSystem;
+import model.OpcodeIndex;
+
+import static model.ConstantErrorMessages.REQUIRES_GAME_RUNNING_MESSAGE;
+import static model.Constants.BOMB_QUERY_NAME;
+import static model.Constants.FIND_NEXT_COMMAND_NAME;
+import static model.Constants.INTEGER_REGEX;
+
+/**
+ * Represents a command to find the next cell holding a specific command or the next AI-Bomb.
+ * <p>
+ * The search starts at the entered position, includes it and wraps around the end of the storage.
+ * The cell is found with the {@link OpcodeIndex} of the game, so no cells have to be scanned.
+ * </p>
+ *
+ * @author uenqh
+ */
+public class FindNextCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 2;
+    private static final boolean REQUIRES_GAME_RUNNING = true;
+    private static final String DESCRIPTION_MESSAGE = "'%s' finds the next cell holding a command or the next %s from a position on.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final int QUERY_INDEX = 0;
+    private static final int POSITION_INDEX = 1;
+    private static final String UNKNOWN_QUERY_FORMAT = "'%s' is neither a command nor %s!";
+    private static final String WRONG_ARGUMENT_TYPE_FORMAT = "only numbers are allowed as position for the command '%s'!";
+    private static final String ARGUMENT_OUT_OF_BOUNDS_MESSAGE = "the entered position is not within the storage size!";
+    private static final String NOT_FOUND_FORMAT = "There is no cell holding %s.";
+
+    /**
+     * Executes the FindNextCommand, finding the next cell holding the entered command or {@value model.Constants#BOMB_QUERY_NAME}.
+     *
+     * @param model            The game system instance.
+     * @param commandArguments The arguments provided with the command.
+     * @return A CommandResult indicating the success or failure of the command execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        String query = commandArguments[QUERY_INDEX];
+        boolean findBomb = query.equals(BOMB_QUERY_NAME);
+        if (!findBomb && !model.getAiCommandHandler().isAiCommand(query)) {
+            return new CommandResult(CommandResultType.FAILURE, UNKNOWN_QUERY_FORMAT.formatted(query, BOMB_QUERY_NAME));
+        }
+        if (!commandArguments[POSITION_INDEX].matches(INTEGER_REGEX)) {
+            return new CommandResult(CommandResultType.FAILURE, WRONG_ARGUMENT_TYPE_FORMAT.formatted(FIND_NEXT_COMMAND_NAME));
+        }
+        int position;
+        try {
+            position = Integer.parseInt(commandArguments[POSITION_INDEX]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, ARGUMENT_OUT_OF_BOUNDS_MESSAGE);
+        }
+        if (position < 0 || position >= model.getGameStorage().getSize()) {
+            return new CommandResult(CommandResultType.FAILURE, ARGUMENT_OUT_OF_BOUNDS_MESSAGE);
+        }
+
+        OpcodeIndex index = model.getOpcodeIndex();
+        int found;
+        if (findBomb) {
+            found = index.findNextBomb(position);
+        } else {
+            found = index.findNextOpcode(model.getAiCommandHandler().getOpcode(query), position);
+        }
+        if (found == OpcodeIndex.NOT_FOUND) {
+            return new CommandResult(CommandResultType.SUCCESS, NOT_FOUND_FORMAT.formatted(query));
+        }
+        return new CommandResult(CommandResultType.SUCCESS, String.valueOf(found));
+    }
+
+    /**
+     * Gets the number of arguments this command expects.
+     *
+     * @return The number of arguments expected by the command.
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether this command requires the game to be running.
+     *
+     * @return True if the command requires the game to be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Provides a description of the command for display to users.
+     *
+     * @param commandName The name of the command.
+     * @return A description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        String message = String.format(DESCRIPTION_MESSAGE, commandName, BOMB_QUERY_NAME);
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_RUNNING_MESSAGE, message);
+    }
+}
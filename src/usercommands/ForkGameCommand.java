@@ -0,0 +1,72 @@
+package usercommands;
+
+import model.GameSystem;
+
+import static model.ConstantErrorMessages.REQUIRES_GAME_RUNNING_MESSAGE;
+
+/**
+ * Represents a command to fork the running game, so several continuations can be tried from the same state.
+ * <p>
+ * The game continues as the active fork, while the new fork keeps the current state until it is switched to with the
+ * command 'switch-fork'. Forks share the pages of the game storage, so every fork only costs the pages written after
+ * it was taken.
+ * </p>
+ *
+ * @author uenqh
+ * @see SwitchForkCommand
+ * @see DiscardForkCommand
+ */
+public class ForkGameCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 0;
+    private static final boolean REQUIRES_GAME_RUNNING = true;
+    private static final String DESCRIPTION_MESSAGE = "Keeps the current state of the game as a new fork, which can be "
+        + "continued with 'switch-fork <fork>'.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final String FORKED_FORMAT = "Forked the game at step %d into fork %d.";
+
+    /**
+     * Executes the command, forking the running game.
+     *
+     * @param model            The {@link GameSystem} to execute the command on.
+     * @param commandArguments The command arguments (not used).
+     * @return A {@link CommandResult} holding the number of the new fork.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        int fork = model.forkGame();
+        return new CommandResult(CommandResultType.SUCCESS,
+            FORKED_FORMAT.formatted(model.getGameStorage().getStep(), fork));
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return The number of arguments required (0 in this case).
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether the command requires the game to be running for execution.
+     *
+     * @return True if the game must be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Generates a description of the command including usage instructions and requirements.
+     *
+     * @param commandName The name of the command.
+     * @return The description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_RUNNING_MESSAGE, DESCRIPTION_MESSAGE);
+    }
+}
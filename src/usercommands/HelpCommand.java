@@ -3,7 +3,6 @@ package usercommands;
 import model.GameSystem;
 
 import java.util.ArrayList;
-import java.util.Map;
 
 import static model.ConstantErrorMessages.NO_RUNNING_REQUIREMENTS_MESSAGE;
 import static model.Constants.HELP_COMMAND_NAME;
@@ -31,14 +30,15 @@ public class HelpCommand implements Command {
      */
     @Override
     public CommandResult execute(GameSystem model, String[] commandArguments) {
-        ArrayList<String> commandsList = model.getCommandHandler().getCommandsList();
-        Map<String, Command> commandMap = model.getCommandHandler().getCommandsMap();
+        CommandHandler commandHandler = model.getCommandHandler();
+        ArrayList<String> commandsList = commandHandler.getCommandsList();
 
         StringBuilder message = new StringBuilder();
         // the commands list is always sorted on initialization
         for (String s : commandsList) {
-            if (commandMap.get(s).requiredGameStatus() == model.getGameStatus() || commandIsAlwaysUsable(s)) {
-                message.append(commandMap.get(s).getDescription(s));
+            Command command = commandHandler.getCommand(s);
+            if (command.requiredGameStatus() == model.getGameStatus() || commandIsAlwaysUsable(s)) {
+                message.append(command.getDescription(s));
                 message.append(LINE_BREAK);
             }
         }
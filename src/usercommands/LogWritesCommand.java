@@ -0,0 +1,109 @@
+package usercommands;
+
+import model.GameSystem;
+import model.WriteEventLogger;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+import static model.ConstantErrorMessages.REQUIRES_GAME_RUNNING_MESSAGE;
+
+/**
+ * Represents a command to log every write of the AIs of the running game into a CSV file.
+ * <p>
+ * The writes are published into the write event ring of the game and written to the file on a separate thread, until
+ * the game ends or logging is turned off. The game never waits for the file, writes the logger could not keep up with
+ * are dropped and counted.
+ * </p>
+ *
+ * @author uenqh
+ * @see WriteEventLogger
+ */
+public class LogWritesCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 1;
+    private static final int PATH_INDEX = 0;
+    private static final String DISABLE_ARGUMENT = "off";
+    private static final boolean REQUIRES_GAME_RUNNING = true;
+    private static final String DESCRIPTION_MESSAGE = "Using '%s <path>', every write of the AIs is logged into a CSV "
+        + "file. '%s off' stops logging.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final String INVALID_PATH_MESSAGE = "the entered path is invalid!";
+    private static final String WRITE_ERROR_MESSAGE = "the log file could not be created!";
+    private static final String LOG_ERROR_MESSAGE = "the log file could not be written completely!";
+    private static final String LOGGING_FORMAT = "Logging the writes to %s.";
+    private static final String STOPPED_FORMAT = "Stopped logging the writes, %s were logged and %s dropped.";
+    private static final long NO_EVENTS = 0;
+
+    /**
+     * Executes the command, starting or stopping the logging of writes.
+     *
+     * @param model            The {@link GameSystem} to execute the command on.
+     * @param commandArguments The path of the log file, or 'off'.
+     * @return A {@link CommandResult} indicating the result of the execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        if (commandArguments[PATH_INDEX].equals(DISABLE_ARGUMENT)) {
+            WriteEventLogger writeEventLogger = model.getWriteEventLogger();
+            model.setWriteEventLogger(null);
+            if (writeEventLogger == null) {
+                return new CommandResult(CommandResultType.SUCCESS, STOPPED_FORMAT.formatted(NO_EVENTS, NO_EVENTS));
+            }
+            if (writeEventLogger.getLastFailure() != null) {
+                return new CommandResult(CommandResultType.FAILURE, LOG_ERROR_MESSAGE);
+            }
+            return new CommandResult(CommandResultType.SUCCESS,
+                STOPPED_FORMAT.formatted(writeEventLogger.getLogged(), writeEventLogger.getDropped()));
+        }
+        Path path;
+        try {
+            path = Path.of(commandArguments[PATH_INDEX]);
+        } catch (InvalidPathException e) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_PATH_MESSAGE);
+        }
+        // the previous logger is closed first, it may write to the same file
+        model.setWriteEventLogger(null);
+        WriteEventLogger writeEventLogger;
+        try {
+            writeEventLogger = new WriteEventLogger(path, model.getWriteEventRing(), model.getGameStorage());
+        } catch (IOException e) {
+            return new CommandResult(CommandResultType.FAILURE, WRITE_ERROR_MESSAGE);
+        }
+        model.setWriteEventLogger(writeEventLogger);
+        return new CommandResult(CommandResultType.SUCCESS, LOGGING_FORMAT.formatted(path));
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return The number of arguments required for the command.
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether the command requires the game to be running for execution.
+     *
+     * @return True if the game must be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Generates a description of the command including usage instructions and requirements.
+     *
+     * @param commandName The name of the command.
+     * @return The description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        String message = String.format(DESCRIPTION_MESSAGE, commandName, commandName);
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_RUNNING_MESSAGE, message);
+    }
+}
@@ -1,17 +1,27 @@
 package usercommands;
 
 import model.Ai;
+import model.Breakpoints;
+import model.Checkpointer;
+import model.ExecutionMode;
 import model.GameSystem;
+import model.LiveStatePublisher;
+import model.Scheduler;
+import model.SchedulingMode;
+import model.StatsRecorder;
 
 import java.util.ArrayList;
 import java.util.regex.Pattern;
 
 import static model.ConstantErrorMessages.REQUIRES_GAME_RUNNING_MESSAGE;
-import static model.Constants.BETWEEN_NAME_AND_ID_PLACEHOLDER;
 import static model.Constants.INTEGER_REGEX;
 
 /**
  * Represents a command to manually cycle through the game loop.
+ * <p>
+ * Long runs, and runs until every AI stopped, execute as a {@link BackgroundRun}, so the commands 'status' and 'stop'
+ * are accepted while the steps execute.
+ * </p>
  *
  * @author uenqh
  */
@@ -26,7 +36,15 @@ public class NextCommand implements Command {
     private static final String WRONG_ARGUMENT_FORMAT_MESSAGE = "the entered argument should be a number or empty!";
     private static final String WRONG_ARGUMENT_AMOUNT_MESSAGE = "please only enter one number or leave the argument blank!";
     private static final String AI_STOPPED_AFTER_X_STEPS_FORMAT = "%s executed %s steps until stopping.";
+    private static final String BREAKPOINT_FORMAT = "Stopped at a breakpoint, %s is about to execute %s at cell %d.";
+    private static final String WATCHPOINT_FORMAT = "Stopped at a watchpoint, %s wrote cell %d in step %d.";
     private static final String EMPTY_MESSAGE = null;
+    private static final String LINE_BREAK = "\n";
+    private static final int BACKGROUND_STEP_AMOUNT = 1 << 22;
+    private static final String BACKGROUND_MESSAGE = "Executing the steps in the background, enter 'status' to follow "
+        + "them or 'stop' to cancel them.";
+
+    private Ai[] batch = new Ai[0];
 
     /**
      * Executes the command to cycle through the game loop.
@@ -48,28 +66,17 @@ public class NextCommand implements Command {
             stepAmount = Integer.parseInt(commandArguments[ARGUMENT_INDEX]);
         }
 
-        Ai currentAi;
-        ArrayList<Ai> newAiDropOuts = new ArrayList<>();
-        int step = 0;
-        while (!model.getAliveAis().isEmpty() && step != stepAmount) {
-            // fetch currently active AI
-            currentAi = model.getAliveAis().pollFirst();
-            model.getAiCommandHandler().execute(currentAi);
-
-            // check if executed command was a 'STOP' command
-            if (currentAi.getAliveStatus()) {
-                currentAi.updateRoundCounter();
-                model.getAliveAis().add(currentAi);
-            } else {
-                newAiDropOuts.add(currentAi);
-            }
-            step++;
+        if (stepAmount >= BACKGROUND_STEP_AMOUNT || stepAmount < 0) {
+            // long runs leave the input to the user, who can follow them with 'status' and cancel them with 'stop'
+            BackgroundRun run = new BackgroundRun(model, this, stepAmount);
+            model.getCommandHandler().submitBackgroundRun(run);
+            return new CommandResult(CommandResultType.SUCCESS, BACKGROUND_MESSAGE);
         }
 
-        if (newAiDropOuts.isEmpty()) {
-            return new CommandResult(CommandResultType.SUCCESS, EMPTY_MESSAGE);
-        }
-        return new CommandResult(CommandResultType.SUCCESS, buildReturnMessage(model, newAiDropOuts));
+        ArrayList<Ai> newAiDropOuts = new ArrayList<>();
+        String breakMessage = executeSteps(model, stepAmount, newAiDropOuts, true);
+        publishFrame(model);
+        return new CommandResult(CommandResultType.SUCCESS, buildResultMessage(model, newAiDropOuts, breakMessage));
     }
 
     /**
@@ -104,6 +111,163 @@ public class NextCommand implements Command {
         return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_RUNNING_MESSAGE, message);
     }
 
+    /**
+     * Executes the specified amount of steps, stopping early once every AI stopped or a breakpoint fired.
+     *
+     * @param model            The GameSystem instance.
+     * @param stepAmount       The amount of steps, or a negative amount to execute steps until every AI stopped.
+     * @param newAiDropOuts    The list to add the AIs stopping during the steps to.
+     * @param leavesBreakpoint Whether the first step may execute the command a breakpoint stopped at before.
+     * @return The message describing the fired breakpoint, or {@code null} if no breakpoint fired.
+     */
+    String executeSteps(GameSystem model, int stepAmount, ArrayList<Ai> newAiDropOuts, boolean leavesBreakpoint) {
+        // only round-robin turns are known a round ahead, so the other scheduling modes execute sequentially
+        if (model.hasBreakpoints()) {
+            return executeUntilBreakpoint(model, stepAmount, newAiDropOuts, leavesBreakpoint);
+        }
+        if (model.getExecutionMode() == ExecutionMode.EXECUTION_MODE_SPECULATIVE
+            && model.getSchedulingMode() == SchedulingMode.SCHEDULING_MODE_ROUND_ROBIN) {
+            executeSpeculatively(model, stepAmount, newAiDropOuts);
+        } else {
+            executeSequentially(model, stepAmount, newAiDropOuts);
+        }
+        return EMPTY_MESSAGE;
+    }
+
+    /**
+     * Publishes a frame of the live state, if it is published, so visualisers show the state the steps ended in.
+     *
+     * @param model The GameSystem instance.
+     */
+    void publishFrame(GameSystem model) {
+        LiveStatePublisher liveStatePublisher = model.getLiveStatePublisher();
+        if (liveStatePublisher != null) {
+            liveStatePublisher.publish(model);
+        }
+    }
+
+    /**
+     * Builds the message reporting the AIs that stopped and the breakpoint that fired, ending the game once every AI
+     * stopped.
+     *
+     * @param model         The GameSystem instance.
+     * @param newAiDropOuts The AIs that stopped during the steps.
+     * @param breakMessage  The message describing the fired breakpoint, or {@code null} if no breakpoint fired.
+     * @return The message, or {@code null} if there is nothing to report.
+     */
+    String buildResultMessage(GameSystem model, ArrayList<Ai> newAiDropOuts, String breakMessage) {
+        if (newAiDropOuts.isEmpty()) {
+            return breakMessage;
+        }
+        String message = buildReturnMessage(model, newAiDropOuts);
+        if (breakMessage != null) {
+            message += LINE_BREAK + breakMessage;
+        }
+        return message;
+    }
+
+    private void executeSequentially(GameSystem model, int stepAmount, ArrayList<Ai> newAiDropOuts) {
+        Scheduler scheduler = model.getScheduler();
+        Checkpointer checkpointer = model.getCheckpointer();
+        StatsRecorder statsRecorder = model.getStatsRecorder();
+        LiveStatePublisher liveStatePublisher = model.getLiveStatePublisher();
+        Ai currentAi;
+        int step = 0;
+        while (!scheduler.isEmpty() && step != stepAmount) {
+            // fetch currently active AI
+            currentAi = scheduler.poll();
+            model.getAiCommandHandler().execute(currentAi);
+            requeue(model, currentAi, newAiDropOuts);
+            step++;
+            pollObservers(model, checkpointer, statsRecorder, liveStatePublisher);
+        }
+    }
+
+    private String executeUntilBreakpoint(GameSystem model, int stepAmount, ArrayList<Ai> newAiDropOuts,
+                                          boolean leavesBreakpoint) {
+        // breakpoints have to be checked between every two commands, so speculative execution is left out
+        Scheduler scheduler = model.getScheduler();
+        Checkpointer checkpointer = model.getCheckpointer();
+        StatsRecorder statsRecorder = model.getStatsRecorder();
+        LiveStatePublisher liveStatePublisher = model.getLiveStatePublisher();
+        Breakpoints breakpoints = model.getBreakpoints();
+        breakpoints.clearHit();
+        Ai currentAi;
+        int step = 0;
+        while (!scheduler.isEmpty() && step != stepAmount) {
+            currentAi = scheduler.peek();
+            // the first step leaves the breakpoint the last 'next' stopped at
+            if ((step > 0 || !leavesBreakpoint) && breakpoints.breaksBefore(currentAi)) {
+                int index = breakpoints.getCellIndex(currentAi);
+                String command = model.getGameStorage().getCells().get(index).getCommand();
+                return BREAKPOINT_FORMAT.formatted(currentAi.getDisplayName(), command, index);
+            }
+            scheduler.poll();
+            model.getAiCommandHandler().execute(currentAi);
+            requeue(model, currentAi, newAiDropOuts);
+            step++;
+            pollObservers(model, checkpointer, statsRecorder, liveStatePublisher);
+            if (breakpoints.isHit()) {
+                return WATCHPOINT_FORMAT.formatted(breakpoints.getHitEditor().getDisplayName(), breakpoints.getHitIndex(),
+                    breakpoints.getHitStep());
+            }
+        }
+        return EMPTY_MESSAGE;
+    }
+
+    private void executeSpeculatively(GameSystem model, int stepAmount, ArrayList<Ai> newAiDropOuts) {
+        Scheduler scheduler = model.getScheduler();
+        Checkpointer checkpointer = model.getCheckpointer();
+        StatsRecorder statsRecorder = model.getStatsRecorder();
+        LiveStatePublisher liveStatePublisher = model.getLiveStatePublisher();
+        int step = 0;
+        while (!scheduler.isEmpty() && step != stepAmount) {
+            // a batch holds every AI at most once, so it never runs past the end of the current round
+            int amount = scheduler.size();
+            if (stepAmount > 0) {
+                amount = Math.min(amount, stepAmount - step);
+            }
+            if (this.batch.length < amount) {
+                this.batch = new Ai[amount];
+            }
+            for (int i = 0; i < amount; i++) {
+                this.batch[i] = scheduler.poll();
+            }
+            model.getAiCommandHandler().executeSpeculatively(this.batch, amount);
+            for (int i = 0; i < amount; i++) {
+                requeue(model, this.batch[i], newAiDropOuts);
+                this.batch[i] = null;
+            }
+            step += amount;
+            pollObservers(model, checkpointer, statsRecorder, liveStatePublisher);
+        }
+    }
+
+    private void pollObservers(GameSystem model, Checkpointer checkpointer, StatsRecorder statsRecorder,
+                               LiveStatePublisher liveStatePublisher) {
+        // checkpoints, statistics and frames are only taken between two steps, while every alive AI waits in the scheduler
+        long step = model.getGameStorage().getStep();
+        if (checkpointer != null && step >= checkpointer.getNextPollStep()) {
+            checkpointer.poll(model);
+        }
+        if (statsRecorder != null && step >= statsRecorder.getNextRowStep()) {
+            statsRecorder.record(model);
+        }
+        if (liveStatePublisher != null && step >= liveStatePublisher.getNextPollStep()) {
+            liveStatePublisher.poll(model);
+        }
+    }
+
+    private void requeue(GameSystem model, Ai executedAi, ArrayList<Ai> newAiDropOuts) {
+        // check if executed command was a 'STOP' command
+        if (executedAi.getAliveStatus()) {
+            executedAi.updateRoundCounter();
+            model.getScheduler().requeue(executedAi);
+        } else {
+            newAiDropOuts.add(executedAi);
+        }
+    }
+
     private boolean checkValidInputType(String[] commandArguments) {
         return Pattern.matches(INTEGER_REGEX, commandArguments[ARGUMENT_INDEX]);
     }
@@ -121,13 +285,9 @@ public class NextCommand implements Command {
         int i = 0;
         for (Ai ai : newAiDropOuts) {
             stepCounter = ai.getRoundCounter();
-            String name = ai.getName();
-            if (ai.getId() != -1) {
-                name += BETWEEN_NAME_AND_ID_PLACEHOLDER + ai.getId();
-            }
-            stringBuilder.append(AI_STOPPED_AFTER_X_STEPS_FORMAT.formatted(name, stepCounter));
+            stringBuilder.append(AI_STOPPED_AFTER_X_STEPS_FORMAT.formatted(ai.getDisplayName(), stepCounter));
             if (i++ != newAiDropOuts.size() - 1) {
-                stringBuilder.append("\n");
+                stringBuilder.append(LINE_BREAK);
             }
         }
         if (model.getInGameAis().isEmpty()) {
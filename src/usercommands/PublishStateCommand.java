@@ -0,0 +1,123 @@
+package usercommands;
+
+import model.GameSystem;
+import model.LiveStatePublisher;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+import static model.ConstantErrorMessages.REQUIRES_GAME_RUNNING_MESSAGE;
+
+/**
+ * Represents a command to publish the live state of the running game into a memory-mapped file.
+ * <p>
+ * A frame is published right away, then every given amount of milliseconds while steps execute and once every
+ * 'next' finished, until the game ends or publishing is turned off. External visualisers map the file and read the
+ * frames as the game runs.
+ * </p>
+ *
+ * @author uenqh
+ * @see LiveStatePublisher
+ */
+public class PublishStateCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = -1;
+    private static final int MIN_ARGUMENTS = 1;
+    private static final int MAX_ARGUMENTS = 2;
+    private static final int PATH_INDEX = 0;
+    private static final int INTERVAL_INDEX = 1;
+    private static final long STANDARD_INTERVAL = 50;
+    private static final String DISABLE_ARGUMENT = "off";
+    private static final boolean REQUIRES_GAME_RUNNING = true;
+    private static final String DESCRIPTION_MESSAGE = "Using '%s <path> [<milliseconds>]', the live state of the game is "
+        + "published into a memory-mapped file every amount of milliseconds, every 50 if left out. '%s off' stops "
+        + "publishing.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final String WRONG_ARGUMENT_AMOUNT_MESSAGE = "please enter a path and an optional interval or 'off'!";
+    private static final String INVALID_PATH_MESSAGE = "the entered path is invalid!";
+    private static final String INVALID_INTERVAL_MESSAGE = "the interval has to be a number greater than 0!";
+    private static final String WRITE_ERROR_MESSAGE = "the live state file could not be created!";
+    private static final String PUBLISHING_FORMAT = "Publishing the live state to %s.";
+    private static final String STOPPED_FORMAT = "Stopped publishing the live state, %s frames were published.";
+    private static final long NO_FRAMES = 0;
+
+    /**
+     * Executes the command, starting or stopping the publishing of the live state.
+     *
+     * @param model            The {@link GameSystem} to execute the command on.
+     * @param commandArguments The path of the live state file and the optional interval, or 'off'.
+     * @return A {@link CommandResult} indicating the result of the execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        if (commandArguments.length < MIN_ARGUMENTS || commandArguments.length > MAX_ARGUMENTS) {
+            return new CommandResult(CommandResultType.FAILURE, WRONG_ARGUMENT_AMOUNT_MESSAGE);
+        }
+        if (commandArguments.length == MIN_ARGUMENTS && commandArguments[PATH_INDEX].equals(DISABLE_ARGUMENT)) {
+            LiveStatePublisher liveStatePublisher = model.getLiveStatePublisher();
+            long frames = liveStatePublisher == null ? NO_FRAMES : liveStatePublisher.getFramesPublished();
+            model.setLiveStatePublisher(null);
+            return new CommandResult(CommandResultType.SUCCESS, STOPPED_FORMAT.formatted(frames));
+        }
+        long interval = STANDARD_INTERVAL;
+        if (commandArguments.length == MAX_ARGUMENTS) {
+            try {
+                interval = Long.parseLong(commandArguments[INTERVAL_INDEX]);
+            } catch (NumberFormatException e) {
+                return new CommandResult(CommandResultType.FAILURE, INVALID_INTERVAL_MESSAGE);
+            }
+            if (interval <= 0) {
+                return new CommandResult(CommandResultType.FAILURE, INVALID_INTERVAL_MESSAGE);
+            }
+        }
+        Path path;
+        try {
+            path = Path.of(commandArguments[PATH_INDEX]);
+        } catch (InvalidPathException e) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_PATH_MESSAGE);
+        }
+        // the previous publisher is closed first, it may map the same file
+        model.setLiveStatePublisher(null);
+        LiveStatePublisher liveStatePublisher;
+        try {
+            liveStatePublisher = new LiveStatePublisher(path, interval, model);
+        } catch (IOException e) {
+            return new CommandResult(CommandResultType.FAILURE, WRITE_ERROR_MESSAGE);
+        }
+        model.setLiveStatePublisher(liveStatePublisher);
+        return new CommandResult(CommandResultType.SUCCESS, PUBLISHING_FORMAT.formatted(path));
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return The number of arguments required (-1 indicating a variable amount).
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether the command requires the game to be running for execution.
+     *
+     * @return True if the game must be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Generates a description of the command including usage instructions and requirements.
+     *
+     * @param commandName The name of the command.
+     * @return The description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        String message = String.format(DESCRIPTION_MESSAGE, commandName, commandName);
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_RUNNING_MESSAGE, message);
+    }
+}
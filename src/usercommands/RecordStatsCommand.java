@@ -0,0 +1,125 @@
+package usercommands;
+
+import model.GameSystem;
+import model.StatsRecorder;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+import static model.ConstantErrorMessages.REQUIRES_GAME_RUNNING_MESSAGE;
+
+/**
+ * Represents a command to record the statistics of the running game into a statistics file.
+ * <p>
+ * A row is recorded right away and then every given amount of steps, until the game ends or the recording is turned
+ * off. The file can be converted into a CSV file with 'convert-stats'.
+ * </p>
+ *
+ * @author uenqh
+ * @see StatsRecorder
+ */
+public class RecordStatsCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = -1;
+    private static final int MIN_ARGUMENTS = 1;
+    private static final int MAX_ARGUMENTS = 3;
+    private static final int PATH_INDEX = 0;
+    private static final int INTERVAL_KEYWORD_INDEX = 1;
+    private static final int INTERVAL_INDEX = 2;
+    private static final long STANDARD_INTERVAL = 1;
+    private static final String DISABLE_ARGUMENT = "off";
+    private static final String INTERVAL_KEYWORD = "every";
+    private static final boolean REQUIRES_GAME_RUNNING = true;
+    private static final String DESCRIPTION_MESSAGE = "Using '%s <path> [every <steps>]', the statistics of the game are "
+        + "recorded into a file every amount of steps, every step if left out. '%s off' stops recording.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final String WRONG_ARGUMENT_AMOUNT_MESSAGE = "please enter a path and an optional 'every <steps>' or 'off'!";
+    private static final String INVALID_PATH_MESSAGE = "the entered path is invalid!";
+    private static final String INVALID_INTERVAL_MESSAGE = "the interval has to be a number greater than 0!";
+    private static final String WRITE_ERROR_MESSAGE = "the statistics file could not be created!";
+    private static final String RECORDING_FORMAT = "Recording statistics to %s.";
+    private static final String STOPPED_FORMAT = "Stopped recording statistics, %s rows were dropped.";
+    private static final long NO_DROPPED_ROWS = 0;
+
+    /**
+     * Executes the command, starting or stopping the recording of statistics.
+     *
+     * @param model            The {@link GameSystem} to execute the command on.
+     * @param commandArguments The path of the statistics file and optionally 'every' and the interval, or 'off'.
+     * @return A {@link CommandResult} indicating the result of the execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        if (commandArguments.length != MIN_ARGUMENTS && (commandArguments.length != MAX_ARGUMENTS
+            || !commandArguments[INTERVAL_KEYWORD_INDEX].equals(INTERVAL_KEYWORD))) {
+            return new CommandResult(CommandResultType.FAILURE, WRONG_ARGUMENT_AMOUNT_MESSAGE);
+        }
+        if (commandArguments.length == MIN_ARGUMENTS && commandArguments[PATH_INDEX].equals(DISABLE_ARGUMENT)) {
+            StatsRecorder statsRecorder = model.getStatsRecorder();
+            long droppedRows = statsRecorder == null ? NO_DROPPED_ROWS : statsRecorder.getDroppedRows();
+            model.setStatsRecorder(null);
+            return new CommandResult(CommandResultType.SUCCESS, STOPPED_FORMAT.formatted(droppedRows));
+        }
+        long interval = STANDARD_INTERVAL;
+        if (commandArguments.length == MAX_ARGUMENTS) {
+            try {
+                interval = Long.parseLong(commandArguments[INTERVAL_INDEX]);
+            } catch (NumberFormatException e) {
+                return new CommandResult(CommandResultType.FAILURE, INVALID_INTERVAL_MESSAGE);
+            }
+            if (interval <= 0) {
+                return new CommandResult(CommandResultType.FAILURE, INVALID_INTERVAL_MESSAGE);
+            }
+        }
+        Path path;
+        try {
+            path = Path.of(commandArguments[PATH_INDEX]);
+        } catch (InvalidPathException e) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_PATH_MESSAGE);
+        }
+        // the previous recording is finished first, it may write to the same file
+        model.setStatsRecorder(null);
+        StatsRecorder statsRecorder;
+        try {
+            statsRecorder = new StatsRecorder(path, interval, model.getInGameAis());
+        } catch (IOException e) {
+            return new CommandResult(CommandResultType.FAILURE, WRITE_ERROR_MESSAGE);
+        }
+        statsRecorder.record(model);
+        model.setStatsRecorder(statsRecorder);
+        return new CommandResult(CommandResultType.SUCCESS, RECORDING_FORMAT.formatted(path));
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return The number of arguments required (-1 indicating a variable amount).
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether the command requires the game to be running for execution.
+     *
+     * @return True if the game must be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Generates a description of the command including usage instructions and requirements.
+     *
+     * @param commandName The name of the command.
+     * @return The description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        String message = String.format(DESCRIPTION_MESSAGE, commandName, commandName);
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_RUNNING_MESSAGE, message);
+    }
+}
@@ -0,0 +1,70 @@
+package usercommands;
+
+import model.GameSystem;
+
+import static model.ConstantErrorMessages.REQUIRES_GAME_RUNNING_MESSAGE;
+
+/**
+ * Represents a command to show the progress of the steps the command 'next' executes in the background.
+ * <p>
+ * The command is accepted while the steps execute, and reports their progress as of the last finished quantum.
+ * </p>
+ *
+ * @author uenqh
+ * @see StopRunCommand
+ */
+public class RunStatusCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 0;
+    private static final boolean REQUIRES_GAME_RUNNING = true;
+    private static final String DESCRIPTION_MESSAGE = "Shows the progress of the steps 'next' executes in the background.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final String NO_BACKGROUND_RUN_MESSAGE = "no steps are executing in the background!";
+
+    /**
+     * Executes the command, showing the progress of the steps executing in the background.
+     *
+     * @param model            The {@link GameSystem} to execute the command on.
+     * @param commandArguments The command arguments (not used).
+     * @return A {@link CommandResult} holding the steps executed, the steps per second and the amount of AIs alive.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        BackgroundRun run = model.getCommandHandler().getBackgroundRun();
+        if (run == null || !run.isRunning()) {
+            return new CommandResult(CommandResultType.FAILURE, NO_BACKGROUND_RUN_MESSAGE);
+        }
+        return new CommandResult(CommandResultType.SUCCESS, run.getStatus());
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return The number of arguments required (0 in this case).
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether the command requires the game to be running for execution.
+     *
+     * @return True if the game must be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Generates a description of the command including usage instructions and requirements.
+     *
+     * @param commandName The name of the command.
+     * @return The description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_RUNNING_MESSAGE, DESCRIPTION_MESSAGE);
+    }
+}
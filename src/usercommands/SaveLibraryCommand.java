@@ -0,0 +1,86 @@
+package usercommands;
+
+import model.AiLibrary;
+import model.GameSystem;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+import static model.ConstantErrorMessages.REQUIRES_GAME_STOPPED_MESSAGE;
+
+/**
+ * Represents a command to write the added AIs into an AI library file.
+ * <p>
+ * The file can be passed to the next session with the startup option {@code --library=<path>}, which loads its AIs
+ * only once a game uses them.
+ * </p>
+ *
+ * @author uenqh
+ * @see AiLibrary
+ */
+public class SaveLibraryCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 1;
+    private static final int PATH_INDEX = 0;
+    private static final boolean REQUIRES_GAME_RUNNING = false;
+    private static final String DESCRIPTION_MESSAGE = "Using '%s <path>', you can write all added AIs into an AI library file.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final String INVALID_PATH_MESSAGE = "the entered path is invalid!";
+    private static final String WRITE_ERROR_MESSAGE = "the AI library could not be written!";
+    private static final String SAVED_FORMAT = "Saved %s AIs.";
+
+    /**
+     * Executes the save library command, writing the added AIs into the library file at the specified path.
+     *
+     * @param model            The {@link GameSystem} to execute the command on.
+     * @param commandArguments The path of the library file.
+     * @return A {@link CommandResult} indicating the result of the execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        Path path;
+        try {
+            path = Path.of(commandArguments[PATH_INDEX]);
+        } catch (InvalidPathException e) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_PATH_MESSAGE);
+        }
+        try {
+            AiLibrary.write(path, model.getAiMap().values(), model.getAiCommandHandler().getAiCommandNameArrayList());
+        } catch (IOException e) {
+            return new CommandResult(CommandResultType.FAILURE, WRITE_ERROR_MESSAGE);
+        }
+        return new CommandResult(CommandResultType.SUCCESS, SAVED_FORMAT.formatted(model.getAiMap().size()));
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return The number of arguments required for the command.
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether the command requires the game to be running for execution.
+     *
+     * @return True if the game must be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Generates a description of the command including usage instructions and requirements.
+     *
+     * @param commandName The name of the command.
+     * @return The description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_STOPPED_MESSAGE, DESCRIPTION_MESSAGE.formatted(commandName));
+    }
+}
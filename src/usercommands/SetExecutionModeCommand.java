@@ -0,0 +1,93 @@
+package usercommands;
+
+import model.ExecutionMode;
+import model.GameSystem;
+
+import static model.ConstantErrorMessages.REQUIRES_GAME_STOPPED_MESSAGE;
+
+/**
+ * Represents a command to choose how the AIs of the following games execute their commands.
+ * <p>
+ * In speculative execution mode, the commands of all AIs of a round are evaluated in parallel and applied in the order
+ * of the round. The results are the same as in sequential execution mode, which is the default.
+ * </p>
+ *
+ * @author uenqh
+ */
+public class SetExecutionModeCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 1;
+    private static final int EXECUTION_MODE_NAME_INDEX = 0;
+    private static final boolean REQUIRES_GAME_RUNNING = false;
+    private static final String EXECUTION_MODES_LISTING_FORMAT = " and ";
+    private static final String DESCRIPTION_MESSAGE = "Using '%s', you get to chose between two execution options :";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s %s.";
+    private static final String UNKNOWN_EXECUTION_MODE_MESSAGE = "the entered execution mode does not exist!";
+    private static final String EXECUTION_MODE_DID_NOT_CHANGE_MESSAGE = null;
+    private static final String SUCCESSFUL_MODE_CHANGE_FORMAT = "Changed execution mode from %s to %s";
+
+    /**
+     * Executes the command, setting the execution mode of the following games.
+     *
+     * @param model            The game system instance.
+     * @param commandArguments The name of the execution mode.
+     * @return A CommandResult indicating the success or failure of the command execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        String executionModeName = commandArguments[EXECUTION_MODE_NAME_INDEX];
+        if (!checkValidExecutionMode(executionModeName)) {
+            return new CommandResult(CommandResultType.FAILURE, UNKNOWN_EXECUTION_MODE_MESSAGE);
+        }
+        ExecutionMode oldMode = model.getExecutionMode();
+        ExecutionMode newMode = ExecutionMode.valueOf(executionModeName);
+        if (oldMode == newMode) {
+            return new CommandResult(CommandResultType.SUCCESS, EXECUTION_MODE_DID_NOT_CHANGE_MESSAGE);
+        }
+        model.setExecutionMode(newMode);
+        return new CommandResult(CommandResultType.SUCCESS, SUCCESSFUL_MODE_CHANGE_FORMAT.formatted(oldMode, newMode));
+    }
+
+    /**
+     * Gets the number of arguments this command expects.
+     *
+     * @return The number of arguments expected by the command.
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether this command requires the game to be running.
+     *
+     * @return True if the command requires the game to be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Provides a description of the command for display to users.
+     *
+     * @param commandName The name of the command.
+     * @return A description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        String message = String.format(DESCRIPTION_MESSAGE, commandName);
+        String executionModes = ExecutionMode.EXECUTION_MODE_SEQUENTIAL + EXECUTION_MODES_LISTING_FORMAT
+            + ExecutionMode.EXECUTION_MODE_SPECULATIVE;
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_STOPPED_MESSAGE, message, executionModes);
+    }
+
+    private boolean checkValidExecutionMode(String executionModeName) {
+        for (ExecutionMode mode : ExecutionMode.values()) {
+            if (mode.toString().equals(executionModeName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
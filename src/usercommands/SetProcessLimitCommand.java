@@ -0,0 +1,86 @@
+package usercommands;
+
+import model.GameSystem;
+
+import static model.ConstantErrorMessages.REQUIRES_GAME_STOPPED_MESSAGE;
+
+/**
+ * Represents a command to set the amount of processes every AI runs at most in the following games.
+ * <p>
+ * AIs split off processes with the AI-Command 'SPL'. Once an AI runs as many processes as the limit allows, it splits
+ * off no further processes until one of them stops.
+ * </p>
+ *
+ * @author uenqh
+ * @see SetWeightCommand
+ */
+public class SetProcessLimitCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 1;
+    private static final int LIMIT_INDEX = 0;
+    private static final int MIN_PROCESS_LIMIT = 1;
+    private static final int MAX_PROCESS_LIMIT = 1 << 20;
+    private static final boolean REQUIRES_GAME_RUNNING = false;
+    private static final String DESCRIPTION_MESSAGE
+        = "Using '%s <limit>', every AI runs at most as many processes as the limit in the following games.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final String LIMIT_OUT_OF_BOUNDS_FORMAT = "the process limit has to be a number between %s and %s!";
+    private static final String SUCCESSFUL_LIMIT_CHANGE_FORMAT = "Changed process limit from %s to %s";
+
+    /**
+     * Executes the command, setting the process limit of the following games.
+     *
+     * @param model            The game system instance.
+     * @param commandArguments The new process limit.
+     * @return A CommandResult indicating the success or failure of the command execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        int limit;
+        try {
+            limit = Integer.parseInt(commandArguments[LIMIT_INDEX]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE,
+                LIMIT_OUT_OF_BOUNDS_FORMAT.formatted(MIN_PROCESS_LIMIT, MAX_PROCESS_LIMIT));
+        }
+        if (limit < MIN_PROCESS_LIMIT || limit > MAX_PROCESS_LIMIT) {
+            return new CommandResult(CommandResultType.FAILURE,
+                LIMIT_OUT_OF_BOUNDS_FORMAT.formatted(MIN_PROCESS_LIMIT, MAX_PROCESS_LIMIT));
+        }
+        int oldLimit = model.getProcessLimit();
+        model.setProcessLimit(limit);
+        return new CommandResult(CommandResultType.SUCCESS, SUCCESSFUL_LIMIT_CHANGE_FORMAT.formatted(oldLimit, limit));
+    }
+
+    /**
+     * Gets the number of arguments this command expects.
+     *
+     * @return The number of arguments expected by the command.
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether this command requires the game to be running.
+     *
+     * @return True if the command requires the game to be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Provides a description of the command for display to users.
+     *
+     * @param commandName The name of the command.
+     * @return A description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        String message = String.format(DESCRIPTION_MESSAGE, commandName);
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_STOPPED_MESSAGE, message);
+    }
+}
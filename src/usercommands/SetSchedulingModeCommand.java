@@ -0,0 +1,98 @@
+package usercommands;
+
+import model.GameSystem;
+import model.SchedulingMode;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static model.ConstantErrorMessages.REQUIRES_GAME_STOPPED_MESSAGE;
+
+/**
+ * Represents a command to choose in which order the AIs of the following games take their turns.
+ * <p>
+ * Round-robin scheduling is the default. The weighted and time-slice modes let every AI execute as many commands per
+ * turn as its weight, which is set using {@link SetWeightCommand}, the random mode shuffles every round with the seed
+ * of the game. Speculative execution only applies to round-robin scheduling.
+ * </p>
+ *
+ * @author uenqh
+ */
+public class SetSchedulingModeCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 1;
+    private static final int SCHEDULING_MODE_NAME_INDEX = 0;
+    private static final boolean REQUIRES_GAME_RUNNING = false;
+    private static final String SCHEDULING_MODES_LISTING_FORMAT = ", ";
+    private static final String DESCRIPTION_MESSAGE = "Using '%s', you get to chose the order in which the AIs take their turns :";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s %s.";
+    private static final String UNKNOWN_SCHEDULING_MODE_MESSAGE = "the entered scheduling mode does not exist!";
+    private static final String SCHEDULING_MODE_DID_NOT_CHANGE_MESSAGE = null;
+    private static final String SUCCESSFUL_MODE_CHANGE_FORMAT = "Changed scheduling mode from %s to %s";
+
+    /**
+     * Executes the command, setting the scheduling mode of the following games.
+     *
+     * @param model            The game system instance.
+     * @param commandArguments The name of the scheduling mode.
+     * @return A CommandResult indicating the success or failure of the command execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        String schedulingModeName = commandArguments[SCHEDULING_MODE_NAME_INDEX];
+        if (!checkValidSchedulingMode(schedulingModeName)) {
+            return new CommandResult(CommandResultType.FAILURE, UNKNOWN_SCHEDULING_MODE_MESSAGE);
+        }
+        SchedulingMode oldMode = model.getSchedulingMode();
+        SchedulingMode newMode = SchedulingMode.valueOf(schedulingModeName);
+        if (oldMode == newMode) {
+            return new CommandResult(CommandResultType.SUCCESS, SCHEDULING_MODE_DID_NOT_CHANGE_MESSAGE);
+        }
+        model.setSchedulingMode(newMode);
+        return new CommandResult(CommandResultType.SUCCESS, SUCCESSFUL_MODE_CHANGE_FORMAT.formatted(oldMode, newMode));
+    }
+
+    /**
+     * Gets the number of arguments this command expects.
+     *
+     * @return The number of arguments expected by the command.
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether this command requires the game to be running.
+     *
+     * @return True if the command requires the game to be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Provides a description of the command for display to users.
+     *
+     * @param commandName The name of the command.
+     * @return A description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        String message = String.format(DESCRIPTION_MESSAGE, commandName);
+        String schedulingModes = Arrays.stream(SchedulingMode.values())
+            .map(SchedulingMode::toString)
+            .collect(Collectors.joining(SCHEDULING_MODES_LISTING_FORMAT));
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_STOPPED_MESSAGE, message, schedulingModes);
+    }
+
+    private boolean checkValidSchedulingMode(String schedulingModeName) {
+        for (SchedulingMode mode : SchedulingMode.values()) {
+            if (mode.toString().equals(schedulingModeName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,97 @@
+package usercommands;
+
+import model.GameSystem;
+
+import java.io.IOException;
+
+import static model.ConstantErrorMessages.LIBRARY_ERROR_FORMAT;
+import static model.ConstantErrorMessages.REQUIRES_GAME_STOPPED_MESSAGE;
+
+/**
+ * Represents a command to set the weight of an AI for the following games.
+ * <p>
+ * The weight is the amount of commands the AI executes per turn under the weighted and time-slice scheduling modes,
+ * so handicap matches can be played without loading an AI several times.
+ * </p>
+ *
+ * @author uenqh
+ * @see SetSchedulingModeCommand
+ */
+public class SetWeightCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 2;
+    private static final int AI_NAME_INDEX = 0;
+    private static final int WEIGHT_INDEX = 1;
+    private static final int MIN_WEIGHT = 1;
+    private static final int MAX_WEIGHT = 1 << 16;
+    private static final boolean REQUIRES_GAME_RUNNING = false;
+    private static final String DESCRIPTION_MESSAGE
+        = "Using '%s <AI> <weight>', an AI executes as many commands per turn as its weight in weighted scheduling modes.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final String UNKNOWN_AI_MESSAGE = "the entered AI does not exist!";
+    private static final String WEIGHT_OUT_OF_BOUNDS_FORMAT = "the weight has to be a number between %s and %s!";
+    private static final String SUCCESSFUL_WEIGHT_CHANGE_FORMAT = "Changed weight of %s from %s to %s";
+
+    /**
+     * Executes the command, setting the weight of an AI.
+     *
+     * @param model            The game system instance.
+     * @param commandArguments The name of the AI and its weight.
+     * @return A CommandResult indicating the success or failure of the command execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        String aiName = commandArguments[AI_NAME_INDEX];
+        try {
+            if (model.resolveAi(aiName) == null) {
+                return new CommandResult(CommandResultType.FAILURE, UNKNOWN_AI_MESSAGE);
+            }
+        } catch (IOException e) {
+            return new CommandResult(CommandResultType.FAILURE, LIBRARY_ERROR_FORMAT.formatted(e.getMessage()));
+        }
+        int weight;
+        try {
+            weight = Integer.parseInt(commandArguments[WEIGHT_INDEX]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, WEIGHT_OUT_OF_BOUNDS_FORMAT.formatted(MIN_WEIGHT, MAX_WEIGHT));
+        }
+        if (weight < MIN_WEIGHT || weight > MAX_WEIGHT) {
+            return new CommandResult(CommandResultType.FAILURE, WEIGHT_OUT_OF_BOUNDS_FORMAT.formatted(MIN_WEIGHT, MAX_WEIGHT));
+        }
+        int oldWeight = model.getAiWeight(aiName);
+        model.setAiWeight(aiName, weight);
+        return new CommandResult(CommandResultType.SUCCESS, SUCCESSFUL_WEIGHT_CHANGE_FORMAT.formatted(aiName, oldWeight, weight));
+    }
+
+    /**
+     * Gets the number of arguments this command expects.
+     *
+     * @return The number of arguments expected by the command.
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether this command requires the game to be running.
+     *
+     * @return True if the command requires the game to be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Provides a description of the command for display to users.
+     *
+     * @param commandName The name of the command.
+     * @return A description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        String message = String.format(DESCRIPTION_MESSAGE, commandName);
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_STOPPED_MESSAGE, message);
+    }
+}
@@ -1,27 +1,38 @@
 package usercommands;
 
 import model.Ai;
+import model.AiProfile;
 import model.GameStorageCell;
 import model.GameSystem;
 
+import java.util.ArrayList;
+
 import static model.ConstantErrorMessages.REQUIRES_GAME_RUNNING_MESSAGE;
 import static model.Constants.BETWEEN_NAME_AND_ID_PLACEHOLDER;
+import static model.Constants.SHOW_AI_COMMAND_NAME;
+import static model.Constants.WRONG_ARGUMENTS_COUNT_FORMAT;
 
 /**
  * Represents a command to show the current status of a specific AI in the game system.
  * <p>
  * This command displays the current status of a given AI.
+ * If the profile option is entered, the execution profile of the AI is displayed as well.
  * </p>
  *
  * @author uenqh
  */
 public class ShowAiCommand implements Command {
 
-    private static final int NUMBER_OF_ARGUMENTS = 1;
+    private static final int NUMBER_OF_ARGUMENTS = -1;
+    private static final int LEAST_NUMBER_OF_ARGUMENTS = 1;
+    private static final int MOST_NUMBER_OF_ARGUMENTS = 2;
     private static final boolean REQUIRES_GAME_RUNNING = true;
     private static final String DESCRIPTION_MESSAGE = "'%s' shows you the current status of any currently playing AI.";
-    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final String PROFILE_DESCRIPTION_FORMAT = "Add '%s' to also see its execution profile.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s %s";
     private static final int AI_NAME_INDEX = 0;
+    private static final int OPTION_INDEX = 1;
+    private static final String PROFILE_OPTION = "--profile";
     private static final int UNIQUE_AI_ID = -1;
     private static final String RUNNING_MESSAGE = "RUNNING";
     private static final String STOPPED_MESSAGE = "STOPPED";
@@ -30,9 +41,26 @@ public class ShowAiCommand implements Command {
     private static final String GAME_STORAGE_CELL_FORMAT = "%s|%s|%s";
     private static final String BREAK_LINE = "\n";
     private static final String UNKNOWN_AI_NAME = "The entered AI does not exist!";
+    private static final String UNKNOWN_OPTION_FORMAT = "the only known option for '%s' is '%s'!";
+    private static final String INSTRUCTIONS_MESSAGE = "Instructions:";
+    private static final String INSTRUCTION_COUNT_FORMAT = " %s=%s";
+    private static final String INSTRUCTION_PARTITION = ",";
+    private static final String CELLS_WRITTEN_FORMAT = "Cells written: %s";
+    private static final String BOMBS_PLANTED_FORMAT = "Bombs planted: %s";
+    private static final String CELLS_OWNED_FORMAT = "Cells owned: %s";
+    private static final String PROCESSES_FORMAT = "Processes: %s";
+    private static final int SINGLE_PROCESS = 1;
 
     @Override
     public CommandResult execute(GameSystem model, String[] commandArguments) {
+        if (commandArguments.length < LEAST_NUMBER_OF_ARGUMENTS || commandArguments.length > MOST_NUMBER_OF_ARGUMENTS) {
+            return new CommandResult(CommandResultType.FAILURE, WRONG_ARGUMENTS_COUNT_FORMAT.formatted(SHOW_AI_COMMAND_NAME));
+        }
+        boolean showProfile = commandArguments.length == MOST_NUMBER_OF_ARGUMENTS;
+        if (showProfile && !commandArguments[OPTION_INDEX].equals(PROFILE_OPTION)) {
+            return new CommandResult(CommandResultType.FAILURE,
+                UNKNOWN_OPTION_FORMAT.formatted(SHOW_AI_COMMAND_NAME, PROFILE_OPTION));
+        }
         String aiName = commandArguments[AI_NAME_INDEX];
 
         if (!checkNameExists(model, aiName)) {
@@ -40,14 +68,21 @@ public class ShowAiCommand implements Command {
         }
 
         Ai ai = getAi(model, aiName);
-        String status = isAlive(model, aiName) ? RUNNING_MESSAGE : STOPPED_MESSAGE;
+        String status = ai.getAliveStatus() ? RUNNING_MESSAGE : STOPPED_MESSAGE;
         String message = String.format(STATUS_FORMAT, aiName, status, ai.getRoundCounter());
 
-        if (isAlive(model, aiName)) {
+        if (ai.getAliveStatus()) {
             GameStorageCell cell = model.getGameStorage().getCells().get(ai.getPointerIndex());
             String nextAction = String.format(GAME_STORAGE_CELL_FORMAT, cell.getCommand(), cell.getEntryA(), cell.getEntryB());
             int adjustedPoint = ai.getPointerIndex() % model.getGameStorage().getSize();
             message += BREAK_LINE + String.format(NEXT_ACTION_FORMAT, nextAction, adjustedPoint);
+            // AIs that never split keep the output they had before processes existed
+            if (ai.getProcessCount() > SINGLE_PROCESS) {
+                message += BREAK_LINE + String.format(PROCESSES_FORMAT, ai.getProcessCount());
+            }
+        }
+        if (showProfile) {
+            message += BREAK_LINE + buildProfileMessage(model, ai);
         }
 
         return new CommandResult(CommandResultType.SUCCESS, message);
@@ -66,7 +101,25 @@ public class ShowAiCommand implements Command {
     @Override
     public String getDescription(String commandName) {
         String message = String.format(DESCRIPTION_MESSAGE, commandName);
-        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_RUNNING_MESSAGE, message);
+        String profileMessage = String.format(PROFILE_DESCRIPTION_FORMAT, PROFILE_OPTION);
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_RUNNING_MESSAGE, message, profileMessage);
+    }
+
+    private String buildProfileMessage(GameSystem model, Ai ai) {
+        AiProfile profile = ai.getProfile();
+        int ownedCells = model.getGameStorage().getTerritory().getCellsOwned(ai.getInGameNumber());
+        ArrayList<String> opcodes = model.getAiCommandHandler().getAiCommandNameArrayList();
+        StringBuilder message = new StringBuilder(INSTRUCTIONS_MESSAGE);
+        for (int opcode = 0; opcode < opcodes.size(); opcode++) {
+            message.append(INSTRUCTION_COUNT_FORMAT.formatted(opcodes.get(opcode), profile.getInstructionCount(opcode)));
+            if (opcode != opcodes.size() - 1) {
+                message.append(INSTRUCTION_PARTITION);
+            }
+        }
+        message.append(BREAK_LINE).append(CELLS_WRITTEN_FORMAT.formatted(profile.getCellsWritten()))
+            .append(BREAK_LINE).append(BOMBS_PLANTED_FORMAT.formatted(profile.getBombsPlanted()))
+            .append(BREAK_LINE).append(CELLS_OWNED_FORMAT.formatted(ownedCells));
+        return message.toString();
     }
 
     private boolean checkNameExists(GameSystem model, String aiName) {
@@ -88,15 +141,4 @@ public class ShowAiCommand implements Command {
         }
         return null;
     }
-
-    private boolean isAlive(GameSystem model, String aiName) {
-        for (Ai ai : model.getAliveAis()) {
-            if (aiName.equals(ai.getName())) {
-                return true;
-            } else if (aiName.equals(ai.getName() + BETWEEN_NAME_AND_ID_PLACEHOLDER + ai.getId())) {
-                return true;
-            }
-        }
-        return false;
-    }
 }
@@ -0,0 +1,85 @@
+package usercommands;
+
+import model.Ai;
+import model.GameSystem;
+import model.TerritoryIndex;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+
+import static model.ConstantErrorMessages.REQUIRES_GAME_RUNNING_MESSAGE;
+
+/**
+ * Represents a command to show how many cells each AI of the running game currently owns.
+ * <p>
+ * The AIs are ranked by their territory, AIs owning the same amount of cells keep their in-game order.
+ * The amounts are taken from the territory index of the game storage, so no cells have to be scanned.
+ * </p>
+ *
+ * @author uenqh
+ */
+public class ShowTerritoryCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 0;
+    private static final boolean REQUIRES_GAME_RUNNING = true;
+    private static final String DESCRIPTION_MESSAGE = "'%s' ranks all playing AIs by the amount of cells they currently own.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final String TERRITORY_FORMAT = "%s. %s: %s";
+    private static final String LINE_BREAK = "\n";
+
+    /**
+     * Executes the command to show the territory ranking.
+     *
+     * @param model            The GameSystem instance.
+     * @param commandArguments The command arguments (not used).
+     * @return The result of the command execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        TerritoryIndex territory = model.getGameStorage().getTerritory();
+        ArrayList<Ai> ranking = new ArrayList<>(model.getInGameAis());
+        ranking.sort(Comparator.comparingInt((Ai ai) -> territory.getCellsOwned(ai.getInGameNumber())).reversed());
+
+        StringBuilder message = new StringBuilder();
+        for (int i = 0; i < ranking.size(); i++) {
+            Ai ai = ranking.get(i);
+            message.append(TERRITORY_FORMAT.formatted(i + 1, ai.getDisplayName(), territory.getCellsOwned(ai.getInGameNumber())));
+            if (i != ranking.size() - 1) {
+                message.append(LINE_BREAK);
+            }
+        }
+        return new CommandResult(CommandResultType.SUCCESS, message.toString());
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return The number of arguments required (0 in this case).
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Specifies whether the command requires the game to be running.
+     *
+     * @return True, as this command requires the game to be running.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Retrieves the description of the command.
+     *
+     * @param commandName The name of the command.
+     * @return The description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        String message = String.format(DESCRIPTION_MESSAGE, commandName);
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_RUNNING_MESSAGE, message);
+    }
+}
@@ -0,0 +1,133 @@
+package usercommands;
+
+import model.AiProgram;
+import model.GameSystem;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static model.ConstantErrorMessages.LIBRARY_ERROR_FORMAT;
+import static model.ConstantErrorMessages.REQUIRES_GAME_STOPPED_MESSAGE;
+import static model.Constants.START_BATTLE_COMMAND_NAME;
+import static model.Constants.WRONG_ARGUMENTS_COUNT_FORMAT;
+
+/**
+ * Represents a command to start a free-for-all game in which every AI takes part with many copies.
+ * <p>
+ * The copies are loaded round by round, one copy of every AI per round, so copies of the same AI do not start next to
+ * each other. Like for {@link StartGameCommand}, copies of the same AI are told apart by their IDs.
+ * This command requires the game to be stopped before execution.
+ * </p>
+ *
+ * @author uenqh
+ */
+public class StartBattleCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = -1;
+    private static final int ARGUMENTS_PER_AI = 2;
+    private static final int NAME_OFFSET = 0;
+    private static final int COPIES_OFFSET = 1;
+    private static final int MIN_COPIES = 1;
+    private static final int LEAST_AMOUNT_OF_AIS = 2;
+    private static final boolean REQUIRES_GAME_RUNNING = false;
+    private static final String DESCRIPTION_MESSAGE
+        = "Using '%s <AI> <copies> [<AI> <copies>...]', you can start a new game with many copies of previously added AIs.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final String WRONG_ARGUMENT_TYPE_MESSAGE = "the amount of copies has to be a number!";
+    private static final String TOO_FEW_COPIES_FORMAT = "every AI has to take part with at least %s copy!";
+    private static final String AMOUNT_OF_AIS_OUT_OF_BOUNDS_FORMAT = "the game has to hold between %s and %s AIs!";
+    private static final String UNKNOWN_AI_MESSAGE = "the entered AI names could not be found!";
+    private static final String INVALID_AI_ARGUMENT_LENGTH = "the entered AIs have more parameters to load than the storages size!";
+    private static final String GAME_STARTED_MESSAGE = "Game started.";
+
+    /**
+     * Executes the start battle command, starting a game with the requested amount of copies of every AI.
+     *
+     * @param model            The {@link GameSystem} to execute the command on.
+     * @param commandArguments Pairs of AI names and amounts of copies.
+     * @return A {@link CommandResult} indicating the result of the execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        if (commandArguments.length == 0 || commandArguments.length % ARGUMENTS_PER_AI != 0) {
+            return new CommandResult(CommandResultType.FAILURE, String.format(WRONG_ARGUMENTS_COUNT_FORMAT, START_BATTLE_COMMAND_NAME));
+        }
+        int entries = commandArguments.length / ARGUMENTS_PER_AI;
+        List<AiProgram> programs = new ArrayList<>();
+        int[] copies = new int[entries];
+        long total = 0;
+        for (int i = 0; i < entries; i++) {
+            try {
+                copies[i] = Integer.parseInt(commandArguments[i * ARGUMENTS_PER_AI + COPIES_OFFSET]);
+            } catch (NumberFormatException e) {
+                return new CommandResult(CommandResultType.FAILURE, WRONG_ARGUMENT_TYPE_MESSAGE);
+            }
+            if (copies[i] < MIN_COPIES) {
+                return new CommandResult(CommandResultType.FAILURE, TOO_FEW_COPIES_FORMAT.formatted(MIN_COPIES));
+            }
+            AiProgram program;
+            try {
+                program = model.resolveAi(commandArguments[i * ARGUMENTS_PER_AI + NAME_OFFSET]);
+            } catch (IOException e) {
+                return new CommandResult(CommandResultType.FAILURE, LIBRARY_ERROR_FORMAT.formatted(e.getMessage()));
+            }
+            if (program == null) {
+                return new CommandResult(CommandResultType.FAILURE, UNKNOWN_AI_MESSAGE);
+            }
+            programs.add(program);
+            total += copies[i];
+        }
+        if (total < LEAST_AMOUNT_OF_AIS || total > model.getMaxAmountOfAis()) {
+            return new CommandResult(CommandResultType.FAILURE,
+                AMOUNT_OF_AIS_OUT_OF_BOUNDS_FORMAT.formatted(LEAST_AMOUNT_OF_AIS, model.getMaxAmountOfAis()));
+        }
+        long allowableSpace = model.getGameStorage().getSize() / total;
+        if (programs.stream().anyMatch(program -> program.getInstructions().size() > allowableSpace)) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_AI_ARGUMENT_LENGTH);
+        }
+
+        List<AiProgram> battle = new ArrayList<>((int) total);
+        for (int round = 0; battle.size() < total; round++) {
+            for (int i = 0; i < entries; i++) {
+                if (round < copies[i]) {
+                    battle.add(programs.get(i));
+                }
+            }
+        }
+        model.startGame(battle);
+        return new CommandResult(CommandResultType.SUCCESS, GAME_STARTED_MESSAGE);
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return The number of arguments required for the command.
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether the command requires the game to be running for execution.
+     *
+     * @return True if the game must be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Generates a description of the command including usage instructions and requirements.
+     *
+     * @param commandName The name of the command.
+     * @return A description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        String message = String.format(DESCRIPTION_MESSAGE, commandName);
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_STOPPED_MESSAGE, message);
+    }
+}
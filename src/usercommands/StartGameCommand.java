@@ -1,10 +1,13 @@
 package usercommands;
 
-import model.Ai;
+import model.AiProgram;
 import model.GameSystem;
 
-import java.util.Arrays;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
+import static model.ConstantErrorMessages.LIBRARY_ERROR_FORMAT;
 import static model.ConstantErrorMessages.REQUIRES_GAME_STOPPED_MESSAGE;
 import static model.Constants.START_GAME_COMMAND_NAME;
 import static model.Constants.WRONG_ARGUMENTS_COUNT_FORMAT;
@@ -41,17 +44,25 @@ public class StartGameCommand implements Command {
             String message = String.format(WRONG_ARGUMENTS_COUNT_FORMAT, START_GAME_COMMAND_NAME);
             return new CommandResult(CommandResultType.FAILURE, message);
         }
-        if (!checkIfAisExist(model, commandArguments)) {
-            return new CommandResult(CommandResultType.FAILURE, UNKNOWN_AI_MESSAGE);
+        List<AiProgram> programs = new ArrayList<>();
+        for (String name : commandArguments) {
+            AiProgram program;
+            try {
+                // AIs of the library are only loaded once a game uses them
+                program = model.resolveAi(name);
+            } catch (IOException e) {
+                return new CommandResult(CommandResultType.FAILURE, LIBRARY_ERROR_FORMAT.formatted(e.getMessage()));
+            }
+            if (program == null) {
+                return new CommandResult(CommandResultType.FAILURE, UNKNOWN_AI_MESSAGE);
+            }
+            programs.add(program);
         }
-        if (!checkAiArgumentLength(model, commandArguments)) {
+        if (!checkAiArgumentLength(model, programs)) {
             return new CommandResult(CommandResultType.FAILURE, INVALID_AI_ARGUMENT_LENGTH);
         }
 
-
-        String[] aiList = Arrays.copyOf(commandArguments, commandArguments.length);
-
-        model.startGame(aiList);
+        model.startGame(programs);
         return new CommandResult(CommandResultType.SUCCESS, GAME_STARTED_MESSAGE);
     }
 
@@ -91,21 +102,11 @@ public class StartGameCommand implements Command {
         return commandArguments.length >= LEAST_NUMBER_OF_ARGUMENTS && commandArguments.length <= model.getMaxAmountOfAis();
     }
 
-    private boolean checkAiArgumentLength(GameSystem model, String[] commandArguments) {
+    private boolean checkAiArgumentLength(GameSystem model, List<AiProgram> programs) {
         int storageSize = model.getGameStorage().getSize();
-        int numberOfAis = commandArguments.length;
-        int allowableSpace = storageSize / numberOfAis;
-        for (Ai ai : model.getInGameAis()) {
-            if (ai.getArguments().size() > allowableSpace) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    private boolean checkIfAisExist(GameSystem model, String[] commandArguments) {
-        for (String s : commandArguments) {
-            if (!model.getAiMap().containsKey(s)) {
+        int allowableSpace = storageSize / programs.size();
+        for (AiProgram program : programs) {
+            if (program.getInstructions().size() > allowableSpace) {
                 return false;
             }
         }
@@ -0,0 +1,73 @@
+package usercommands;
+
+import model.GameSystem;
+
+import static model.ConstantErrorMessages.REQUIRES_GAME_RUNNING_MESSAGE;
+
+/**
+ * Represents a command to cancel the steps the command 'next' executes in the background.
+ * <p>
+ * The steps stop after their current quantum, so the game is consistent once the command returns and can be continued
+ * with 'next'.
+ * </p>
+ *
+ * @author uenqh
+ * @see RunStatusCommand
+ */
+public class StopRunCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 0;
+    private static final boolean REQUIRES_GAME_RUNNING = true;
+    private static final String DESCRIPTION_MESSAGE = "Stops the steps 'next' executes in the background.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final String NO_BACKGROUND_RUN_MESSAGE = "no steps are executing in the background!";
+    private static final String STOPPED_FORMAT = "Stopped the steps in the background after %d steps.";
+
+    /**
+     * Executes the command, cancelling the steps executing in the background and waiting for them to stop.
+     *
+     * @param model            The {@link GameSystem} to execute the command on.
+     * @param commandArguments The command arguments (not used).
+     * @return A {@link CommandResult} holding the amount of steps executed.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        BackgroundRun run = model.getCommandHandler().getBackgroundRun();
+        if (run == null || !run.isRunning()) {
+            return new CommandResult(CommandResultType.FAILURE, NO_BACKGROUND_RUN_MESSAGE);
+        }
+        run.cancel();
+        return new CommandResult(CommandResultType.SUCCESS, STOPPED_FORMAT.formatted(run.getStepsDone()));
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return The number of arguments required (0 in this case).
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether the command requires the game to be running for execution.
+     *
+     * @return True if the game must be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Generates a description of the command including usage instructions and requirements.
+     *
+     * @param commandName The name of the command.
+     * @return The description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_RUNNING_MESSAGE, DESCRIPTION_MESSAGE);
+    }
+}
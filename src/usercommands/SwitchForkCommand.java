@@ -0,0 +1,87 @@
+package usercommands;
+
+import model.GameSystem;
+
+import static model.ConstantErrorMessages.REQUIRES_GAME_RUNNING_MESSAGE;
+
+/**
+ * Represents a command to continue the running game with another fork.
+ * <p>
+ * The current state of the game is kept as the previously active fork, so switching back continues where it was left.
+ * Fork 0 is the game as it was started.
+ * </p>
+ *
+ * @author uenqh
+ * @see ForkGameCommand
+ */
+public class SwitchForkCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 1;
+    private static final int FORK_INDEX = 0;
+    private static final boolean REQUIRES_GAME_RUNNING = true;
+    private static final String DESCRIPTION_MESSAGE = "Using '%s <fork>', the game continues with the entered fork, "
+        + "while its current state is kept under the number of the active fork.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final String UNKNOWN_FORK_MESSAGE = "the entered fork does not exist!";
+    private static final String ACTIVE_FORK_MESSAGE = "the entered fork is already active!";
+    private static final String SWITCHED_FORMAT = "Switched from fork %d to fork %d at step %d.";
+
+    /**
+     * Executes the command, continuing the game with another fork.
+     *
+     * @param model            The {@link GameSystem} to execute the command on.
+     * @param commandArguments The number of the fork to switch to.
+     * @return A {@link CommandResult} indicating the result of the execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        int fork;
+        try {
+            fork = Integer.parseInt(commandArguments[FORK_INDEX]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, UNKNOWN_FORK_MESSAGE);
+        }
+        int activeFork = model.getActiveFork();
+        if (fork == activeFork) {
+            return new CommandResult(CommandResultType.FAILURE, ACTIVE_FORK_MESSAGE);
+        }
+        if (!model.getForks().containsKey(fork)) {
+            return new CommandResult(CommandResultType.FAILURE, UNKNOWN_FORK_MESSAGE);
+        }
+        model.switchFork(fork);
+        return new CommandResult(CommandResultType.SUCCESS,
+            SWITCHED_FORMAT.formatted(activeFork, fork, model.getGameStorage().getStep()));
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return The number of arguments required (1).
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether the command requires the game to be running for execution.
+     *
+     * @return True if the game must be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Generates a description of the command including usage instructions and requirements.
+     *
+     * @param commandName The name of the command.
+     * @return The description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        String message = String.format(DESCRIPTION_MESSAGE, commandName);
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_RUNNING_MESSAGE, message);
+    }
+}
@@ -0,0 +1,139 @@
+package usercommands;
+
+import model.AiProgram;
+import model.GameSystem;
+import model.MatchCache;
+import model.Tournament;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static model.ConstantErrorMessages.LIBRARY_ERROR_FORMAT;
+import static model.ConstantErrorMessages.REQUIRES_GAME_STOPPED_MESSAGE;
+import static model.Constants.TOURNAMENT_COMMAND_NAME;
+import static model.Constants.WRONG_ARGUMENTS_COUNT_FORMAT;
+
+/**
+ * Represents a command to play a round-robin tournament between previously added AIs.
+ * <p>
+ * The matches are played headless on isolated game instances with the current storage size, initialization mode and
+ * seed, so the running game system is not touched. Their results are kept in a cache file, so repeating a tournament
+ * only plays the matches that were not played with the same programs and settings before.
+ * </p>
+ *
+ * @author uenqh
+ * @see Tournament
+ * @see MatchCache
+ */
+public class TournamentCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = -1;
+    private static final int LEAST_NUMBER_OF_ARGUMENTS = 3;
+    private static final int CACHE_INDEX = 0;
+    private static final int FIRST_CONTESTANT_INDEX = 1;
+    private static final int STEPS_PER_CELL = 4;
+    private static final boolean REQUIRES_GAME_RUNNING = false;
+    private static final String DESCRIPTION_MESSAGE = "Using '%s <cache> <AIs>', every AI plays every other AI twice and "
+        + "the AIs are ranked by their points, the results are cached in the file <cache>.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final String INVALID_PATH_MESSAGE = "the entered path is invalid!";
+    private static final String UNKNOWN_AI_MESSAGE = "the entered AIs could not be found!";
+    private static final String CACHE_ERROR_FORMAT = "the match cache could not be opened, %s!";
+    private static final String CACHE_WRITE_ERROR_MESSAGE = "the results could not be written to the match cache!";
+    private static final String SUMMARY_FORMAT = "Played %s matches, %s were taken from the cache.";
+    private static final String STANDING_FORMAT = "%s. %s: %s points, %s wins, %s draws, %s losses";
+    private static final String LINE_BREAK = "\n";
+
+    /**
+     * Executes the tournament command, playing every match and ranking the AIs.
+     *
+     * @param model            The {@link GameSystem} to execute the command on.
+     * @param commandArguments The path of the cache file and the names of the AIs.
+     * @return A {@link CommandResult} indicating the result of the execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        if (commandArguments.length < LEAST_NUMBER_OF_ARGUMENTS) {
+            return new CommandResult(CommandResultType.FAILURE, String.format(WRONG_ARGUMENTS_COUNT_FORMAT, TOURNAMENT_COMMAND_NAME));
+        }
+        List<AiProgram> contestants = new ArrayList<>();
+        for (int i = FIRST_CONTESTANT_INDEX; i < commandArguments.length; i++) {
+            AiProgram program;
+            try {
+                program = model.resolveAi(commandArguments[i]);
+            } catch (IOException e) {
+                return new CommandResult(CommandResultType.FAILURE, LIBRARY_ERROR_FORMAT.formatted(e.getMessage()));
+            }
+            if (program == null) {
+                return new CommandResult(CommandResultType.FAILURE, UNKNOWN_AI_MESSAGE);
+            }
+            contestants.add(program);
+        }
+        Path path;
+        try {
+            path = Path.of(commandArguments[CACHE_INDEX]);
+        } catch (InvalidPathException e) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_PATH_MESSAGE);
+        }
+        MatchCache cache;
+        try {
+            cache = MatchCache.open(path);
+        } catch (IOException e) {
+            return new CommandResult(CommandResultType.FAILURE, CACHE_ERROR_FORMAT.formatted(e.getMessage()));
+        }
+
+        long stepCap = (long) model.getGameStorage().getSize() * STEPS_PER_CELL;
+        Tournament tournament = new Tournament(model, contestants, stepCap, cache);
+        tournament.play();
+        try {
+            cache.close();
+        } catch (IOException e) {
+            return new CommandResult(CommandResultType.FAILURE, CACHE_WRITE_ERROR_MESSAGE);
+        }
+
+        StringBuilder message = new StringBuilder(SUMMARY_FORMAT.formatted(tournament.getMatchesPlayed(), cache.getHits()));
+        List<Integer> ranking = tournament.getRanking();
+        for (int i = 0; i < ranking.size(); i++) {
+            int contestant = ranking.get(i);
+            message.append(LINE_BREAK).append(STANDING_FORMAT.formatted(i + 1, contestants.get(contestant).getName(),
+                tournament.getPoints(contestant), tournament.getWins(contestant), tournament.getDraws(contestant),
+                tournament.getLosses(contestant)));
+        }
+        return new CommandResult(CommandResultType.SUCCESS, message.toString());
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return The number of arguments required for the command.
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether the command requires the game to be running for execution.
+     *
+     * @return True if the game must be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Generates a description of the command including usage instructions and requirements.
+     *
+     * @param commandName The name of the command.
+     * @return The description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        String message = String.format(DESCRIPTION_MESSAGE, commandName);
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_STOPPED_MESSAGE, message);
+    }
+}
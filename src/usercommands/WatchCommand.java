@@ -0,0 +1,91 @@
+package usercommands;
+
+import model.GameSystem;
+
+import static model.ConstantErrorMessages.REQUIRES_GAME_RUNNING_MESSAGE;
+
+/**
+ * Represents a command to watch a cell or a range of cells of the game storage.
+ * <p>
+ * Once watched, the command 'next' stops right after an AI wrote one of the cells. A range is entered as its first
+ * and last cell separated by a dash, both inclusive.
+ * </p>
+ *
+ * @author uenqh
+ * @see model.Breakpoints
+ */
+public class WatchCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 1;
+    private static final int CELLS_INDEX = 0;
+    private static final String RANGE_SEPARATOR = "-";
+    private static final int RANGE_PARTS = 2;
+    private static final int FROM_INDEX = 0;
+    private static final int TO_INDEX = 1;
+    private static final boolean REQUIRES_GAME_RUNNING = true;
+    private static final String DESCRIPTION_MESSAGE = "Using '%s <cell>' or '%s <first cell>-<last cell>', 'next' stops "
+        + "after an AI wrote one of the cells. Entering watched cells again stops watching them.";
+    private static final String DESCRIPTION_FORMAT = "%s: %s %s";
+    private static final String INVALID_CELLS_FORMAT = "the cells have to be a number or a range of numbers between 0 and %d!";
+    private static final String WATCHING_FORMAT = "Watching cells %d to %d.";
+    private static final String STOPPED_WATCHING_FORMAT = "Stopped watching cells %d to %d.";
+
+    /**
+     * Executes the command, toggling the watchpoints on a range of cells.
+     *
+     * @param model            The {@link GameSystem} to execute the command on.
+     * @param commandArguments The cell or range of cells.
+     * @return A {@link CommandResult} indicating the result of the execution.
+     */
+    @Override
+    public CommandResult execute(GameSystem model, String[] commandArguments) {
+        int size = model.getGameStorage().getSize();
+        String[] range = commandArguments[CELLS_INDEX].split(RANGE_SEPARATOR, -1);
+        int from;
+        int to;
+        try {
+            from = Integer.parseInt(range[FROM_INDEX]);
+            to = range.length == RANGE_PARTS ? Integer.parseInt(range[TO_INDEX]) : from;
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_CELLS_FORMAT.formatted(size - 1));
+        }
+        if (range.length > RANGE_PARTS || from < 0 || to < from || to >= size) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_CELLS_FORMAT.formatted(size - 1));
+        }
+        boolean watched = model.getBreakpoints().toggleWatchpoints(from, to);
+        return new CommandResult(CommandResultType.SUCCESS,
+            (watched ? WATCHING_FORMAT : STOPPED_WATCHING_FORMAT).formatted(from, to));
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return The number of arguments required (1).
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Indicates whether the command requires the game to be running for execution.
+     *
+     * @return True if the game must be running, false otherwise.
+     */
+    @Override
+    public boolean requiredGameStatus() {
+        return REQUIRES_GAME_RUNNING;
+    }
+
+    /**
+     * Generates a description of the command including usage instructions and requirements.
+     *
+     * @param commandName The name of the command.
+     * @return The description of the command.
+     */
+    @Override
+    public String getDescription(String commandName) {
+        String message = String.format(DESCRIPTION_MESSAGE, commandName, commandName);
+        return String.format(DESCRIPTION_FORMAT, commandName, REQUIRES_GAME_RUNNING_MESSAGE, message);
+    }
+}
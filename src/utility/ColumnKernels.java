@@ -0,0 +1,91 @@
+package utility;
+
+/**
+ * Represents bulk operations over primitive columns, such as the columns of the game storage.
+ * <p>
+ * The operations are linear scans that can be vectorized. {@link #getInstance()} provides an implementation based on
+ * the incubating Vector API if it was built with the Maven profile {@code vector} and the module
+ * {@value #VECTOR_MODULE_NAME} is available at runtime, for example when the game is started with
+ * {@code --add-modules jdk.incubator.vector}, and a scalar implementation otherwise. Both implementations produce
+ * identical results.
+ * </p>
+ *
+ * @author uenqh
+ */
+public interface ColumnKernels {
+
+    /**
+     * Name of the module providing the Vector API.
+     */
+    String VECTOR_MODULE_NAME = "jdk.incubator.vector";
+
+    /**
+     * Retrieves the fastest implementation available at runtime.
+     *
+     * @return The column kernels.
+     */
+    static ColumnKernels getInstance() {
+        return ColumnKernelsHolder.INSTANCE;
+    }
+
+    /**
+     * Sets all values of a range of a column to the specified value.
+     *
+     * @param column The column to fill.
+     * @param from   The first index of the range, inclusive.
+     * @param to     The last index of the range, exclusive.
+     * @param value  The value to set.
+     */
+    void fill(int[] column, int from, int to, int value);
+
+    /**
+     * Counts the values of a range of a column that are equal to the specified value.
+     *
+     * @param column The column to scan.
+     * @param from   The first index of the range, inclusive.
+     * @param to     The last index of the range, exclusive.
+     * @param value  The value to count.
+     * @return The amount of matching values.
+     */
+    int countEqual(int[] column, int from, int to, int value);
+
+    /**
+     * Counts the values of a range of a column that are equal to the specified value and whose row is selected by a
+     * non-zero value of the mask column.
+     *
+     * @param column The column to scan.
+     * @param mask   The column selecting the rows to count.
+     * @param from   The first index of the range, inclusive.
+     * @param to     The last index of the range, exclusive.
+     * @param value  The value to count.
+     * @return The amount of matching values in selected rows.
+     */
+    int countEqualMasked(int[] column, int[] mask, int from, int to, int value);
+
+    /**
+     * Counts how often each value occurs in a range of a column.
+     * <p>
+     * The value {@code v} is counted in {@code counts[v]}. Values outside the bounds of {@code counts} are not counted,
+     * the existing counts are overwritten.
+     * </p>
+     *
+     * @param column The column to scan.
+     * @param from   The first index of the range, inclusive.
+     * @param to     The last index of the range, exclusive.
+     * @param counts The counts of the values.
+     */
+    void histogram(int[] column, int from, int to, int[] counts);
+
+    /**
+     * Marks the rows in which two columns of the same length differ.
+     * <p>
+     * Bit {@code i % 64} of {@code bitmap[i / 64]} is set if the columns differ at index {@code i}. Bits of rows in
+     * which the columns match are left unchanged, so the differences of several pairs of columns can be combined.
+     * </p>
+     *
+     * @param left   The first column.
+     * @param right  The second column.
+     * @param bitmap The bitmap of the differing rows, holding at least one bit per row.
+     */
+    void diff(int[] left, int[] right, long[] bitmap);
+}
@@ -0,0 +1,31 @@
+package utility;
+
+/**
+ * Chooses the implementation of the {@link ColumnKernels} once, when it is first needed.
+ *
+ * @author uenqh
+ */
+final class ColumnKernelsHolder {
+
+    /**
+     * The fastest implementation available at runtime.
+     */
+    static final ColumnKernels INSTANCE = create();
+
+    private static final String VECTOR_KERNELS_CLASS_NAME = "utility.VectorColumnKernels";
+
+    private ColumnKernelsHolder() {
+    }
+
+    private static ColumnKernels create() {
+        if (ModuleLayer.boot().findModule(ColumnKernels.VECTOR_MODULE_NAME).isEmpty()) {
+            return new ScalarColumnKernels();
+        }
+        // the vector kernels are only loaded by name, so their classes are never linked without the module
+        try {
+            return (ColumnKernels) Class.forName(VECTOR_KERNELS_CLASS_NAME).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ScalarColumnKernels();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package utility;
+
+import java.util.Arrays;
+
+/**
+ * Implements the {@link ColumnKernels} with plain loops, which the JIT compiler may still vectorize on its own.
+ *
+ * @author uenqh
+ */
+public class ScalarColumnKernels implements ColumnKernels {
+
+    private static final int BITS_PER_WORD_SHIFT = 6;
+
+    @Override
+    public void fill(int[] column, int from, int to, int value) {
+        Arrays.fill(column, from, to, value);
+    }
+
+    @Override
+    public int countEqual(int[] column, int from, int to, int value) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (column[i] == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int countEqualMasked(int[] column, int[] mask, int from, int to, int value) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (column[i] == value && mask[i] != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void histogram(int[] column, int from, int to, int[] counts) {
+        Arrays.fill(counts, 0);
+        for (int i = from; i < to; i++) {
+            int value = column[i];
+            if (value >= 0 && value < counts.length) {
+                counts[value]++;
+            }
+        }
+    }
+
+    @Override
+    public void diff(int[] left, int[] right, long[] bitmap) {
+        for (int i = 0; i < left.length; i++) {
+            if (left[i] != right[i]) {
+                bitmap[i >>> BITS_PER_WORD_SHIFT] |= 1L << i;
+            }
+        }
+    }
+}
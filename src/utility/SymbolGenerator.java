@@ -0,0 +1,50 @@
+package utility;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Utility class generating the AI-specific symbols of a massively multiplayer game.
+ * <p>
+ * The symbols are taken in order from the block of CJK unified ideographs, so every symbol is a single character and
+ * all symbols of a game are distinct. Symbols that are already in use, like the general symbols, are skipped.
+ * </p>
+ *
+ * @author uenqh
+ */
+public final class SymbolGenerator {
+
+    private static final int FIRST_CODE_POINT = 0x4E00;
+    private static final int LAST_CODE_POINT = 0x9FFF;
+
+    private SymbolGenerator() {
+    }
+
+    /**
+     * Retrieves the most symbols that can be generated.
+     *
+     * @return The amount of generatable symbols.
+     */
+    public static int getMaxAmountOfSymbols() {
+        return LAST_CODE_POINT - FIRST_CODE_POINT + 1;
+    }
+
+    /**
+     * Generates the specified amount of distinct symbols, none of which is one of the reserved symbols.
+     *
+     * @param amount   The amount of symbols to generate.
+     * @param reserved The symbols that must not be generated.
+     * @return The generated symbols, fewer than requested if the block of characters runs out.
+     */
+    public static String[] generate(int amount, Set<String> reserved) {
+        List<String> symbols = new ArrayList<>();
+        for (int codePoint = FIRST_CODE_POINT; codePoint <= LAST_CODE_POINT && symbols.size() < amount; codePoint++) {
+            String symbol = Character.toString(codePoint);
+            if (!reserved.contains(symbol)) {
+                symbols.add(symbol);
+            }
+        }
+        return symbols.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,90 @@
+package utility;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implements the {@link ColumnKernels} with the incubating Vector API.
+ * <p>
+ * Every kernel processes as many values at once as the preferred vector species of the processor holds and finishes
+ * the remaining values of a range with the {@link ScalarColumnKernels}. Filling is left to the scalar kernels, whose
+ * {@link java.util.Arrays#fill(int[], int, int, int)} is vectorized by the JIT compiler already.
+ * This class must only be loaded if the module {@value ColumnKernels#VECTOR_MODULE_NAME} is available,
+ * which {@link ColumnKernels#getInstance()} takes care of.
+ * </p>
+ *
+ * @author uenqh
+ */
+public class VectorColumnKernels implements ColumnKernels {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int BITS_PER_WORD_SHIFT = 6;
+    // above this amount of values, one scalar pass beats one vector pass per value
+    private static final int MAX_VECTOR_HISTOGRAM_VALUES = 16;
+
+    private final ScalarColumnKernels scalar = new ScalarColumnKernels();
+
+    @Override
+    public void fill(int[] column, int from, int to, int value) {
+        this.scalar.fill(column, from, to, value);
+    }
+
+    @Override
+    public int countEqual(int[] column, int from, int to, int value) {
+        int bound = from + SPECIES.loopBound(to - from);
+        int count = 0;
+        int i = from;
+        for (; i < bound; i += SPECIES.length()) {
+            count += IntVector.fromArray(SPECIES, column, i).compare(VectorOperators.EQ, value).trueCount();
+        }
+        return count + this.scalar.countEqual(column, i, to, value);
+    }
+
+    @Override
+    public int countEqualMasked(int[] column, int[] mask, int from, int to, int value) {
+        int bound = from + SPECIES.loopBound(to - from);
+        int count = 0;
+        int i = from;
+        for (; i < bound; i += SPECIES.length()) {
+            VectorMask<Integer> selected = IntVector.fromArray(SPECIES, mask, i).compare(VectorOperators.NE, 0);
+            count += IntVector.fromArray(SPECIES, column, i).compare(VectorOperators.EQ, value).and(selected).trueCount();
+        }
+        return count + this.scalar.countEqualMasked(column, mask, i, to, value);
+    }
+
+    @Override
+    public void histogram(int[] column, int from, int to, int[] counts) {
+        if (counts.length > MAX_VECTOR_HISTOGRAM_VALUES) {
+            this.scalar.histogram(column, from, to, counts);
+            return;
+        }
+        for (int value = 0; value < counts.length; value++) {
+            counts[value] = countEqual(column, from, to, value);
+        }
+    }
+
+    @Override
+    public void diff(int[] left, int[] right, long[] bitmap) {
+        int bound = SPECIES.loopBound(left.length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            // most rows of two states match, so only the rows of vectors with a difference are compared one by one
+            VectorMask<Integer> differing = IntVector.fromArray(SPECIES, left, i)
+                .compare(VectorOperators.NE, IntVector.fromArray(SPECIES, right, i));
+            if (differing.trueCount() != 0) {
+                diffRows(left, right, bitmap, i, i + SPECIES.length());
+            }
+        }
+        diffRows(left, right, bitmap, i, left.length);
+    }
+
+    private static void diffRows(int[] left, int[] right, long[] bitmap, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (left[i] != right[i]) {
+                bitmap[i >>> BITS_PER_WORD_SHIFT] |= 1L << i;
+            }
+        }
+    }
+}
@@ -1,8 +1,17 @@
 package view;
 
+import model.AiLibrary;
+import model.Checkpointer;
+import model.GameCheckpoint;
 import model.GameSystem;
+import utility.SymbolGenerator;
 
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 
 import static model.Constants.ERROR_PREFIX;
 
@@ -15,6 +24,18 @@ import static model.Constants.ERROR_PREFIX;
  * <p>
  * The startup arguments should include the storage size and AI-specific tokens. The storage size must be
  * within a specific range defined by {@code MIN_STORAGE_SIZE} and {@code MAX_STORAGE_SIZE}.
+ * They may be preceded by the option {@code --library=<path>}, which opens an {@link AiLibrary} whose AIs are loaded
+ * once a game uses them.
+ * </p>
+ * <p>
+ * With the option {@code --massive}, only the storage size and the general symbols are expected. The symbols of the
+ * AIs are generated, so thousands of AIs can take part in one game, and the storage may hold up to
+ * {@code MAX_MASSIVE_STORAGE_SIZE} cells.
+ * </p>
+ * <p>
+ * With the option {@code --resume=<path>}, the game of a checkpoint file written by the command 'auto-checkpoint'
+ * continues where the checkpoint was taken, taking further checkpoints into the same file. The storage size has to be
+ * the one of the checkpointed game.
  * </p>
  * <p>
  * Upon successful initialization, the game system is created, and the user is prompted with a welcome message.
@@ -25,11 +46,22 @@ import static model.Constants.ERROR_PREFIX;
 public final class CodeFight {
 
     private static final int MIN_AMOUNT_OF_ARGUMENTS = 9;
+    private static final int MASSIVE_AMOUNT_OF_ARGUMENTS = 5;
     private static final int STORAGE_SIZE_INDEX = 0;
     private static final int MIN_STORAGE_SIZE = 8;
     private static final int MAX_STORAGE_SIZE = 1336;
+    private static final int MAX_MASSIVE_STORAGE_SIZE = 1 << 22;
+    private static final int SYMBOLS_PER_AI = 2;
+    private static final String OPTION_PREFIX = "--";
+    private static final String MASSIVE_OPTION = "--massive";
     private static final int AI_INDEPENDENT_TOKEN_AMOUNT_START_INDEX = 5;
+    private static final String LIBRARY_OPTION_PREFIX = "--library=";
+    private static final String RESUME_OPTION_PREFIX = "--resume=";
+    private static final long RESUME_CHECKPOINT_STEPS = 1 << 20;
+    private static final long RESUME_CHECKPOINT_SECONDS = 60;
     private static final String INVALID_STARTUP_ARGUMENTS = "the entered start up arguments are invalid!";
+    private static final String LIBRARY_ERROR_MESSAGE = "the AI library could not be opened!";
+    private static final String RESUME_ERROR_MESSAGE = "the checkpoint could not be resumed!";
     private static final String START_UP_MESSAGE = "Welcome to CodeFight 2024. Enter 'help' for more details.";
 
     private CodeFight() {
@@ -39,16 +71,49 @@ public final class CodeFight {
     /**
      * Main method to start the CodeFight game.
      *
-     * @param args the startup arguments including storage size and AI-specific tokens
+     * @param startupArguments the startup arguments including the options, storage size and AI-specific tokens
      */
-    public static void main(String[] args) {
-        if (checkValidArgsFormat(args)) {
-            System.out.println(START_UP_MESSAGE);
+    public static void main(String[] startupArguments) {
+        int optionAmount = 0;
+        String libraryPath = null;
+        String resumePath = null;
+        boolean massive = false;
+        while (optionAmount < startupArguments.length && startupArguments[optionAmount].startsWith(OPTION_PREFIX)) {
+            String option = startupArguments[optionAmount++];
+            if (option.startsWith(LIBRARY_OPTION_PREFIX)) {
+                libraryPath = option.substring(LIBRARY_OPTION_PREFIX.length());
+            } else if (option.startsWith(RESUME_OPTION_PREFIX)) {
+                resumePath = option.substring(RESUME_OPTION_PREFIX.length());
+            } else if (option.equals(MASSIVE_OPTION)) {
+                massive = true;
+            } else {
+                System.out.println(ERROR_PREFIX + INVALID_STARTUP_ARGUMENTS);
+                return;
+            }
+        }
+        String[] args = Arrays.copyOfRange(startupArguments, optionAmount, startupArguments.length);
+        if (massive ? checkValidMassiveArgsFormat(args) : checkValidArgsFormat(args)) {
             int storageSize = Integer.parseInt(args[STORAGE_SIZE_INDEX]);
             String[] aiIndependentTokens = Arrays.copyOfRange(args, 1, AI_INDEPENDENT_TOKEN_AMOUNT_START_INDEX);
-            String[] aiSpecificTokens = Arrays.copyOfRange(args, AI_INDEPENDENT_TOKEN_AMOUNT_START_INDEX, args.length);
+            String[] aiSpecificTokens = massive
+                ? generateAiSpecificTokens(aiIndependentTokens)
+                : Arrays.copyOfRange(args, AI_INDEPENDENT_TOKEN_AMOUNT_START_INDEX, args.length);
 
             final GameSystem gameSystem = new GameSystem(storageSize, aiIndependentTokens, aiSpecificTokens);
+            if (libraryPath != null) {
+                try {
+                    gameSystem.setAiLibrary(AiLibrary.open(Path.of(libraryPath),
+                        gameSystem.getAiCommandHandler().getAiCommandNameArrayList()));
+                } catch (IOException | InvalidPathException e) {
+                    System.out.println(ERROR_PREFIX + LIBRARY_ERROR_MESSAGE);
+                    return;
+                }
+            }
+            if (resumePath != null && !resume(gameSystem, resumePath)) {
+                System.out.println(ERROR_PREFIX + RESUME_ERROR_MESSAGE);
+                return;
+            }
+            System.out.println(START_UP_MESSAGE);
             gameSystem.getCommandHandler().handleUserInput();
 
         } else {
@@ -56,6 +121,32 @@ public final class CodeFight {
         }
     }
 
+    private static boolean resume(GameSystem gameSystem, String resumePath) {
+        List<String> commandNames = gameSystem.getAiCommandHandler().getAiCommandNameArrayList();
+        Path path;
+        GameCheckpoint checkpoint;
+        try {
+            path = Path.of(resumePath);
+            checkpoint = Checkpointer.readLatest(path, commandNames);
+        } catch (IOException | InvalidPathException e) {
+            return false;
+        }
+        if (checkpoint.getStorageSize() != gameSystem.getGameStorage().getSize()
+            || checkpoint.getAiCount() > gameSystem.getMaxAmountOfAis()) {
+            return false;
+        }
+        gameSystem.resume(checkpoint);
+        gameSystem.setCheckpointer(new Checkpointer(path, RESUME_CHECKPOINT_STEPS, RESUME_CHECKPOINT_SECONDS, commandNames));
+        return true;
+    }
+
+    private static String[] generateAiSpecificTokens(String[] aiIndependentTokens) {
+        Set<String> reserved = Set.copyOf(Arrays.asList(aiIndependentTokens));
+        String[] symbols = SymbolGenerator.generate(SymbolGenerator.getMaxAmountOfSymbols(), reserved);
+        // every AI needs a pair of symbols
+        return Arrays.copyOf(symbols, symbols.length - symbols.length % SYMBOLS_PER_AI);
+    }
+
     private static boolean checkValidArgsFormat(String[] args) {
         // Check for minimum amount of arguments
         if (args.length < MIN_AMOUNT_OF_ARGUMENTS) {
@@ -65,6 +156,17 @@ public final class CodeFight {
         if (args.length % 2 == 0) {
             return false;
         }
+        return checkValidStorageSize(args, MAX_STORAGE_SIZE);
+    }
+
+    private static boolean checkValidMassiveArgsFormat(String[] args) {
+        if (args.length != MASSIVE_AMOUNT_OF_ARGUMENTS) {
+            return false;
+        }
+        return checkValidStorageSize(args, MAX_MASSIVE_STORAGE_SIZE);
+    }
+
+    private static boolean checkValidStorageSize(String[] args, int maxStorageSize) {
         // Check for valid storage size input
         int storageSize;
         try {
@@ -72,6 +174,6 @@ public final class CodeFight {
         } catch (NumberFormatException e) {
             return false;
         }
-        return storageSize >= MIN_STORAGE_SIZE && storageSize <= MAX_STORAGE_SIZE;
+        return storageSize >= MIN_STORAGE_SIZE && storageSize <= maxStorageSize;
     }
 }
@@ -0,0 +1,397 @@
+package view;
+
+import model.Ai;
+import model.GameStorage;
+import model.GameStorageCell;
+import model.GameSystem;
+import model.OwnershipTree;
+import model.TerritoryIndex;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.stream.IntStream;
+
+import static model.Constants.CURRENT_AI_SYMBOL_INDEX;
+import static model.Constants.NEXT_AIS_SYMBOL_INDEX;
+import static model.Constants.SHOW_STORAGE_SYMBOL_INDEX;
+import static model.Constants.UNCHANGED_FIELD_SYMBOL_INDEX;
+
+/**
+ * Renders the quick overview and the detailed table of the game storage.
+ * <p>
+ * The renderer first classifies every cell into a symbol code and then appends the symbols in chunks to reusable
+ * buffers, which are written straight to the target output instead of building one String per cell or per storage.
+ * Long runs of the unchanged field symbol can optionally be run-length-compressed into a terminated token, e.g.
+ * {@code .x1200;}, so a following symbol starting with a digit cannot be read as part of the length. Large storages
+ * are classified and rendered in parallel chunks, which are written to the target in order.
+ * </p>
+ * <p>
+ * The detailed table is rendered in a single pass over its window: the column widths and the contents of the rows are
+ * gathered together into reusable buffers and the columns are padded with spaces instead of format strings.
+ * </p>
+ * <p>
+ * The zoomed heatmap folds the storage into buckets and is rendered from the counts of the {@link OwnershipTree} of
+ * the game, which only looks at single cells at the edges of its blocks.
+ * </p>
+ *
+ * @author uenqh
+ */
+public class MemoryRenderer {
+
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int CHUNK_SIZE = 1 << 14;
+    private static final int UNCHANGED_CODE = 0;
+    private static final int CURRENT_AI_CODE = 1;
+    private static final int NEXT_AIS_CODE = 2;
+    private static final int FIRST_AI_CODE = 3;
+    private static final int CODES_PER_AI = 2;
+    private static final String RUN_LENGTH_SEPARATOR = "x";
+    private static final String RUN_LENGTH_TERMINATOR = ";";
+    private static final char CELL_POSITION_SYMBOL = ':';
+    private static final char MIDDLE_BAR = '|';
+    private static final char COLUMN_PARTITION = ' ';
+    private static final char LINE_BREAK = '\n';
+    private static final String SMALL_STORAGE_START = "[";
+    private static final String SMALL_STORAGE_PARTITION = ", ";
+    private static final String SMALL_STORAGE_END = "]";
+    private static final int DECIMAL_BASE = 10;
+    private static final int MAX_DENSITY_DIGIT = 9;
+
+    private final ArrayList<StringBuilder> chunkBuffers;
+    private int[] symbolCodes;
+    private String[] symbols;
+    private String windowSymbol;
+    private int size;
+    private int[] rowPositions;
+    private int[] rowEntriesA;
+    private int[] rowEntriesB;
+    private String[] rowCommands;
+
+    /**
+     * Constructs a MemoryRenderer with empty buffers, which grow with the rendered storages and are reused.
+     */
+    public MemoryRenderer() {
+        this.chunkBuffers = new ArrayList<>();
+        this.symbolCodes = new int[0];
+        this.rowPositions = new int[0];
+        this.rowEntriesA = new int[0];
+        this.rowEntriesB = new int[0];
+        this.rowCommands = new String[0];
+    }
+
+    /**
+     * Determines the symbol of every cell of the game storage.
+     * <p>
+     * A cell shows, in descending priority, the next AI, one of the other alive AIs, the bomb symbol of its owner,
+     * the symbol of its owner or the unchanged field symbol.
+     * </p>
+     *
+     * @param model The game system whose storage is classified.
+     */
+    public void classify(GameSystem model) {
+        this.size = model.getGameStorage().getSize();
+        if (this.symbolCodes.length != this.size) {
+            this.symbolCodes = new int[this.size];
+        }
+        this.symbols = createSymbolTable(model);
+        this.windowSymbol = model.getGeneralAiSymbols()[SHOW_STORAGE_SYMBOL_INDEX];
+
+        GameStorage storage = model.getGameStorage();
+        if (this.size < PARALLEL_THRESHOLD) {
+            classifyRange(storage, 0, this.size);
+        } else {
+            int chunks = (this.size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            IntStream.range(0, chunks).parallel()
+                .forEach(chunk -> classifyRange(storage, chunk * CHUNK_SIZE, Math.min(this.size, (chunk + 1) * CHUNK_SIZE)));
+        }
+
+        if (!model.getScheduler().isEmpty()) {
+            for (Ai ai : model.getScheduler()) {
+                this.symbolCodes[Math.floorMod(ai.getPointerIndex(), this.size)] = NEXT_AIS_CODE;
+            }
+            // the next AI is marked last, so its symbol takes priority
+            this.symbolCodes[Math.floorMod(model.getScheduler().peek().getPointerIndex(), this.size)] = CURRENT_AI_CODE;
+        }
+    }
+
+    /**
+     * Retrieves the symbol of the cell at the specified index of the last classification.
+     *
+     * @param index The index of the cell.
+     * @return The symbol of the cell.
+     */
+    public String getSymbol(int index) {
+        return this.symbols[this.symbolCodes[Math.floorMod(index, this.size)]];
+    }
+
+    /**
+     * Writes the quick overview of the last classification to the specified target.
+     *
+     * @param target   The target the overview is written to.
+     * @param compress {@code true} if runs of the unchanged field symbol should be run-length-compressed.
+     * @throws IOException if the target cannot be written.
+     */
+    public void renderOverview(Appendable target, boolean compress) throws IOException {
+        renderRange(target, 0, this.size, compress);
+    }
+
+    /**
+     * Renders the detailed table of the last classification.
+     * <p>
+     * The table starts at the specified position and shows the specified amount of rows. If the storage does not
+     * have more cells than rows, the whole storage is shown starting at position 0. The table is preceded by the
+     * quick overview, in which the shown window is enclosed by the show storage symbol.
+     * </p>
+     *
+     * @param target   The target the table is written to.
+     * @param storage  The game storage of the last classification.
+     * @param position The position of the first row.
+     * @param rows     The amount of rows.
+     * @throws IOException if the target cannot be written.
+     */
+    public void renderTable(Appendable target, GameStorage storage, int position, int rows) throws IOException {
+        boolean showWindow = this.size > rows;
+        int displayPosition = showWindow ? position : 0;
+        int rowAmount = showWindow ? rows : this.size;
+        ensureRowCapacity(rowAmount);
+
+        int symbolWidth = 0;
+        int positionWidth = 0;
+        int commandWidth = 0;
+        int entryAWidth = 0;
+        int entryBWidth = 0;
+        for (int row = 0; row < rowAmount; row++) {
+            int index = (displayPosition + row) % this.size;
+            GameStorageCell cell = storage.getCells().get(index);
+            this.rowPositions[row] = index;
+            this.rowCommands[row] = cell.getCommand();
+            this.rowEntriesA[row] = cell.getEntryA();
+            this.rowEntriesB[row] = cell.getEntryB();
+            symbolWidth = Math.max(symbolWidth, this.symbols[this.symbolCodes[index]].length());
+            positionWidth = Math.max(positionWidth, integerLength(index) + 1);
+            commandWidth = Math.max(commandWidth, cell.getCommand().length());
+            entryAWidth = Math.max(entryAWidth, integerLength(cell.getEntryA()));
+            entryBWidth = Math.max(entryBWidth, integerLength(cell.getEntryB()));
+        }
+
+        if (showWindow) {
+            renderWindowOverview(target, displayPosition, rowAmount);
+        } else {
+            renderSmallStorageOverview(target);
+        }
+        for (int row = 0; row < rowAmount; row++) {
+            target.append(LINE_BREAK);
+            String symbol = this.symbols[this.symbolCodes[this.rowPositions[row]]];
+            pad(target, symbolWidth - symbol.length());
+            target.append(symbol);
+            target.append(COLUMN_PARTITION);
+            pad(target, positionWidth - integerLength(this.rowPositions[row]) - 1);
+            target.append(String.valueOf(this.rowPositions[row]));
+            target.append(CELL_POSITION_SYMBOL);
+            target.append(COLUMN_PARTITION);
+            pad(target, commandWidth - this.rowCommands[row].length());
+            target.append(this.rowCommands[row]);
+            target.append(COLUMN_PARTITION);
+            target.append(MIDDLE_BAR);
+            target.append(COLUMN_PARTITION);
+            pad(target, entryAWidth - integerLength(this.rowEntriesA[row]));
+            target.append(String.valueOf(this.rowEntriesA[row]));
+            target.append(COLUMN_PARTITION);
+            target.append(MIDDLE_BAR);
+            target.append(COLUMN_PARTITION);
+            pad(target, entryBWidth - integerLength(this.rowEntriesB[row]));
+            target.append(String.valueOf(this.rowEntriesB[row]));
+        }
+    }
+
+    /**
+     * Renders the zoomed heatmap of the game storage.
+     * <p>
+     * The storage is folded into the specified amount of buckets of (almost) equal size. The first line shows the
+     * symbol of the AI owning the most cells of each bucket, or the unchanged field symbol if most cells of the bucket
+     * are not owned by any AI. The second line shows the AI-Bomb density of each bucket in tenths, from 0 to 9.
+     * </p>
+     *
+     * @param target The target the heatmap is written to.
+     * @param model  The game system whose storage is rendered.
+     * @param width  The amount of buckets, at most the size of the storage.
+     * @throws IOException if the target cannot be written.
+     */
+    public void renderZoom(Appendable target, GameSystem model, int width) throws IOException {
+        OwnershipTree tree = model.getOwnershipTree();
+        GameStorage storage = model.getGameStorage();
+        int storageSize = storage.getSize();
+        int unownedSlot = tree.getUnownedSlot();
+        String[] ownerSymbols = new String[tree.getStride()];
+        for (Ai ai : model.getInGameAis()) {
+            ownerSymbols[ai.getInGameNumber()] = ai.getSymbol();
+        }
+        ownerSymbols[unownedSlot] = model.getGeneralAiSymbols()[UNCHANGED_FIELD_SYMBOL_INDEX];
+
+        int[] bucketCounts = new int[tree.getStride()];
+        char[] densities = new char[width];
+        int[] symbolLengths = new int[width];
+        for (int bucket = 0; bucket < width; bucket++) {
+            int from = (int) ((long) bucket * storageSize / width);
+            int to = (int) ((long) (bucket + 1) * storageSize / width);
+            tree.countRange(from, to, bucketCounts);
+
+            // on a tie, the AI with the lower in-game number wins and any AI wins against unchanged fields
+            int dominantSlot = unownedSlot;
+            for (int slot = unownedSlot - 1; slot >= 0; slot--) {
+                if (bucketCounts[slot] > 0 && bucketCounts[slot] >= bucketCounts[dominantSlot]) {
+                    dominantSlot = slot;
+                }
+            }
+            String symbol = ownerSymbols[dominantSlot];
+            target.append(symbol);
+            symbolLengths[bucket] = symbol.length();
+            int density = (int) ((long) bucketCounts[tree.getBombSlot()] * DECIMAL_BASE / (to - from));
+            densities[bucket] = (char) ('0' + Math.min(density, MAX_DENSITY_DIGIT));
+        }
+        target.append(LINE_BREAK);
+        for (int bucket = 0; bucket < width; bucket++) {
+            target.append(densities[bucket]);
+            pad(target, symbolLengths[bucket] - 1);
+        }
+    }
+
+    private void renderWindowOverview(Appendable target, int displayPosition, int rowAmount) throws IOException {
+        renderRange(target, 0, displayPosition, false);
+        target.append(this.windowSymbol);
+        for (int row = 0; row < rowAmount; row++) {
+            target.append(this.symbols[this.symbolCodes[(displayPosition + row) % this.size]]);
+        }
+        target.append(this.windowSymbol);
+        if (displayPosition + rowAmount < this.size) {
+            renderRange(target, displayPosition + rowAmount, this.size, false);
+        }
+    }
+
+    private void renderSmallStorageOverview(Appendable target) throws IOException {
+        target.append(SMALL_STORAGE_START);
+        for (int i = 0; i < this.size; i++) {
+            if (i != 0) {
+                target.append(SMALL_STORAGE_PARTITION);
+            }
+            target.append(this.symbols[this.symbolCodes[i]]);
+        }
+        target.append(SMALL_STORAGE_END);
+    }
+
+    private void ensureRowCapacity(int rowAmount) {
+        if (this.rowPositions.length < rowAmount) {
+            this.rowPositions = new int[rowAmount];
+            this.rowEntriesA = new int[rowAmount];
+            this.rowEntriesB = new int[rowAmount];
+            this.rowCommands = new String[rowAmount];
+        }
+    }
+
+    private static void pad(Appendable target, int amount) throws IOException {
+        for (int i = 0; i < amount; i++) {
+            target.append(COLUMN_PARTITION);
+        }
+    }
+
+    private static int integerLength(int value) {
+        long remaining = Math.abs((long) value);
+        int length = value < 0 ? 2 : 1;
+        while (remaining >= DECIMAL_BASE) {
+            remaining /= DECIMAL_BASE;
+            length++;
+        }
+        return length;
+    }
+
+    private String[] createSymbolTable(GameSystem model) {
+        ArrayList<Ai> inGameAis = model.getInGameAis();
+        String[] symbolTable = new String[FIRST_AI_CODE + CODES_PER_AI * inGameAis.size()];
+        symbolTable[UNCHANGED_CODE] = model.getGeneralAiSymbols()[UNCHANGED_FIELD_SYMBOL_INDEX];
+        symbolTable[CURRENT_AI_CODE] = model.getGeneralAiSymbols()[CURRENT_AI_SYMBOL_INDEX];
+        symbolTable[NEXT_AIS_CODE] = model.getGeneralAiSymbols()[NEXT_AIS_SYMBOL_INDEX];
+        for (Ai ai : inGameAis) {
+            symbolTable[FIRST_AI_CODE + CODES_PER_AI * ai.getInGameNumber()] = ai.getSymbol();
+            symbolTable[FIRST_AI_CODE + CODES_PER_AI * ai.getInGameNumber() + 1] = ai.getBombSymbol();
+        }
+        return symbolTable;
+    }
+
+    private void classifyRange(GameStorage storage, int from, int to) {
+        // the owners are read from the storage directly instead of going through the cell of every index
+        for (int i = from; i < to; i++) {
+            int owner = storage.getOwnerAt(i);
+            if (owner == TerritoryIndex.NO_OWNER) {
+                this.symbolCodes[i] = UNCHANGED_CODE;
+            } else {
+                this.symbolCodes[i] = FIRST_AI_CODE + CODES_PER_AI * owner + (storage.isAiBomb(i) ? 1 : 0);
+            }
+        }
+    }
+
+    private void renderRange(Appendable target, int from, int to, boolean compress) throws IOException {
+        // chunk borders are moved behind runs of unchanged fields, so that no run is split in two
+        ArrayList<Integer> borders = new ArrayList<>();
+        borders.add(from);
+        int border = from + CHUNK_SIZE;
+        while (border < to) {
+            while (border < to && this.symbolCodes[border] == UNCHANGED_CODE
+                && this.symbolCodes[border - 1] == UNCHANGED_CODE) {
+                border++;
+            }
+            borders.add(border);
+            border += CHUNK_SIZE;
+        }
+        borders.add(to);
+        int chunks = borders.size() - 1;
+        while (this.chunkBuffers.size() < chunks) {
+            this.chunkBuffers.add(new StringBuilder());
+        }
+
+        IntStream chunkIndexes = IntStream.range(0, chunks);
+        if (to - from >= PARALLEL_THRESHOLD) {
+            chunkIndexes = chunkIndexes.parallel();
+        }
+        chunkIndexes.forEach(chunk -> {
+            StringBuilder buffer = this.chunkBuffers.get(chunk);
+            buffer.setLength(0);
+            renderChunk(buffer, borders.get(chunk), borders.get(chunk + 1), compress);
+        });
+
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            target.append(this.chunkBuffers.get(chunk));
+        }
+    }
+
+    private void renderChunk(StringBuilder target, int from, int to, boolean compress) {
+        String unchangedSymbol = this.symbols[UNCHANGED_CODE];
+        int i = from;
+        while (i < to) {
+            int code = this.symbolCodes[i];
+            if (compress && code == UNCHANGED_CODE) {
+                int runEnd = i;
+                while (runEnd < to && this.symbolCodes[runEnd] == UNCHANGED_CODE) {
+                    runEnd++;
+                }
+                appendRun(target, unchangedSymbol, runEnd - i);
+                i = runEnd;
+            } else {
+                target.append(this.symbols[code]);
+                i++;
+            }
+        }
+    }
+
+    private void appendRun(StringBuilder target, String symbol, int runLength) {
+        String length = String.valueOf(runLength);
+        int tokenLength = symbol.length() + RUN_LENGTH_SEPARATOR.length() + length.length() + RUN_LENGTH_TERMINATOR.length();
+        // a run is only compressed if that makes it shorter
+        if (tokenLength < symbol.length() * runLength) {
+            target.append(symbol).append(RUN_LENGTH_SEPARATOR).append(length).append(RUN_LENGTH_TERMINATOR);
+        } else {
+            for (int j = 0; j < runLength; j++) {
+                target.append(symbol);
+            }
+        }
+    }
+}